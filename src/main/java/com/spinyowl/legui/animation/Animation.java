@@ -6,17 +6,33 @@ package com.spinyowl.legui.animation;
 public abstract class Animation {
 
   /**
-   * Flag that indicates if animation was started.
+   * Animator which runs this animation. Null if animation is not started.
    */
-  private boolean animationStarted = false;
+  private volatile Animator animator;
+  /**
+   * Index of animation in array of {@link ArrayAnimator} which runs it. -1 if animation is not
+   * running.
+   */
+  int animatorIndex = -1;
 
   /**
-   * Adds animation to animator.
+   * Adds animation to animator of current thread (see {@link AnimatorProvider#getAnimator()}).
+   * Animation could be started again after it was stopped or finished.
    */
   public void startAnimation() {
-    if (!animationStarted) {
-      AnimatorProvider.getAnimator().pushAnimation(this);
-      animationStarted = true;
+    startAnimation(AnimatorProvider.getAnimator());
+  }
+
+  /**
+   * Adds animation to provided animator. Animation could be started again after it was stopped or
+   * finished.
+   *
+   * @param animator animator which should run animation.
+   */
+  public void startAnimation(Animator animator) {
+    if (this.animator == null) {
+      this.animator = animator;
+      animator.pushAnimation(this);
     }
   }
 
@@ -45,19 +61,34 @@ public abstract class Animation {
   }
 
   /**
-   * Used to stop animation. Removes animation from animator.
+   * Used to stop animation. Removes animation from animator which runs it.
    */
   public void stopAnimation() {
-    AnimatorProvider.getAnimator().removeAnimation(this);
+    Animator current = animator;
+    if (current != null) {
+      animator = null;
+      current.removeAnimation(this);
+    }
+  }
+
+  /**
+   * Called by animator when animation is finished (when {@link #animate(double)} returned true).
+   *
+   * @param finishedBy animator which finished animation.
+   */
+  void finished(Animator finishedBy) {
+    if (animator == finishedBy) {
+      animator = null;
+    }
   }
 
   /**
-   * Returns the flag that indicates if animation was started.
+   * Returns the flag that indicates if animation is started and not stopped or finished yet.
    *
-   * @return the flag that indicates if animation was started.
+   * @return the flag that indicates if animation is started.
    */
   public boolean isAnimationStarted() {
-    return animationStarted;
+    return animator != null;
   }
 
 }
@@ -25,5 +25,23 @@ public interface Animator {
    */
   void removeAnimation(Animation animation);
 
+  /**
+   * Returns number of running animations. Could be used to find animations which are never
+   * stopped.
+   *
+   * @return number of running animations or -1 if not supported by animator.
+   */
+  default int getActiveAnimationCount() {
+    return -1;
+  }
+
+  /**
+   * Returns duration of last {@link #runAnimations()} call.
+   *
+   * @return duration of last frame in nanoseconds or -1 if not supported by animator.
+   */
+  default long getLastFrameTime() {
+    return -1;
+  }
 
 }
@@ -28,27 +28,46 @@ public class AnimatorImpl implements Animator {
    */
   private double previousTime;
 
+  /**
+   * Duration of last {@link #runAnimations()} call in nanoseconds.
+   */
+  private volatile long lastFrameTime;
+  /**
+   * Maximum duration of {@link #runAnimations()} call in nanoseconds.
+   */
+  private volatile long maxFrameTime;
+  private volatile long startedAnimations;
+  private volatile long finishedAnimations;
+
   /**
    * This method used to process animations.
    */
   public void runAnimations() {
+    long start = System.nanoTime();
     double currentTime = GLFW.glfwGetTime();
     double delta = currentTime - previousTime;
 
-    List<Animation> initializeList = new ArrayList<>(animationsToInitialize);
+    List<Animation> initializeList;
+    synchronized (this) {
+      initializeList = new ArrayList<>(animationsToInitialize);
+      animationsToInitialize.clear();
+    }
     for (Animation animation : initializeList) {
       animation.beforeAnimation();
-      animationsToInitialize.remove(animation);
       animations.add(animation);
     }
 
     List<Animation> processList = new ArrayList<>(animations);
     for (Animation animation : processList) {
-      if (animationsToRemove.contains(animation)) {
-        animationsToRemove.remove(animation);
+      boolean removed;
+      synchronized (this) {
+        removed = animationsToRemove.remove(animation);
+      }
+      if (removed) {
         animations.remove(animation);
         animationsToDestroy.add(animation);
       } else if (animation.animate(delta)) {
+        animation.finished(this);
         animations.remove(animation);
         animationsToDestroy.add(animation);
       }
@@ -59,8 +78,15 @@ public class AnimatorImpl implements Animator {
       animation.afterAnimation();
       animationsToDestroy.remove(animation);
     }
+    finishedAnimations += destroyList.size();
 
     previousTime = currentTime;
+
+    long time = System.nanoTime() - start;
+    lastFrameTime = time;
+    if (time > maxFrameTime) {
+      maxFrameTime = time;
+    }
   }
 
   /**
@@ -68,8 +94,12 @@ public class AnimatorImpl implements Animator {
    *
    * @param animation animation to add.
    */
-  public void pushAnimation(Animation animation) {
-    animationsToInitialize.add(animation);
+  public synchronized void pushAnimation(Animation animation) {
+    // animation was stopped and started again before removal was processed - it's still running.
+    if (!animationsToRemove.remove(animation)) {
+      animationsToInitialize.add(animation);
+      startedAnimations++;
+    }
   }
 
   /**
@@ -79,8 +109,72 @@ public class AnimatorImpl implements Animator {
    * @param animation animation to remove.
    */
   @Override
-  public void removeAnimation(Animation animation) {
-    animationsToRemove.add(animation);
+  public synchronized void removeAnimation(Animation animation) {
+    // animation which was not initialized yet is just dropped.
+    if (animationsToInitialize.remove(animation)) {
+      startedAnimations--;
+    } else {
+      animationsToRemove.add(animation);
+    }
+  }
+
+  /**
+   * Returns number of running animations (including animations which will be initialized during
+   * next {@link #runAnimations()} call). Growing number of active animations usually means that
+   * animations are not stopped when their components are not used anymore.
+   *
+   * @return number of active animations.
+   */
+  @Override
+  public int getActiveAnimationCount() {
+    return animations.size() + animationsToInitialize.size();
+  }
+
+  /**
+   * Returns duration of last {@link #runAnimations()} call.
+   *
+   * @return duration of last frame in nanoseconds.
+   */
+  @Override
+  public long getLastFrameTime() {
+    return lastFrameTime;
+  }
+
+  /**
+   * Returns maximum duration of {@link #runAnimations()} call since creation or last {@link
+   * #resetStatistics()}.
+   *
+   * @return maximum duration of frame in nanoseconds.
+   */
+  public long getMaxFrameTime() {
+    return maxFrameTime;
+  }
+
+  /**
+   * Returns number of animations which were added to this animator.
+   *
+   * @return number of started animations.
+   */
+  public long getStartedAnimations() {
+    return startedAnimations;
+  }
+
+  /**
+   * Returns number of animations which were finished or removed from this animator.
+   *
+   * @return number of finished animations.
+   */
+  public long getFinishedAnimations() {
+    return finishedAnimations;
+  }
+
+  /**
+   * Used to reset collected statistics.
+   */
+  public synchronized void resetStatistics() {
+    maxFrameTime = 0;
+    startedAnimations = 0;
+    finishedAnimations = 0;
   }
 
-}
\ No newline at end of file
+}
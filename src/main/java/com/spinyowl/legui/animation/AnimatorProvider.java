@@ -1,5 +1,9 @@
 package com.spinyowl.legui.animation;
 
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.context.ContextRuntime;
+
 /**
  * Animation processor..
  */
@@ -14,16 +18,32 @@ public final class AnimatorProvider {
   }
 
   /**
-   * Gets animator.
+   * Gets animator. If {@link ContextRuntime} is bound to current thread - returns its animator.
    *
    * @return the animator
    */
   public static Animator getAnimator() {
+    return getAnimator(null, null);
+  }
+
+  /**
+   * Gets animator of runtime resolved for context and component (see {@link
+   * ContextRuntime#resolve(Context, Component)}) or default animator.
+   *
+   * @param context   context (could be null).
+   * @param component component (could be null).
+   * @return the animator
+   */
+  public static Animator getAnimator(Context context, Component component) {
+    ContextRuntime runtime = ContextRuntime.resolve(context, component);
+    if (runtime != null) {
+      return runtime.getAnimator();
+    }
     return AnimatorProvider.animator;
   }
 
   /**
-   * Sets animator.
+   * Sets default animator.
    *
    * @param animator the animator.
    */
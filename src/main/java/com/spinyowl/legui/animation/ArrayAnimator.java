@@ -0,0 +1,317 @@
+package com.spinyowl.legui.animation;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.DoubleSupplier;
+import org.lwjgl.glfw.GLFW;
+
+/**
+ * Animator which keeps running animations in array and removes them by swapping with last element,
+ * so adding, removing and finishing of animation takes constant time. Index of animation in array
+ * is stored in animation itself.
+ * <p>
+ * Start and stop requests could be sent from any thread - they are written to preallocated
+ * lock-free queue (multiple producers, single consumer) and applied in order at the beginning of
+ * {@link #runAnimations()}, which should be called from single thread. Nothing is allocated per
+ * frame or per request while request queue is not full and array capacity is not exceeded.
+ * Requests which don't fit to queue are stored in unbounded overflow queue.
+ * <p>
+ * Animation could be run only by one animator at a time.
+ */
+public class ArrayAnimator implements Animator {
+
+  /**
+   * Default capacity of request queue.
+   */
+  public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+  private static final byte START = 1;
+  private static final byte STOP = 2;
+  private static final Animation[] EMPTY = new Animation[0];
+
+  /**
+   * Running animations. Only first {@link #size} elements are used.
+   */
+  private Animation[] animations = new Animation[16];
+  private int size;
+
+  private final int mask;
+  private final Animation[] requests;
+  private final byte[] requestTypes;
+  /**
+   * Sequence of each request slot. Slot is free for position {@code p} if its sequence equals
+   * {@code p}, and contains published request if its sequence equals {@code p + 1}.
+   */
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  private long head;
+
+  /**
+   * Requests which were not put to full queue.
+   */
+  private final Queue<Request> overflow = new ArrayDeque<>();
+  private volatile int overflowSize;
+
+  private final DoubleSupplier timeSource;
+  private double previousTime = Double.NaN;
+
+  private volatile int activeAnimationCount;
+  private volatile long lastFrameTime;
+  private volatile long maxFrameTime;
+
+  /**
+   * Creates animator which uses {@link GLFW#glfwGetTime()} as time source.
+   */
+  public ArrayAnimator() {
+    this(GLFW::glfwGetTime, DEFAULT_QUEUE_CAPACITY);
+  }
+
+  /**
+   * Creates animator.
+   *
+   * @param timeSource    returns current time in seconds.
+   * @param queueCapacity capacity of start/stop request queue. Rounded up to power of two.
+   */
+  public ArrayAnimator(DoubleSupplier timeSource, int queueCapacity) {
+    if (queueCapacity < 2) {
+      throw new IllegalArgumentException("Queue capacity should be at least 2.");
+    }
+    this.timeSource = Objects.requireNonNull(timeSource);
+    int capacity = Integer.highestOneBit(queueCapacity - 1) << 1;
+    this.mask = capacity - 1;
+    this.requests = new Animation[capacity];
+    this.requestTypes = new byte[capacity];
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Applies start/stop requests and runs animations. Delta of first call is zero.
+   */
+  @Override
+  public void runAnimations() {
+    long start = System.nanoTime();
+    double currentTime = timeSource.getAsDouble();
+    double delta = Double.isNaN(previousTime) ? 0 : currentTime - previousTime;
+    previousTime = currentTime;
+
+    applyRequests();
+
+    // animations are not added or removed by other threads during loop, finished animation is
+    // replaced by last one which is processed at the same index.
+    int i = 0;
+    while (i < size) {
+      Animation animation = animations[i];
+      if (animation.animate(delta)) {
+        animation.finished(this);
+        removeAt(i);
+        animation.afterAnimation();
+      } else {
+        i++;
+      }
+    }
+    activeAnimationCount = size;
+
+    long time = System.nanoTime() - start;
+    lastFrameTime = time;
+    if (time > maxFrameTime) {
+      maxFrameTime = time;
+    }
+  }
+
+  private void applyRequests() {
+    long limit = tail.get();
+    while (head < limit) {
+      int index = (int) (head & mask);
+      if (sequences.get(index) != head + 1) {
+        // slot is claimed by producer but request is not published yet.
+        return;
+      }
+      Animation animation = requests[index];
+      byte type = requestTypes[index];
+      requests[index] = null;
+      sequences.set(index, head + mask + 1);
+      head++;
+      apply(animation, type);
+    }
+
+    if (overflowSize != 0) {
+      int count = overflowSize;
+      for (int i = 0; i < count; i++) {
+        Request request;
+        synchronized (overflow) {
+          request = overflow.poll();
+          overflowSize = overflow.size();
+        }
+        if (request == null) {
+          break;
+        }
+        apply(request.animation, request.type);
+      }
+    }
+  }
+
+  private void apply(Animation animation, byte type) {
+    if (type == START) {
+      if (animation.animatorIndex < 0) {
+        animation.beforeAnimation();
+        add(animation);
+      }
+    } else if (animation.animatorIndex >= 0 && animations[animation.animatorIndex] == animation) {
+      removeAt(animation.animatorIndex);
+      animation.afterAnimation();
+    }
+  }
+
+  private void add(Animation animation) {
+    if (size == animations.length) {
+      animations = Arrays.copyOf(animations, size << 1);
+    }
+    animation.animatorIndex = size;
+    animations[size++] = animation;
+  }
+
+  private void removeAt(int index) {
+    Animation removed = animations[index];
+    int last = --size;
+    if (index != last) {
+      Animation moved = animations[last];
+      animations[index] = moved;
+      moved.animatorIndex = index;
+    }
+    animations[last] = null;
+    removed.animatorIndex = -1;
+  }
+
+  /**
+   * Used to add animation to animator. Animation is initialized during next {@link
+   * #runAnimations()} call.
+   *
+   * @param animation animation to add.
+   */
+  @Override
+  public void pushAnimation(Animation animation) {
+    request(Objects.requireNonNull(animation), START);
+  }
+
+  /**
+   * Used to remove animation from animator. Animation is removed during next {@link
+   * #runAnimations()} call.
+   *
+   * @param animation animation to remove.
+   */
+  @Override
+  public void removeAnimation(Animation animation) {
+    if (animation != null) {
+      request(animation, STOP);
+    }
+  }
+
+  private void request(Animation animation, byte type) {
+    // keep order of requests while overflow queue is not empty.
+    if (overflowSize != 0 || !offer(animation, type)) {
+      synchronized (overflow) {
+        overflow.add(new Request(animation, type));
+        overflowSize = overflow.size();
+      }
+    }
+  }
+
+  /**
+   * Used to put request to queue.
+   *
+   * @return false if queue is full.
+   */
+  private boolean offer(Animation animation, byte type) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          requests[index] = animation;
+          requestTypes[index] = type;
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Returns number of running animations after last {@link #runAnimations()} call.
+   *
+   * @return number of running animations.
+   */
+  @Override
+  public int getActiveAnimationCount() {
+    return activeAnimationCount;
+  }
+
+  /**
+   * Returns duration of last {@link #runAnimations()} call.
+   *
+   * @return duration of last frame in nanoseconds.
+   */
+  @Override
+  public long getLastFrameTime() {
+    return lastFrameTime;
+  }
+
+  /**
+   * Returns maximum duration of {@link #runAnimations()} call since creation or last {@link
+   * #resetStatistics()}.
+   *
+   * @return maximum duration of frame in nanoseconds.
+   */
+  public long getMaxFrameTime() {
+    return maxFrameTime;
+  }
+
+  /**
+   * Returns number of start/stop requests which are not applied yet.
+   *
+   * @return number of pending requests.
+   */
+  public int getPendingRequestCount() {
+    return (int) (tail.get() - head) + overflowSize;
+  }
+
+  /**
+   * Used to reset collected statistics.
+   */
+  public void resetStatistics() {
+    maxFrameTime = 0;
+  }
+
+  /**
+   * Returns copy of running animations. Should be called from thread which runs animations.
+   *
+   * @return running animations.
+   */
+  public Animation[] getAnimations() {
+    return size == 0 ? EMPTY : Arrays.copyOf(animations, size);
+  }
+
+  private static class Request {
+
+    private final Animation animation;
+    private final byte type;
+
+    private Request(Animation animation, byte type) {
+      this.animation = animation;
+      this.type = type;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.spinyowl.legui.animation;
+
+/**
+ * Easing function. Maps normalized time of tween ({@code [0, 1]}) to interpolation factor (usually
+ * also in {@code [0, 1]}, could overshoot).
+ */
+@FunctionalInterface
+public interface Easing {
+
+  Easing LINEAR = t -> t;
+  Easing EASE_IN_QUAD = t -> t * t;
+  Easing EASE_OUT_QUAD = t -> t * (2 - t);
+  Easing EASE_IN_OUT_QUAD = t -> t < 0.5 ? 2 * t * t : -1 + (4 - 2 * t) * t;
+  Easing EASE_IN_CUBIC = t -> t * t * t;
+  Easing EASE_OUT_CUBIC = t -> {
+    double f = t - 1;
+    return f * f * f + 1;
+  };
+  Easing EASE_IN_OUT_CUBIC = t -> {
+    if (t < 0.5) {
+      return 4 * t * t * t;
+    }
+    double f = 2 * t - 2;
+    return 0.5 * f * f * f + 1;
+  };
+  /**
+   * Same as CSS {@code ease}.
+   */
+  Easing EASE = cubicBezier(0.25, 0.1, 0.25, 1);
+
+  /**
+   * Creates easing defined by cubic bezier curve from {@code (0, 0)} to {@code (1, 1)} with
+   * provided control points (same as CSS {@code cubic-bezier} function).
+   *
+   * @param x1 x of first control point, should be in range {@code [0, 1]}.
+   * @param y1 y of first control point.
+   * @param x2 x of second control point, should be in range {@code [0, 1]}.
+   * @param y2 y of second control point.
+   * @return easing.
+   */
+  static Easing cubicBezier(double x1, double y1, double x2, double y2) {
+    if (x1 < 0 || x1 > 1 || x2 < 0 || x2 > 1) {
+      throw new IllegalArgumentException("X values of control points should be in range [0, 1].");
+    }
+    // polynomial coefficients of x(s) and y(s).
+    double cx = 3 * x1;
+    double bx = 3 * (x2 - x1) - cx;
+    double ax = 1 - cx - bx;
+    double cy = 3 * y1;
+    double by = 3 * (y2 - y1) - cy;
+    double ay = 1 - cy - by;
+    return t -> {
+      if (t <= 0 || t >= 1) {
+        return t <= 0 ? 0 : 1;
+      }
+      // solve x(s) = t using newton's method, fallback to bisection.
+      double s = t;
+      for (int i = 0; i < 8; i++) {
+        double x = ((ax * s + bx) * s + cx) * s - t;
+        if (Math.abs(x) < 1e-6) {
+          return ((ay * s + by) * s + cy) * s;
+        }
+        double dx = (3 * ax * s + 2 * bx) * s + cx;
+        if (Math.abs(dx) < 1e-6) {
+          break;
+        }
+        s -= x / dx;
+        if (s < 0 || s > 1) {
+          break;
+        }
+      }
+      double low = 0;
+      double high = 1;
+      s = t;
+      for (int i = 0; i < 32; i++) {
+        double x = ((ax * s + bx) * s + cx) * s;
+        if (Math.abs(x - t) < 1e-6) {
+          break;
+        }
+        if (x < t) {
+          low = s;
+        } else {
+          high = s;
+        }
+        s = (low + high) / 2;
+      }
+      return ((ay * s + by) * s + cy) * s;
+    };
+  }
+
+  /**
+   * Returns interpolation factor for normalized time.
+   *
+   * @param t normalized time in range {@code [0, 1]}.
+   * @return interpolation factor.
+   */
+  double ease(double t);
+}
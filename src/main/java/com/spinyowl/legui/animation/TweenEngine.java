@@ -0,0 +1,325 @@
+package com.spinyowl.legui.animation;
+
+import static com.spinyowl.legui.animation.TweenProperty.MAX_CHANNELS;
+
+import com.spinyowl.legui.component.Component;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.joml.Vector2fc;
+import org.joml.Vector4fc;
+
+/**
+ * Animates properties of components (see {@link TweenProperty}) from current value to target
+ * value using easing function.
+ * <p>
+ * All tweens of engine are updated by single animation in one loop. Tween data is stored in
+ * primitive arrays (structure of arrays), finished tweens are removed by moving last tween to
+ * their place, so nothing is allocated per frame. Tween of component property is found by identity
+ * map from component and property to tween index.
+ * <p>
+ * Tweens are coalesced: new tween of the same property of the same component replaces running one
+ * and starts from current (partially animated) value, so repeated updates don't accumulate.
+ * <p>
+ * Engine is started in animator of first tweened component (see {@link
+ * AnimatorProvider#getAnimator(com.spinyowl.legui.system.context.Context, Component)}) when first
+ * tween is added and keeps running until {@link #stopAnimation()} is called.
+ * <pre>
+ * TweenEngine tweens = new TweenEngine();
+ * tweens.tween(row, TweenProperty.BACKGROUND_COLOR, highlightColor, 0.3, Easing.EASE_OUT_QUAD);
+ * </pre>
+ */
+public class TweenEngine extends Animation {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int count;
+  private Component[] targets = new Component[INITIAL_CAPACITY];
+  private TweenProperty[] properties = new TweenProperty[INITIAL_CAPACITY];
+  private Easing[] easings = new Easing[INITIAL_CAPACITY];
+  /**
+   * Start values, {@link TweenProperty#MAX_CHANNELS} per tween.
+   */
+  private float[] from = new float[INITIAL_CAPACITY * MAX_CHANNELS];
+  /**
+   * Target values, {@link TweenProperty#MAX_CHANNELS} per tween.
+   */
+  private float[] to = new float[INITIAL_CAPACITY * MAX_CHANNELS];
+  private double[] elapsed = new double[INITIAL_CAPACITY];
+  private double[] durations = new double[INITIAL_CAPACITY];
+  private double[] delays = new double[INITIAL_CAPACITY];
+  /**
+   * Index holders of tweens, updated when tween is moved to another index.
+   */
+  private Slot[] slots = new Slot[INITIAL_CAPACITY];
+  /**
+   * Index holders of tweens by component and property.
+   */
+  private final Map<Component, Map<TweenProperty, Slot>> slotMap = new IdentityHashMap<>();
+
+  private final float[] current = new float[MAX_CHANNELS];
+  private long coalescedTweens;
+
+  /**
+   * Used to animate one channel property to target value.
+   *
+   * @param target   component to animate.
+   * @param property property to animate.
+   * @param value    target value.
+   * @param duration duration in seconds.
+   * @param easing   easing function.
+   */
+  public void tween(Component target, TweenProperty property, float value, double duration,
+      Easing easing) {
+    tween(target, property, duration, 0, easing, value, 0, 0, 0);
+  }
+
+  /**
+   * Used to animate two channel property (for example position or size) to target value.
+   *
+   * @param target   component to animate.
+   * @param property property to animate.
+   * @param value    target value.
+   * @param duration duration in seconds.
+   * @param easing   easing function.
+   */
+  public void tween(Component target, TweenProperty property, Vector2fc value, double duration,
+      Easing easing) {
+    tween(target, property, duration, 0, easing, value.x(), value.y(), 0, 0);
+  }
+
+  /**
+   * Used to animate four channel property (for example color) to target value.
+   *
+   * @param target   component to animate.
+   * @param property property to animate.
+   * @param value    target value.
+   * @param duration duration in seconds.
+   * @param easing   easing function.
+   */
+  public void tween(Component target, TweenProperty property, Vector4fc value, double duration,
+      Easing easing) {
+    tween(target, property, duration, 0, easing, value.x(), value.y(), value.z(), value.w());
+  }
+
+  /**
+   * Used to animate property to target value.
+   *
+   * @param target   component to animate.
+   * @param property property to animate.
+   * @param duration duration in seconds.
+   * @param delay    delay before animation in seconds. Start value is taken when delay is over.
+   * @param easing   easing function (linear if null).
+   * @param v0       first channel of target value.
+   * @param v1       second channel of target value (ignored if property has less channels).
+   * @param v2       third channel of target value (ignored if property has less channels).
+   * @param v3       fourth channel of target value (ignored if property has less channels).
+   */
+  public void tween(Component target, TweenProperty property, double duration, double delay,
+      Easing easing, float v0, float v1, float v2, float v3) {
+    Objects.requireNonNull(target);
+    Objects.requireNonNull(property);
+    synchronized (this) {
+      int index = indexOf(target, property);
+      if (index < 0) {
+        index = count;
+        ensureCapacity(count + 1);
+        count++;
+        Slot slot = new Slot(index);
+        slots[index] = slot;
+        slotMap.computeIfAbsent(target, c -> new IdentityHashMap<>(4)).put(property, slot);
+      } else {
+        coalescedTweens++;
+      }
+      targets[index] = target;
+      properties[index] = property;
+      easings[index] = easing == null ? Easing.LINEAR : easing;
+      durations[index] = Math.max(0, duration);
+      delays[index] = Math.max(0, delay);
+      // negative elapsed time means that start value is not read yet.
+      elapsed[index] = -1;
+      int offset = index * MAX_CHANNELS;
+      to[offset] = v0;
+      to[offset + 1] = v1;
+      to[offset + 2] = v2;
+      to[offset + 3] = v3;
+    }
+    if (!isAnimationStarted()) {
+      startAnimation(AnimatorProvider.getAnimator(null, target));
+    }
+  }
+
+  /**
+   * Used to stop animation of component property. Property keeps current value.
+   *
+   * @param target   component.
+   * @param property property.
+   * @return true if tween was removed.
+   */
+  public synchronized boolean cancel(Component target, TweenProperty property) {
+    int index = indexOf(target, property);
+    if (index < 0) {
+      return false;
+    }
+    removeAt(index);
+    return true;
+  }
+
+  /**
+   * Used to stop all tweens of component. Properties keep current values.
+   *
+   * @param target component.
+   */
+  public synchronized void cancelAll(Component target) {
+    Map<TweenProperty, Slot> componentSlots = slotMap.get(target);
+    while (componentSlots != null && !componentSlots.isEmpty()) {
+      removeAt(componentSlots.values().iterator().next().index);
+    }
+  }
+
+  /**
+   * Returns true if property of component is animated.
+   *
+   * @param target   component.
+   * @param property property.
+   * @return true if property is animated.
+   */
+  public synchronized boolean isTweening(Component target, TweenProperty property) {
+    return indexOf(target, property) >= 0;
+  }
+
+  /**
+   * Returns number of running tweens.
+   *
+   * @return number of running tweens.
+   */
+  public synchronized int getTweenCount() {
+    return count;
+  }
+
+  /**
+   * Returns number of tweens which replaced running tweens of the same property.
+   *
+   * @return number of coalesced tweens.
+   */
+  public synchronized long getCoalescedTweens() {
+    return coalescedTweens;
+  }
+
+  /**
+   * Updates all tweens. Engine is never finished by itself.
+   *
+   * @param delta delta time (from previous call).
+   * @return false.
+   */
+  @Override
+  protected synchronized boolean animate(double delta) {
+    int i = 0;
+    while (i < count) {
+      if (update(i, delta)) {
+        removeAt(i);
+      } else {
+        i++;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Used to update tween.
+   *
+   * @return true if tween is finished.
+   */
+  private boolean update(int index, double delta) {
+    Component target = targets[index];
+    TweenProperty property = properties[index];
+    int offset = index * MAX_CHANNELS;
+    if (delays[index] > 0) {
+      delays[index] -= delta;
+      if (delays[index] > 0) {
+        return false;
+      }
+      delta = -delays[index];
+      delays[index] = 0;
+    }
+    if (elapsed[index] < 0) {
+      property.read(target, from, offset);
+      elapsed[index] = 0;
+    }
+    elapsed[index] += delta;
+
+    double duration = durations[index];
+    boolean finished = elapsed[index] >= duration;
+    float factor = finished ? 1f : (float) easings[index].ease(elapsed[index] / duration);
+    int channels = property.getChannels();
+    for (int c = 0; c < channels; c++) {
+      float start = from[offset + c];
+      current[c] = start + (to[offset + c] - start) * factor;
+    }
+    property.write(target, current, 0);
+    return finished;
+  }
+
+  private int indexOf(Component target, TweenProperty property) {
+    Map<TweenProperty, Slot> componentSlots = slotMap.get(target);
+    if (componentSlots == null) {
+      return -1;
+    }
+    Slot slot = componentSlots.get(property);
+    return slot == null ? -1 : slot.index;
+  }
+
+  private void removeAt(int index) {
+    Map<TweenProperty, Slot> componentSlots = slotMap.get(targets[index]);
+    componentSlots.remove(properties[index]);
+    if (componentSlots.isEmpty()) {
+      slotMap.remove(targets[index]);
+    }
+    int last = --count;
+    if (index != last) {
+      slots[index] = slots[last];
+      slots[index].index = index;
+      targets[index] = targets[last];
+      properties[index] = properties[last];
+      easings[index] = easings[last];
+      elapsed[index] = elapsed[last];
+      durations[index] = durations[last];
+      delays[index] = delays[last];
+      System.arraycopy(from, last * MAX_CHANNELS, from, index * MAX_CHANNELS, MAX_CHANNELS);
+      System.arraycopy(to, last * MAX_CHANNELS, to, index * MAX_CHANNELS, MAX_CHANNELS);
+    }
+    targets[last] = null;
+    properties[last] = null;
+    slots[last] = null;
+    easings[last] = null;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity <= targets.length) {
+      return;
+    }
+    int length = Math.max(capacity, targets.length << 1);
+    targets = Arrays.copyOf(targets, length);
+    properties = Arrays.copyOf(properties, length);
+    easings = Arrays.copyOf(easings, length);
+    elapsed = Arrays.copyOf(elapsed, length);
+    durations = Arrays.copyOf(durations, length);
+    delays = Arrays.copyOf(delays, length);
+    slots = Arrays.copyOf(slots, length);
+    from = Arrays.copyOf(from, length * MAX_CHANNELS);
+    to = Arrays.copyOf(to, length * MAX_CHANNELS);
+  }
+
+  /**
+   * Index of tween in engine arrays.
+   */
+  private static final class Slot {
+
+    private int index;
+
+    private Slot(int index) {
+      this.index = index;
+    }
+  }
+}
@@ -0,0 +1,239 @@
+package com.spinyowl.legui.animation;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.style.Background;
+import com.spinyowl.legui.style.Style;
+import com.spinyowl.legui.style.length.Length;
+import com.spinyowl.legui.style.length.LengthType;
+import com.spinyowl.legui.style.length.Unit;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import org.joml.Vector2f;
+import org.joml.Vector4f;
+
+/**
+ * Property of component which could be animated by {@link TweenEngine}. Property value is
+ * represented by up to {@link #MAX_CHANNELS} float channels.
+ */
+public abstract class TweenProperty {
+
+  /**
+   * Maximum number of channels of property.
+   */
+  public static final int MAX_CHANNELS = 4;
+
+  /**
+   * Component position (x, y). Note that position of components placed by layout manager is
+   * overwritten by layout, {@link #LEFT} and {@link #TOP} should be used for them.
+   */
+  public static final TweenProperty POSITION = new TweenProperty("position", 2) {
+    @Override
+    public void read(Component component, float[] values, int offset) {
+      Vector2f position = component.getPosition();
+      values[offset] = position.x;
+      values[offset + 1] = position.y;
+    }
+
+    @Override
+    public void write(Component component, float[] values, int offset) {
+      component.setPosition(values[offset], values[offset + 1]);
+    }
+  };
+
+  /**
+   * Component size (width, height). Note that size of components placed by layout manager is
+   * overwritten by layout, {@link #WIDTH} and {@link #HEIGHT} should be used for them.
+   */
+  public static final TweenProperty SIZE = new TweenProperty("size", 2) {
+    @Override
+    public void read(Component component, float[] values, int offset) {
+      Vector2f size = component.getSize();
+      values[offset] = size.x;
+      values[offset + 1] = size.y;
+    }
+
+    @Override
+    public void write(Component component, float[] values, int offset) {
+      component.setSize(values[offset], values[offset + 1]);
+    }
+  };
+
+  /**
+   * Background color (r, g, b, a). Missing background color is animated from transparent.
+   */
+  public static final TweenProperty BACKGROUND_COLOR = new TweenProperty("backgroundColor", 4) {
+    @Override
+    public void read(Component component, float[] values, int offset) {
+      Vector4f color = component.getStyle().getBackground().getColor();
+      if (color == null) {
+        Arrays.fill(values, offset, offset + 4, 0f);
+      } else {
+        values[offset] = color.x;
+        values[offset + 1] = color.y;
+        values[offset + 2] = color.z;
+        values[offset + 3] = color.w;
+      }
+    }
+
+    @Override
+    public void write(Component component, float[] values, int offset) {
+      setBackgroundColor(component.getStyle().getBackground(), values[offset],
+          values[offset + 1], values[offset + 2], values[offset + 3]);
+    }
+  };
+
+  /**
+   * Opacity of component background (alpha channel of background color).
+   */
+  public static final TweenProperty OPACITY = new TweenProperty("opacity", 1) {
+    @Override
+    public void read(Component component, float[] values, int offset) {
+      Vector4f color = component.getStyle().getBackground().getColor();
+      values[offset] = color == null ? 0 : color.w;
+    }
+
+    @Override
+    public void write(Component component, float[] values, int offset) {
+      Background background = component.getStyle().getBackground();
+      Vector4f color = background.getColor();
+      if (color == null) {
+        setBackgroundColor(background, 0, 0, 0, values[offset]);
+      } else {
+        setBackgroundColor(background, color.x, color.y, color.z, values[offset]);
+      }
+    }
+  };
+
+  /**
+   * Left style value in pixels.
+   */
+  public static final TweenProperty LEFT = pixelLength("left", Style::getLeft, Style::setLeft,
+      c -> c.getPosition().x);
+  /**
+   * Top style value in pixels.
+   */
+  public static final TweenProperty TOP = pixelLength("top", Style::getTop, Style::setTop,
+      c -> c.getPosition().y);
+  /**
+   * Width style value in pixels.
+   */
+  public static final TweenProperty WIDTH = pixelLength("width", Style::getWidth,
+      Style::setWidth, c -> c.getSize().x);
+  /**
+   * Height style value in pixels.
+   */
+  public static final TweenProperty HEIGHT = pixelLength("height", Style::getHeight,
+      Style::setHeight, c -> c.getSize().y);
+
+  private final String name;
+  private final int channels;
+
+  /**
+   * Creates property.
+   *
+   * @param name     property name.
+   * @param channels number of channels (from 1 to {@link #MAX_CHANNELS}).
+   */
+  protected TweenProperty(String name, int channels) {
+    if (channels < 1 || channels > MAX_CHANNELS) {
+      throw new IllegalArgumentException("Channel count should be in range [1, 4].");
+    }
+    this.name = name;
+    this.channels = channels;
+  }
+
+  /**
+   * Creates property for style length which is animated in pixels.
+   *
+   * @param name     property name.
+   * @param getter   returns style value.
+   * @param setter   sets pixel style value.
+   * @param fallback returns current value of component if style value is not set in pixels.
+   * @return tween property.
+   */
+  public static TweenProperty pixelLength(String name, Function<Style, Unit> getter,
+      PixelSetter setter, ToDoubleFunction<Component> fallback) {
+    return new TweenProperty(name, 1) {
+      @Override
+      public void read(Component component, float[] values, int offset) {
+        Unit unit = getter.apply(component.getStyle());
+        if (unit instanceof Length && ((Length<?>) unit).type() == LengthType.PIXEL) {
+          values[offset] = (Float) ((Length<?>) unit).get();
+        } else {
+          values[offset] = (float) fallback.applyAsDouble(component);
+        }
+      }
+
+      @Override
+      public void write(Component component, float[] values, int offset) {
+        Style style = component.getStyle();
+        // length is immutable, so current length is kept if value is not changed.
+        if (!isPixel(getter.apply(style), values[offset])) {
+          setter.set(style, values[offset]);
+        }
+      }
+    };
+  }
+
+  /**
+   * Returns true if unit is pixel length with provided value.
+   */
+  private static boolean isPixel(Unit unit, float value) {
+    return unit instanceof Length && ((Length<?>) unit).type() == LengthType.PIXEL
+        && ((Float) ((Length<?>) unit).get()) == value;
+  }
+
+  /**
+   * Used to set background color. Background color could be null, so color vector is created in
+   * that case.
+   */
+  private static void setBackgroundColor(Background background, float r, float g, float b,
+      float a) {
+    if (background.getColor() == null) {
+      background.setColor(new Vector4f(r, g, b, a));
+    } else {
+      background.setColor(r, g, b, a);
+    }
+  }
+
+  /**
+   * Used to read current value of property.
+   *
+   * @param component component.
+   * @param values    array to write value.
+   * @param offset    offset of first channel in array.
+   */
+  public abstract void read(Component component, float[] values, int offset);
+
+  /**
+   * Used to set value of property.
+   *
+   * @param component component.
+   * @param values    array which contains value.
+   * @param offset    offset of first channel in array.
+   */
+  public abstract void write(Component component, float[] values, int offset);
+
+  public String getName() {
+    return name;
+  }
+
+  public int getChannels() {
+    return channels;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+  /**
+   * Sets pixel value of style property.
+   */
+  @FunctionalInterface
+  public interface PixelSetter {
+
+    void set(Style style, float value);
+  }
+}
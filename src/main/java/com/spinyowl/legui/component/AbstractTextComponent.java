@@ -47,5 +47,7 @@ public abstract class AbstractTextComponent extends Component implements TextCom
   @Override
   public void setTextState(TextState textState) {
     this.textState = Objects.requireNonNull(textState);
+    textState.setChangeListener(this::invalidate);
+    invalidate();
   }
 }
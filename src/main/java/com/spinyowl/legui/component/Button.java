@@ -93,10 +93,9 @@ public class Button extends AbstractTextComponent {
   private void initialize(String text) {
     BiConsumer<String, String> callback =
         (oldValue, newValue) ->
-            EventProcessorProvider.getInstance()
-                .pushEvent(
-                    new ButtonContentChangeEvent(this, null, this.getFrame(), oldValue, newValue));
-    this.textState = new TextState(text, callback);
+            EventProcessorProvider.pushEvent(
+                new ButtonContentChangeEvent(this, null, this.getFrame(), oldValue, newValue));
+    setTextState(new TextState(text, callback));
     getStyle().setHorizontalAlign(HorizontalAlign.CENTER);
     Themes.getDefaultTheme().applyAll(this);
   }
@@ -136,6 +135,9 @@ public class Button extends AbstractTextComponent {
   }
 
   public void setTextDirection(TextDirection textDirection) {
+    if (this.textDirection != textDirection) {
+      invalidate();
+    }
     this.textDirection = textDirection;
   }
 }
@@ -0,0 +1,131 @@
+package com.spinyowl.legui.component;
+
+import org.joml.Vector2f;
+
+/**
+ * Panel which content (background and child components) is rendered once to offscreen texture and
+ * reused during next frames until panel or any of its child components is changed.
+ * <p>
+ * Should be used for large static parts of ui (toolbars, side panels with labels and icons).
+ * Panels with frequently changed content (for example panels with running animations or focused
+ * text inputs) should not be cached cause content will be re-rendered to texture almost each
+ * frame. Cache hit and miss counters could be used to find out if caching is effective.
+ * <p>
+ * Changes are found automatically the same way as for on-demand rendering, so in-place
+ * modifications of mutable values (for example colors) should be followed by {@link
+ * #invalidate()} of modified component or {@link #invalidateCache()}.
+ */
+public class CachedPanel extends Panel {
+
+  /**
+   * Shows if caching is enabled.
+   */
+  private boolean cacheEnabled = true;
+  /**
+   * Number of frames rendered using cached texture.
+   */
+  private long cacheHits;
+  /**
+   * Number of frames when texture was re-rendered.
+   */
+  private long cacheMisses;
+
+  /**
+   * Default constructor. Used to create component instance without any parameters. <p> Also if you
+   * want to make it easy to use with Json marshaller/unmarshaller component should contain empty
+   * constructor.
+   */
+  public CachedPanel() {
+  }
+
+  /**
+   * Constructor with position and size parameters.
+   *
+   * @param x      x position position in parent component.
+   * @param y      y position position in parent component.
+   * @param width  width of component.
+   * @param height height of component.
+   */
+  public CachedPanel(float x, float y, float width, float height) {
+    super(x, y, width, height);
+  }
+
+  /**
+   * Constructor with position and size parameters.
+   *
+   * @param position position position in parent component.
+   * @param size     size of component.
+   */
+  public CachedPanel(Vector2f position, Vector2f size) {
+    super(position, size);
+  }
+
+  /**
+   * Returns true if content of panel should be cached.
+   *
+   * @return true if caching is enabled.
+   */
+  public boolean isCacheEnabled() {
+    return cacheEnabled;
+  }
+
+  /**
+   * Used to enable or disable caching. If caching is disabled panel is rendered as regular {@link
+   * Panel}.
+   *
+   * @param cacheEnabled true to enable caching.
+   */
+  public void setCacheEnabled(boolean cacheEnabled) {
+    if (this.cacheEnabled != cacheEnabled) {
+      this.cacheEnabled = cacheEnabled;
+      invalidate();
+    }
+  }
+
+  /**
+   * Used to force re-rendering of cached texture during next frame.
+   */
+  public void invalidateCache() {
+    invalidate();
+  }
+
+  /**
+   * Returns number of frames rendered using cached texture.
+   *
+   * @return number of cache hits.
+   */
+  public long getCacheHits() {
+    return cacheHits;
+  }
+
+  /**
+   * Returns number of frames when cached texture was re-rendered.
+   *
+   * @return number of cache misses.
+   */
+  public long getCacheMisses() {
+    return cacheMisses;
+  }
+
+  /**
+   * Used to increment cache hit counter. Called by renderer.
+   */
+  public void registerCacheHit() {
+    cacheHits++;
+  }
+
+  /**
+   * Used to increment cache miss counter. Called by renderer.
+   */
+  public void registerCacheMiss() {
+    cacheMisses++;
+  }
+
+  /**
+   * Used to reset cache hit and miss counters.
+   */
+  public void resetCacheStatistics() {
+    cacheHits = 0;
+    cacheMisses = 0;
+  }
+}
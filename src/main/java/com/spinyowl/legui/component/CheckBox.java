@@ -116,7 +116,7 @@ public class CheckBox extends AbstractTextComponent {
    * @param text text to set.
    */
   private void initialize(String text) {
-    this.textState = new TextState(text);
+    setTextState(new TextState(text));
     getStyle().getBackground().setColor(ColorConstants.transparent());
     getStyle().setBorder(null);
 
@@ -142,6 +142,7 @@ public class CheckBox extends AbstractTextComponent {
    */
   public void setIconUnchecked(Icon iconUnchecked) {
     if (iconUnchecked != null) {
+      invalidate();
       this.iconUnchecked = iconUnchecked;
     }
   }
@@ -162,6 +163,7 @@ public class CheckBox extends AbstractTextComponent {
    */
   public void setIconChecked(Icon iconChecked) {
     if (iconChecked != null) {
+      invalidate();
       this.iconChecked = iconChecked;
     }
   }
@@ -181,6 +183,9 @@ public class CheckBox extends AbstractTextComponent {
    * @param checked new checkbox state.
    */
   public void setChecked(boolean checked) {
+    if (this.checked != checked) {
+      invalidate();
+    }
     this.checked = checked;
   }
 
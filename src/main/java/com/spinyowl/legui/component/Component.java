@@ -1,8 +1,11 @@
 package com.spinyowl.legui.component;
 
+import com.spinyowl.legui.animation.Animation;
+import com.spinyowl.legui.component.misc.animation.ComponentAnimation;
 import com.spinyowl.legui.component.misc.listener.component.TabKeyEventListener;
 import com.spinyowl.legui.component.misc.listener.component.TooltipCursorEnterListener;
 import com.spinyowl.legui.event.AddChildEvent;
+import com.spinyowl.legui.event.ChildComponentsChangeEvent;
 import com.spinyowl.legui.event.CursorEnterEvent;
 import com.spinyowl.legui.event.KeyEvent;
 import com.spinyowl.legui.event.RemoveChildEvent;
@@ -10,15 +13,24 @@ import com.spinyowl.legui.intersection.Intersector;
 import com.spinyowl.legui.intersection.RectangleIntersector;
 import com.spinyowl.legui.listener.ListenerMap;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import com.spinyowl.legui.style.ResolvedStyle;
 import com.spinyowl.legui.style.Style;
+import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.theme.Themes;
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -53,9 +65,15 @@ public abstract class Component implements Serializable {
    */
   private final Style pressedStyle = new Style();
   /**
-   * List of child components.
+   * List of child components. Modified in place by single child mutations and replaced with new
+   * list by {@link #replaceChildren(Collection)}, so readers never observe partially replaced
+   * child list.
    */
-  private final List<Component> childComponents = new CopyOnWriteArrayList<>();
+  private volatile List<Component> childComponents = new CopyOnWriteArrayList<>();
+  /**
+   * Unmodifiable view of child components (reads current child list).
+   */
+  private final List<Component> childComponentsView = new ChildComponentsView();
   /**
    * Parent component container. For root components it could be null.
    */
@@ -129,6 +147,28 @@ public abstract class Component implements Serializable {
    */
   private boolean keepRendering;
 
+  /**
+   * Incremented each time component state is changed in a way that can't be tracked by renderer
+   * (for example component specific state like checkbox value).
+   */
+  private int revision;
+
+  /**
+   * Animations bound to lifecycle of this component.
+   */
+  private transient List<ComponentAnimation<?>> animations = Collections.emptyList();
+
+  /**
+   * Style values resolved for current state of component. Created on first access.
+   */
+  private transient ResolvedStyle resolvedStyle;
+
+  /**
+   * Cached absolute bounds and inherited clip rectangle. Created on first access and replaced with
+   * new immutable instance when changed.
+   */
+  private transient volatile ComponentBounds bounds;
+
   /**
    * Default constructor. Used to create component instance without any parameters.
    * <p>
@@ -196,13 +236,36 @@ public abstract class Component implements Serializable {
   public void setStyle(Style style) {
     if (style != null) {
       this.style = style;
+      style.setChangeListener(this::invalidate);
+      invalidate();
     }
   }
 
+  /**
+   * Returns style values resolved for current state (focused, hovered, pressed) of component.
+   * Values are recalculated only if styles or state were changed since previous call, so this
+   * method should be preferred by renderers over
+   * {@link com.spinyowl.legui.style.util.StyleUtilities#getStyle StyleUtilities.getStyle(...)}.
+   *
+   * @return resolved style.
+   */
+  public ResolvedStyle getResolvedStyle() {
+    if (resolvedStyle == null) {
+      resolvedStyle = new ResolvedStyle();
+    }
+    resolvedStyle.update(this);
+    return resolvedStyle;
+  }
+
   /**
    * Used to initialize component.
    */
   private void initialize() {
+    Runnable listener = this::invalidate;
+    style.setChangeListener(listener);
+    hoveredStyle.setChangeListener(listener);
+    focusedStyle.setChangeListener(listener);
+    pressedStyle.setChangeListener(listener);
     getListenerMap().addListener(CursorEnterEvent.class, new TooltipCursorEnterListener());
     getListenerMap().addListener(KeyEvent.class, new TabKeyEventListener());
     Themes.getDefaultTheme().getThemeManager().getComponentTheme(Component.class).applyAll(this);
@@ -227,16 +290,14 @@ public abstract class Component implements Serializable {
    * @param parent component container.
    */
   public void setParent(Component parent) {
-    if (parent == this) {
+    if (parent == this || parent == this.parent) {
       return;
     }
 
-    if (this.parent != null) {
-      this.parent.remove(this);
-    }
-    this.parent = parent;
     if (parent != null) {
       parent.add(this);
+    } else {
+      this.parent.remove(this);
     }
   }
 
@@ -259,7 +320,8 @@ public abstract class Component implements Serializable {
   }
 
   /**
-   * Returns position vector. Be careful during changing this vector.
+   * Returns position vector. Be careful during changing this vector: {@link #invalidate()} should
+   * be called after in-place modification.
    *
    * @return position vector.
    */
@@ -274,9 +336,13 @@ public abstract class Component implements Serializable {
    */
   public void setPosition(Vector2f position) {
     if (position != null) {
+      // same vector could be modified in place before it's set again.
+      if (position == this.position || !this.position.equals(position)) {
+        invalidate();
+      }
       this.position = position;
     } else {
-      this.position.set(0);
+      setPosition(0, 0);
     }
   }
 
@@ -287,7 +353,10 @@ public abstract class Component implements Serializable {
    * @param y y position relative to parent component.
    */
   public void setPosition(float x, float y) {
-    this.position.set(x, y);
+    if (position.x != x || position.y != y) {
+      this.position.set(x, y);
+      invalidate();
+    }
   }
 
   /**
@@ -299,6 +368,7 @@ public abstract class Component implements Serializable {
    * float height = size.y;
    * }
    * </pre>
+   * {@link #invalidate()} should be called after in-place modification of returned vector.
    *
    * @return size of component.
    */
@@ -313,9 +383,13 @@ public abstract class Component implements Serializable {
    */
   public void setSize(Vector2f size) {
     if (size != null) {
+      // same vector could be modified in place before it's set again.
+      if (size == this.size || !this.size.equals(size)) {
+        invalidate();
+      }
       this.size = size;
     } else {
-      this.size.set(0);
+      setSize(0, 0);
     }
   }
 
@@ -326,7 +400,10 @@ public abstract class Component implements Serializable {
    * @param height height to set.
    */
   public void setSize(float width, float height) {
-    this.size.set(width, height);
+    if (size.x != width || size.y != height) {
+      this.size.set(width, height);
+      invalidate();
+    }
   }
 
   /**
@@ -335,11 +412,49 @@ public abstract class Component implements Serializable {
    * @return position vector.
    */
   public Vector2f getAbsolutePosition() {
-    Vector2f screenPos = new Vector2f(this.position);
-    for (Component p = this.getParent(); p != null; p = p.getParent()) {
-      screenPos.add(p.getPosition());
+    ComponentBounds b = getBounds();
+    return new Vector2f(b.getX(), b.getY());
+  }
+
+  /**
+   * Returns cached absolute bounds and clip rectangle of component. Bounds of component and all
+   * parents are checked and recalculated if position, size or parent was changed, new bounds are
+   * allocated only for changed components. Returned bounds are immutable, so could be used from
+   * any thread.
+   *
+   * @return up to date bounds of component.
+   */
+  public ComponentBounds getBounds() {
+    Component p = parent;
+    if (p != null) {
+      p.getBounds();
     }
-    return screenPos;
+    return updateBounds();
+  }
+
+  /**
+   * Returns cached absolute bounds and clip rectangle of component recalculated using current
+   * bounds of parent, without checking parents. Takes constant time, so should be used by top-down
+   * traversals (renderers, layout managers) where bounds of parent were already updated during the
+   * same traversal. Use {@link #getBounds()} otherwise.
+   *
+   * @return bounds of component.
+   */
+  public ComponentBounds updateBounds() {
+    Component p = parent;
+    ComponentBounds parentBounds = null;
+    if (p != null) {
+      parentBounds = p.bounds;
+      if (parentBounds == null) {
+        parentBounds = p.getBounds();
+      }
+    }
+    ComponentBounds current = bounds;
+    ComponentBounds updated = ComponentBounds.update(current, this, parentBounds);
+    if (updated != current) {
+      bounds = updated;
+    }
+    return updated;
   }
 
   /**
@@ -359,7 +474,10 @@ public abstract class Component implements Serializable {
    * @param enabled flag to set.
    */
   public void setEnabled(boolean enabled) {
-    this.enabled = enabled;
+    if (this.enabled != enabled) {
+      this.enabled = enabled;
+      invalidate();
+    }
   }
 
   /**
@@ -429,7 +547,10 @@ public abstract class Component implements Serializable {
    * @param hovered new hovered value.
    */
   public void setHovered(boolean hovered) {
-    this.hovered = hovered;
+    if (this.hovered != hovered) {
+      this.hovered = hovered;
+      invalidate();
+    }
   }
 
   /**
@@ -447,7 +568,10 @@ public abstract class Component implements Serializable {
    * @param focused new hovered value.
    */
   public void setFocused(boolean focused) {
-    this.focused = focused;
+    if (this.focused != focused) {
+      this.focused = focused;
+      invalidate();
+    }
   }
 
   /**
@@ -465,7 +589,10 @@ public abstract class Component implements Serializable {
    * @param pressed new hovered value.
    */
   public void setPressed(boolean pressed) {
-    this.pressed = pressed;
+    if (this.pressed != pressed) {
+      this.pressed = pressed;
+      invalidate();
+    }
   }
 
   /**
@@ -571,6 +698,18 @@ public abstract class Component implements Serializable {
     return childComponents.size();
   }
 
+  /**
+   * Returns child component at specified position.
+   *
+   * @param index index of child component.
+   * @return child component at specified position.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @see List#get(int)
+   */
+  public Component childAt(int index) {
+    return childComponents.get(index);
+  }
+
   /**
    * Returns true if component contains no elements.
    *
@@ -582,7 +721,8 @@ public abstract class Component implements Serializable {
   }
 
   /**
-   * Returns true if component contains specified component.
+   * Returns true if component contains specified component. Checked by reference using parent of
+   * provided component, so takes constant time.
    *
    * @param component component to check.
    * @return true if component contains specified component.
@@ -611,59 +751,161 @@ public abstract class Component implements Serializable {
    * @see List#add(Object)
    */
   public boolean add(Component component) {
-    if (component == null || component == this || isContains(component)) {
+    if (!isAddable(component)) {
       return false;
     }
-    boolean added = childComponents.add(component);
-    changeParent(component);
-    EventProcessorProvider.getInstance().pushEvent(new AddChildEvent<>(this, component));
-    return added;
+    detach(component);
+    childComponents.add(component);
+    component.parent = this;
+    invalidate();
+    EventProcessorProvider.pushEvent(new AddChildEvent<>(this, component));
+    return true;
   }
 
   public void add(int index, Component component) {
-    if (component == null || component == this || isContains(component)) {
+    if (!isAddable(component)) {
       return;
     }
+    detach(component);
     childComponents.add(index, component);
-    changeParent(component);
-    EventProcessorProvider.getInstance().pushEvent(new AddChildEvent<>(this, component));
+    component.parent = this;
+    invalidate();
+    EventProcessorProvider.pushEvent(new AddChildEvent<>(this, component));
   }
 
   /**
-   * Used to check if component collection contains component or not. Checked by reference.
+   * Used to check if component collection contains component or not. Checked by reference. Parent
+   * of component is always the component which child list contains it, so list is not scanned.
    *
    * @param component component to check.
    * @return true if collection contains provided component.
    */
   private boolean isContains(Component component) {
-    return childComponents.stream().anyMatch(c -> c == component);
+    return component != null && component.parent == this;
+  }
+
+  private boolean isAddable(Component component) {
+    return component != null && component != this && component.parent != this;
   }
 
   /**
-   * Used to add components.
+   * Used to add components. Components are appended to child list with single copy of list and
+   * single {@link ChildComponentsChangeEvent} is generated instead of {@link AddChildEvent} for
+   * each component.
    *
    * @param components components nodes to add.
    */
   public void addAll(Collection<? extends Component> components) {
-    if (components != null) {
-      components.forEach(this::add);
+    if (components == null || components.isEmpty()) {
+      return;
     }
+    List<Component> added = new ArrayList<>(components.size());
+    Set<Component> unique = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Component component : components) {
+      if (isAddable(component) && unique.add(component)) {
+        added.add(component);
+      }
+    }
+    if (added.isEmpty()) {
+      return;
+    }
+    detachAll(added);
+    childComponents.addAll(added);
+    for (Component component : added) {
+      component.parent = this;
+    }
+    invalidate();
+    EventProcessorProvider.pushEvent(
+        new ChildComponentsChangeEvent<>(this, added, Collections.emptyList()));
   }
 
   /**
-   * Used to change parent of added component.
+   * Used to replace all child components with provided components. Components which are not in
+   * provided collection are removed, new components are added, order of child components is the
+   * same as order of provided collection. Child list is replaced with new list in single step
+   * (concurrent readers observe either old or new child list) and single {@link
+   * ChildComponentsChangeEvent} is generated.
    *
-   * @param component component to change.
+   * @param components new child components.
    */
-  private void changeParent(Component component) {
-    Component p = component.getParent();
-    if (p == this) {
+  public void replaceChildren(Collection<? extends Component> components) {
+    List<Component> children = new ArrayList<>(components == null ? 0 : components.size());
+    Set<Component> unique = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<Component> added = new ArrayList<>();
+    if (components != null) {
+      for (Component component : components) {
+        if (component != null && component != this && unique.add(component)) {
+          children.add(component);
+          if (component.parent != this) {
+            added.add(component);
+          }
+        }
+      }
+    }
+    List<Component> removed = new ArrayList<>();
+    for (Component child : childComponents) {
+      if (!unique.contains(child)) {
+        removed.add(child);
+      }
+    }
+    if (added.isEmpty() && removed.isEmpty() && sameOrder(children)) {
       return;
     }
-    if (p != null) {
+
+    detachAll(added);
+    childComponents = new CopyOnWriteArrayList<>(children);
+    for (Component component : removed) {
+      component.parent = null;
+    }
+    for (Component component : added) {
+      component.parent = this;
+    }
+    invalidate();
+    if (!added.isEmpty() || !removed.isEmpty()) {
+      EventProcessorProvider.pushEvent(new ChildComponentsChangeEvent<>(this, added, removed));
+    }
+  }
+
+  private boolean sameOrder(List<Component> components) {
+    if (components.size() != childComponents.size()) {
+      return false;
+    }
+    Iterator<Component> iterator = components.iterator();
+    for (Component child : childComponents) {
+      if (child != iterator.next()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Used to remove component from its current parent before adding to this component.
+   *
+   * @param component component to detach.
+   */
+  private void detach(Component component) {
+    Component p = component.parent;
+    if (p != null && p != this) {
       p.remove(component);
     }
-    component.setParent(this);
+  }
+
+  /**
+   * Used to remove components from their current parents before adding to this component. Each
+   * parent is modified once.
+   *
+   * @param components components to detach.
+   */
+  private void detachAll(List<Component> components) {
+    Map<Component, List<Component>> byParent = new IdentityHashMap<>();
+    for (Component component : components) {
+      Component p = component.parent;
+      if (p != null && p != this) {
+        byParent.computeIfAbsent(p, k -> new ArrayList<>()).add(component);
+      }
+    }
+    byParent.forEach(Component::removeAll);
   }
 
   /**
@@ -674,37 +916,65 @@ public abstract class Component implements Serializable {
    * @see List#remove(Object)
    */
   public boolean remove(Component component) {
-    if (component != null) {
-      Component p = component.getParent();
-      if (p == this && isContains(component)) {
-        boolean removed = childComponents.remove(component);
-        component.setParent(null);
-        EventProcessorProvider.getInstance().pushEvent(new RemoveChildEvent<>(this, component));
-        return removed;
-      }
+    if (!isContains(component)) {
+      return false;
+    }
+    int index = indexOfChild(component);
+    if (index < 0) {
+      return false;
     }
-    return false;
+    remove(index);
+    return true;
   }
 
   public Component remove(int index) {
     Component component = childComponents.remove(index);
     if (component != null) {
-      component.setParent(null);
-      EventProcessorProvider.getInstance().pushEvent(new RemoveChildEvent<>(this, component));
+      component.parent = null;
+      invalidate();
+      EventProcessorProvider.pushEvent(new RemoveChildEvent<>(this, component));
     }
     return component;
   }
 
   /**
-   * Used to remove components.
+   * Used to remove components. Components are removed from child list with single copy of list
+   * and single {@link ChildComponentsChangeEvent} is generated instead of {@link RemoveChildEvent}
+   * for each component.
    *
    * @param components components to remove.
    * @see List#removeAll(Collection)
    */
   public void removeAll(Collection<? extends Component> components) {
-    if (components != null) {
-      components.forEach(this::remove);
+    if (components == null || components.isEmpty()) {
+      return;
+    }
+    Set<Component> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Component component : components) {
+      if (isContains(component)) {
+        toRemove.add(component);
+      }
     }
+    removeChildren(toRemove);
+  }
+
+  private void removeChildren(Set<Component> toRemove) {
+    if (toRemove.isEmpty()) {
+      return;
+    }
+    List<Component> removed = new ArrayList<>(toRemove.size());
+    for (Component child : childComponents) {
+      if (toRemove.contains(child)) {
+        removed.add(child);
+      }
+    }
+    childComponents.removeIf(toRemove::contains);
+    for (Component component : removed) {
+      component.parent = null;
+    }
+    invalidate();
+    EventProcessorProvider.pushEvent(
+        new ChildComponentsChangeEvent<>(this, Collections.emptyList(), removed));
   }
 
   /**
@@ -715,17 +985,23 @@ public abstract class Component implements Serializable {
    * @see List#removeIf(Predicate)
    */
   public void removeIf(Predicate<? super Component> filter) {
-    childComponents.stream().filter(filter).forEach(this::remove);
+    Set<Component> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Component child : childComponents) {
+      if (filter.test(child)) {
+        toRemove.add(child);
+      }
+    }
+    removeChildren(toRemove);
   }
 
   /**
-   * Used to remove all child components from component.
+   * Used to remove all child components from component. Generates single {@link
+   * ChildComponentsChangeEvent}.
    *
    * @see List#clear()
    */
   public void clearChildComponents() {
-    childComponents.forEach(compo -> compo.setParent(null));
-    childComponents.clear();
+    replaceChildren(Collections.emptyList());
   }
 
   /**
@@ -736,7 +1012,12 @@ public abstract class Component implements Serializable {
    * @see List#containsAll(Collection)
    */
   public boolean containsAll(Collection<Component> components) {
-    return this.childComponents.containsAll(components);
+    for (Component component : components) {
+      if (!isContains(component)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   /**
@@ -781,6 +1062,57 @@ public abstract class Component implements Serializable {
     return new ArrayList<>(childComponents);
   }
 
+  /**
+   * Used to retrieve unmodifiable view of child components. Unlike {@link #getChildComponents()}
+   * doesn't copy child components, so should be used to iterate over child components.
+   * <p>
+   * Iteration over view is performed over snapshot of child components, so it is safe to add or
+   * remove child components during iteration.
+   *
+   * @return unmodifiable view of child components.
+   */
+  public List<Component> getChildComponentsView() {
+    return childComponentsView;
+  }
+
+  /**
+   * Unmodifiable view of current child list of component.
+   */
+  private class ChildComponentsView extends AbstractList<Component> implements RandomAccess,
+      Serializable {
+
+    @Override
+    public Component get(int index) {
+      return childComponents.get(index);
+    }
+
+    @Override
+    public int size() {
+      return childComponents.size();
+    }
+
+    @Override
+    public Iterator<Component> iterator() {
+      // copy-on-write iterator doesn't support modification.
+      return childComponents.iterator();
+    }
+
+    @Override
+    public ListIterator<Component> listIterator(int index) {
+      return childComponents.listIterator(index);
+    }
+
+    @Override
+    public Spliterator<Component> spliterator() {
+      return childComponents.spliterator();
+    }
+
+    @Override
+    public void forEach(Consumer<? super Component> action) {
+      childComponents.forEach(action);
+    }
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -842,8 +1174,24 @@ public abstract class Component implements Serializable {
         .toString();
   }
 
+  /**
+   * Returns index of child component. Checked by reference.
+   *
+   * @param component child component.
+   * @return index of child component or -1 if component is not a child of this component.
+   */
   public int indexOfChild(Component component) {
-    return childComponents.indexOf(component);
+    if (!isContains(component)) {
+      return -1;
+    }
+    int index = 0;
+    for (Component child : childComponents) {
+      if (child == component) {
+        return index;
+      }
+      index++;
+    }
+    return -1;
   }
 
   public Layer getLayer() {
@@ -876,4 +1224,107 @@ public abstract class Component implements Serializable {
   public void keepRendering(boolean keepRendering) {
     this.keepRendering = keepRendering;
   }
+
+  /**
+   * Used to mark component as changed so it will be re-rendered during next frame when on-demand
+   * rendering is used. Change is reported to context of frame which contains this component (see
+   * {@link Context#invalidate(Component)}), so renderer checks only changed components and waiting
+   * main thread is woken up.
+   * <p>
+   * Called by setters of position, size, state (hovered, focused, pressed, enabled), style and text
+   * state properties, so this method should be called only in case of changes that could not be
+   * tracked: component specific state or in-place modification of mutable values (for example
+   * {@code component.getSize().x = 10} or {@code style.getBorder().setColor(...)}).
+   */
+  public void invalidate() {
+    this.revision++;
+    Frame frame = getFrame();
+    Context context = frame == null ? null : frame.getContext();
+    if (context != null) {
+      context.invalidate(this);
+    }
+  }
+
+  /**
+   * Returns component revision which is changed each time when {@link #invalidate()} is called.
+   * Used by renderers to find out if component was changed since it was rendered last time.
+   *
+   * @return component revision.
+   */
+  public int getRevision() {
+    return revision;
+  }
+
+  /**
+   * Used to bind animation to lifecycle of this component. Animation is started by renderer when
+   * component is rendered (so only when component is attached to frame and visible), suspended
+   * while component is detached, hidden or animation is idle and stopped when it is removed using
+   * {@link #removeAnimation(ComponentAnimation)}.
+   *
+   * @param animation animation to bind.
+   */
+  public void addAnimation(ComponentAnimation<?> animation) {
+    if (animation == null) {
+      return;
+    }
+    if (animations.isEmpty()) {
+      animations = new CopyOnWriteArrayList<>();
+    }
+    if (!animations.contains(animation)) {
+      animations.add(animation);
+    }
+  }
+
+  /**
+   * Used to unbind and stop animation.
+   *
+   * @param animation animation to remove.
+   */
+  public void removeAnimation(ComponentAnimation<?> animation) {
+    if (animation != null && animations.remove(animation)) {
+      animation.stopAnimation();
+    }
+  }
+
+  /**
+   * Returns animations bound to lifecycle of this component.
+   *
+   * @return unmodifiable list of bound animations.
+   */
+  public List<ComponentAnimation<?>> getAnimations() {
+    return Collections.unmodifiableList(animations);
+  }
+
+  /**
+   * Used to replace animation of component. {@link ComponentAnimation}s are bound to lifecycle of
+   * component, other animations are started immediately.
+   *
+   * @param previous  previous animation to stop (could be null).
+   * @param animation new animation (could be null).
+   */
+  protected void replaceAnimation(Animation previous, Animation animation) {
+    if (previous instanceof ComponentAnimation) {
+      removeAnimation((ComponentAnimation<?>) previous);
+    } else if (previous != null) {
+      previous.stopAnimation();
+    }
+    if (animation instanceof ComponentAnimation) {
+      addAnimation((ComponentAnimation<?>) animation);
+    } else if (animation != null) {
+      animation.startAnimation();
+    }
+  }
+
+  /**
+   * Used to start bound animations which are not running. Called by renderer each time component
+   * is rendered.
+   */
+  public void resumeAnimations() {
+    if (animations.isEmpty()) {
+      return;
+    }
+    for (ComponentAnimation<?> animation : animations) {
+      animation.resume();
+    }
+  }
 }
@@ -0,0 +1,200 @@
+package com.spinyowl.legui.component;
+
+/**
+ * Cached absolute (screen space) bounds of component and clip rectangle inherited from parent
+ * components (intersection of absolute bounds of all parents).
+ * <p>
+ * Position and size vectors of component could be modified in place, so bounds are not
+ * invalidated by setters. Instead bounds remember position, size and parent of component and
+ * parent bounds they were calculated from, and are recalculated only if one of them differs, so
+ * child bounds are recalculated when position or size of any parent changes. Revision is
+ * incremented each time calculated values change.
+ * <p>
+ * Instances are immutable: recalculated bounds are published by component as new instance (see
+ * {@link Component#getBounds()} and {@link Component#updateBounds()}), so bounds could be read
+ * from any thread and values of one instance are always consistent.
+ */
+public final class ComponentBounds {
+
+  private final Component parent;
+  private final ComponentBounds parentBounds;
+  private final float positionX;
+  private final float positionY;
+  private final float sizeX;
+  private final float sizeY;
+
+  private final int revision;
+
+  private final float x;
+  private final float y;
+  private final float width;
+  private final float height;
+
+  private final float clipMinX;
+  private final float clipMinY;
+  private final float clipMaxX;
+  private final float clipMaxY;
+
+  private ComponentBounds(Component parent, ComponentBounds parentBounds, float positionX,
+      float positionY, float sizeX, float sizeY, int revision, float x, float y,
+      float clipMinX, float clipMinY, float clipMaxX, float clipMaxY) {
+    this.parent = parent;
+    this.parentBounds = parentBounds;
+    this.positionX = positionX;
+    this.positionY = positionY;
+    this.sizeX = sizeX;
+    this.sizeY = sizeY;
+    this.revision = revision;
+    this.x = x;
+    this.y = y;
+    this.width = sizeX;
+    this.height = sizeY;
+    this.clipMinX = clipMinX;
+    this.clipMinY = clipMinY;
+    this.clipMaxX = clipMaxX;
+    this.clipMaxY = clipMaxY;
+  }
+
+  /**
+   * Used to recalculate bounds if component or parent bounds were changed.
+   *
+   * @param current      current bounds of component or null.
+   * @param component    component which owns bounds.
+   * @param parentBounds up to date bounds of parent component or null if component has no parent.
+   * @return current bounds if nothing was changed or new bounds.
+   */
+  static ComponentBounds update(ComponentBounds current, Component component,
+      ComponentBounds parentBounds) {
+    Component p = component.getParent();
+    float px = component.getPosition().x;
+    float py = component.getPosition().y;
+    float sx = component.getSize().x;
+    float sy = component.getSize().y;
+
+    if (current != null && current.parent == p && current.parentBounds == parentBounds
+        && current.positionX == px && current.positionY == py
+        && current.sizeX == sx && current.sizeY == sy) {
+      return current;
+    }
+
+    float newX = px;
+    float newY = py;
+    float newClipMinX = Float.NEGATIVE_INFINITY;
+    float newClipMinY = Float.NEGATIVE_INFINITY;
+    float newClipMaxX = Float.POSITIVE_INFINITY;
+    float newClipMaxY = Float.POSITIVE_INFINITY;
+    if (parentBounds != null) {
+      newX += parentBounds.x;
+      newY += parentBounds.y;
+      newClipMinX = Math.max(parentBounds.clipMinX, parentBounds.x);
+      newClipMinY = Math.max(parentBounds.clipMinY, parentBounds.y);
+      newClipMaxX = Math.min(parentBounds.clipMaxX, parentBounds.x + parentBounds.width);
+      newClipMaxY = Math.min(parentBounds.clipMaxY, parentBounds.y + parentBounds.height);
+    }
+
+    int newRevision = 0;
+    if (current != null) {
+      newRevision = current.revision;
+      if (current.x != newX || current.y != newY || current.width != sx || current.height != sy
+          || current.clipMinX != newClipMinX || current.clipMinY != newClipMinY
+          || current.clipMaxX != newClipMaxX || current.clipMaxY != newClipMaxY) {
+        newRevision++;
+      }
+    }
+    return new ComponentBounds(p, parentBounds, px, py, sx, sy, newRevision, newX, newY,
+        newClipMinX, newClipMinY, newClipMaxX, newClipMaxY);
+  }
+
+  /**
+   * Returns true if component bounds intersect clip rectangle (component is visible in all
+   * parents). Touching edges are considered as intersection.
+   *
+   * @return true if component is visible in parents.
+   */
+  public boolean isVisibleInParents() {
+    if (clipMinX > clipMaxX || clipMinY > clipMaxY) {
+      return false;
+    }
+    return x <= clipMaxX && x + width >= clipMinX && y <= clipMaxY && y + height >= clipMinY;
+  }
+
+  /**
+   * Returns true if clip rectangle is limited by parents (component has parent).
+   *
+   * @return true if clip rectangle is limited.
+   */
+  public boolean isClipped() {
+    return clipMinX != Float.NEGATIVE_INFINITY;
+  }
+
+  /**
+   * Returns revision of bounds. Incremented each time bounds or clip rectangle change.
+   *
+   * @return revision of bounds.
+   */
+  public int getRevision() {
+    return revision;
+  }
+
+  /**
+   * Returns absolute x position of component.
+   *
+   * @return absolute x position.
+   */
+  public float getX() {
+    return x;
+  }
+
+  /**
+   * Returns absolute y position of component.
+   *
+   * @return absolute y position.
+   */
+  public float getY() {
+    return y;
+  }
+
+  public float getWidth() {
+    return width;
+  }
+
+  public float getHeight() {
+    return height;
+  }
+
+  /**
+   * Returns left edge of clip rectangle ({@link Float#NEGATIVE_INFINITY} if not clipped).
+   *
+   * @return left edge of clip rectangle.
+   */
+  public float getClipMinX() {
+    return clipMinX;
+  }
+
+  /**
+   * Returns top edge of clip rectangle ({@link Float#NEGATIVE_INFINITY} if not clipped).
+   *
+   * @return top edge of clip rectangle.
+   */
+  public float getClipMinY() {
+    return clipMinY;
+  }
+
+  /**
+   * Returns right edge of clip rectangle ({@link Float#POSITIVE_INFINITY} if not clipped).
+   *
+   * @return right edge of clip rectangle.
+   */
+  public float getClipMaxX() {
+    return clipMaxX;
+  }
+
+  /**
+   * Returns bottom edge of clip rectangle ({@link Float#POSITIVE_INFINITY} if not clipped).
+   *
+   * @return bottom edge of clip rectangle.
+   */
+  public float getClipMaxY() {
+    return clipMaxY;
+  }
+}
@@ -1,5 +1,7 @@
 package com.spinyowl.legui.component;
 
+import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.context.ContextRuntime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -30,6 +32,16 @@ public class Frame {
    * Used to hold components.
    */
   private Layer componentLayer;
+  /**
+   * Runtime of context which processes this frame. Used to resolve runtime of components of this
+   * frame when they are changed without context (for example from worker thread).
+   */
+  private volatile ContextRuntime runtime;
+  /**
+   * Context which processes and renders this frame. Used to notify renderer about changed
+   * components.
+   */
+  private volatile Context context;
 
   /**
    * Used to create frame and initialize layers with specified size.
@@ -113,6 +125,7 @@ public class Frame {
     }
     if (!containsLayer(layer) && layers.add(layer)) {
       changeFrame(layer);
+      invalidate();
     }
   }
 
@@ -141,6 +154,7 @@ public class Frame {
       boolean removed = layers.remove(layer);
       if (removed) {
         layer.setParent(null);
+        invalidate();
       }
     }
   }
@@ -168,6 +182,7 @@ public class Frame {
 
   public void setComponentLayer(Layer componentLayer) {
     this.componentLayer = Objects.requireNonNull(componentLayer);
+    invalidate();
   }
 
   /**
@@ -182,6 +197,7 @@ public class Frame {
 
   public void setTooltipLayer(Layer tooltipLayer) {
     this.tooltipLayer = Objects.requireNonNull(tooltipLayer);
+    invalidate();
   }
 
   /**
@@ -220,6 +236,60 @@ public class Frame {
     return componentLayer;
   }
 
+  /**
+   * Returns runtime of context which processes this frame.
+   *
+   * @return runtime or null if frame is processed with default global instances.
+   */
+  public ContextRuntime getRuntime() {
+    return runtime;
+  }
+
+  /**
+   * Used to set runtime of context which processes this frame. Set automatically when frame is
+   * processed or rendered with context which has runtime, but could be set before that, so
+   * components created and changed before first frame reach right runtime.
+   *
+   * @param runtime runtime to set.
+   */
+  public void setRuntime(ContextRuntime runtime) {
+    this.runtime = runtime;
+  }
+
+  /**
+   * Returns context which processes and renders this frame.
+   *
+   * @return context of this frame or null if frame was not processed or rendered yet.
+   */
+  public Context getContext() {
+    return context;
+  }
+
+  /**
+   * Used to set context which processes and renders this frame. Set automatically when frame is
+   * processed or rendered. Changed components of frame are reported to this context using {@link
+   * Context#invalidate(Component)}.
+   *
+   * @param context context to set.
+   */
+  public void setContext(Context context) {
+    Context old = this.context;
+    this.context = context;
+    if (context != null && context != old) {
+      context.invalidate();
+    }
+  }
+
+  /**
+   * Used to mark whole frame as changed.
+   */
+  private void invalidate() {
+    Context c = context;
+    if (c != null) {
+      c.invalidate();
+    }
+  }
+
   @Override
   public int hashCode() {
     return new HashCodeBuilder(17, 37)
@@ -56,6 +56,9 @@ public class ImageView extends Component {
    * @param image image to set.
    */
   public void setImage(Image image) {
+    if (this.image != image) {
+      invalidate();
+    }
     this.image = image;
   }
 
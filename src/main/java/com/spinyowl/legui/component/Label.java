@@ -101,10 +101,10 @@ public class Label extends AbstractTextComponent {
   private void initialize(String text) {
 
     BiConsumer<String, String> callback = (oldValue, newValue) ->
-        EventProcessorProvider.getInstance().pushEvent(
+        EventProcessorProvider.pushEvent(
             new LabelContentChangeEvent(this, null, this.getFrame(), oldValue, newValue));
 
-    textState = new TextState(text, callback);
+    setTextState(new TextState(text, callback));
 
     getStyle().getBackground().setColor(ColorConstants.transparent());
     getStyle().setBorder(null);
@@ -116,6 +116,9 @@ public class Label extends AbstractTextComponent {
   }
 
   public void setTextDirection(TextDirection textDirection) {
+    if (this.textDirection != textDirection) {
+      invalidate();
+    }
     this.textDirection = Objects.requireNonNull(textDirection);
   }
 
@@ -2,6 +2,7 @@ package com.spinyowl.legui.component;
 
 import com.spinyowl.legui.component.misc.listener.layercontainer.LayerContainerWindowSizeEventListener;
 import com.spinyowl.legui.event.WindowSizeEvent;
+import com.spinyowl.legui.intersection.SpatialIndex;
 import com.spinyowl.legui.style.color.ColorConstants;
 import com.spinyowl.legui.theme.Themes;
 
@@ -27,6 +28,10 @@ public class Layer extends Component {
    * Determines if current layer and all of it components can receive events.
    */
   private boolean eventReceivable = true;
+  /**
+   * Index of layer components used to search components under cursor.
+   */
+  private final SpatialIndex spatialIndex = new SpatialIndex(this);
 
   /**
    * Default constructor. Used to create component instance without any parameters.
@@ -72,6 +77,15 @@ public class Layer extends Component {
     }
   }
 
+  /**
+   * Returns index of layer components which is used to search components under cursor.
+   *
+   * @return spatial index of layer.
+   */
+  public SpatialIndex getSpatialIndex() {
+    return spatialIndex;
+  }
+
   /**
    * Returns true if layer is event passable.
    *
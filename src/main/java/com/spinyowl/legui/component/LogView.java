@@ -0,0 +1,322 @@
+package com.spinyowl.legui.component;
+
+import static com.spinyowl.legui.style.util.StyleUtilities.getPadding;
+
+import com.spinyowl.legui.component.misc.listener.logview.LogViewScrollListener;
+import com.spinyowl.legui.component.optional.LogBuffer;
+import com.spinyowl.legui.component.optional.Orientation;
+import com.spinyowl.legui.event.ScrollEvent;
+import com.spinyowl.legui.style.Style.DisplayType;
+import com.spinyowl.legui.theme.Themes;
+import java.util.Collection;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.joml.Vector2f;
+import org.joml.Vector4f;
+
+/**
+ * Read-only view of streamed text lines (logs, console output) with vertical scroll bar.
+ * <p>
+ * Unlike {@link TextArea} lines are not stored as single text: they are appended to {@link
+ * LogBuffer} (from any thread), moved to bounded ring buffer once per frame and only lines in
+ * visible part of view are rendered. If auto scroll is enabled and view is scrolled to the end, it
+ * follows new lines, otherwise view stays at same lines while new lines are appended and old lines
+ * are dropped.
+ * <p>
+ * When on-demand rendering is used, {@link #invalidate()} should be called after appending lines
+ * from other thread to wake up rendering thread.
+ */
+public class LogView extends Component implements Viewport {
+
+  /**
+   * Initial scrollbar width.
+   */
+  private static final float INITIAL_SCROLL_SIZE = 8f;
+
+  private LogBuffer logBuffer;
+
+  /**
+   * Used to scroll view vertically.
+   */
+  private ScrollBar verticalScrollBar;
+
+  /**
+   * If true view follows new lines while it's scrolled to the end.
+   */
+  private boolean autoScroll = true;
+
+  private float lineHeight;
+  private int logBufferRevision = -1;
+
+  /**
+   * Default constructor. Used to create component instance without any parameters. <p> Also if you
+   * want to make it easy to use with Json marshaller/unmarshaller component should contain empty
+   * constructor.
+   */
+  public LogView() {
+    initialize();
+  }
+
+  /**
+   * Constructor with position and size parameters.
+   *
+   * @param x      x position position in parent component.
+   * @param y      y position position in parent component.
+   * @param width  width of component.
+   * @param height height of component.
+   */
+  public LogView(float x, float y, float width, float height) {
+    super(x, y, width, height);
+    initialize();
+  }
+
+  /**
+   * Constructor with position and size parameters.
+   *
+   * @param position position position in parent component.
+   * @param size     size of component.
+   */
+  public LogView(Vector2f position, Vector2f size) {
+    super(position, size);
+    initialize();
+  }
+
+  private void initialize() {
+    this.getStyle().setDisplay(DisplayType.FLEX);
+    logBuffer = new LogBuffer();
+
+    verticalScrollBar = new ScrollBar();
+    verticalScrollBar.getStyle().setWidth(INITIAL_SCROLL_SIZE);
+    verticalScrollBar.getStyle().setTop(0f);
+    verticalScrollBar.getStyle().setRight(0f);
+    verticalScrollBar.getStyle().setBottom(0f);
+    verticalScrollBar.setOrientation(Orientation.VERTICAL);
+    verticalScrollBar.setViewport(this);
+    verticalScrollBar.setTabFocusable(false);
+    this.add(verticalScrollBar);
+
+    getListenerMap().addListener(ScrollEvent.class, new LogViewScrollListener());
+
+    Themes.getDefaultTheme().getThemeManager().getComponentTheme(LogView.class).applyAll(this);
+  }
+
+  /**
+   * Used to append text. Text is split to lines by line breaks. Could be called from any thread.
+   *
+   * @param text text to append.
+   * @see LogBuffer#append(String)
+   */
+  public void append(String text) {
+    logBuffer.append(text);
+  }
+
+  /**
+   * Used to append batch of lines. Could be called from any thread.
+   *
+   * @param lines lines to append.
+   * @see LogBuffer#appendLines(Collection)
+   */
+  public void appendLines(Collection<String> lines) {
+    logBuffer.appendLines(lines);
+  }
+
+  /**
+   * Returns log buffer which holds lines of view.
+   *
+   * @return log buffer.
+   */
+  public LogBuffer getLogBuffer() {
+    return logBuffer;
+  }
+
+  /**
+   * Used to replace log buffer (for example to share buffer between views).
+   *
+   * @param logBuffer log buffer to set.
+   */
+  public void setLogBuffer(LogBuffer logBuffer) {
+    if (logBuffer == null) {
+      throw new IllegalArgumentException("Log buffer cannot be null.");
+    }
+    this.logBuffer = logBuffer;
+    this.logBufferRevision = -1;
+  }
+
+  /**
+   * Returns true if view follows new lines while it's scrolled to the end.
+   *
+   * @return true if auto scroll is enabled.
+   */
+  public boolean isAutoScroll() {
+    return autoScroll;
+  }
+
+  /**
+   * Used to enable or disable following new lines while view is scrolled to the end.
+   *
+   * @param autoScroll true to enable auto scroll.
+   */
+  public void setAutoScroll(boolean autoScroll) {
+    this.autoScroll = autoScroll;
+  }
+
+  /**
+   * Returns vertical scrollbar.
+   *
+   * @return vertical scrollbar.
+   */
+  public ScrollBar getVerticalScrollBar() {
+    return verticalScrollBar;
+  }
+
+  /**
+   * Returns line height used to layout lines (set by renderer).
+   *
+   * @return line height.
+   */
+  public float getLineHeight() {
+    return lineHeight;
+  }
+
+  /**
+   * Returns height of all lines of log buffer.
+   *
+   * @return content height.
+   */
+  public float getContentHeight() {
+    return logBuffer.size() * lineHeight;
+  }
+
+  /**
+   * Returns vertical offset of visible part of content defined by vertical scroll bar.
+   *
+   * @return scroll offset.
+   */
+  public float getScrollOffset() {
+    float range = getContentHeight() - getViewportSize().y;
+    float valueRange = verticalScrollBar.getMaxValue() - verticalScrollBar.getMinValue();
+    if (range <= 0 || valueRange <= 0) {
+      return 0;
+    }
+    return range * (verticalScrollBar.getCurValue() - verticalScrollBar.getMinValue())
+        / valueRange;
+  }
+
+  /**
+   * Used to scroll view to provided vertical offset of content.
+   *
+   * @param offset scroll offset.
+   */
+  public void setScrollOffset(float offset) {
+    float range = getContentHeight() - getViewportSize().y;
+    float minValue = verticalScrollBar.getMinValue();
+    float maxValue = verticalScrollBar.getMaxValue();
+    if (range <= 0) {
+      verticalScrollBar.setCurValue(minValue);
+    } else {
+      float value = minValue + (maxValue - minValue) * offset / range;
+      verticalScrollBar.setCurValue(Math.max(minValue, Math.min(maxValue, value)));
+    }
+  }
+
+  /**
+   * Used to scroll view to the last line.
+   */
+  public void scrollToEnd() {
+    verticalScrollBar.setCurValue(verticalScrollBar.getMaxValue());
+  }
+
+  /**
+   * Returns true if last line is visible.
+   *
+   * @return true if view is scrolled to the end.
+   */
+  public boolean isScrolledToEnd() {
+    return getContentHeight() <= getViewportSize().y
+        || verticalScrollBar.getCurValue() >= verticalScrollBar.getMaxValue() - 0.001f;
+  }
+
+  /**
+   * Used to move appended lines to log buffer and keep scroll position. Called by renderer once per
+   * frame before rendering lines.
+   *
+   * @param lineHeight line height.
+   * @return number of appended lines.
+   */
+  public int update(float lineHeight) {
+    boolean follow = autoScroll && isScrolledToEnd();
+    // view stays at same line even if older lines are dropped.
+    double anchor = this.lineHeight > 0
+        ? logBuffer.getFirstLineNumber() + getScrollOffset() / this.lineHeight : 0;
+
+    int drained = logBuffer.drain();
+    if (logBuffer.getRevision() == logBufferRevision && lineHeight == this.lineHeight) {
+      return drained;
+    }
+    logBufferRevision = logBuffer.getRevision();
+    this.lineHeight = lineHeight;
+
+    if (follow) {
+      scrollToEnd();
+    } else {
+      setScrollOffset((float) ((anchor - logBuffer.getFirstLineNumber()) * lineHeight));
+    }
+    invalidate();
+    return drained;
+  }
+
+  @Override
+  public Vector2f getViewportSize() {
+    Vector4f padding = getPadding(this, getStyle());
+    float scrollBarWidth = verticalScrollBar.isVisible() ? verticalScrollBar.getSize().x : 0;
+    Vector2f size = getSize();
+    return new Vector2f(
+        Math.max(0, size.x - padding.x - padding.z - scrollBarWidth),
+        Math.max(0, size.y - padding.y - padding.w));
+  }
+
+  @Override
+  public Vector2f getViewportViewSize() {
+    Vector2f viewportSize = getViewportSize();
+    return viewportSize.set(viewportSize.x, Math.max(viewportSize.y, getContentHeight()));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof LogView)) {
+      return false;
+    }
+
+    LogView logView = (LogView) o;
+
+    return new EqualsBuilder()
+        .appendSuper(super.equals(o))
+        .append(autoScroll, logView.autoScroll)
+        .append(verticalScrollBar, logView.verticalScrollBar)
+        .isEquals();
+  }
+
+  @Override
+  public int hashCode() {
+    return new HashCodeBuilder(17, 37)
+        .appendSuper(super.hashCode())
+        .append(autoScroll)
+        .append(verticalScrollBar)
+        .toHashCode();
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+        .append("autoScroll", autoScroll)
+        .append("lineCount", logBuffer.size())
+        .append("verticalScrollBar", verticalScrollBar)
+        .toString();
+  }
+}
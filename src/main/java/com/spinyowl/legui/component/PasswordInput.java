@@ -101,6 +101,9 @@ public class PasswordInput extends TextInput {
    * @param maskCharacter mask character to set.
    */
   public void setMaskCharacter(int maskCharacter) {
+    if (this.maskCharacter != maskCharacter) {
+      invalidate();
+    }
     this.maskCharacter = maskCharacter;
   }
 
@@ -119,6 +122,9 @@ public class PasswordInput extends TextInput {
    * @param masked true if need to mask text.
    */
   public void setMasked(boolean masked) {
+    if (this.masked != masked) {
+      invalidate();
+    }
     this.masked = masked;
   }
 
@@ -162,5 +168,7 @@ public class PasswordInput extends TextInput {
   @Override
   public void setTextState(TextState textState) {
     this.textState = Objects.requireNonNull(textState);
+    textState.setChangeListener(this::invalidate);
+    invalidate();
   }
 }
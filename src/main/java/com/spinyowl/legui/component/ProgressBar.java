@@ -86,6 +86,7 @@ public class ProgressBar extends Component {
    * @param value current progress status.
    */
   public void setValue(float value) {
+    float oldValue = this.value;
     if (value < MIN_VALUE) {
       this.value = MIN_VALUE;
     } else if (value > MAX_VALUE) {
@@ -93,6 +94,9 @@ public class ProgressBar extends Component {
     } else {
       this.value = value;
     }
+    if (oldValue != this.value) {
+      invalidate();
+    }
   }
 
   /**
@@ -110,6 +114,9 @@ public class ProgressBar extends Component {
    * @param progressColor progress bar color.
    */
   public void setProgressColor(Vector4f progressColor) {
+    if (this.progressColor != progressColor) {
+      invalidate();
+    }
     this.progressColor = progressColor;
   }
 
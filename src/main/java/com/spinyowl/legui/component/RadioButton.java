@@ -122,7 +122,7 @@ public class RadioButton extends AbstractTextComponent {
    * @param text text to set.
    */
   private void initialize(String text) {
-    textState = new TextState(text);
+    setTextState(new TextState(text));
     getStyle().setBorder(null);
     getListenerMap().addListener(MouseClickEvent.class, new RadioButtonClickEventListener());
     iconUnchecked.setHorizontalAlign(HorizontalAlign.LEFT);
@@ -145,6 +145,9 @@ public class RadioButton extends AbstractTextComponent {
    * @param checked true if it should be checked.
    */
   public void setChecked(boolean checked) {
+    if (this.checked != checked) {
+      invalidate();
+    }
     this.checked = checked;
     if (radioButtonGroup != null) {
       radioButtonGroup.setSelection(this, checked);
@@ -195,6 +198,9 @@ public class RadioButton extends AbstractTextComponent {
    * @param iconUnchecked radio image for non-checked state to set.
    */
   public void setIconUnchecked(Icon iconUnchecked) {
+    if (this.iconUnchecked != iconUnchecked) {
+      invalidate();
+    }
     this.iconUnchecked = iconUnchecked;
   }
 
@@ -213,6 +219,9 @@ public class RadioButton extends AbstractTextComponent {
    * @param iconChecked radio image for checked state to set.
    */
   public void setIconChecked(Icon iconChecked) {
+    if (this.iconChecked != iconChecked) {
+      invalidate();
+    }
     this.iconChecked = iconChecked;
   }
 
@@ -2,6 +2,7 @@ package com.spinyowl.legui.component;
 
 import com.spinyowl.legui.animation.Animation;
 import com.spinyowl.legui.component.event.scrollbar.ScrollBarChangeValueEvent;
+import com.spinyowl.legui.component.misc.animation.ComponentAnimation;
 import com.spinyowl.legui.component.misc.animation.scrollbar.ScrollBarAnimation;
 import com.spinyowl.legui.component.misc.listener.scrollbar.ScrollBarMouseClickEventListener;
 import com.spinyowl.legui.component.misc.listener.scrollbar.ScrollBarMouseDragEventListener;
@@ -169,8 +170,7 @@ public class ScrollBar extends Component {
     getListenerMap().addListener(MouseDragEvent.class, new ScrollBarMouseDragEventListener());
     getListenerMap().addListener(MouseClickEvent.class, new ScrollBarMouseClickEventListener());
 
-    animation = new ScrollBarAnimation(this);
-    animation.startAnimation();
+    setAnimation(new ScrollBarAnimation(this));
 
     Themes.getDefaultTheme().getThemeManager().getComponentTheme(ScrollBar.class).applyAll(this);
   }
@@ -191,6 +191,9 @@ public class ScrollBar extends Component {
    * @param scrolling new status to set.
    */
   public void setScrolling(boolean scrolling) {
+    if (this.scrolling != scrolling) {
+      invalidate();
+    }
     this.scrolling = scrolling;
   }
 
@@ -228,6 +231,7 @@ public class ScrollBar extends Component {
    */
   public void setOrientation(Orientation orientation) {
     if (orientation != null) {
+      invalidate();
       this.orientation = orientation;
     }
   }
@@ -247,6 +251,9 @@ public class ScrollBar extends Component {
    * @param arrowSize arrow size to set.
    */
   public void setArrowSize(float arrowSize) {
+    if (this.arrowSize != arrowSize) {
+      invalidate();
+    }
     this.arrowSize = arrowSize;
   }
 
@@ -265,6 +272,9 @@ public class ScrollBar extends Component {
    * @param arrowsEnabled value to enable/disable arrows.
    */
   public void setArrowsEnabled(boolean arrowsEnabled) {
+    if (this.arrowsEnabled != arrowsEnabled) {
+      invalidate();
+    }
     this.arrowsEnabled = arrowsEnabled;
   }
 
@@ -283,6 +293,9 @@ public class ScrollBar extends Component {
    * @param scrollColor scrollbar color to set.
    */
   public void setScrollColor(Vector4f scrollColor) {
+    if (this.scrollColor != scrollColor) {
+      invalidate();
+    }
     this.scrollColor = scrollColor;
   }
 
@@ -301,6 +314,9 @@ public class ScrollBar extends Component {
    * @param arrowColor scrollbar arrow color to set.
    */
   public void setArrowColor(Vector4f arrowColor) {
+    if (this.arrowColor != arrowColor) {
+      invalidate();
+    }
     this.arrowColor = arrowColor;
   }
 
@@ -320,9 +336,13 @@ public class ScrollBar extends Component {
    * @param visibleAmount visible size of viewport.
    */
   public void setVisibleAmount(float visibleAmount) {
+    float oldValue = this.visibleAmount;
     if (visibleAmount > minValue && visibleAmount <= maxValue) {
       this.visibleAmount = visibleAmount;
     }
+    if (oldValue != this.visibleAmount) {
+      invalidate();
+    }
   }
 
   /**
@@ -340,6 +360,9 @@ public class ScrollBar extends Component {
    * @param minValue minimum state of scrollbar to set.
    */
   public void setMinValue(float minValue) {
+    if (this.minValue != minValue) {
+      invalidate();
+    }
     this.minValue = minValue;
   }
 
@@ -358,6 +381,9 @@ public class ScrollBar extends Component {
    * @param maxValue maximum state of scrollbar to set.
    */
   public void setMaxValue(float maxValue) {
+    if (this.maxValue != maxValue) {
+      invalidate();
+    }
     this.maxValue = maxValue;
   }
 
@@ -376,6 +402,7 @@ public class ScrollBar extends Component {
    * @param curValue current state of scrollbar to set.
    */
   public void setCurValue(float curValue) {
+    float oldValue = this.curValue;
     if (curValue < minValue) {
       this.curValue = minValue;
     } else if (curValue > maxValue) {
@@ -383,6 +410,9 @@ public class ScrollBar extends Component {
     } else {
       this.curValue = curValue;
     }
+    if (oldValue != this.curValue) {
+      invalidate();
+    }
   }
 
   /**
@@ -444,18 +474,14 @@ public class ScrollBar extends Component {
   }
 
   /**
-   * Used to set scroll bar animation. Automatically starts animation.
+   * Used to set scroll bar animation. {@link ComponentAnimation} is bound to lifecycle of
+   * component, other animations are started immediately.
    *
    * @param animation scroll bar animation to set.
    */
   public void setAnimation(Animation animation) {
-    if (this.animation != null) {
-      this.animation.stopAnimation();
-    }
+    replaceAnimation(this.animation, animation);
     this.animation = animation;
-    if (animation != null) {
-      this.animation.startAnimation();
-    }
   }
 
   @Override
@@ -3,10 +3,12 @@ package com.spinyowl.legui.component;
 import static com.spinyowl.legui.style.length.LengthType.pixel;
 
 import com.spinyowl.legui.animation.Animation;
+import com.spinyowl.legui.component.misc.animation.ComponentAnimation;
 import com.spinyowl.legui.component.misc.animation.scrollablepanel.ScrollablePanelAnimation;
 import com.spinyowl.legui.component.misc.listener.scrollablepanel.ScrollablePanelViewportScrollListener;
 import com.spinyowl.legui.component.optional.Orientation;
 import com.spinyowl.legui.event.AddChildEvent;
+import com.spinyowl.legui.event.ChildComponentsChangeEvent;
 import com.spinyowl.legui.event.RemoveChildEvent;
 import com.spinyowl.legui.event.ScrollEvent;
 import com.spinyowl.legui.style.Style.DisplayType;
@@ -90,18 +92,14 @@ public class ScrollablePanel extends Component implements Viewport {
   }
 
   /**
-   * Used to set scrollable panel animation. Automatically starts animation.
+   * Used to set scrollable panel animation. {@link ComponentAnimation} is bound to lifecycle of
+   * component, other animations are started immediately.
    *
    * @param animation scroll bar animation to set.
    */
   public void setAnimation(Animation animation) {
-    if (this.animation != null) {
-      this.animation.stopAnimation();
-    }
+    replaceAnimation(this.animation, animation);
     this.animation = animation;
-    if (animation != null) {
-      this.animation.startAnimation();
-    }
   }
 
   private void initialize() {
@@ -109,6 +107,8 @@ public class ScrollablePanel extends Component implements Viewport {
     container.setTabFocusable(false);
     container.getListenerMap().addListener(AddChildEvent.class, e -> autoRecalculateSize());
     container.getListenerMap().addListener(RemoveChildEvent.class, e -> autoRecalculateSize());
+    container.getListenerMap()
+        .addListener(ChildComponentsChangeEvent.class, e -> autoRecalculateSize());
 
     viewport = new ScrollablePanelViewport(this);
     viewport.add(container);
@@ -139,8 +139,7 @@ public class ScrollablePanel extends Component implements Viewport {
     applyStyles();
     autoRecalculateSize();
 
-    animation = new ScrollablePanelAnimation(this);
-    animation.startAnimation();
+    setAnimation(new ScrollablePanelAnimation(this));
 
     Themes.getDefaultTheme()
         .getThemeManager()
@@ -157,7 +156,7 @@ public class ScrollablePanel extends Component implements Viewport {
   public void recalculateSize() {
     Vector2f viewportSize = calculateViewportSize();
 
-    for (Component childComponent : container.getChildComponents()) {
+    for (Component childComponent : container.getChildComponentsView()) {
       float right = childComponent.getPosition().x + childComponent.getSize().x;
       float bottom = childComponent.getPosition().y + childComponent.getSize().y;
       if (right > viewportSize.x) {
@@ -180,8 +180,7 @@ public class SelectBox<T> extends Component {
 
     selectBoxLayer.add(selectionListPanel);
 
-    SelectBoxAnimation animation = new SelectBoxAnimation(this, selectionListPanel);
-    animation.startAnimation();
+    addAnimation(new SelectBoxAnimation(this, selectionListPanel));
 
     Themes.getDefaultTheme().getThemeManager().getComponentTheme(SelectBox.class).applyAll(this);
   }
@@ -253,6 +252,9 @@ public class SelectBox<T> extends Component {
    * @param collapsed collapsed state to set.
    */
   public void setCollapsed(boolean collapsed) {
+    if (this.collapsed != collapsed) {
+      invalidate();
+    }
     this.collapsed = collapsed;
     if (!collapsed) {
       selectionListPanel.getVerticalScrollBar().setCurValue(0);
@@ -288,7 +290,8 @@ public class SelectBox<T> extends Component {
         elements.add(element);
         selectBoxElements.add(boxElement);
         selectionListPanel.getContainer().add(boxElement);
-        selectionListPanel.getContainer().getSize().y = selectBoxElements.size() * elementHeight;
+        Component container = selectionListPanel.getContainer();
+        container.setSize(container.getSize().x, selectBoxElements.size() * elementHeight);
       }
     } finally {
       lock.unlock();
@@ -261,6 +261,7 @@ public class Slider extends Component {
    * @param value new slider value.
    */
   public void setValue(float value) {
+    float oldValue = this.value;
     this.value = value;
 
     // respect step size
@@ -281,6 +282,9 @@ public class Slider extends Component {
     } else if (this.value < this.minValue) {
       this.value = this.minValue;
     }
+    if (oldValue != this.value) {
+      invalidate();
+    }
   }
 
   /**
@@ -298,6 +302,9 @@ public class Slider extends Component {
    * @param sliderColor new slider color.
    */
   public void setSliderColor(Vector4f sliderColor) {
+    if (this.sliderColor != sliderColor) {
+      invalidate();
+    }
     this.sliderColor = sliderColor;
   }
 
@@ -316,6 +323,9 @@ public class Slider extends Component {
    * @param sliderSize new slider size.
    */
   public void setSliderSize(float sliderSize) {
+    if (this.sliderSize != sliderSize) {
+      invalidate();
+    }
     this.sliderSize = sliderSize;
   }
 
@@ -334,6 +344,9 @@ public class Slider extends Component {
    * @param sliderActiveColor new slider active color.
    */
   public void setSliderActiveColor(Vector4f sliderActiveColor) {
+    if (this.sliderActiveColor != sliderActiveColor) {
+      invalidate();
+    }
     this.sliderActiveColor = sliderActiveColor;
   }
 
@@ -352,6 +365,9 @@ public class Slider extends Component {
    * @param orientation new slider orientation.
    */
   public void setOrientation(Orientation orientation) {
+    if (this.orientation != orientation) {
+      invalidate();
+    }
     this.orientation = orientation;
   }
 
@@ -5,6 +5,7 @@ import static com.spinyowl.legui.style.util.StyleUtilities.getPadding;
 
 import com.spinyowl.legui.animation.Animation;
 import com.spinyowl.legui.component.event.textarea.TextAreaFieldUpdateEvent;
+import com.spinyowl.legui.component.misc.animation.ComponentAnimation;
 import com.spinyowl.legui.component.misc.animation.textarea.TextAreaScrollAnimation;
 import com.spinyowl.legui.component.misc.listener.textarea.TextAreaFieldUpdateListener;
 import com.spinyowl.legui.component.misc.listener.textarea.TextAreaViewportScrollListener;
@@ -98,18 +99,14 @@ public class TextArea extends Component implements TextComponent, Viewport {
   }
 
   /**
-   * Used to set scrollable panel animation. Automatically starts animation.
+   * Used to set scrollable panel animation. {@link ComponentAnimation} is bound to lifecycle of
+   * component, other animations are started immediately.
    *
    * @param animation scroll bar animation to set.
    */
   public void setAnimation(Animation animation) {
-    if (this.animation != null) {
-      this.animation.stopAnimation();
-    }
+    replaceAnimation(this.animation, animation);
     this.animation = animation;
-    if (animation != null) {
-      this.animation.startAnimation();
-    }
   }
 
   private void initialize() {
@@ -137,8 +134,7 @@ public class TextArea extends Component implements TextComponent, Viewport {
     this.add(viewport);
     this.getStyle().getBackground().setColor(ColorConstants.transparent());
 
-    animation = new TextAreaScrollAnimation(this);
-    animation.startAnimation();
+    setAnimation(new TextAreaScrollAnimation(this));
 
     verticalScrollBar = new ScrollBar();
     verticalScrollBar.getStyle().setWidth(INITIAL_SCROLL_SIZE);
@@ -443,10 +439,36 @@ public class TextArea extends Component implements TextComponent, Viewport {
     textAreaField.setTabSize(tabSize);
   }
 
+  /**
+   * Returns true if long lines are wrapped to width of viewport.
+   *
+   * @return true if word wrap is enabled.
+   */
+  public boolean isWordWrap() {
+    return textAreaField.isWordWrap();
+  }
+
+  /**
+   * Used to enable or disable soft word wrap. If enabled, text area field width is equal to
+   * viewport width and horizontal scroll bar is hidden.
+   *
+   * @param wordWrap true to enable word wrap.
+   * @see TextAreaField#setWordWrap(boolean)
+   */
+  public void setWordWrap(boolean wordWrap) {
+    textAreaField.setWordWrap(wordWrap);
+    if (wordWrap) {
+      horizontalScrollBar.setCurValue(horizontalScrollBar.getMinValue());
+    }
+    setHorizontalScrollBarVisible(!wordWrap);
+    resizeTextAreaField();
+  }
+
   public void resizeTextAreaField() {
     Vector2f viewportSize = getViewportSize();
     Vector4f padding = getPadding(textAreaField, textAreaField.getStyle());
-    float maxTextWidth = Math.max(
+    // wrapped text always fits viewport width, it's wrapped again when viewport is resized.
+    float maxTextWidth = textAreaField.isWordWrap() ? viewportSize.x : Math.max(
         textAreaField.getMaxTextWidth() + padding.x + padding.z,
         viewportSize.x
     );
@@ -34,6 +34,11 @@ public class TextAreaField extends AbstractTextComponent {
 
   private boolean stickToAlignment = true;
 
+  /**
+   * If true long lines are wrapped to width of text area field.
+   */
+  private boolean wordWrap;
+
   /**
    * Default constructor. Used to create component instance without any parameters. <p> Also if you
    * want to make it easy to use with Json marshaller/unmarshaller component should contain empty
@@ -109,8 +114,9 @@ public class TextAreaField extends AbstractTextComponent {
    * @param s text to set.
    */
   private void initialize(String s) {
-    textState = new TextState(s, (prev, next) -> EventProcessorProvider.getInstance()
-        .pushEvent(new TextAreaFieldUpdateEvent(this, null, getFrame())));
+    setTextState(new TextState(s));
+    textState.addTextChangeListener(change -> EventProcessorProvider.pushEvent(
+        new TextAreaFieldUpdateEvent(this, null, getFrame())));
     getStyle().setPadding(10f, 5f);
 
     getListenerMap().addListener(MouseDragEvent.class, new TextAreaFieldDragEventListener());
@@ -245,6 +251,30 @@ public class TextAreaField extends AbstractTextComponent {
     }
   }
 
+  /**
+   * Returns true if long lines are wrapped to width of text area field.
+   *
+   * @return true if word wrap is enabled.
+   */
+  public boolean isWordWrap() {
+    return wordWrap;
+  }
+
+  /**
+   * Used to enable or disable soft word wrap. If enabled, lines which don't fit width of text area
+   * field are broken to several rows (text is not modified), rows are used for rendering, vertical
+   * scrolling and caret navigation.
+   *
+   * @param wordWrap true to enable word wrap.
+   * @see com.spinyowl.legui.component.optional.TextWrapIndex
+   */
+  public void setWordWrap(boolean wordWrap) {
+    if (this.wordWrap != wordWrap) {
+      invalidate();
+    }
+    this.wordWrap = wordWrap;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -103,7 +103,7 @@ public class TextInput extends AbstractTextComponent {
    * @param text text to set.
    */
   private void initialize(String text) {
-    textState = new TextState(text);
+    setTextState(new TextState(text));
     getStyle().setPadding(1f, 5f);
 
     getListenerMap().addListener(KeyboardEvent.class, new TextInputKeyEventListener());
@@ -106,6 +106,9 @@ public class ToggleButton extends Button {
    * @param toggled new value.
    */
   public void setToggled(boolean toggled) {
+    if (this.toggled != toggled) {
+      invalidate();
+    }
     this.toggled = toggled;
   }
 
@@ -124,6 +127,9 @@ public class ToggleButton extends Button {
    * @param toggledBackgroundColor new value.
    */
   public void setToggledBackgroundColor(Vector4f toggledBackgroundColor) {
+    if (this.toggledBackgroundColor != toggledBackgroundColor) {
+      invalidate();
+    }
     this.toggledBackgroundColor = toggledBackgroundColor;
   }
 
@@ -142,6 +148,9 @@ public class ToggleButton extends Button {
    * @param togglededBackgroundIcon toggled background icon.
    */
   public void setTogglededBackgroundIcon(Icon togglededBackgroundIcon) {
+    if (this.togglededBackgroundIcon != togglededBackgroundIcon) {
+      invalidate();
+    }
     this.togglededBackgroundIcon = togglededBackgroundIcon;
   }
 
@@ -34,7 +34,7 @@ public class Tooltip extends AbstractTextComponent {
    * @param text text to set.
    */
   private void initialize(String text) {
-    this.textState = new TextState(text);
+    setTextState(new TextState(text));
 
     Themes.getDefaultTheme().getThemeManager().getComponentTheme(Tooltip.class).applyAll(this);
   }
@@ -396,7 +396,7 @@ public class Widget extends Component {
    * @param titleHeight title height to set.
    */
   public void setTitleHeight(float titleHeight) {
-    this.titleContainer.getSize().y = titleHeight;
+    this.titleContainer.setSize(titleContainer.getSize().x, titleHeight);
     this.titleContainer.getStyle().setMinHeight(titleHeight);
     this.titleContainer.getStyle().setHeight(titleHeight);
     this.titleContainer.getStyle().setMaxHeight(titleHeight);
@@ -636,7 +636,7 @@ public class Widget extends Component {
   private void maximize() {
     if (isTitleEnabled()) {
 
-      this.getSize().set(maximizedSize);
+      this.setSize(maximizedSize.x, maximizedSize.y);
 
       this.getStyle().setMaxWidth(maximizedMaxWidth);
       this.getStyle().setMaxHeight(maximizedMaxHeight);
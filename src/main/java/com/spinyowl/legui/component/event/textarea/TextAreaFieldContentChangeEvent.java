@@ -2,13 +2,18 @@ package com.spinyowl.legui.component.event.textarea;
 
 import com.spinyowl.legui.component.Frame;
 import com.spinyowl.legui.component.TextAreaField;
+import com.spinyowl.legui.component.optional.TextChange;
 import com.spinyowl.legui.event.Event;
 import com.spinyowl.legui.system.context.Context;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
-
+/**
+ * Pushed when text of text area field is changed by user. Event contains either old and new text
+ * or (for incremental modifications) {@link TextChange} which describes modified range, in that
+ * case old and new values are null.
+ */
 public class TextAreaFieldContentChangeEvent<T extends TextAreaField> extends Event<T> {
 
   /**
@@ -19,12 +24,25 @@ public class TextAreaFieldContentChangeEvent<T extends TextAreaField> extends Ev
    * New value.
    */
   private final String newValue;
+  /**
+   * Text change.
+   */
+  private final TextChange change;
 
   public TextAreaFieldContentChangeEvent(T component, Context context, Frame frame, String oldValue,
       String newValue) {
     super(component, context, frame);
     this.oldValue = oldValue;
     this.newValue = newValue;
+    this.change = null;
+  }
+
+  public TextAreaFieldContentChangeEvent(T component, Context context, Frame frame,
+      TextChange change) {
+    super(component, context, frame);
+    this.oldValue = null;
+    this.newValue = null;
+    this.change = change;
   }
 
   /**
@@ -45,11 +63,21 @@ public class TextAreaFieldContentChangeEvent<T extends TextAreaField> extends Ev
     return newValue;
   }
 
+  /**
+   * Returns text change or null if event contains old and new values.
+   *
+   * @return text change.
+   */
+  public TextChange getChange() {
+    return change;
+  }
+
   @Override
   public String toString() {
     return new ToStringBuilder(this)
         .append("oldValue", oldValue)
         .append("newValue", newValue)
+        .append("change", change)
         .toString();
   }
 
@@ -69,6 +97,7 @@ public class TextAreaFieldContentChangeEvent<T extends TextAreaField> extends Ev
         .appendSuper(super.equals(o))
         .append(oldValue, that.oldValue)
         .append(newValue, that.newValue)
+        .append(change, that.change)
         .isEquals();
   }
 
@@ -78,6 +107,7 @@ public class TextAreaFieldContentChangeEvent<T extends TextAreaField> extends Ev
         .appendSuper(super.hashCode())
         .append(oldValue)
         .append(newValue)
+        .append(change)
         .toHashCode();
   }
 }
@@ -0,0 +1,98 @@
+package com.spinyowl.legui.component.misc.animation;
+
+import com.spinyowl.legui.animation.Animation;
+import com.spinyowl.legui.animation.AnimatorProvider;
+import com.spinyowl.legui.component.Component;
+import java.lang.ref.WeakReference;
+
+/**
+ * Animation bound to lifecycle of component (see {@link
+ * Component#addAnimation(ComponentAnimation)}).
+ * <p>
+ * Animation runs only while component is attached to frame and visible. It is suspended (removed
+ * from animator) when component is removed from frame, hidden or when animation has nothing to do
+ * ({@link #isIdle(Component)}), and it is resumed by renderer next time component is rendered.
+ * Animation holds component by weak reference and finishes when component is collected.
+ *
+ * @param <T> component type.
+ */
+public abstract class ComponentAnimation<T extends Component> extends Animation {
+
+  private final WeakReference<T> componentReference;
+
+  protected ComponentAnimation(T component) {
+    this.componentReference = new WeakReference<>(component);
+  }
+
+  public WeakReference<T> getComponentReference() {
+    return componentReference;
+  }
+
+  /**
+   * Used to start animation if it is suspended and component is not idle. Called by renderer when
+   * component is rendered.
+   */
+  public void resume() {
+    if (isAnimationStarted()) {
+      return;
+    }
+    T component = componentReference.get();
+    if (component != null && !isIdle(component)) {
+      startAnimation(AnimatorProvider.getAnimator(null, component));
+    }
+  }
+
+  /**
+   * Suspends animation if component is collected, detached from frame or hidden, otherwise calls
+   * {@link #animate(Component, double)}.
+   *
+   * @param delta delta time (from previous call).
+   * @return true if animation should be removed from animator.
+   */
+  @Override
+  protected boolean animate(double delta) {
+    T component = componentReference.get();
+    if (component == null || !isDisplayed(component)) {
+      return true;
+    }
+    return animate(component, delta);
+  }
+
+  /**
+   * Used to update component. Called by animator every frame while animation is running.
+   *
+   * @param component animated component.
+   * @param delta     delta time (from previous call).
+   * @return true if animation should be suspended until component is rendered again.
+   */
+  protected abstract boolean animate(T component, double delta);
+
+  /**
+   * Returns true if animation has nothing to do for component, so it should not be resumed. Should
+   * be cheap since it is called each time component is rendered while animation is suspended.
+   *
+   * @param component animated component.
+   * @return true if animation should not be resumed.
+   */
+  protected boolean isIdle(T component) {
+    return false;
+  }
+
+  /**
+   * Returns true if component and all of its parents are visible and component is attached to
+   * frame.
+   */
+  private static boolean isDisplayed(Component component) {
+    Component current = component;
+    while (true) {
+      if (!current.isVisible()) {
+        return false;
+      }
+      Component parent = current.getParent();
+      if (parent == null) {
+        return current.getFrame() != null;
+      }
+      current = parent;
+    }
+  }
+}
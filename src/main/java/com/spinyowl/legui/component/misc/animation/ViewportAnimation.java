@@ -1,12 +1,16 @@
 package com.spinyowl.legui.component.misc.animation;
 
-import com.spinyowl.legui.animation.Animation;
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.ScrollBar;
-import java.lang.ref.WeakReference;
 import org.joml.Vector2f;
 
-public abstract class ViewportAnimation<T extends Component> extends Animation {
+/**
+ * Moves container in viewport to position defined by scroll bars. Animation is suspended while
+ * container is at target position (see {@link #isIdle(Component)}).
+ *
+ * @param <T> component type.
+ */
+public abstract class ViewportAnimation<T extends Component> extends ComponentAnimation<T> {
 
   private static final double DOUBLE_THRESHOLD = 0.001;
 
@@ -16,41 +20,78 @@ public abstract class ViewportAnimation<T extends Component> extends Animation {
   private double deltaT;
   private final Vector2f initialPosition = new Vector2f();
 
-  private final WeakReference<T> componentReference;
-
   public ViewportAnimation(T component, double updateTime) {
-    this.componentReference = new WeakReference<>(component);
+    super(component);
     this.updateTime = updateTime;
   }
 
-  public WeakReference<T> getComponentReference() {
-    return componentReference;
+  /**
+   * This method used to update animated object. Called by animator every frame.
+   *
+   * @param component animated component.
+   * @param delta     delta time (from previous call).
+   * @return true if container is at target position and animation could be suspended.
+   */
+  @Override
+  protected boolean animate(T component, double delta) {
+    if (isIdle(component)) {
+      deltaSum = 0;
+      return true;
+    }
+    deltaSum += delta;
+    if (deltaSum >= 0.001d) {
+      updateViewport(component, deltaSum);
+      deltaSum = 0;
+    }
+    return false;
   }
 
   /**
-   * This method used to update animated object. Called by animator every frame. Removed from
-   * animator and stops when this method returns true. <p> Returns true if animation is finished and
-   * could be removed from animator.
+   * Returns true if container is at target position. By default returns false, so animation is
+   * never suspended - should be implemented using {@link #isAtRest(Component, Component,
+   * ScrollBar, ScrollBar)}.
    *
-   * @param delta delta time (from previous call).
-   * @return true if animation is finished and could be removed from animator.
+   * @param component animated component.
+   * @return true if container is at target position.
    */
   @Override
-  protected boolean animate(double delta) {
-    T component = this.getComponentReference().get();
-    if (component != null) {
-      deltaSum += delta;
-      if (deltaSum >= 0.001d) {
-        updateViewport(component, deltaSum);
-        deltaSum = 0;
-      }
-      return false;
-    }
-    return true;
+  protected boolean isIdle(T component) {
+    return false;
   }
 
   protected abstract void updateViewport(T component, double delta);
 
+  /**
+   * Returns true if container is at target position and is not moving.
+   *
+   * @param viewport            viewport.
+   * @param container           container.
+   * @param verticalScrollBar   vertical scroll bar.
+   * @param horizontalScrollBar horizontal scroll bar.
+   * @return true if container is at target position.
+   */
+  protected boolean isAtRest(
+      Component viewport,
+      Component container,
+      ScrollBar verticalScrollBar,
+      ScrollBar horizontalScrollBar) {
+    if (deltaT > 0 && deltaT < updateTime) {
+      return false;
+    }
+    float targetY = calculateTargetPosition(verticalScrollBar, viewport.getSize().y,
+        container.getSize().y);
+    float targetX = calculateTargetPosition(horizontalScrollBar, viewport.getSize().x,
+        container.getSize().x);
+    Vector2f position = container.getPosition();
+    if (Math.abs(targetX - position.x) < DOUBLE_THRESHOLD
+        && Math.abs(targetY - position.y) < DOUBLE_THRESHOLD) {
+      deltaT = 0;
+      initialPosition.set(position);
+      return true;
+    }
+    return false;
+  }
+
   protected void updateViewport(
       Component viewport,
       Component container,
@@ -17,6 +17,12 @@ public class ScrollablePanelAnimation extends ViewportAnimation<ScrollablePanel>
   }
 
 
+  @Override
+  protected boolean isIdle(ScrollablePanel scrollablePanel) {
+    return isAtRest(scrollablePanel.getViewport(), scrollablePanel.getContainer(),
+        scrollablePanel.getVerticalScrollBar(), scrollablePanel.getHorizontalScrollBar());
+  }
+
   protected void updateViewport(ScrollablePanel scrollablePanel, double delta) {
     Component viewport = scrollablePanel.getViewport();
     Component container = scrollablePanel.getContainer();
@@ -1,55 +1,68 @@
 package com.spinyowl.legui.component.misc.animation.scrollbar;
 
-import com.spinyowl.legui.animation.Animation;
 import com.spinyowl.legui.component.ScrollBar;
 import com.spinyowl.legui.component.Viewport;
+import com.spinyowl.legui.component.misc.animation.ComponentAnimation;
 import com.spinyowl.legui.component.optional.Orientation;
-import java.lang.ref.WeakReference;
 import org.joml.Vector2f;
 
 
-public class ScrollBarAnimation extends Animation {
-
-  private WeakReference<ScrollBar> scrollBar;
+/**
+ * Updates visible amount of scroll bar according to viewport size. Suspended while visible amount
+ * is up-to-date.
+ */
+public class ScrollBarAnimation extends ComponentAnimation<ScrollBar> {
 
   public ScrollBarAnimation(ScrollBar scrollBar) {
-    this.scrollBar = new WeakReference<>(scrollBar);
+    super(scrollBar);
   }
 
   /**
-   * This method used to update animated object. Called by animator every frame. Removed from
-   * animator and stops when this method returns true. <p> Returns true if animation is finished and
-   * could be removed from animator.
+   * This method used to update animated object. Called by animator every frame.
    *
-   * @param delta delta time (from previous call).
-   * @return true if animation is finished and could be removed from animator.
+   * @param scrollBar scroll bar.
+   * @param delta     delta time (from previous call).
+   * @return true if visible amount is up-to-date and animation could be suspended.
    */
   @Override
-  protected boolean animate(double delta) {
-    ScrollBar scrollBar = this.scrollBar.get();
-    if (scrollBar == null) {
+  protected boolean animate(ScrollBar scrollBar, double delta) {
+    float visibleAmount = calculateVisibleAmount(scrollBar);
+    if (Float.isNaN(visibleAmount) || visibleAmount == scrollBar.getVisibleAmount()) {
       return true;
     }
+    scrollBar.setVisibleAmount(visibleAmount);
+    return false;
+  }
 
-    Viewport viewport = scrollBar.getViewport();
-    if (scrollBar.isVisible() && viewport != null) {
-
-      Vector2f viewportSize = viewport.getViewportSize();
-      Vector2f viewportViewSize = viewport.getViewportViewSize();
+  @Override
+  protected boolean isIdle(ScrollBar scrollBar) {
+    float visibleAmount = calculateVisibleAmount(scrollBar);
+    return Float.isNaN(visibleAmount) || visibleAmount == scrollBar.getVisibleAmount();
+  }
 
-      if (viewportSize == null || viewportViewSize == null) {
-        return true;
-      }
+  /**
+   * Returns visible amount which corresponds to viewport size or NaN if it could not be
+   * calculated.
+   */
+  private float calculateVisibleAmount(ScrollBar scrollBar) {
+    Viewport viewport = scrollBar.getViewport();
+    if (!scrollBar.isVisible() || viewport == null) {
+      return Float.NaN;
+    }
 
-      float range = scrollBar.getMaxValue() - scrollBar.getMinValue();
-      float allSize = Orientation.HORIZONTAL.equals(scrollBar.getOrientation()) ? viewportViewSize.x
-          : viewportViewSize.y;
-      float viewSize = Orientation.HORIZONTAL.equals(scrollBar.getOrientation()) ? viewportSize.x
-          : viewportSize.y;
+    Vector2f viewportSize = viewport.getViewportSize();
+    Vector2f viewportViewSize = viewport.getViewportViewSize();
 
-      scrollBar.setVisibleAmount(allSize >= viewSize ? (range * viewSize / allSize) : range);
+    if (viewportSize == null || viewportViewSize == null) {
+      return Float.NaN;
     }
 
-    return false;
+    float range = scrollBar.getMaxValue() - scrollBar.getMinValue();
+    float allSize = Orientation.HORIZONTAL.equals(scrollBar.getOrientation()) ? viewportViewSize.x
+        : viewportViewSize.y;
+    float viewSize = Orientation.HORIZONTAL.equals(scrollBar.getOrientation()) ? viewportSize.x
+        : viewportSize.y;
+
+    return allSize >= viewSize ? (range * viewSize / allSize) : range;
   }
 }
@@ -1,42 +1,39 @@
 package com.spinyowl.legui.component.misc.animation.selectbox;
 
-import com.spinyowl.legui.animation.Animation;
 import com.spinyowl.legui.component.SelectBox;
 import com.spinyowl.legui.component.SelectBox.SelectBoxScrollablePanel;
+import com.spinyowl.legui.component.misc.animation.ComponentAnimation;
 import java.lang.ref.WeakReference;
 import org.joml.Vector2f;
 
 
-public class SelectBoxAnimation extends Animation {
+/**
+ * Updates size and position of selection list. Suspended while select box is collapsed.
+ */
+public class SelectBoxAnimation extends ComponentAnimation<SelectBox> {
 
-  private final WeakReference<SelectBox> selectBox;
   private final WeakReference<SelectBoxScrollablePanel> selectionListPanel;
 
   private double deltaSum = 0d;
 
   public SelectBoxAnimation(SelectBox selectBox, SelectBoxScrollablePanel selectionListPanel) {
-    this.selectBox = new WeakReference<>(selectBox);
+    super(selectBox);
     this.selectionListPanel = new WeakReference<>(selectionListPanel);
   }
 
   /**
-   * This method used to update animated object. Called by animator every frame. Removed from
-   * animator and stops when this method returns true. <p> Returns true if animation is finished and
-   * could be removed from animator.
+   * This method used to update animated object. Called by animator every frame.
    *
-   * @param delta delta time (from previous call).
-   * @return true if animation is finished and could be removed from animator.
+   * @param selectBox select box.
+   * @param delta     delta time (from previous call).
+   * @return true if select box is collapsed and animation could be suspended.
    */
   @Override
-  protected boolean animate(double delta) {
-    SelectBox selectBox = this.selectBox.get();
+  protected boolean animate(SelectBox selectBox, double delta) {
     SelectBoxScrollablePanel selectionListPanel = this.selectionListPanel.get();
-    if (selectBox == null || selectionListPanel == null) {
+    if (selectionListPanel == null || selectBox.isCollapsed()) {
       return true;
     }
-    if (selectBox.isCollapsed()) {
-      return false;
-    }
     deltaSum += delta;
 
     if (deltaSum < 0.01d) {
@@ -64,12 +61,16 @@ public class SelectBoxAnimation extends Animation {
 
     selectionListPanel.setSize(wsize);
     selectionListPanel.setPosition(wpos);
-    selectionListPanel.getContainer().getSize().y =
-        selectionListPanel.getContainer().count() * elementHeight;
-    selectionListPanel.getContainer().getSize().x =
-        size.x - selectionListPanel.getVerticalScrollBar().getSize().x;
+    selectionListPanel.getContainer().setSize(
+        size.x - selectionListPanel.getVerticalScrollBar().getSize().x,
+        selectionListPanel.getContainer().count() * elementHeight);
 
     deltaSum = 0;
     return false;
   }
+
+  @Override
+  protected boolean isIdle(SelectBox selectBox) {
+    return selectBox.isCollapsed();
+  }
 }
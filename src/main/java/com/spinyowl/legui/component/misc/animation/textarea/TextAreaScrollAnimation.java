@@ -17,6 +17,12 @@ public class TextAreaScrollAnimation extends ViewportAnimation<TextArea> {
   }
 
 
+  @Override
+  protected boolean isIdle(TextArea textArea) {
+    return isAtRest(textArea.getViewport(), textArea.getTextAreaField(),
+        textArea.getVerticalScrollBar(), textArea.getHorizontalScrollBar());
+  }
+
   protected void updateViewport(TextArea scrollablePanel, double delta) {
     Component viewport = scrollablePanel.getViewport();
     Component textAreaField = scrollablePanel.getTextAreaField();
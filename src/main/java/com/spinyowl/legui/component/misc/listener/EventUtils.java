@@ -6,9 +6,18 @@ import com.spinyowl.legui.component.Layer;
 import com.spinyowl.legui.component.Viewport;
 import com.spinyowl.legui.event.ScrollEvent;
 import com.spinyowl.legui.system.handler.SehUtil;
+import java.util.ArrayList;
 import java.util.List;
 import org.joml.Vector2f;
 
+/**
+ * Utility methods for event listeners.
+ * <p>
+ * Listeners are called by event processor after components could be moved by layout or
+ * animations, so components under cursor are searched by traversal of component tree instead of
+ * {@link Layer#getSpatialIndex() spatial index} of layer (which is refreshed only for system
+ * events).
+ */
 public final class EventUtils {
 
   private EventUtils() {
@@ -26,8 +35,7 @@ public final class EventUtils {
     // if there are some layers above current layer with other viewport we have to skip processing this event
     if (currentLayerIndex < maxIndex) {
       for (int i = currentLayerIndex + 1; i <= maxIndex; i++) {
-        List<Component> layerTargets = SehUtil.getTargetComponentList(allLayers.get(i),
-            cursorPosition);
+        List<Component> layerTargets = getTargetComponentList(allLayers.get(i), cursorPosition);
         if (layerTargets.stream().anyMatch(c -> c instanceof Viewport)) {
           return true;
         }
@@ -39,9 +47,9 @@ public final class EventUtils {
   public static boolean hasScrollableInChildComponentsUnderCursor(Component targetComponent,
       Vector2f cursorPosition) {
     // if there is some viewport in current viewport we have to skip this event
-    List<Component> targetList = SehUtil.getTargetComponentList(targetComponent, cursorPosition);
+    List<Component> targetList = getTargetComponentList(targetComponent, cursorPosition);
     for (Component component : targetList) {
-      if (!component.getListenerMap().getListeners(ScrollEvent.class).isEmpty()
+      if (component.getListenerMap().hasListeners(ScrollEvent.class)
           && component != targetComponent) {
         return true;
       }
@@ -49,4 +57,10 @@ public final class EventUtils {
     return false;
   }
 
+  private static List<Component> getTargetComponentList(Component component,
+      Vector2f cursorPosition) {
+    List<Component> targetList = new ArrayList<>();
+    SehUtil.recursiveTargetComponentListSearch(cursorPosition, component, targetList);
+    return targetList;
+  }
 }
@@ -1,6 +1,7 @@
 package com.spinyowl.legui.component.misc.listener;
 
 import com.spinyowl.legui.component.TextComponent;
+import com.spinyowl.legui.component.optional.TextChange;
 import com.spinyowl.legui.component.optional.TextState;
 import com.spinyowl.legui.system.Clipboard;
 import java.util.function.BiConsumer;
@@ -13,42 +14,44 @@ public final class TextComponentShortcutUtil {
   public static void paste(TextComponent textComponent,
       BiConsumer<String, String> contentChangeEventGenerator) {
     TextState textState = textComponent.getTextState();
-    if (textState.isEditable()) {
-      int caretPosition = textState.getCaretPosition();
-      String s = Clipboard.getInstance().getClipboardString();
-      if (s != null) {
-
-        int start = textState.getStartSelectionIndex();
-        int end = textState.getEndSelectionIndex();
-        if (start > end) {
-          start = textState.getEndSelectionIndex();
-          end = textState.getStartSelectionIndex();
-        }
-        if (start != end) {
-          StringBuilder t = new StringBuilder(textState.getText());
-          t.delete(start, end);
-          textState.setText(t.toString());
-          textState.setCaretPosition(start);
-          textState.setStartSelectionIndex(start);
-          textState.setEndSelectionIndex(start);
-          caretPosition = start;
-        }
+    String oldText = contentChangeEventGenerator == null ? null : textState.getText();
+    if (paste(textComponent) != null && contentChangeEventGenerator != null) {
+      contentChangeEventGenerator.accept(oldText, textState.getText());
+    }
+  }
 
-        String oldText = textState.getText();
-        StringBuilder builder = new StringBuilder(textState.getText());
-        builder.insert(caretPosition, s);
-        textState.setText(builder.toString());
-        int newIndex = caretPosition + s.length();
-        textState.setCaretPosition(newIndex);
-        textState.setStartSelectionIndex(newIndex);
-        textState.setEndSelectionIndex(newIndex);
-        String newText = textState.getText();
-        if (contentChangeEventGenerator != null) {
-          contentChangeEventGenerator.accept(oldText, newText);
-        }
-      }
+  /**
+   * Used to replace selected text (or insert at caret position if nothing selected) with text from
+   * clipboard.
+   *
+   * @param textComponent text component.
+   * @return text change or null if text was not changed.
+   */
+  public static TextChange paste(TextComponent textComponent) {
+    TextState textState = textComponent.getTextState();
+    if (!textState.isEditable()) {
+      return null;
+    }
+    String s = Clipboard.getInstance().getClipboardString();
+    if (s == null) {
+      return null;
     }
 
+    int start = textState.getStartSelectionIndex();
+    int end = textState.getEndSelectionIndex();
+    if (start > end) {
+      start = textState.getEndSelectionIndex();
+      end = textState.getStartSelectionIndex();
+    }
+    int offset = start != end ? start : textState.getCaretPosition();
+    TextChange change = textState.replace(offset, end - start, s);
+    if (change != null) {
+      int newIndex = offset + s.length();
+      textState.setCaretPosition(newIndex);
+      textState.setStartSelectionIndex(newIndex);
+      textState.setEndSelectionIndex(newIndex);
+    }
+    return change;
   }
 
   public static void copy(TextComponent textComponent) {
@@ -62,30 +65,41 @@ public final class TextComponentShortcutUtil {
   public static void cut(TextComponent textComponent,
       BiConsumer<String, String> contentChangeEventGenerator) {
     TextState textState = textComponent.getTextState();
+    String oldText = contentChangeEventGenerator == null ? null : textState.getText();
+    if (cut(textComponent) != null && contentChangeEventGenerator != null) {
+      contentChangeEventGenerator.accept(oldText, textState.getText());
+    }
+  }
+
+  /**
+   * Used to move selected text to clipboard. Selected text is removed if text component is
+   * editable.
+   *
+   * @param textComponent text component.
+   * @return text change or null if text was not changed.
+   */
+  public static TextChange cut(TextComponent textComponent) {
+    TextState textState = textComponent.getTextState();
     String s = textState.getSelection();
-    if (s != null) {
-      if (textState.isEditable()) {
-        int start = textState.getStartSelectionIndex();
-        int end = textState.getEndSelectionIndex();
-        if (start > end) {
-          int swap = start;
-          start = end;
-          end = swap;
-        }
-        String oldText = textState.getText();
-        StringBuilder builder = new StringBuilder(textState.getText());
-        builder.delete(start, end);
-        textState.setText(builder.toString());
-        textState.setCaretPosition(start);
-        textState.setStartSelectionIndex(start);
-        textState.setEndSelectionIndex(start);
-        String newText = textState.getText();
-        if (contentChangeEventGenerator != null) {
-          contentChangeEventGenerator.accept(oldText, newText);
-        }
+    if (s == null) {
+      return null;
+    }
+    TextChange change = null;
+    if (textState.isEditable()) {
+      int start = textState.getStartSelectionIndex();
+      int end = textState.getEndSelectionIndex();
+      if (start > end) {
+        int swap = start;
+        start = end;
+        end = swap;
       }
-      Clipboard.getInstance().setClipboardString(s);
+      change = textState.delete(start, end - start);
+      textState.setCaretPosition(start);
+      textState.setStartSelectionIndex(start);
+      textState.setEndSelectionIndex(start);
     }
+    Clipboard.getInstance().setClipboardString(s);
+    return change;
   }
 
 }
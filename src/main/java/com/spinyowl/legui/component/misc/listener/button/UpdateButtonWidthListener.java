@@ -16,7 +16,7 @@ public class UpdateButtonWidthListener implements EventListener<ButtonWidthChang
   public void process(ButtonWidthChangeEvent event) {
     Button button = event.getTargetComponent();
     float textWidth = button.getTextState().getTextWidth();
-    button.getSize().x = textWidth;
+    button.setSize(textWidth, button.getSize().y);
   }
 
 }
@@ -24,7 +24,7 @@ public class CheckBoxMouseClickEventListener implements MouseClickEventListener
     if (event.getAction() == CLICK && checkBox.isEnabled()) {
       boolean checked = checkBox.isChecked();
       checkBox.setChecked(!checked);
-      EventProcessorProvider.getInstance().pushEvent(
+      EventProcessorProvider.pushEvent(
           new CheckBoxChangeValueEvent<>(checkBox, event.getContext(), event.getFrame(), checked,
               !checked));
     }
@@ -16,7 +16,7 @@ public class UpdateLabelWidthListener implements EventListener<LabelWidthChangeE
   public void process(LabelWidthChangeEvent event) {
     Label label = event.getTargetComponent();
     float textWidth = label.getTextState().getTextWidth();
-    label.getSize().x = textWidth;
+    label.setSize(textWidth, label.getSize().y);
   }
 
 }
@@ -0,0 +1,34 @@
+package com.spinyowl.legui.component.misc.listener.logview;
+
+import static com.spinyowl.legui.component.misc.listener.EventUtils.hasViewportsInAboveLayersUnderCursor;
+import static com.spinyowl.legui.component.misc.listener.scrollbar.ScrollBarHelper.updateScrollBarValue;
+
+import com.spinyowl.legui.component.LogView;
+import com.spinyowl.legui.event.ScrollEvent;
+import com.spinyowl.legui.input.Mouse;
+import com.spinyowl.legui.listener.ScrollEventListener;
+
+/**
+ * Scrolls {@link LogView} vertically by mouse wheel.
+ */
+public class LogViewScrollListener implements ScrollEventListener {
+
+  /**
+   * Used to handle specific event.
+   *
+   * @param event event to handle.
+   */
+  @Override
+  public void process(ScrollEvent event) {
+    if (!(event.getTargetComponent() instanceof LogView)
+        || hasViewportsInAboveLayersUnderCursor(event.getTargetComponent(),
+        Mouse.getCursorPosition())) {
+      return;
+    }
+    LogView logView = (LogView) event.getTargetComponent();
+    if (Math.abs(event.getYoffset()) > 0) {
+      updateScrollBarValue(event.getYoffset(), event.getContext(), event.getFrame(),
+          logView.getVerticalScrollBar());
+    }
+  }
+}
@@ -32,8 +32,8 @@ public final class ScrollBarHelper {
       newVal = minValue;
     }
 
-    EventProcessorProvider.getInstance()
-        .pushEvent(new ScrollBarChangeValueEvent<>(scrollBar, context, frame, curValue, newVal));
+    EventProcessorProvider.pushEvent(
+        new ScrollBarChangeValueEvent<>(scrollBar, context, frame, curValue, newVal));
     scrollBar.setCurValue(newVal);
   }
 
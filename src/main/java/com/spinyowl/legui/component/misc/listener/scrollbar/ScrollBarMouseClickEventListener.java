@@ -105,7 +105,7 @@ public class ScrollBarMouseClickEventListener implements MouseClickEventListener
     Context context = event.getContext();
     Frame frame = event.getFrame();
     float curValue = scrollBar.getCurValue();
-    EventProcessorProvider.getInstance().pushEvent(
+    EventProcessorProvider.pushEvent(
         new ScrollBarChangeValueEvent<>(scrollBar, context, frame, curValue, valueToUse));
     scrollBar.setCurValue(valueToUse);
   }
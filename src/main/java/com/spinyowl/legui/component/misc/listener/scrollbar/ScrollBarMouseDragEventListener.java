@@ -65,8 +65,8 @@ public class ScrollBarMouseDragEventListener implements MouseDragEventListener {
     } else if (newVal < minValue) {
       newVal = minValue;
     }
-    EventProcessorProvider.getInstance()
-        .pushEvent(new ScrollBarChangeValueEvent<>(scrollBar, event.getContext(), event.getFrame(),
+    EventProcessorProvider.pushEvent(
+        new ScrollBarChangeValueEvent<>(scrollBar, event.getContext(), event.getFrame(),
             scrollBar.getCurValue(), newVal));
     scrollBar.setCurValue(newVal);
   }
@@ -26,7 +26,7 @@ public class SelectBoxElementClickListener<T> implements MouseClickEventListener
       T selection = selectBox.getSelection();
       T newValue = component.getObject();
       selectBox.setSelected(newValue, true);
-      EventProcessorProvider.getInstance().pushEvent(
+      EventProcessorProvider.pushEvent(
           new SelectBoxChangeSelectionEvent<>(selectBox, event.getContext(), event.getFrame(),
               selection, newValue));
       selectBox.setCollapsed(true);
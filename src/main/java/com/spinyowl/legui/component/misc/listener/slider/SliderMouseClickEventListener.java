@@ -25,7 +25,7 @@ public class SliderMouseClickEventListener implements MouseClickEventListener {
     // set value & push event
     float oldValue = slider.getValue();
     slider.setValue(value);
-    EventProcessorProvider.getInstance().pushEvent(
+    EventProcessorProvider.pushEvent(
         new SliderChangeValueEvent(slider, event.getContext(), event.getFrame(), oldValue,
             slider.getValue())
     );
@@ -24,7 +24,7 @@ public class SliderMouseDragEventListener implements MouseDragEventListener {
     // set value & push event
     float oldValue = slider.getValue();
     slider.setValue(value);
-    EventProcessorProvider.getInstance().pushEvent(
+    EventProcessorProvider.pushEvent(
         new SliderChangeValueEvent(slider, event.getContext(), event.getFrame(), oldValue,
             slider.getValue())
     );
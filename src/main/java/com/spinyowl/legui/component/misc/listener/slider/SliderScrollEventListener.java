@@ -31,7 +31,7 @@ public class SliderScrollEventListener implements ScrollEventListener {
     }
     // set value & push event
     slider.setValue(newValue);
-    EventProcessorProvider.getInstance().pushEvent(
+    EventProcessorProvider.pushEvent(
         new SliderChangeValueEvent(slider, event.getContext(), event.getFrame(), oldValue, newValue)
     );
   }
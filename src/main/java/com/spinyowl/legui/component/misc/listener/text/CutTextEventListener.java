@@ -4,6 +4,7 @@ import static com.spinyowl.legui.component.misc.listener.TextComponentShortcutUt
 import static com.spinyowl.legui.input.KeyCode.KEY_X;
 
 import com.spinyowl.legui.component.TextComponent;
+import com.spinyowl.legui.component.optional.TextChange;
 import com.spinyowl.legui.event.KeyboardEvent;
 import com.spinyowl.legui.input.KeyAction;
 import com.spinyowl.legui.input.KeyCode;
@@ -17,16 +18,33 @@ import java.util.function.BiConsumer;
 public abstract class CutTextEventListener {
 
   public void processCut(KeyboardEvent event, BiConsumer<String, String> eventGenerator) {
+    if (isCut(event)) {
+      cut((TextComponent) event.getTargetComponent(), eventGenerator);
+    }
+  }
+
+  /**
+   * Used to handle cut shortcut.
+   *
+   * @param event event to handle.
+   * @return text change or null if text was not changed.
+   */
+  public TextChange processCut(KeyboardEvent event) {
+    if (isCut(event)) {
+      return cut((TextComponent) event.getTargetComponent());
+    }
+    return null;
+  }
+
+  private boolean isCut(KeyboardEvent event) {
     boolean pressed = event.getAction() != KeyAction.RELEASE;
     if (!pressed) {
-      return;
+      return false;
     }
 
     KeyCode cutKey = Keyboard.getCutShortcut().getKey();
     KeyCode keyCode = event.getKey().getKeyCode();
-    if (event.getMods().contains(KeyMod.CONTROL)
-        && (cutKey != null && keyCode == cutKey || keyCode == KEY_X)) {
-      cut((TextComponent) event.getTargetComponent(), eventGenerator);
-    }
+    return event.getMods().contains(KeyMod.CONTROL)
+        && (cutKey != null && keyCode == cutKey || keyCode == KEY_X);
   }
 }
@@ -4,6 +4,7 @@ import static com.spinyowl.legui.component.misc.listener.TextComponentShortcutUt
 import static com.spinyowl.legui.input.KeyCode.KEY_V;
 
 import com.spinyowl.legui.component.TextComponent;
+import com.spinyowl.legui.component.optional.TextChange;
 import com.spinyowl.legui.event.KeyEvent;
 import com.spinyowl.legui.event.KeyboardEvent;
 import com.spinyowl.legui.input.KeyAction;
@@ -23,16 +24,33 @@ public abstract class PasteTextEventListener {
    * @param event event to handle.
    */
   public void processPaste(KeyboardEvent event, BiConsumer<String, String> eventGenerator) {
+    if (isPaste(event)) {
+      paste((TextComponent) event.getTargetComponent(), eventGenerator);
+    }
+  }
+
+  /**
+   * Used to handle {@link KeyEvent}.
+   *
+   * @param event event to handle.
+   * @return text change or null if text was not changed.
+   */
+  public TextChange processPaste(KeyboardEvent event) {
+    if (isPaste(event)) {
+      return paste((TextComponent) event.getTargetComponent());
+    }
+    return null;
+  }
+
+  private boolean isPaste(KeyboardEvent event) {
     boolean pressed = event.getAction() != KeyAction.RELEASE;
     if (!pressed) {
-      return;
+      return false;
     }
 
     KeyCode pasteKey = Keyboard.getPasteShortcut().getKey();
     KeyCode keyCode = event.getKey().getKeyCode();
-    if (event.getMods().contains(KeyMod.CONTROL)
-        && (pasteKey != null && keyCode == pasteKey || keyCode == KEY_V)) {
-      paste((TextComponent) event.getTargetComponent(), eventGenerator);
-    }
+    return event.getMods().contains(KeyMod.CONTROL)
+        && (pasteKey != null && keyCode == pasteKey || keyCode == KEY_V);
   }
 }
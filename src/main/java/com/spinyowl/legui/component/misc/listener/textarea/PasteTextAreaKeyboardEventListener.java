@@ -3,6 +3,7 @@ package com.spinyowl.legui.component.misc.listener.textarea;
 import com.spinyowl.legui.component.TextAreaField;
 import com.spinyowl.legui.component.event.textarea.TextAreaFieldContentChangeEvent;
 import com.spinyowl.legui.component.misc.listener.text.PasteTextEventListener;
+import com.spinyowl.legui.component.optional.TextChange;
 import com.spinyowl.legui.event.KeyEvent;
 import com.spinyowl.legui.event.KeyboardEvent;
 import com.spinyowl.legui.listener.EventListener;
@@ -21,10 +22,12 @@ public class PasteTextAreaKeyboardEventListener extends PasteTextEventListener
    */
   @Override
   public void process(KeyboardEvent event) {
-    processPaste(event, (oldText, newText) ->
-        EventProcessorProvider.getInstance().pushEvent(
-            new TextAreaFieldContentChangeEvent<>(
-                (TextAreaField) event.getTargetComponent(),
-                event.getContext(), event.getFrame(), oldText, newText)));
+    TextChange change = processPaste(event);
+    if (change != null) {
+      EventProcessorProvider.pushEvent(
+          new TextAreaFieldContentChangeEvent<>(
+              (TextAreaField) event.getTargetComponent(),
+              event.getContext(), event.getFrame(), change));
+    }
   }
 }
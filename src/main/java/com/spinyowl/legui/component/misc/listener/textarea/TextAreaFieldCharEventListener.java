@@ -4,7 +4,9 @@ import static com.spinyowl.legui.input.Mouse.MouseButton.MOUSE_BUTTON_LEFT;
 import static com.spinyowl.legui.util.TextUtil.cpToStr;
 
 import com.spinyowl.legui.component.TextAreaField;
+import com.spinyowl.legui.component.event.textarea.TextAreaFieldContentChangeEvent;
 import com.spinyowl.legui.component.event.textarea.TextAreaFieldUpdateEvent;
+import com.spinyowl.legui.component.optional.TextChange;
 import com.spinyowl.legui.component.optional.TextState;
 import com.spinyowl.legui.event.CharEvent;
 import com.spinyowl.legui.listener.CharEventListener;
@@ -32,24 +34,20 @@ public class TextAreaFieldCharEventListener implements CharEventListener {
         start = textAreaField.getEndSelectionIndex();
         end = textAreaField.getStartSelectionIndex();
       }
-      if (start != end) {
-        StringBuilder builder = new StringBuilder(textState.getText());
-        builder.delete(start, end);
-        textState.setText(builder.toString());
-        textAreaField.setCaretPosition(start);
-        textAreaField.setStartSelectionIndex(start);
-        textAreaField.setEndSelectionIndex(start);
+      // replace selection or insert at caret position
+      int offset = start != end ? start : textAreaField.getCaretPosition();
+      TextChange change = textState.replace(offset, end - start, str);
+      if (change != null) {
+        int newCaretPosition = offset + str.length();
+        textAreaField.setCaretPosition(newCaretPosition);
+        textAreaField.setEndSelectionIndex(newCaretPosition);
+        textAreaField.setStartSelectionIndex(newCaretPosition);
+        EventProcessorProvider.pushEvent(
+            new TextAreaFieldContentChangeEvent<>(textAreaField, event.getContext(),
+                event.getFrame(), change));
       }
-      int caretPosition = textAreaField.getCaretPosition();
-      StringBuilder builder = new StringBuilder(textState.getText());
-      builder.insert(caretPosition, str);
-      textState.setText(builder.toString());
-      int newCaretPosition = caretPosition + str.length();
-      textAreaField.setCaretPosition(newCaretPosition);
-      textAreaField.setEndSelectionIndex(newCaretPosition);
-      textAreaField.setStartSelectionIndex(newCaretPosition);
 
-      EventProcessorProvider.getInstance().pushEvent(
+      EventProcessorProvider.pushEvent(
           new TextAreaFieldUpdateEvent(textAreaField, event.getContext(), event.getFrame()));
     }
   }
@@ -26,7 +26,7 @@ public class TextAreaFieldDragEventListener implements MouseDragEventListener {
       textAreaField.setCaretPosition(mouseCaretPosition);
       textAreaField.setEndSelectionIndex(mouseCaretPosition);
 
-      EventProcessorProvider.getInstance().pushEvent(
+      EventProcessorProvider.pushEvent(
           new TextAreaFieldUpdateEvent(textAreaField, event.getContext(), event.getFrame()));
     }
   }
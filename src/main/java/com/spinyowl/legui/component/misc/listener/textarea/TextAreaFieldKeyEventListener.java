@@ -6,7 +6,10 @@ import static com.spinyowl.legui.util.TextUtil.findPrevWord;
 import com.spinyowl.legui.component.TextAreaField;
 import com.spinyowl.legui.component.event.textarea.TextAreaFieldContentChangeEvent;
 import com.spinyowl.legui.component.event.textarea.TextAreaFieldUpdateEvent;
+import com.spinyowl.legui.component.optional.TextChange;
+import com.spinyowl.legui.component.optional.TextLineIndex;
 import com.spinyowl.legui.component.optional.TextState;
+import com.spinyowl.legui.component.optional.TextWrapIndex;
 import com.spinyowl.legui.event.KeyEvent;
 import com.spinyowl.legui.event.KeyboardEvent;
 import com.spinyowl.legui.input.KeyAction;
@@ -41,27 +44,33 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
     TextAreaField textAreaField = (TextAreaField) event.getTargetComponent();
     boolean pressed = event.getAction() != KeyAction.RELEASE;
 
-    String oldText = textAreaField.getTextState().getText();
-
     if (!pressed) {
-      EventProcessorProvider.getInstance().pushEvent(
+      EventProcessorProvider.pushEvent(
           new TextAreaFieldUpdateEvent(textAreaField, event.getContext(), event.getFrame()));
       return;
     }
 
-    processKey(textAreaField, event);
-    String newText = textAreaField.getTextState().getText();
-    if (!oldText.equals(newText)) {
-      EventProcessorProvider.getInstance().pushEvent(
+    TextChange change;
+    // line and wrap indices of text state are shared with renderer.
+    synchronized (textAreaField.getTextState()) {
+      change = processKey(textAreaField, event);
+    }
+    if (change != null) {
+      EventProcessorProvider.pushEvent(
           new TextAreaFieldContentChangeEvent<>(
               (TextAreaField) event.getTargetComponent(),
-              event.getContext(), event.getFrame(), oldText, newText));
+              event.getContext(), event.getFrame(), change));
     }
-    EventProcessorProvider.getInstance().pushEvent(
+    EventProcessorProvider.pushEvent(
         new TextAreaFieldUpdateEvent(textAreaField, event.getContext(), event.getFrame()));
   }
 
-  private void processKey(TextAreaField textAreaField, KeyboardEvent<?> event) {
+  /**
+   * Used to process key.
+   *
+   * @return text change or null if text was not changed.
+   */
+  private TextChange processKey(TextAreaField textAreaField, KeyboardEvent<?> event) {
     KeyCode key = event.getKey().getKeyCode();
     Set<KeyMod> mods = event.getMods();
     if (key == KeyCode.LEFT) {
@@ -77,14 +86,15 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
     } else if (key == KeyCode.END) {
       keyEndAction(textAreaField, mods);
     } else if (key == KeyCode.ENTER || key == KeyCode.NUMPAD_ENTER) {
-      keyEnterAction(textAreaField);
+      return keyEnterAction(textAreaField);
     } else if (key == KeyCode.BACKSPACE) {
-      keyBackSpaceAction(textAreaField, mods);
+      return keyBackSpaceAction(textAreaField, mods);
     } else if (key == KeyCode.DELETE) {
-      keyDeleteAction(textAreaField, mods);
+      return keyDeleteAction(textAreaField, mods);
     } else if (key == KeyCode.TAB) {
-      addTab(textAreaField, mods);
+      return addTab(textAreaField, mods);
     }
+    return null;
   }
 
   /**
@@ -92,22 +102,21 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
    *
    * @param textAreaField text area to work with.
    * @param mods          key mods.
+   * @return text change or null if text was not changed.
    */
-  private void addTab(TextAreaField textAreaField, Set<KeyMod> mods) {
-    if (mods.contains(KeyMod.CONTROL)) {
-      return;
+  private TextChange addTab(TextAreaField textAreaField, Set<KeyMod> mods) {
+    if (mods.contains(KeyMod.CONTROL) || !textAreaField.isEditable()) {
+      return null;
     }
-    if (textAreaField.isEditable()) {
-      int oldCPos = textAreaField.getCaretPosition();
-      TextState textState = textAreaField.getTextState();
-      StringBuilder t = new StringBuilder(textState.getText());
-      t.insert(oldCPos, "\t");
-      textState.setText(t.toString());
+    int oldCPos = textAreaField.getCaretPosition();
+    TextChange change = textAreaField.getTextState().insert(oldCPos, "\t");
+    if (change != null) {
       int caretPosition = oldCPos + 1;
       textAreaField.setCaretPosition(caretPosition);
       textAreaField.setStartSelectionIndex(caretPosition);
       textAreaField.setEndSelectionIndex(caretPosition);
     }
+    return change;
   }
 
   /**
@@ -115,43 +124,31 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
    *
    * @param gui  gui to remove data from text state.
    * @param mods key mods.
+   * @return text change or null if text was not changed.
    */
-  private void keyDeleteAction(TextAreaField gui, Set<KeyMod> mods) {
-    if (gui.isEditable()) {
-      TextState textState = gui.getTextState();
-      int caretPosition = gui.getCaretPosition();
-      int start = gui.getStartSelectionIndex();
-      int end = gui.getEndSelectionIndex();
-      if (start > end) {
-        start = gui.getEndSelectionIndex();
-        end = gui.getStartSelectionIndex();
-      }
-      if (start == end && caretPosition != textState.length()) {
-        if (mods.contains(KeyMod.CONTROL)) {
-          end = findNextWord(textState.getText(), caretPosition);
-          StringBuilder builder = new StringBuilder(textState.getText());
-          builder.delete(start, end);
-          textState.setText(builder.toString());
-          gui.setCaretPosition(start);
-          gui.setStartSelectionIndex(start);
-          gui.setEndSelectionIndex(start);
-        } else {
-          StringBuilder builder = new StringBuilder(textState.getText());
-          builder.deleteCharAt(caretPosition);
-          textState.setText(builder.toString());
-          gui.setCaretPosition(caretPosition);
-          gui.setStartSelectionIndex(caretPosition);
-          gui.setEndSelectionIndex(caretPosition);
-        }
+  private TextChange keyDeleteAction(TextAreaField gui, Set<KeyMod> mods) {
+    if (!gui.isEditable()) {
+      return null;
+    }
+    TextState textState = gui.getTextState();
+    int caretPosition = gui.getCaretPosition();
+    int start = gui.getStartSelectionIndex();
+    int end = gui.getEndSelectionIndex();
+    if (start > end) {
+      start = gui.getEndSelectionIndex();
+      end = gui.getStartSelectionIndex();
+    }
+    int newCaretPosition = start;
+    if (start == end && caretPosition != textState.length()) {
+      if (mods.contains(KeyMod.CONTROL)) {
+        end = findNextWord(textState.getTextBuffer(), caretPosition);
       } else {
-        StringBuilder builder = new StringBuilder(textState.getText());
-        builder.delete(start, end);
-        textState.setText(builder.toString());
-        gui.setCaretPosition(start);
-        gui.setStartSelectionIndex(start);
-        gui.setEndSelectionIndex(start);
+        start = caretPosition;
+        end = caretPosition + 1;
+        newCaretPosition = caretPosition;
       }
     }
+    return delete(gui, start, end, newCaretPosition);
   }
 
   /**
@@ -159,96 +156,85 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
    *
    * @param gui  gui to remove text data.
    * @param mods key mods.
+   * @return text change or null if text was not changed.
    */
-  private void keyBackSpaceAction(TextAreaField gui, Set<KeyMod> mods) {
-    if (gui.isEditable()) {
-      TextState textState = gui.getTextState();
-      int caretPosition = gui.getCaretPosition();
-      int start = gui.getStartSelectionIndex();
-      int end = gui.getEndSelectionIndex();
-      if (start > end) {
-        start = gui.getEndSelectionIndex();
-        end = gui.getStartSelectionIndex();
-      }
-      if (start == end && caretPosition != 0) {
-        if (mods.contains(KeyMod.CONTROL)) {
-          start = findPrevWord(textState.getText(), caretPosition);
-          StringBuilder builder = new StringBuilder(textState.getText());
-          builder.delete(start, end);
-          textState.setText(builder.toString());
-          gui.setCaretPosition(start);
-          gui.setStartSelectionIndex(start);
-          gui.setEndSelectionIndex(start);
-        } else {
-          int newCaretPosition = caretPosition - 1;
-          StringBuilder builder = new StringBuilder(textState.getText());
-          builder.deleteCharAt(newCaretPosition);
-          textState.setText(builder.toString());
-          gui.setCaretPosition(newCaretPosition);
-          gui.setStartSelectionIndex(newCaretPosition);
-          gui.setEndSelectionIndex(newCaretPosition);
-        }
+  private TextChange keyBackSpaceAction(TextAreaField gui, Set<KeyMod> mods) {
+    if (!gui.isEditable()) {
+      return null;
+    }
+    TextState textState = gui.getTextState();
+    int caretPosition = gui.getCaretPosition();
+    int start = gui.getStartSelectionIndex();
+    int end = gui.getEndSelectionIndex();
+    if (start > end) {
+      start = gui.getEndSelectionIndex();
+      end = gui.getStartSelectionIndex();
+    }
+    if (start == end && caretPosition != 0) {
+      if (mods.contains(KeyMod.CONTROL)) {
+        start = findPrevWord(textState.getTextBuffer(), caretPosition);
       } else {
-        StringBuilder builder = new StringBuilder(textState.getText());
-        builder.delete(start, end);
-        textState.setText(builder.toString());
-        gui.setCaretPosition(start);
-        gui.setStartSelectionIndex(start);
-        gui.setEndSelectionIndex(start);
+        start = caretPosition - 1;
+        end = caretPosition;
       }
     }
+    return delete(gui, start, end, start);
+  }
+
+  /**
+   * Used to delete text in range and move caret.
+   *
+   * @return text change or null if text was not changed.
+   */
+  private TextChange delete(TextAreaField gui, int start, int end, int newCaretPosition) {
+    TextChange change = gui.getTextState().delete(start, end - start);
+    gui.setCaretPosition(newCaretPosition);
+    gui.setStartSelectionIndex(newCaretPosition);
+    gui.setEndSelectionIndex(newCaretPosition);
+    return change;
   }
 
   /**
    * Action on Enter key. Adds new line symbol on caret position.
    *
    * @param gui gui to add new line.
+   * @return text change or null if text was not changed.
    */
-  private void keyEnterAction(TextAreaField gui) {
-    if (gui.isEditable()) {
-      int start = gui.getStartSelectionIndex();
-      int end = gui.getEndSelectionIndex();
-      TextState textState = gui.getTextState();
-      StringBuilder builder = new StringBuilder(textState.getText());
-      int caretPosition = gui.getCaretPosition();
-
-      if (start != end) {
-        if (start > end) {
-          start = gui.getEndSelectionIndex();
-          end = gui.getStartSelectionIndex();
-        }
-
-        builder.delete(start, end);
-        textState.setText(builder.toString());
-        caretPosition = start;
-      }
-
-      builder.insert(caretPosition, "\n");
-      textState.setText(builder.toString());
-
+  private TextChange keyEnterAction(TextAreaField gui) {
+    if (!gui.isEditable()) {
+      return null;
+    }
+    int start = gui.getStartSelectionIndex();
+    int end = gui.getEndSelectionIndex();
+    if (start > end) {
+      start = gui.getEndSelectionIndex();
+      end = gui.getStartSelectionIndex();
+    }
+    int caretPosition = start != end ? start : gui.getCaretPosition();
+    TextChange change = gui.getTextState().replace(caretPosition, end - start, "\n");
+    if (change != null) {
       int newCaretPosition = caretPosition + 1;
-
       gui.setStartSelectionIndex(newCaretPosition);
       gui.setEndSelectionIndex(newCaretPosition);
       gui.setCaretPosition(newCaretPosition);
     }
+    return change;
   }
 
   private void keyEndAction(TextAreaField gui, Set<KeyMod> mods) {
     TextState textState = gui.getTextState();
-    int caretPosition = gui.getCaretPosition();
-
-    String text = textState.getText();
-    String[] lines = text.split("\n", -1);
-    LineData currentLine = getStartLineIndexAndLineNumber(lines, caretPosition);
-    int cl = lines[currentLine.lineIndex].length();
-    int delta = cl - currentLine.caretPositionInLine;
 
     int newCaretPosition;
     if (mods.contains(KeyMod.CONTROL)) {
-      newCaretPosition = text.length();
+      newCaretPosition = textState.length();
+    } else if (gui.isWordWrap()) {
+      TextWrapIndex wrapIndex = textState.getLineIndex().getWrapIndex();
+      int row = wrapIndex.getRowOfOffset(gui.getCaretPosition());
+      newCaretPosition = wrapIndex.getRowStart(row) + getMaxPositionInRow(wrapIndex, row);
     } else {
-      newCaretPosition = caretPosition + delta;
+      TextLineIndex lineIndex = textState.getLineIndex();
+      int line = lineIndex.getLineOfOffset(gui.getCaretPosition());
+      newCaretPosition = lineIndex.getLineEnd(line);
     }
 
     updateIndices(gui, mods, newCaretPosition);
@@ -256,16 +242,17 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
 
   private void keyHomeAction(TextAreaField gui, Set<KeyMod> mods) {
     TextState textState = gui.getTextState();
-    int caretPosition = gui.getCaretPosition();
-    String text = textState.getText();
-    String[] lines = text.split("\n", -1);
-    LineData some = getStartLineIndexAndLineNumber(lines, caretPosition);
 
     int newCaretPosition;
     if (mods.contains(KeyMod.CONTROL)) {
       newCaretPosition = 0;
+    } else if (gui.isWordWrap()) {
+      TextWrapIndex wrapIndex = textState.getLineIndex().getWrapIndex();
+      newCaretPosition = wrapIndex.getRowStart(wrapIndex.getRowOfOffset(gui.getCaretPosition()));
     } else {
-      newCaretPosition = caretPosition - some.caretPositionInLine;
+      TextLineIndex lineIndex = textState.getLineIndex();
+      int line = lineIndex.getLineOfOffset(gui.getCaretPosition());
+      newCaretPosition = lineIndex.getLineStart(line);
     }
 
     updateIndices(gui, mods, newCaretPosition);
@@ -275,21 +262,22 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
     TextState textState = gui.getTextState();
     int caretPosition = gui.getCaretPosition();
     if (caretPosition < textState.length()) {
-      String text = textState.getText();
-      String[] lines = text.split("\n", -1);
-      LineData some = getStartLineIndexAndLineNumber(lines, caretPosition);
+      if (gui.isWordWrap()) {
+        TextWrapIndex wrapIndex = textState.getLineIndex().getWrapIndex();
+        int row = wrapIndex.getRowOfOffset(caretPosition);
+        updateIndices(gui, mods, row < wrapIndex.getRowCount() - 1
+            ? moveToRow(wrapIndex, caretPosition, row, row + 1)
+            : textState.length());
+        return;
+      }
+      TextLineIndex lineIndex = textState.getLineIndex();
+      int line = lineIndex.getLineOfOffset(caretPosition);
 
       int newCaretPosition;
-      if (some.lineIndex < lines.length - 1) {
-        int nl = lines[some.lineIndex + 1].length() + 1;
-        int cl = lines[some.lineIndex].length() + 1;
-        if (some.caretPositionInLine >= nl - 1) {
-          newCaretPosition = caretPosition + nl + cl - 1 - some.caretPositionInLine;
-        } else {
-          newCaretPosition = caretPosition + cl;
-        }
+      if (line < lineIndex.getLineCount() - 1) {
+        newCaretPosition = moveToLine(lineIndex, caretPosition, line, line + 1);
       } else {
-        newCaretPosition = text.length();
+        newCaretPosition = textState.length();
       }
 
       updateIndices(gui, mods, newCaretPosition);
@@ -299,17 +287,18 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
   private void keyUpAction(TextAreaField gui, Set<KeyMod> mods) {
     int caretPosition = gui.getCaretPosition();
     if (caretPosition > 0) {
-      TextState textState = gui.getTextState();
-      String text = textState.getText();
-      String[] lines = text.split("\n", -1);
-      LineData some = getStartLineIndexAndLineNumber(lines, caretPosition);
+      if (gui.isWordWrap()) {
+        TextWrapIndex wrapIndex = gui.getTextState().getLineIndex().getWrapIndex();
+        int row = wrapIndex.getRowOfOffset(caretPosition);
+        updateIndices(gui, mods, row > 0 ? moveToRow(wrapIndex, caretPosition, row, row - 1) : 0);
+        return;
+      }
+      TextLineIndex lineIndex = gui.getTextState().getLineIndex();
+      int line = lineIndex.getLineOfOffset(caretPosition);
 
       int newCaretPosition;
-      if (some.lineIndex > 0) {
-        int nl = lines[some.lineIndex - 1].length() + 1;
-        newCaretPosition =
-            caretPosition - (some.caretPositionInLine >= nl - 1 ? some.caretPositionInLine + 1
-                : nl);
+      if (line > 0) {
+        newCaretPosition = moveToLine(lineIndex, caretPosition, line, line - 1);
       } else {
         newCaretPosition = 0;
       }
@@ -318,13 +307,46 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
     }
   }
 
+  /**
+   * Used to calculate caret position in target line with same caret position in line (or line end
+   * if target line is shorter).
+   *
+   * @return new caret position.
+   */
+  private int moveToLine(TextLineIndex lineIndex, int caretPosition, int line, int targetLine) {
+    int caretPositionInLine = caretPosition - lineIndex.getLineStart(line);
+    return lineIndex.getLineStart(targetLine)
+        + Math.min(caretPositionInLine, lineIndex.getLineLength(targetLine));
+  }
+
+  /**
+   * Used to calculate caret position in target row of wrapped text with same caret position in
+   * row (or row end if target row is shorter).
+   *
+   * @return new caret position.
+   */
+  private int moveToRow(TextWrapIndex wrapIndex, int caretPosition, int row, int targetRow) {
+    int caretPositionInRow = caretPosition - wrapIndex.getRowStart(row);
+    return wrapIndex.getRowStart(targetRow)
+        + Math.min(caretPositionInRow, getMaxPositionInRow(wrapIndex, targetRow));
+  }
+
+  /**
+   * Returns last caret position in row. End of row which is not last row of line is start of next
+   * row, so caret is placed before last character of such row.
+   */
+  private int getMaxPositionInRow(TextWrapIndex wrapIndex, int row) {
+    int length = wrapIndex.getRowEnd(row) - wrapIndex.getRowStart(row);
+    return wrapIndex.isLastRowOfLine(row) || length == 0 ? length : length - 1;
+  }
+
   private void keyRightAction(TextAreaField gui, Set<KeyMod> mods) {
     TextState textState = gui.getTextState();
     int caretPosition = gui.getCaretPosition();
 
     int newCaretPosition;
     if (mods.contains(KeyMod.CONTROL)) {
-      newCaretPosition = findNextWord(gui.getTextState().getText(), caretPosition);
+      newCaretPosition = findNextWord(gui.getTextState().getTextBuffer(), caretPosition);
     } else {
       newCaretPosition = caretPosition + 1;
       // reset if out of bounds
@@ -341,7 +363,7 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
 
     int newCaretPosition;
     if (mods.contains(KeyMod.CONTROL)) {
-      newCaretPosition = findPrevWord(gui.getTextState().getText(), caretPosition);
+      newCaretPosition = findPrevWord(gui.getTextState().getTextBuffer(), caretPosition);
     } else {
       newCaretPosition = caretPosition - 1;
       // reset if out of bounds.
@@ -361,29 +383,4 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
     gui.setEndSelectionIndex(newCaretPosition);
     gui.setCaretPosition(newCaretPosition);
   }
-
-  private LineData getStartLineIndexAndLineNumber(String[] lines, int caretPosition) {
-    int caretLine = 0;
-    int caretOffset = 0;
-    for (String line : lines) {
-      int newOffset = caretOffset + line.length();
-      if (newOffset >= caretPosition) {
-        break;
-      }
-      caretLine++;
-      caretOffset = newOffset + 1;
-    }
-    return new LineData(caretPosition - caretOffset, caretLine);
-  }
-
-  private static class LineData {
-
-    private final int caretPositionInLine;
-    private final int lineIndex;
-
-    private LineData(int caretPositionInLine, int lineIndex) {
-      this.caretPositionInLine = caretPositionInLine;
-      this.lineIndex = lineIndex;
-    }
-  }
 }
@@ -29,7 +29,7 @@ public class TextAreaFieldMouseClickEventListener implements MouseClickEventList
       }
     }
     if (event.getAction() == MouseClickAction.RELEASE) {
-      EventProcessorProvider.getInstance().pushEvent(
+      EventProcessorProvider.pushEvent(
           new TextAreaFieldUpdateEvent(textAreaField, event.getContext(), event.getFrame()));
     }
   }
@@ -21,7 +21,7 @@ public class CutTextInputKeyboardEventListener extends CutTextEventListener
    */
   @Override
   public void process(KeyboardEvent event) {
-    processCut(event, (oldText, newText) -> EventProcessorProvider.getInstance().pushEvent(
+    processCut(event, (oldText, newText) -> EventProcessorProvider.pushEvent(
         new TextInputContentChangeEvent<>((TextInput) event.getTargetComponent(),
             event.getContext(), event.getFrame(), oldText, newText)));
   }
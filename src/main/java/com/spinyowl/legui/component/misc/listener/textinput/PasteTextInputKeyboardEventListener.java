@@ -22,7 +22,7 @@ public class PasteTextInputKeyboardEventListener extends PasteTextEventListener
   @Override
   public void process(KeyboardEvent event) {
     processPaste(event, (oldText, newText) ->
-        EventProcessorProvider.getInstance().pushEvent(
+        EventProcessorProvider.pushEvent(
             new TextInputContentChangeEvent<>(
                 (TextInput) event.getTargetComponent(),
                 event.getContext(), event.getFrame(), oldText, newText)));
@@ -50,7 +50,7 @@ public class TextInputCharEventListener implements CharEventListener {
       textInput.setEndSelectionIndex(newCaretPosition);
       textInput.setStartSelectionIndex(newCaretPosition);
       String newText = textState.getText();
-      EventProcessorProvider.getInstance().pushEvent(
+      EventProcessorProvider.pushEvent(
           new TextInputContentChangeEvent(textInput, event.getContext(), event.getFrame(), oldText,
               newText));
     }
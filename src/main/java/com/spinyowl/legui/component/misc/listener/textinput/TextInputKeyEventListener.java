@@ -45,7 +45,7 @@ public class TextInputKeyEventListener implements EventListener<KeyboardEvent> {
     processKeys(event, gui);
     String newText = gui.getTextState().getText();
     if (!oldText.equals(newText)) {
-      EventProcessorProvider.getInstance().pushEvent(
+      EventProcessorProvider.pushEvent(
           new TextInputContentChangeEvent<>(gui, event.getContext(), event.getFrame(), oldText,
               newText));
     }
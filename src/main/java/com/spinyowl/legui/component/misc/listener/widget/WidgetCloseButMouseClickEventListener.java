@@ -21,8 +21,8 @@ public class WidgetCloseButMouseClickEventListener implements MouseClickEventLis
   public void process(MouseClickEvent event) {
     if (CLICK == event.getAction()) {
       widget.hide();
-      EventProcessorProvider.getInstance()
-          .pushEvent(new WidgetCloseEvent<>(widget, event.getContext(), event.getFrame()));
+      EventProcessorProvider.pushEvent(
+          new WidgetCloseEvent<>(widget, event.getContext(), event.getFrame()));
     }
   }
 }
@@ -21,9 +21,10 @@ public class WidgetDragListener implements MouseDragEventListener {
   public void process(MouseDragEvent event) {
     Vector2f oldPos = new Vector2f(widget.getPosition());
     widget.getPosition().add(event.getDelta());
+    widget.invalidate();
     Vector2f newPos = widget.getPosition();
     if (!oldPos.equals(newPos, THRESHOLD)) {
-      EventProcessorProvider.getInstance().pushEvent(
+      EventProcessorProvider.pushEvent(
           new ChangePositionEvent(widget, event.getContext(), event.getFrame(), oldPos, newPos));
     }
   }
@@ -90,9 +90,10 @@ public class WidgetResizeButtonDragListener implements MouseDragEventListener {
 
     Vector2f oldSize = new Vector2f(widget.getSize());
     widget.getSize().add(deltaSize);
+    widget.invalidate();
     Vector2f newSize = widget.getSize();
     if (!oldSize.equals(newSize, THRESHOLD)) {
-      EventProcessorProvider.getInstance().pushEvent(
+      EventProcessorProvider.pushEvent(
           new ChangeSizeEvent(widget, event.getContext(), event.getFrame(), oldSize, newSize));
     }
   }
@@ -0,0 +1,95 @@
+package com.spinyowl.legui.component.optional;
+
+/**
+ * Horizontal positions of glyphs of single line text relative to text origin. Position and
+ * alignment of text only translate glyphs, so positions are measured once for text, font and font
+ * size and then used to place caret, selection and to find caret position under mouse cursor.
+ * <p>
+ * Glyph index is used as character index of text (same as in text renderers).
+ */
+public final class GlyphPositions {
+
+  private final float[] x;
+  private final float[] minX;
+  private final float[] maxX;
+  private final int count;
+
+  /**
+   * Creates glyph positions. Arrays are not copied.
+   *
+   * @param x     glyph positions (where glyphs are placed).
+   * @param minX  left bounds of glyphs.
+   * @param maxX  right bounds of glyphs.
+   * @param count number of glyphs.
+   */
+  public GlyphPositions(float[] x, float[] minX, float[] maxX, int count) {
+    this.x = x;
+    this.minX = minX;
+    this.maxX = maxX;
+    this.count = count;
+  }
+
+  /**
+   * Returns number of glyphs.
+   *
+   * @return number of glyphs.
+   */
+  public int getCount() {
+    return count;
+  }
+
+  public float getX(int index) {
+    return x[index];
+  }
+
+  public float getMinX(int index) {
+    return minX[index];
+  }
+
+  public float getMaxX(int index) {
+    return maxX[index];
+  }
+
+  /**
+   * Returns caret position before glyph with provided index or after last glyph if index is not
+   * less than number of glyphs.
+   *
+   * @param index caret position in text.
+   * @return caret x relative to text origin.
+   */
+  public float getCaretX(int index) {
+    if (index < count) {
+      return x[Math.max(0, index)];
+    }
+    return count > 0 ? maxX[count - 1] : 0;
+  }
+
+  /**
+   * Returns caret position nearest to provided x. Takes O(log n) time.
+   *
+   * @param position x relative to text origin.
+   * @return caret position in text (in range [0, number of glyphs]).
+   */
+  public int getCaretIndex(float position) {
+    if (count == 0 || position <= x[0]) {
+      return 0;
+    }
+    if (position >= maxX[count - 1]) {
+      return count;
+    }
+    // search last glyph which starts before position
+    int lower = 0;
+    int upper = count - 1;
+    while (lower < upper) {
+      int index = (lower + upper + 1) >>> 1;
+      if (x[index] <= position) {
+        lower = index;
+      } else {
+        upper = index - 1;
+      }
+    }
+    float left = lower == 0 ? minX[0] : x[lower];
+    float right = lower >= count - 1 ? maxX[count - 1] : x[lower + 1];
+    return position > (left + right) / 2f ? lower + 1 : lower;
+  }
+}
@@ -0,0 +1,104 @@
+package com.spinyowl.legui.component.optional;
+
+import java.util.Arrays;
+
+/**
+ * Max segment tree over values of lines (line length or line width). Value of line is updated and
+ * maximum value with its line is found in O(log n) time where n is number of lines.
+ * <p>
+ * Used by {@link TextLineIndex}, so it's guarded by monitor of text state.
+ */
+final class LineMaxTree {
+
+  /**
+   * Value of lines without value (not measured lines and unused leaves).
+   */
+  static final float NONE = Float.NEGATIVE_INFINITY;
+
+  /**
+   * Values of nodes, root is at index 1 and leaves (values of lines) start at index {@link
+   * #leafCount}.
+   */
+  private float[] nodes = new float[2];
+  private int leafCount = 1;
+
+  /**
+   * Used to remove values of all lines and prepare tree for provided number of lines.
+   *
+   * @param lineCount number of lines.
+   */
+  void reset(int lineCount) {
+    int count = Integer.highestOneBit(Math.max(lineCount, 1));
+    if (count < lineCount) {
+      count <<= 1;
+    }
+    if (count != leafCount) {
+      leafCount = count;
+      nodes = new float[count << 1];
+    }
+    Arrays.fill(nodes, NONE);
+  }
+
+  /**
+   * Used to set value of line without updating parent nodes. {@link #build()} should be called
+   * after all values are set.
+   *
+   * @param line  line index.
+   * @param value line value or {@link Float#NaN} if line has no value.
+   */
+  void init(int line, float value) {
+    nodes[leafCount + line] = Float.isNaN(value) ? NONE : value;
+  }
+
+  /**
+   * Used to calculate parent nodes after values were set using {@link #init(int, float)}.
+   */
+  void build() {
+    for (int i = leafCount - 1; i > 0; i--) {
+      nodes[i] = Math.max(nodes[i << 1], nodes[(i << 1) + 1]);
+    }
+  }
+
+  /**
+   * Used to update value of line.
+   *
+   * @param line  line index.
+   * @param value line value or {@link Float#NaN} if line has no value.
+   */
+  void set(int line, float value) {
+    int i = leafCount + line;
+    nodes[i] = Float.isNaN(value) ? NONE : value;
+    for (i >>= 1; i > 0; i >>= 1) {
+      nodes[i] = Math.max(nodes[i << 1], nodes[(i << 1) + 1]);
+    }
+  }
+
+  /**
+   * Returns maximum value of lines.
+   *
+   * @return maximum value or {@link #NONE} if no line has value.
+   */
+  float getMax() {
+    return nodes[1];
+  }
+
+  /**
+   * Returns first line with maximum value.
+   *
+   * @return line index or -1 if no line has value.
+   */
+  int getMaxLine() {
+    float max = nodes[1];
+    if (max == NONE) {
+      return -1;
+    }
+    int i = 1;
+    while (i < leafCount) {
+      i <<= 1;
+      if (nodes[i] != max) {
+        i++;
+      }
+    }
+    return i - leafCount;
+  }
+}
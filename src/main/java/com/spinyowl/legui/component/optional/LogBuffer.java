@@ -0,0 +1,278 @@
+package com.spinyowl.legui.component.optional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only line storage of {@link com.spinyowl.legui.component.LogView}.
+ * <p>
+ * Lines could be appended from any thread: each {@code append} call adds single batch of lines to
+ * lock-free queue, so producers don't block each other and rendering thread. Queued batches are
+ * moved to bounded ring buffer by {@link #drain()} which is called once per frame by renderer. When
+ * ring buffer is full oldest lines are dropped, so memory is limited by {@link #getMaxLines()}.
+ * Queue is limited too: when queued lines exceed maximum number of lines oldest batches are dropped
+ * by {@code append} (they would be dropped by next drain anyway), so memory stays bounded while
+ * buffer is not drained (for example when view is hidden or not rendered).
+ * <p>
+ * Lines are numbered by sequence numbers which are not changed when older lines are dropped (see
+ * {@link #getFirstLineNumber()}), so view could stay at same lines while buffer is scrolled. All
+ * methods except {@code append} methods and {@link #getPendingLineCount()} should be called from
+ * rendering thread.
+ */
+public final class LogBuffer {
+
+  /**
+   * Default maximum number of lines.
+   */
+  public static final int DEFAULT_MAX_LINES = 10_000;
+
+  private static final String[] EMPTY = new String[0];
+
+  private final Queue<String[]> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicLong pendingLines = new AtomicLong();
+  /**
+   * Number of pending lines dropped by producers since last drain.
+   */
+  private final AtomicLong droppedLines = new AtomicLong();
+  /**
+   * Same as length of line array, read by producers.
+   */
+  private volatile int maxLines;
+
+  private String[] lines;
+  private int head;
+  private int size;
+  private long lineCount;
+  private int revision;
+
+  /**
+   * Creates buffer with {@link #DEFAULT_MAX_LINES} maximum number of lines.
+   */
+  public LogBuffer() {
+    this(DEFAULT_MAX_LINES);
+  }
+
+  /**
+   * Creates buffer with provided maximum number of lines.
+   *
+   * @param maxLines maximum number of lines (should be positive).
+   */
+  public LogBuffer(int maxLines) {
+    if (maxLines <= 0) {
+      throw new IllegalArgumentException("Maximum number of lines should be positive.");
+    }
+    this.lines = new String[maxLines];
+    this.maxLines = maxLines;
+  }
+
+  /**
+   * Used to append text. Text is split to lines by line breaks, trailing line break doesn't add
+   * empty line. Could be called from any thread.
+   *
+   * @param text text to append.
+   */
+  public void append(String text) {
+    if (text == null) {
+      return;
+    }
+    int length = text.length();
+    if (length > 0 && text.charAt(length - 1) == '\n') {
+      length--;
+    }
+    String body = text.substring(0, length);
+    String[] batch;
+    if (body.indexOf('\n') == -1) {
+      batch = new String[]{stripCarriageReturn(body)};
+    } else {
+      batch = body.split("\n", -1);
+      for (int i = 0; i < batch.length; i++) {
+        batch[i] = stripCarriageReturn(batch[i]);
+      }
+    }
+    enqueue(batch);
+  }
+
+  /**
+   * Used to append batch of lines. Each element is appended as single line and should not contain
+   * line breaks. Could be called from any thread.
+   *
+   * @param batch lines to append.
+   */
+  public void appendLines(Collection<String> batch) {
+    if (batch != null && !batch.isEmpty()) {
+      enqueue(batch.toArray(EMPTY));
+    }
+  }
+
+  private void enqueue(String[] batch) {
+    pending.offer(batch);
+    long count = pendingLines.addAndGet(batch.length);
+    int limit = maxLines;
+    // drop oldest batches which would be overwritten by newer pending lines during drain.
+    while (count > limit) {
+      String[] oldest = pending.peek();
+      if (oldest == null || oldest == batch || count - oldest.length < limit) {
+        break;
+      }
+      if (pending.remove(oldest)) {
+        count = pendingLines.addAndGet(-oldest.length);
+        droppedLines.addAndGet(oldest.length);
+      } else {
+        count = pendingLines.get();
+      }
+    }
+  }
+
+  private static String stripCarriageReturn(String line) {
+    int length = line.length();
+    return length > 0 && line.charAt(length - 1) == '\r' ? line.substring(0, length - 1) : line;
+  }
+
+  /**
+   * Returns number of lines which are appended but not drained yet. Could be called from any
+   * thread. Doesn't exceed maximum number of lines plus size of last appended batch.
+   *
+   * @return number of pending lines.
+   */
+  public long getPendingLineCount() {
+    return pendingLines.get();
+  }
+
+  /**
+   * Used to move appended lines to ring buffer. Should be called from rendering thread.
+   *
+   * @return number of drained lines.
+   */
+  public int drain() {
+    int drained = 0;
+    long dropped = 0;
+    String[] batch;
+    while ((batch = pending.poll()) != null) {
+      pendingLines.addAndGet(-batch.length);
+      // lines dropped by producers are older than this batch.
+      long droppedBefore = droppedLines.getAndSet(0);
+      lineCount += droppedBefore;
+      dropped += droppedBefore;
+      // only last lines of batch fit to buffer.
+      int from = Math.max(0, batch.length - lines.length);
+      for (int i = from; i < batch.length; i++) {
+        add(batch[i]);
+      }
+      lineCount += from;
+      drained += batch.length;
+    }
+    long droppedAfter = droppedLines.getAndSet(0);
+    lineCount += droppedAfter;
+    dropped += droppedAfter;
+    if (drained > 0 || dropped > 0) {
+      revision++;
+    }
+    return drained;
+  }
+
+  private void add(String line) {
+    int capacity = lines.length;
+    if (size < capacity) {
+      int index = head + size;
+      lines[index >= capacity ? index - capacity : index] = line;
+      size++;
+    } else {
+      lines[head] = line;
+      head = head + 1 == capacity ? 0 : head + 1;
+    }
+    lineCount++;
+  }
+
+  /**
+   * Returns number of lines in buffer.
+   *
+   * @return number of lines.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns line by index in buffer, zero is oldest line.
+   *
+   * @param index line index.
+   * @return line.
+   * @throws IndexOutOfBoundsException if index is out of bounds.
+   */
+  public String getLine(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+    }
+    int i = head + index;
+    return lines[i >= lines.length ? i - lines.length : i];
+  }
+
+  /**
+   * Returns sequence number of oldest line in buffer. Equals to number of dropped lines.
+   *
+   * @return sequence number of first line.
+   */
+  public long getFirstLineNumber() {
+    return lineCount - size;
+  }
+
+  /**
+   * Returns number of lines drained since buffer was created or cleared (including dropped lines).
+   *
+   * @return total number of lines.
+   */
+  public long getTotalLineCount() {
+    return lineCount;
+  }
+
+  /**
+   * Returns revision of buffer which is incremented each time when lines are added or removed.
+   *
+   * @return revision.
+   */
+  public int getRevision() {
+    return revision;
+  }
+
+  public int getMaxLines() {
+    return lines.length;
+  }
+
+  /**
+   * Used to set maximum number of lines. Newest lines are kept if buffer contains more lines.
+   *
+   * @param maxLines maximum number of lines (should be positive).
+   */
+  public void setMaxLines(int maxLines) {
+    if (maxLines <= 0) {
+      throw new IllegalArgumentException("Maximum number of lines should be positive.");
+    }
+    if (maxLines == lines.length) {
+      return;
+    }
+    int newSize = Math.min(size, maxLines);
+    String[] newLines = new String[maxLines];
+    for (int i = 0; i < newSize; i++) {
+      newLines[i] = getLine(size - newSize + i);
+    }
+    lines = newLines;
+    this.maxLines = maxLines;
+    head = 0;
+    size = newSize;
+    revision++;
+  }
+
+  /**
+   * Used to remove all lines from buffer. Pending lines are not removed.
+   */
+  public void clear() {
+    Arrays.fill(lines, null);
+    head = 0;
+    size = 0;
+    lineCount = 0;
+    revision++;
+  }
+}
@@ -0,0 +1,346 @@
+package com.spinyowl.legui.component.optional;
+
+import java.io.Serializable;
+
+/**
+ * Editable text stored as piece table: text is described by sequence of pieces which reference
+ * either original text or append-only buffer of inserted text. Pieces are kept in balanced tree
+ * (treap ordered by position in text, each node stores total length of its subtree), so insertion
+ * and deletion take O(log n) time where n is number of pieces and don't copy text.
+ * <p>
+ * Buffer is read-only {@link CharSequence} view of text for other classes, it's modified only by
+ * {@link TextState}. {@link #toString()} result is cached until next modification and sequential
+ * {@link #charAt(int)} calls reuse last found piece.
+ * <p>
+ * Buffer is guarded by monitor of its text state: if text could be modified from other thread
+ * (for example event processing thread while buffer is read by renderer) buffer should be read in
+ * {@code synchronized (textState)} block. Concurrent reads are safe.
+ */
+public final class TextBuffer implements CharSequence, Serializable {
+
+  private String original = "";
+  private final StringBuilder added = new StringBuilder();
+  private Piece root;
+  private int seed = 0x2545F491;
+
+  private transient String text;
+  /**
+   * Last found piece with its start offset. Piece and offset are published as single immutable
+   * object, so concurrent readers never see piece with start of other piece.
+   */
+  private transient Cursor cursor;
+
+  private transient Piece splitLeft;
+  private transient Piece splitRight;
+
+  TextBuffer() {
+  }
+
+  TextBuffer(String text) {
+    reset(text);
+  }
+
+  @Override
+  public int length() {
+    return root == null ? 0 : root.totalLength;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length()) {
+      throw new IndexOutOfBoundsException("index " + index + ", length " + length());
+    }
+    Cursor last = cursor;
+    if (last != null && index >= last.pieceStart && index < last.pieceStart + last.length) {
+      return source(last.piece).charAt(last.piece.start + index - last.pieceStart);
+    }
+    Piece piece = root;
+    int pieceStart = 0;
+    while (true) {
+      int leftLength = totalLength(piece.left);
+      if (index < pieceStart + leftLength) {
+        piece = piece.left;
+      } else if (index < pieceStart + leftLength + piece.length) {
+        pieceStart += leftLength;
+        cursor = new Cursor(piece, pieceStart);
+        return source(piece).charAt(piece.start + index - pieceStart);
+      } else {
+        pieceStart += leftLength + piece.length;
+        piece = piece.right;
+      }
+    }
+  }
+
+  /**
+   * Returns text in provided range. Takes O(log n + k) time where k is length of range.
+   *
+   * @param start start index, inclusive.
+   * @param end   end index, exclusive.
+   * @return text in range.
+   */
+  @Override
+  public String subSequence(int start, int end) {
+    checkRange(start, end);
+    if (start == end) {
+      return "";
+    }
+    if (text != null) {
+      return text.substring(start, end);
+    }
+    StringBuilder builder = new StringBuilder(end - start);
+    appendTo(builder, root, 0, start, end);
+    return builder.toString();
+  }
+
+  /**
+   * Returns text. Result is cached until next modification.
+   *
+   * @return text.
+   */
+  @Override
+  public String toString() {
+    if (text == null) {
+      StringBuilder builder = new StringBuilder(length());
+      appendTo(builder, root, 0, 0, length());
+      text = builder.toString();
+    }
+    return text;
+  }
+
+  /**
+   * Returns number of pieces which describe text.
+   *
+   * @return number of pieces.
+   */
+  public int getPieceCount() {
+    return count(root);
+  }
+
+  /**
+   * Used to replace whole text. Buffer of inserted text is cleared.
+   *
+   * @param newText new text.
+   */
+  void reset(String newText) {
+    original = newText == null ? "" : newText;
+    added.setLength(0);
+    added.trimToSize();
+    root = original.isEmpty() ? null : new Piece(false, 0, original.length(), nextPriority());
+    modified();
+    text = original;
+  }
+
+  /**
+   * Used to insert text at provided offset.
+   *
+   * @param offset offset.
+   * @param value  text to insert.
+   */
+  void insert(int offset, CharSequence value) {
+    checkRange(offset, offset);
+    int length = value.length();
+    if (length == 0) {
+      return;
+    }
+    split(root, offset);
+    Piece left = splitLeft;
+    Piece right = splitRight;
+    Piece last = last(left);
+    if (last != null && last.added && last.start + last.length == added.length()) {
+      // continue last inserted piece (sequential typing).
+      added.append(value);
+      for (Piece p = left; p != null; p = p.right) {
+        p.totalLength += length;
+        if (p == last) {
+          p.length += length;
+        }
+      }
+    } else {
+      Piece piece = new Piece(true, added.length(), length, nextPriority());
+      added.append(value);
+      left = merge(left, piece);
+    }
+    root = merge(left, right);
+    modified();
+  }
+
+  /**
+   * Used to delete text in range.
+   *
+   * @param offset start offset.
+   * @param length length of text to delete.
+   */
+  void delete(int offset, int length) {
+    checkRange(offset, offset + length);
+    if (length == 0) {
+      return;
+    }
+    split(root, offset);
+    Piece left = splitLeft;
+    split(splitRight, length);
+    Piece right = splitRight;
+    root = merge(left, right);
+    modified();
+  }
+
+  private void modified() {
+    text = null;
+    cursor = null;
+  }
+
+  private void checkRange(int start, int end) {
+    if (start < 0 || end < start || end > length()) {
+      throw new IndexOutOfBoundsException(
+          "start " + start + ", end " + end + ", length " + length());
+    }
+  }
+
+  private CharSequence source(Piece piece) {
+    return piece.added ? added : original;
+  }
+
+  /**
+   * Used to append text of pieces of subtree which intersects range [start, end).
+   */
+  private void appendTo(StringBuilder builder, Piece piece, int subtreeStart, int start, int end) {
+    while (piece != null && subtreeStart < end) {
+      int leftLength = totalLength(piece.left);
+      int pieceStart = subtreeStart + leftLength;
+      if (start < pieceStart) {
+        appendTo(builder, piece.left, subtreeStart, start, end);
+      }
+      int from = Math.max(start, pieceStart);
+      int to = Math.min(end, pieceStart + piece.length);
+      if (from < to) {
+        builder.append(source(piece), piece.start + from - pieceStart,
+            piece.start + to - pieceStart);
+      }
+      subtreeStart = pieceStart + piece.length;
+      if (end <= subtreeStart) {
+        return;
+      }
+      piece = piece.right;
+    }
+  }
+
+  /**
+   * Used to split tree to text before offset ({@link #splitLeft}) and after ({@link
+   * #splitRight}). Piece which contains offset is split in two.
+   */
+  private void split(Piece piece, int offset) {
+    if (piece == null) {
+      splitLeft = null;
+      splitRight = null;
+      return;
+    }
+    int leftLength = totalLength(piece.left);
+    if (offset <= leftLength) {
+      split(piece.left, offset);
+      piece.left = splitRight;
+      update(piece);
+      splitRight = piece;
+    } else if (offset >= leftLength + piece.length) {
+      split(piece.right, offset - leftLength - piece.length);
+      piece.right = splitLeft;
+      update(piece);
+      splitLeft = piece;
+    } else {
+      int inner = offset - leftLength;
+      // tail keeps priority of piece, so heap order of right subtree is preserved.
+      Piece tail = new Piece(piece.added, piece.start + inner, piece.length - inner,
+          piece.priority);
+      tail.right = piece.right;
+      update(tail);
+      piece.length = inner;
+      piece.right = null;
+      update(piece);
+      splitLeft = piece;
+      splitRight = tail;
+    }
+  }
+
+  private Piece merge(Piece left, Piece right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (left.priority >= right.priority) {
+      left.right = merge(left.right, right);
+      update(left);
+      return left;
+    } else {
+      right.left = merge(left, right.left);
+      update(right);
+      return right;
+    }
+  }
+
+  private static Piece last(Piece piece) {
+    if (piece != null) {
+      while (piece.right != null) {
+        piece = piece.right;
+      }
+    }
+    return piece;
+  }
+
+  private static int count(Piece piece) {
+    return piece == null ? 0 : count(piece.left) + 1 + count(piece.right);
+  }
+
+  private static int totalLength(Piece piece) {
+    return piece == null ? 0 : piece.totalLength;
+  }
+
+  private static void update(Piece piece) {
+    piece.totalLength = totalLength(piece.left) + piece.length + totalLength(piece.right);
+  }
+
+  private int nextPriority() {
+    // xorshift
+    int x = seed;
+    x ^= x << 13;
+    x ^= x >>> 17;
+    x ^= x << 5;
+    seed = x;
+    return x;
+  }
+
+  private static final class Cursor {
+
+    private final Piece piece;
+    private final int pieceStart;
+    /**
+     * Length of piece when cursor was created (length of last piece is increased by sequential
+     * typing).
+     */
+    private final int length;
+
+    private Cursor(Piece piece, int pieceStart) {
+      this.piece = piece;
+      this.pieceStart = pieceStart;
+      this.length = piece.length;
+    }
+  }
+
+  private static final class Piece implements Serializable {
+
+    private final boolean added;
+    private final int start;
+    private final int priority;
+    private int length;
+    private int totalLength;
+    private Piece left;
+    private Piece right;
+
+    private Piece(boolean added, int start, int length, int priority) {
+      this.added = added;
+      this.start = start;
+      this.length = length;
+      this.priority = priority;
+      this.totalLength = length;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.spinyowl.legui.component.optional;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Describes single modification of text of {@link TextState}: text of {@link #getRemovedLength()}
+ * characters starting from {@link #getOffset()} was replaced with {@link #getInsertedText()}.
+ * Replacement of whole text is described by change with zero offset.
+ */
+public final class TextChange {
+
+  private final int offset;
+  private final String removedText;
+  private final String insertedText;
+  private final int revision;
+
+  /**
+   * Creates text change.
+   *
+   * @param offset       offset of changed range.
+   * @param removedText  removed text.
+   * @param insertedText inserted text.
+   * @param revision     revision of text state after change.
+   */
+  public TextChange(int offset, String removedText, String insertedText, int revision) {
+    this.offset = offset;
+    this.removedText = removedText;
+    this.insertedText = insertedText;
+    this.revision = revision;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  public int getRemovedLength() {
+    return removedText.length();
+  }
+
+  public String getRemovedText() {
+    return removedText;
+  }
+
+  public int getInsertedLength() {
+    return insertedText.length();
+  }
+
+  public String getInsertedText() {
+    return insertedText;
+  }
+
+  /**
+   * Returns revision of text state after this change (see {@link TextState#getRevision()}).
+   *
+   * @return revision of text state.
+   */
+  public int getRevision() {
+    return revision;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("offset", offset)
+        .append("removedText", removedText)
+        .append("insertedText", insertedText)
+        .append("revision", revision)
+        .toString();
+  }
+}
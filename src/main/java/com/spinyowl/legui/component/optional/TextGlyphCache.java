@@ -0,0 +1,125 @@
+package com.spinyowl.legui.component.optional;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Cache of {@link GlyphPositions} of {@link TextState} text (see {@link
+ * TextState#getGlyphCache()}), filled by renderers. Entries are keyed by text range and mask
+ * character (for masked text), so single line input uses one entry and text area uses entries of
+ * caret, selection and mouse lines. All entries are dropped when text revision, font or font size
+ * is changed; up to {@link #MAX_ENTRIES} least recently used entries are kept.
+ * <p>
+ * Not thread safe, should be used from rendering thread.
+ */
+public final class TextGlyphCache {
+
+  /**
+   * Maximum number of cached entries.
+   */
+  public static final int MAX_ENTRIES = 8;
+
+  private final int[] starts = new int[MAX_ENTRIES];
+  private final int[] ends = new int[MAX_ENTRIES];
+  private final int[] masks = new int[MAX_ENTRIES];
+  private final long[] lastUse = new long[MAX_ENTRIES];
+  private final GlyphPositions[] positions = new GlyphPositions[MAX_ENTRIES];
+  private int size;
+  private long tick;
+
+  private int revision = -1;
+  private String font;
+  private float fontSize;
+
+  private long hits;
+  private long misses;
+
+  TextGlyphCache() {
+  }
+
+  /**
+   * Returns cached glyph positions of text range or null if they are not cached. Drops all entries
+   * if revision, font or font size differs from cached ones.
+   *
+   * @param revision text revision ({@link TextState#getRevision()}).
+   * @param font     font name.
+   * @param fontSize font size.
+   * @param start    start of text range.
+   * @param end      end of text range.
+   * @param mask     mask character or zero if text is not masked.
+   * @return glyph positions or null.
+   */
+  public GlyphPositions get(int revision, String font, float fontSize, int start, int end,
+      int mask) {
+    if (this.revision != revision || !Objects.equals(this.font, font)
+        || Float.floatToIntBits(this.fontSize) != Float.floatToIntBits(fontSize)) {
+      clear();
+      this.revision = revision;
+      this.font = font;
+      this.fontSize = fontSize;
+    }
+    for (int i = 0; i < size; i++) {
+      if (starts[i] == start && ends[i] == end && masks[i] == mask) {
+        lastUse[i] = ++tick;
+        hits++;
+        return positions[i];
+      }
+    }
+    misses++;
+    return null;
+  }
+
+  /**
+   * Used to cache glyph positions of text range. Should be called after {@link #get(int, String,
+   * float, int, int, int)} returned null for same arguments.
+   *
+   * @param start          start of text range.
+   * @param end            end of text range.
+   * @param mask           mask character or zero if text is not masked.
+   * @param glyphPositions glyph positions.
+   */
+  public void put(int start, int end, int mask, GlyphPositions glyphPositions) {
+    int index = size;
+    if (size < MAX_ENTRIES) {
+      size++;
+    } else {
+      index = 0;
+      for (int i = 1; i < size; i++) {
+        if (lastUse[i] < lastUse[index]) {
+          index = i;
+        }
+      }
+    }
+    starts[index] = start;
+    ends[index] = end;
+    masks[index] = mask;
+    positions[index] = glyphPositions;
+    lastUse[index] = ++tick;
+  }
+
+  /**
+   * Used to remove all entries.
+   */
+  public void clear() {
+    Arrays.fill(positions, null);
+    size = 0;
+  }
+
+  /**
+   * Returns number of lookups which returned cached positions.
+   *
+   * @return number of cache hits.
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Returns number of lookups which required measuring of glyphs.
+   *
+   * @return number of cache misses.
+   */
+  public long getMisses() {
+    return misses;
+  }
+}
@@ -0,0 +1,375 @@
+package com.spinyowl.legui.component.optional;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Index of line start offsets of {@link TextState} text. Index is created on first {@link
+ * TextState#getLineIndex()} call and then updated by text state on each modification, so it's not
+ * rebuilt from whole text.
+ * <p>
+ * Line starts are stored in sorted array, so line of offset is found by binary search in O(log n)
+ * time where n is number of lines. Shift of line starts after modified line is applied lazily: it's
+ * stored as single delta for all lines after some line and moved to next modified line, so typing
+ * in one line takes constant time and only modifications which add or remove line breaks move
+ * array elements.
+ * <p>
+ * Index also keeps cached width of each line, which is used by renderers to avoid measuring text of
+ * lines which were not modified. Width of modified lines is reset to {@link Float#NaN}, all widths
+ * are reset when font, font size or tab size is changed (see {@link #setWidthFont(String, float,
+ * int)}). Longest line and maximum cached width are kept in max segment trees, so they are found
+ * in O(log n) time; trees are rebuilt lazily after modifications which add or remove lines (which
+ * move line starts anyway).
+ * <p>
+ * Index is modified in place, so it's guarded by monitor of its text state (same as {@link
+ * TextBuffer}): it should be used in {@code synchronized (textState)} block if text could be
+ * modified from other thread.
+ */
+public final class TextLineIndex {
+
+  private static final int MIN_CAPACITY = 16;
+  private static final char NEWLINE = '\n';
+
+  private final TextBuffer text;
+
+  private int[] starts = new int[MIN_CAPACITY];
+  private float[] widths = new float[MIN_CAPACITY];
+  private int lineCount;
+  /**
+   * Starts of lines with index greater or equal to delta line are stored without delta.
+   */
+  private int deltaLine;
+  private int delta;
+
+  /**
+   * Lengths of lines.
+   */
+  private final LineMaxTree lengthTree = new LineMaxTree();
+  /**
+   * Cached widths of lines.
+   */
+  private final LineMaxTree widthTree = new LineMaxTree();
+  /**
+   * Shows if length and width trees contain values of current lines.
+   */
+  private boolean treesValid;
+
+  private String widthFont;
+  private float widthFontSize;
+  private int widthTabSize;
+
+  private TextWrapIndex wrapIndex;
+
+  TextLineIndex(TextBuffer text) {
+    this.text = text;
+    reset();
+  }
+
+  /**
+   * Returns number of lines. Text without line breaks has one line.
+   *
+   * @return number of lines.
+   */
+  public int getLineCount() {
+    return lineCount;
+  }
+
+  /**
+   * Returns offset of first character of line.
+   *
+   * @param line line index.
+   * @return line start offset.
+   * @throws IndexOutOfBoundsException if line index is out of bounds.
+   */
+  public int getLineStart(int line) {
+    checkLine(line);
+    return start(line);
+  }
+
+  /**
+   * Returns offset of line end (offset of line break or text length for last line).
+   *
+   * @param line line index.
+   * @return line end offset.
+   * @throws IndexOutOfBoundsException if line index is out of bounds.
+   */
+  public int getLineEnd(int line) {
+    checkLine(line);
+    return end(line);
+  }
+
+  /**
+   * Returns length of line without line break.
+   *
+   * @param line line index.
+   * @return line length.
+   * @throws IndexOutOfBoundsException if line index is out of bounds.
+   */
+  public int getLineLength(int line) {
+    checkLine(line);
+    return end(line) - start(line);
+  }
+
+  /**
+   * Returns text of line without line break.
+   *
+   * @param line line index.
+   * @return line text.
+   * @throws IndexOutOfBoundsException if line index is out of bounds.
+   */
+  public String getLine(int line) {
+    checkLine(line);
+    return text.subSequence(start(line), end(line));
+  }
+
+  /**
+   * Returns index of line which contains offset. Offset of line break belongs to line which it
+   * ends. Offset is clamped to text bounds.
+   *
+   * @param offset offset in text.
+   * @return line index.
+   */
+  public int getLineOfOffset(int offset) {
+    int low = 0;
+    int high = lineCount - 1;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (start(mid) <= offset) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns index of first line with biggest number of characters.
+   *
+   * @return index of longest line.
+   */
+  public int getLongestLine() {
+    validateTrees();
+    return Math.max(lengthTree.getMaxLine(), 0);
+  }
+
+  /**
+   * Returns maximum cached width of lines (see {@link #setCachedWidth(int, float)}).
+   *
+   * @return maximum cached width or zero if there are no cached widths.
+   */
+  public float getMaxCachedWidth() {
+    validateTrees();
+    float max = widthTree.getMax();
+    return max == LineMaxTree.NONE ? 0 : max;
+  }
+
+  /**
+   * Used to set font, font size and tab size of cached line widths. All cached widths are reset if
+   * any of them differs from previous one.
+   *
+   * @param font     font name.
+   * @param fontSize font size.
+   * @param tabSize  number of spaces rendered instead of tab.
+   */
+  public void setWidthFont(String font, float fontSize, int tabSize) {
+    if (!Objects.equals(widthFont, font)
+        || Float.floatToIntBits(widthFontSize) != Float.floatToIntBits(fontSize)
+        || widthTabSize != tabSize) {
+      widthFont = font;
+      widthFontSize = fontSize;
+      widthTabSize = tabSize;
+      Arrays.fill(widths, 0, lineCount, Float.NaN);
+      if (treesValid) {
+        widthTree.reset(lineCount);
+      }
+    }
+  }
+
+  /**
+   * Returns cached width of line or {@link Float#NaN} if width is not cached.
+   *
+   * @param line line index.
+   * @return cached width or NaN.
+   * @throws IndexOutOfBoundsException if line index is out of bounds.
+   */
+  public float getCachedWidth(int line) {
+    checkLine(line);
+    return widths[line];
+  }
+
+  /**
+   * Used to cache width of line. Width is kept until line is modified or font is changed.
+   *
+   * @param line  line index.
+   * @param width line width.
+   * @throws IndexOutOfBoundsException if line index is out of bounds.
+   */
+  public void setCachedWidth(int line, float width) {
+    checkLine(line);
+    widths[line] = width;
+    if (treesValid) {
+      widthTree.set(line, width);
+    }
+  }
+
+  /**
+   * Returns index of soft-wrapped rows of lines. Index is created on first call and then updated
+   * with line index.
+   *
+   * @return wrap index.
+   */
+  public TextWrapIndex getWrapIndex() {
+    if (wrapIndex == null) {
+      wrapIndex = new TextWrapIndex(this);
+    }
+    return wrapIndex;
+  }
+
+  /**
+   * Used to rebuild index from whole text.
+   */
+  void reset() {
+    String value = text.toString();
+    lineCount = 1;
+    starts[0] = 0;
+    for (int i = value.indexOf(NEWLINE); i != -1; i = value.indexOf(NEWLINE, i + 1)) {
+      ensureCapacity(lineCount + 1);
+      starts[lineCount++] = i + 1;
+    }
+    if (starts.length > MIN_CAPACITY && starts.length > lineCount << 1) {
+      starts = Arrays.copyOf(starts, Math.max(MIN_CAPACITY, lineCount));
+      widths = new float[starts.length];
+    }
+    Arrays.fill(widths, 0, lineCount, Float.NaN);
+    deltaLine = lineCount;
+    delta = 0;
+    treesValid = false;
+    if (wrapIndex != null) {
+      wrapIndex.reset(lineCount);
+    }
+  }
+
+  /**
+   * Used to update index after replacement of text. Index should be updated after each
+   * modification of text buffer.
+   *
+   * @param offset   offset of replaced text.
+   * @param removed  removed text.
+   * @param inserted inserted text.
+   */
+  void update(int offset, CharSequence removed, CharSequence inserted) {
+    int line = getLineOfOffset(offset);
+    int removedLines = count(removed);
+    int insertedLines = count(inserted);
+    int shift = inserted.length() - removed.length();
+
+    // lines after replaced range keep lazy delta, lines before it are materialized.
+    moveDelta(line + removedLines + 1);
+    if (removedLines != insertedLines) {
+      int newLineCount = lineCount - removedLines + insertedLines;
+      ensureCapacity(newLineCount);
+      int tail = lineCount - line - removedLines - 1;
+      System.arraycopy(starts, line + removedLines + 1, starts, line + insertedLines + 1, tail);
+      System.arraycopy(widths, line + removedLines + 1, widths, line + insertedLines + 1, tail);
+      lineCount = newLineCount;
+    }
+    int next = line + 1;
+    for (int i = 0, length = inserted.length(); i < length; i++) {
+      if (inserted.charAt(i) == NEWLINE) {
+        starts[next++] = offset + i + 1;
+      }
+    }
+    Arrays.fill(widths, line, line + insertedLines + 1, Float.NaN);
+    deltaLine = line + insertedLines + 1;
+    delta += shift;
+    if (deltaLine >= lineCount) {
+      deltaLine = lineCount;
+      delta = 0;
+    }
+
+    updateTrees(line, removedLines, insertedLines);
+    if (wrapIndex != null) {
+      wrapIndex.update(line, removedLines, insertedLines);
+    }
+  }
+
+  private void updateTrees(int line, int removedLines, int insertedLines) {
+    if (!treesValid) {
+      return;
+    }
+    if (removedLines != insertedLines) {
+      // lines after modified ones are moved, trees are rebuilt on next use.
+      treesValid = false;
+      return;
+    }
+    for (int i = line; i <= line + insertedLines; i++) {
+      lengthTree.set(i, end(i) - start(i));
+      widthTree.set(i, Float.NaN);
+    }
+  }
+
+  private void validateTrees() {
+    if (treesValid) {
+      return;
+    }
+    lengthTree.reset(lineCount);
+    widthTree.reset(lineCount);
+    for (int i = 0; i < lineCount; i++) {
+      lengthTree.init(i, end(i) - start(i));
+      widthTree.init(i, widths[i]);
+    }
+    lengthTree.build();
+    widthTree.build();
+    treesValid = true;
+  }
+
+  /**
+   * Used to apply lazy delta to lines between current delta line and provided line, so delta is
+   * applied only to lines starting from provided line.
+   */
+  private void moveDelta(int line) {
+    line = Math.min(line, lineCount);
+    if (delta != 0) {
+      for (int i = deltaLine; i < line; i++) {
+        starts[i] += delta;
+      }
+      for (int i = line; i < deltaLine; i++) {
+        starts[i] -= delta;
+      }
+    }
+    deltaLine = line;
+  }
+
+  private int start(int line) {
+    return line >= deltaLine ? starts[line] + delta : starts[line];
+  }
+
+  private int end(int line) {
+    return line + 1 < lineCount ? start(line + 1) - 1 : text.length();
+  }
+
+  private static int count(CharSequence value) {
+    int count = 0;
+    for (int i = 0, length = value.length(); i < length; i++) {
+      if (value.charAt(i) == NEWLINE) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (starts.length < capacity) {
+      int newCapacity = Math.max(capacity, starts.length << 1);
+      starts = Arrays.copyOf(starts, newCapacity);
+      widths = Arrays.copyOf(widths, newCapacity);
+    }
+  }
+
+  private void checkLine(int line) {
+    if (line < 0 || line >= lineCount) {
+      throw new IndexOutOfBoundsException("line " + line + ", line count " + lineCount);
+    }
+  }
+}
@@ -1,13 +1,27 @@
 package com.spinyowl.legui.component.optional;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 /**
  * Used to hold text state of components.
+ * <p>
+ * Text is stored in {@link TextBuffer} (piece table), so {@link #insert(int, CharSequence)},
+ * {@link #delete(int, int)} and {@link #replace(int, int, CharSequence)} don't copy whole text.
+ * Each modification is reported to text change listeners as {@link TextChange}.
+ * <p>
+ * Text, {@link #getTextBuffer() text buffer}, {@link #getLineIndex() line index} (with wrap index)
+ * and {@link #getGlyphCache() glyph cache} are guarded by monitor of text state. Text is modified
+ * holding the monitor, renderers and listeners which read buffer or indices (and could run
+ * concurrently with modifications from other thread) should hold it too: {@code synchronized
+ * (textState) { ... }}. Text change listeners and text set callback are called after monitor is
+ * released (unless it's held by caller).
  */
 public class TextState implements Serializable {
 
@@ -16,7 +30,11 @@ public class TextState implements Serializable {
   /**
    * Text data.
    */
-  private String text = "";
+  private final TextBuffer text = new TextBuffer();
+  /**
+   * Incremented on each modification of text.
+   */
+  private volatile int revision;
   /**
    * Used to store caret position in text.
    */
@@ -47,6 +65,14 @@ public class TextState implements Serializable {
    */
   private BiConsumer<String, String> textSetCallback;
   private Predicate<String> validator;
+  private transient List<Consumer<TextChange>> textChangeListeners;
+  private transient TextLineIndex lineIndex;
+  private transient TextGlyphCache glyphCache;
+  /**
+   * Called after modification of text, caret position, selection or editable state. Set by
+   * component which owns this text state.
+   */
+  private transient Runnable changeListener;
 
   /**
    * Default constructor.
@@ -93,10 +119,57 @@ public class TextState implements Serializable {
    *
    * @return text.
    */
-  public String getText() {
+  public synchronized String getText() {
+    return text.toString();
+  }
+
+  /**
+   * Returns text as read-only character sequence. Unlike {@link #getText()} doesn't build string
+   * after modification, so could be used to read parts of large text. Buffer should be read
+   * holding monitor of text state if text could be modified by other thread.
+   *
+   * @return text buffer.
+   */
+  public TextBuffer getTextBuffer() {
     return text;
   }
 
+  /**
+   * Returns revision of text. Revision is incremented on each modification of text.
+   *
+   * @return revision of text.
+   */
+  public int getRevision() {
+    return revision;
+  }
+
+  /**
+   * Returns index of lines of text. Index is created on first call and then updated on each
+   * modification of text, so line lookups don't require splitting text.
+   *
+   * @return line index.
+   */
+  public synchronized TextLineIndex getLineIndex() {
+    if (lineIndex == null) {
+      lineIndex = new TextLineIndex(text);
+    }
+    return lineIndex;
+  }
+
+  /**
+   * Returns cache of glyph positions of text used by renderers to place caret and selection and to
+   * find caret position under mouse cursor. Cache is created on first call, cached positions are
+   * dropped when text is modified (see {@link #getRevision()}).
+   *
+   * @return glyph position cache.
+   */
+  public synchronized TextGlyphCache getGlyphCache() {
+    if (glyphCache == null) {
+      glyphCache = new TextGlyphCache();
+    }
+    return glyphCache;
+  }
+
   /**
    * Used to set new text.
    *
@@ -107,19 +180,178 @@ public class TextState implements Serializable {
       return;
     }
 
-    String oldValue = this.text;
-    String newValue = text;
+    String oldValue;
+    String newValue;
+    TextChange change;
+    synchronized (this) {
+      oldValue = this.text.toString();
+      this.text.reset(text);
+      newValue = this.text.toString();
+      if (lineIndex != null) {
+        lineIndex.reset();
+      }
+      revision++;
+
+      this.caretPosition = this.startSelectionIndex = this.endSelectionIndex = 0;
+      change = new TextChange(0, oldValue, newValue, revision);
+    }
 
-    if (text != null) {
-      this.text = text;
-    } else {
-      this.text = "";
+    BiConsumer<String, String> callback = this.textSetCallback;
+    if (callback != null) {
+      callback.accept(oldValue, text);
+    }
+    fireTextChange(change);
+  }
+
+  /**
+   * Used to insert text at provided offset. Caret and selection indices after offset are shifted.
+   *
+   * @param offset offset.
+   * @param value  text to insert.
+   * @return text change or null if text was not changed (empty value or rejected by validator).
+   */
+  public TextChange insert(int offset, CharSequence value) {
+    return replace(offset, 0, value);
+  }
+
+  /**
+   * Used to delete text in range. Caret and selection indices after range are shifted, indices
+   * inside range are moved to range start.
+   *
+   * @param offset start offset.
+   * @param length length of text to delete.
+   * @return text change or null if text was not changed (empty range or rejected by validator).
+   */
+  public TextChange delete(int offset, int length) {
+    return replace(offset, length, null);
+  }
+
+  /**
+   * Used to replace text in range. Caret and selection indices after range are shifted, indices
+   * inside range are moved to range start. Unlike {@link #setText(String)} takes O(log n) time
+   * where n is number of modifications since last {@link #setText(String)} (unless validator or
+   * text set callback is set, they require whole text).
+   *
+   * @param offset start offset.
+   * @param length length of text to replace.
+   * @param value  text to insert (null is same as empty text).
+   * @return text change or null if text was not changed (empty range and value or rejected by
+   * validator).
+   * @throws IndexOutOfBoundsException if range is out of text bounds.
+   */
+  public TextChange replace(int offset, int length, CharSequence value) {
+    String inserted = value == null ? "" : value.toString();
+    BiConsumer<String, String> callback = this.textSetCallback;
+    String oldValue = null;
+    String newValue = null;
+    TextChange change;
+    synchronized (this) {
+      int oldLength = text.length();
+      if (offset < 0 || length < 0 || offset + length > oldLength) {
+        throw new IndexOutOfBoundsException(
+            "offset " + offset + ", length " + length + ", text length " + oldLength);
+      }
+      if (length == 0 && inserted.isEmpty()) {
+        return null;
+      }
+
+      if (validator != null || callback != null) {
+        oldValue = text.toString();
+      }
+      if (validator != null) {
+        String validated = new StringBuilder(oldLength - length + inserted.length())
+            .append(oldValue, 0, offset)
+            .append(inserted)
+            .append(oldValue, offset + length, oldLength)
+            .toString();
+        if (!validator.test(validated)) {
+          return null;
+        }
+      }
+
+      String removed = text.subSequence(offset, offset + length);
+      text.delete(offset, length);
+      text.insert(offset, inserted);
+      if (lineIndex != null) {
+        lineIndex.update(offset, removed, inserted);
+      }
+      revision++;
+
+      caretPosition = shift(caretPosition, offset, length, inserted.length());
+      startSelectionIndex = shift(startSelectionIndex, offset, length, inserted.length());
+      endSelectionIndex = shift(endSelectionIndex, offset, length, inserted.length());
+
+      if (callback != null) {
+        newValue = text.toString();
+      }
+      change = new TextChange(offset, removed, inserted, revision);
     }
 
-    this.caretPosition = this.startSelectionIndex = this.endSelectionIndex = 0;
+    if (callback != null) {
+      callback.accept(oldValue, newValue);
+    }
+    fireTextChange(change);
+    return change;
+  }
 
-    if (this.textSetCallback != null) {
-      textSetCallback.accept(oldValue, newValue);
+  private static int shift(int index, int offset, int removed, int inserted) {
+    if (index <= offset) {
+      return index;
+    }
+    if (index < offset + removed) {
+      return offset;
+    }
+    return index - removed + inserted;
+  }
+
+  private void fireTextChange(TextChange change) {
+    if (textChangeListeners != null) {
+      for (Consumer<TextChange> listener : textChangeListeners) {
+        listener.accept(change);
+      }
+    }
+    changed();
+  }
+
+  private void changed() {
+    Runnable listener = changeListener;
+    if (listener != null) {
+      listener.run();
+    }
+  }
+
+  /**
+   * Used to set listener which is called after each modification of text, caret position,
+   * selection or editable state. Set by component which owns this text state (to report changes to
+   * renderer), so if text state is shared between components only last owner is notified.
+   *
+   * @param changeListener listener to set or null.
+   */
+  public void setChangeListener(Runnable changeListener) {
+    this.changeListener = changeListener;
+  }
+
+  /**
+   * Used to add listener which is called after each modification of text (including {@link
+   * #setText(String)}).
+   *
+   * @param listener text change listener.
+   */
+  public void addTextChangeListener(Consumer<TextChange> listener) {
+    if (textChangeListeners == null) {
+      textChangeListeners = new CopyOnWriteArrayList<>();
+    }
+    textChangeListeners.add(listener);
+  }
+
+  /**
+   * Used to remove text change listener.
+   *
+   * @param listener text change listener.
+   */
+  public void removeTextChangeListener(Consumer<TextChange> listener) {
+    if (textChangeListeners != null) {
+      textChangeListeners.remove(listener);
     }
   }
 
@@ -129,7 +361,7 @@ public class TextState implements Serializable {
    * @return text length.
    * @see StringBuffer#length()
    */
-  public int length() {
+  public synchronized int length() {
     return text.length();
   }
 
@@ -166,7 +398,10 @@ public class TextState implements Serializable {
    * @param editable editable text or not.
    */
   public void setEditable(boolean editable) {
-    this.editable = editable;
+    if (this.editable != editable) {
+      this.editable = editable;
+      changed();
+    }
   }
 
   /**
@@ -184,8 +419,15 @@ public class TextState implements Serializable {
    * @param caretPosition caret position to set.
    */
   public void setCaretPosition(int caretPosition) {
-    int length = text.length();
-    this.caretPosition = caretPosition < 0 ? 0 : caretPosition > length ? length : caretPosition;
+    synchronized (this) {
+      int length = text.length();
+      int position = caretPosition < 0 ? 0 : caretPosition > length ? length : caretPosition;
+      if (this.caretPosition == position) {
+        return;
+      }
+      this.caretPosition = position;
+    }
+    changed();
   }
 
   /**
@@ -203,7 +445,10 @@ public class TextState implements Serializable {
    * @param startSelectionIndex start selection index to set.
    */
   public void setStartSelectionIndex(int startSelectionIndex) {
-    this.startSelectionIndex = startSelectionIndex;
+    if (this.startSelectionIndex != startSelectionIndex) {
+      this.startSelectionIndex = startSelectionIndex;
+      changed();
+    }
   }
 
   /**
@@ -221,7 +466,10 @@ public class TextState implements Serializable {
    * @param endSelectionIndex end selection index to set.
    */
   public void setEndSelectionIndex(int endSelectionIndex) {
-    this.endSelectionIndex = endSelectionIndex;
+    if (this.endSelectionIndex != endSelectionIndex) {
+      this.endSelectionIndex = endSelectionIndex;
+      changed();
+    }
   }
 
   /**
@@ -229,15 +477,15 @@ public class TextState implements Serializable {
    *
    * @return selected text.
    */
-  public String getSelection() {
+  public synchronized String getSelection() {
     if (startSelectionIndex < 0 || endSelectionIndex < 0) {
       return null;
     }
     String selection;
     if (startSelectionIndex > endSelectionIndex) {
-      selection = text.substring(endSelectionIndex, startSelectionIndex);
+      selection = text.subSequence(endSelectionIndex, startSelectionIndex);
     } else {
-      selection = text.substring(startSelectionIndex, endSelectionIndex);
+      selection = text.subSequence(startSelectionIndex, endSelectionIndex);
     }
     return selection;
   }
@@ -316,19 +564,19 @@ public class TextState implements Serializable {
         startSelectionIndex == textState.startSelectionIndex &&
         endSelectionIndex == textState.endSelectionIndex &&
         editable == textState.editable &&
-        Objects.equals(text, textState.text);
+        Objects.equals(getText(), textState.getText());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(text, caretPosition, mouseCaretPosition, startSelectionIndex,
+    return Objects.hash(getText(), caretPosition, mouseCaretPosition, startSelectionIndex,
         endSelectionIndex, editable);
   }
 
   @Override
   public String toString() {
     return new ToStringBuilder(this)
-        .append("text", text)
+        .append("text", getText())
         .append("caretPosition", caretPosition)
         .append("mouseCaretPosition", mouseCaretPosition)
         .append("startSelectionIndex", startSelectionIndex)
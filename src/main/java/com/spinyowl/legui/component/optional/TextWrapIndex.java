@@ -0,0 +1,360 @@
+package com.spinyowl.legui.component.optional;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Index of visual rows of soft-wrapped {@link TextState} text. Each line of {@link TextLineIndex}
+ * is split to one or more rows, row breaks are computed by renderer (see {@link #setRows(int,
+ * int[])}) and cached per line until line is modified or wrap width, font, font size or tab size is
+ * changed.
+ * <p>
+ * Modified lines and lines which breaks were computed for other wrap width or font are marked as
+ * invalid, but keep their previous rows until renderer computes new ones, so rows of index are
+ * always consistent with text: modified lines have single row until they are wrapped again. This
+ * allows renderer to wrap invalid lines in several frames while index is used for rendering,
+ * scrolling and caret navigation.
+ * <p>
+ * Row of line is found by binary search over first rows of lines, first rows are recalculated
+ * lazily starting from first line which row count was changed.
+ * <p>
+ * Like {@link TextLineIndex} it's guarded by monitor of text state.
+ */
+public final class TextWrapIndex {
+
+  private static final int MIN_CAPACITY = 16;
+  private static final int[] SINGLE_ROW = {0};
+
+  private final TextLineIndex lineIndex;
+
+  /**
+   * Row start offsets of each line relative to line start, first row always starts at 0.
+   */
+  private int[][] rowStarts = new int[MIN_CAPACITY][];
+  private boolean[] valid = new boolean[MIN_CAPACITY];
+  private int[] firstRows = new int[MIN_CAPACITY];
+  private int lineCount;
+  /**
+   * First rows are calculated for lines with index less than this value.
+   */
+  private int firstRowsValid;
+  private int invalidCount;
+  /**
+   * There are no invalid lines before this line.
+   */
+  private int invalidFrom;
+
+  private float wrapWidth = Float.NaN;
+  private String font;
+  private float fontSize;
+  private int tabSize;
+
+  TextWrapIndex(TextLineIndex lineIndex) {
+    this.lineIndex = lineIndex;
+    reset(lineIndex.getLineCount());
+  }
+
+  /**
+   * Used to set wrap width, font, font size and tab size of rows. All lines are marked as invalid
+   * if any of them differs from previous one.
+   *
+   * @param wrapWidth wrap width.
+   * @param font      font name.
+   * @param fontSize  font size.
+   * @param tabSize   number of spaces rendered instead of tab.
+   * @return true if lines were invalidated.
+   */
+  public boolean setWrapKey(float wrapWidth, String font, float fontSize, int tabSize) {
+    if (Float.floatToIntBits(this.wrapWidth) == Float.floatToIntBits(wrapWidth)
+        && Objects.equals(this.font, font)
+        && Float.floatToIntBits(this.fontSize) == Float.floatToIntBits(fontSize)
+        && this.tabSize == tabSize) {
+      return false;
+    }
+    this.wrapWidth = wrapWidth;
+    this.font = font;
+    this.fontSize = fontSize;
+    this.tabSize = tabSize;
+    Arrays.fill(valid, 0, lineCount, false);
+    invalidCount = lineCount;
+    invalidFrom = 0;
+    return true;
+  }
+
+  public float getWrapWidth() {
+    return wrapWidth;
+  }
+
+  /**
+   * Returns true if rows of line are computed for current wrap width, font and line text.
+   *
+   * @param line line index.
+   * @return true if rows of line are valid.
+   * @throws IndexOutOfBoundsException if line index is out of bounds.
+   */
+  public boolean isValid(int line) {
+    checkLine(line);
+    return valid[line];
+  }
+
+  /**
+   * Returns number of lines which should be wrapped again.
+   *
+   * @return number of invalid lines.
+   */
+  public int getInvalidLineCount() {
+    return invalidCount;
+  }
+
+  /**
+   * Returns first invalid line starting from provided line.
+   *
+   * @param from line to start search from.
+   * @return invalid line index or -1 if there are no invalid lines after provided line.
+   */
+  public int nextInvalidLine(int from) {
+    if (invalidCount == 0) {
+      return -1;
+    }
+    for (int i = Math.max(from, invalidFrom); i < lineCount; i++) {
+      if (!valid[i]) {
+        if (from <= invalidFrom) {
+          invalidFrom = i;
+        }
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Used to set rows of line and mark line as valid.
+   *
+   * @param line      line index.
+   * @param rowStarts row start offsets relative to line start in ascending order, first element
+   *                  should be 0. Array is not copied.
+   * @throws IndexOutOfBoundsException if line index is out of bounds.
+   * @throws IllegalArgumentException  if row starts are empty or first row doesn't start at 0.
+   */
+  public void setRows(int line, int[] rowStarts) {
+    checkLine(line);
+    if (rowStarts.length == 0 || rowStarts[0] != 0) {
+      throw new IllegalArgumentException("First row should start at 0.");
+    }
+    if (this.rowStarts[line].length != rowStarts.length) {
+      firstRowsValid = Math.min(firstRowsValid, line + 1);
+    }
+    this.rowStarts[line] = rowStarts;
+    if (!valid[line]) {
+      valid[line] = true;
+      invalidCount--;
+    }
+  }
+
+  /**
+   * Returns number of rows of all lines.
+   *
+   * @return number of rows.
+   */
+  public int getRowCount() {
+    ensureFirstRows(lineCount - 1);
+    return firstRows[lineCount - 1] + rowStarts[lineCount - 1].length;
+  }
+
+  /**
+   * Returns number of rows of line.
+   *
+   * @param line line index.
+   * @return number of rows of line.
+   * @throws IndexOutOfBoundsException if line index is out of bounds.
+   */
+  public int getLineRowCount(int line) {
+    checkLine(line);
+    return rowStarts[line].length;
+  }
+
+  /**
+   * Returns index of first row of line.
+   *
+   * @param line line index.
+   * @return first row of line.
+   * @throws IndexOutOfBoundsException if line index is out of bounds.
+   */
+  public int getFirstRow(int line) {
+    checkLine(line);
+    ensureFirstRows(line);
+    return firstRows[line];
+  }
+
+  /**
+   * Returns line which contains row.
+   *
+   * @param row row index (clamped to row range).
+   * @return line index.
+   */
+  public int getLineOfRow(int row) {
+    ensureFirstRows(lineCount - 1);
+    int lower = 0;
+    int upper = lineCount - 1;
+    while (lower < upper) {
+      int middle = (lower + upper + 1) >>> 1;
+      if (firstRows[middle] <= row) {
+        lower = middle;
+      } else {
+        upper = middle - 1;
+      }
+    }
+    return lower;
+  }
+
+  /**
+   * Returns offset of first character of row.
+   *
+   * @param row row index.
+   * @return row start offset in text.
+   * @throws IndexOutOfBoundsException if row index is out of bounds.
+   */
+  public int getRowStart(int row) {
+    int line = getLineOfRowChecked(row);
+    return lineIndex.getLineStart(line) + rowStarts[line][row - firstRows[line]];
+  }
+
+  /**
+   * Returns offset after last character of row. For last row of line it's line end (offset of line
+   * break), for other rows it's start of next row (so trailing whitespace belongs to row).
+   *
+   * @param row row index.
+   * @return row end offset in text.
+   * @throws IndexOutOfBoundsException if row index is out of bounds.
+   */
+  public int getRowEnd(int row) {
+    int line = getLineOfRowChecked(row);
+    int rowInLine = row - firstRows[line];
+    if (rowInLine == rowStarts[line].length - 1) {
+      return lineIndex.getLineEnd(line);
+    }
+    return lineIndex.getLineStart(line) + rowStarts[line][rowInLine + 1];
+  }
+
+  /**
+   * Returns true if row is last row of line.
+   *
+   * @param row row index.
+   * @return true if row is last row of line.
+   * @throws IndexOutOfBoundsException if row index is out of bounds.
+   */
+  public boolean isLastRowOfLine(int row) {
+    int line = getLineOfRowChecked(row);
+    return row - firstRows[line] == rowStarts[line].length - 1;
+  }
+
+  /**
+   * Returns row which contains offset. Offset of row break belongs to next row, line end belongs
+   * to last row of line.
+   *
+   * @param offset offset in text (clamped to text bounds).
+   * @return row index.
+   */
+  public int getRowOfOffset(int offset) {
+    int line = lineIndex.getLineOfOffset(offset);
+    int offsetInLine = Math.max(0, offset - lineIndex.getLineStart(line));
+    int[] starts = rowStarts[line];
+    int rowInLine = Arrays.binarySearch(starts, offsetInLine);
+    if (rowInLine < 0) {
+      rowInLine = -rowInLine - 2;
+    }
+    return getFirstRow(line) + rowInLine;
+  }
+
+  /**
+   * Used to reset rows of all lines to single row.
+   *
+   * @param lineCount number of lines.
+   */
+  void reset(int lineCount) {
+    if (rowStarts.length < lineCount || rowStarts.length > MIN_CAPACITY
+        && rowStarts.length > lineCount << 1) {
+      int capacity = Math.max(MIN_CAPACITY, lineCount);
+      rowStarts = new int[capacity][];
+      valid = new boolean[capacity];
+      firstRows = new int[capacity];
+    }
+    this.lineCount = lineCount;
+    Arrays.fill(rowStarts, 0, lineCount, SINGLE_ROW);
+    Arrays.fill(valid, 0, lineCount, false);
+    invalidCount = lineCount;
+    invalidFrom = 0;
+    firstRowsValid = 0;
+  }
+
+  /**
+   * Used to update index after modification of text. Replaced lines get single row and are marked
+   * as invalid, rows of other lines are kept.
+   *
+   * @param line          first modified line.
+   * @param removedLines  number of removed line breaks.
+   * @param insertedLines number of inserted line breaks.
+   */
+  void update(int line, int removedLines, int insertedLines) {
+    int tail = lineCount - line - removedLines - 1;
+    int removedInvalid = 0;
+    for (int i = line; i <= line + removedLines; i++) {
+      if (!valid[i]) {
+        removedInvalid++;
+      }
+    }
+    if (removedLines != insertedLines) {
+      int newLineCount = lineCount - removedLines + insertedLines;
+      ensureCapacity(newLineCount);
+      System.arraycopy(rowStarts, line + removedLines + 1, rowStarts, line + insertedLines + 1,
+          tail);
+      System.arraycopy(valid, line + removedLines + 1, valid, line + insertedLines + 1, tail);
+      if (newLineCount < lineCount) {
+        Arrays.fill(rowStarts, newLineCount, lineCount, null);
+      }
+      lineCount = newLineCount;
+    }
+    Arrays.fill(rowStarts, line, line + insertedLines + 1, SINGLE_ROW);
+    Arrays.fill(valid, line, line + insertedLines + 1, false);
+    invalidCount += insertedLines + 1 - removedInvalid;
+    invalidFrom = Math.min(invalidFrom, line);
+    firstRowsValid = Math.min(firstRowsValid, line + 1);
+  }
+
+  private int getLineOfRowChecked(int row) {
+    if (row < 0 || row >= getRowCount()) {
+      throw new IndexOutOfBoundsException("row " + row + ", row count " + getRowCount());
+    }
+    return getLineOfRow(row);
+  }
+
+  private void ensureFirstRows(int line) {
+    if (line < firstRowsValid) {
+      return;
+    }
+    int i = firstRowsValid;
+    if (i == 0) {
+      firstRows[0] = 0;
+      i = 1;
+    }
+    for (; i <= line; i++) {
+      firstRows[i] = firstRows[i - 1] + rowStarts[i - 1].length;
+    }
+    firstRowsValid = line + 1;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (rowStarts.length < capacity) {
+      int newCapacity = Math.max(capacity, rowStarts.length << 1);
+      rowStarts = Arrays.copyOf(rowStarts, newCapacity);
+      valid = Arrays.copyOf(valid, newCapacity);
+      firstRows = Arrays.copyOf(firstRows, newCapacity);
+    }
+  }
+
+  private void checkLine(int line) {
+    if (line < 0 || line >= lineCount) {
+      throw new IndexOutOfBoundsException("line " + line + ", line count " + lineCount);
+    }
+  }
+}
@@ -731,7 +731,7 @@ public class ExampleGui extends Panel {
             bgImageNormal).startAnimation());
 
     toggleButton.getTooltip().setPosition(45, 0);
-    toggleButton.getTooltip().getSize().set(140, 40);
+    toggleButton.getTooltip().setSize(140, 40);
     toggleButton.getTooltip().getStyle().getBackground().setColor(ColorConstants.darkGray());
     toggleButton.getTooltip().getStyle().setTextColor(ColorConstants.white());
     toggleButton.getTooltip().getStyle().setPadding(4f);
@@ -936,12 +936,14 @@ public class ExampleGui extends Panel {
 
         bgImageNormal.getPosition().x =
             initialPosition + (endPosition - initialPosition) * percentage;
+        toggleButton.invalidate();
         return spentTime >= time;
       }
 
       @Override
       protected void afterAnimation() {
         bgImageNormal.getPosition().x = endPosition;
+        toggleButton.invalidate();
       }
     };
   }
@@ -1035,6 +1037,8 @@ public class ExampleGui extends Panel {
       textArea.getTextAreaField().getStyle().setVerticalAlign(BOTTOM);
     } else if (event.getKey() == GLFW.GLFW_KEY_F8 && event.getAction() == GLFW.GLFW_RELEASE) {
       textArea.getTextAreaField().getStyle().setVerticalAlign(BASELINE);
+    } else if (event.getKey() == GLFW.GLFW_KEY_F9 && event.getAction() == GLFW.GLFW_RELEASE) {
+      textArea.setWordWrap(!textArea.isWordWrap());
     }
   }
 }
@@ -21,7 +21,6 @@ import static org.lwjgl.opengl.GL11.glClearColor;
 import static org.lwjgl.opengl.GL11.glViewport;
 import static org.lwjgl.system.MemoryUtil.NULL;
 
-import com.spinyowl.legui.animation.AnimatorProvider;
 import com.spinyowl.legui.component.Button;
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.Frame;
@@ -32,16 +31,16 @@ import com.spinyowl.legui.event.CursorEnterEvent;
 import com.spinyowl.legui.event.MouseClickEvent;
 import com.spinyowl.legui.listener.CursorEnterEventListener;
 import com.spinyowl.legui.listener.MouseClickEventListener;
-import com.spinyowl.legui.listener.processor.EventProcessorProvider;
 import com.spinyowl.legui.style.border.SimpleLineBorder;
 import com.spinyowl.legui.style.color.ColorConstants;
 import com.spinyowl.legui.system.context.CallbackKeeper;
 import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.context.ContextRuntime;
 import com.spinyowl.legui.system.context.DefaultCallbackKeeper;
 import com.spinyowl.legui.system.handler.processor.SystemEventProcessor;
 import com.spinyowl.legui.system.handler.processor.SystemEventProcessorImpl;
-import com.spinyowl.legui.system.layout.LayoutManager;
 import com.spinyowl.legui.system.renderer.Renderer;
+import com.spinyowl.legui.system.renderer.nvg.NvgImageReferenceManager;
 import com.spinyowl.legui.system.renderer.nvg.NvgRenderer;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -131,7 +130,10 @@ public class MultipleWindowsMultipleThreadsExample {
   private static void startLeguiEventProcessor() {
     leguiEventProcessorThread = new Thread(() -> {
       while (running) {
-        EventProcessorProvider.getInstance().processEvents();
+        for (int i = 0; i < WINDOW_COUNT; i++) {
+          // each window has its own event processor, so windows don't share event queue.
+          contexts[i].getRuntime().processEvents();
+        }
       }
     }, "GUI_EVENT_PROCESSOR");
     leguiEventProcessorThread.start();
@@ -144,7 +146,8 @@ public class MultipleWindowsMultipleThreadsExample {
       glCapabilities[i] = createCapabilities();
       glfwSwapInterval(0);
 
-      renderers[i] = new NvgRenderer();
+      // image references are bound to nanovg context, so each renderer has own manager.
+      renderers[i] = new NvgRenderer(true, new NvgImageReferenceManager());
       renderers[i].initialize();
     }
 
@@ -166,10 +169,10 @@ public class MultipleWindowsMultipleThreadsExample {
         glfwSwapBuffers(windows[i]);
 
         // When everything done we need to relayout components.
-        LayoutManager.getInstance().layout(frames[i]);
+        contexts[i].getRuntime().layout(frames[i], contexts[i]);
 
         // Run animations. Should be also called cause some components use animations for updating state.
-        AnimatorProvider.getAnimator().runAnimations();
+        contexts[i].getRuntime().runAnimations();
       }
     }
 
@@ -233,18 +236,21 @@ public class MultipleWindowsMultipleThreadsExample {
         key == GLFW_KEY_ESCAPE && action != GLFW_RELEASE);
     GLFWWindowCloseCallbackI glfwWindowCloseCallbackI = w -> running = false;
 
-    Frame frame = new Frame(WIDTH, HEIGHT);
-    createGuiElements(frame);
-
     for (int i = 0; i < WINDOW_COUNT; i++) {
       windows[i] = glfwCreateWindow(WIDTH, HEIGHT, "Multiple Windows Multiple Threads Example " + i,
           NULL, NULL);
       glfwSetWindowPos(windows[i], 50, 50 + (HEIGHT + 50) * i);
       glfwShowWindow(windows[i]);
 
-      frames[i] = frame;
+      // each window has own frame and runtime, so windows are processed independently.
+      // runtime is attached to frame before components are created, so their events reach it.
+      ContextRuntime runtime = new ContextRuntime();
+      frames[i] = new Frame(WIDTH, HEIGHT);
+      frames[i].setRuntime(runtime);
+      createGuiElements(frames[i]);
 
       contexts[i] = new Context(windows[i]);
+      contexts[i].setRuntime(runtime);
       keepers[i] = new DefaultCallbackKeeper();
 
       CallbackKeeper.registerCallbacks(windows[i], keepers[i]);
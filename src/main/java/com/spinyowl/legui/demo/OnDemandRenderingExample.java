@@ -0,0 +1,129 @@
+package com.spinyowl.legui.demo;
+
+import static org.lwjgl.glfw.GLFW.GLFW_KEY_ESCAPE;
+import static org.lwjgl.glfw.GLFW.GLFW_RELEASE;
+import static org.lwjgl.glfw.GLFW.glfwCreateWindow;
+import static org.lwjgl.glfw.GLFW.glfwDestroyWindow;
+import static org.lwjgl.glfw.GLFW.glfwMakeContextCurrent;
+import static org.lwjgl.glfw.GLFW.glfwShowWindow;
+import static org.lwjgl.glfw.GLFW.glfwSwapBuffers;
+import static org.lwjgl.glfw.GLFW.glfwSwapInterval;
+import static org.lwjgl.glfw.GLFW.glfwTerminate;
+import static org.lwjgl.opengl.GL11.GL_COLOR_BUFFER_BIT;
+import static org.lwjgl.opengl.GL11.GL_STENCIL_BUFFER_BIT;
+import static org.lwjgl.opengl.GL11.glClear;
+import static org.lwjgl.opengl.GL11.glClearColor;
+import static org.lwjgl.opengl.GL11.glViewport;
+import static org.lwjgl.system.MemoryUtil.NULL;
+
+import com.spinyowl.legui.animation.AnimatorProvider;
+import com.spinyowl.legui.component.Button;
+import com.spinyowl.legui.component.Frame;
+import com.spinyowl.legui.component.Label;
+import com.spinyowl.legui.component.TextInput;
+import com.spinyowl.legui.event.MouseClickEvent;
+import com.spinyowl.legui.event.MouseClickEvent.MouseClickAction;
+import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import com.spinyowl.legui.system.context.CallbackKeeper;
+import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.context.DefaultCallbackKeeper;
+import com.spinyowl.legui.system.handler.processor.SystemEventProcessor;
+import com.spinyowl.legui.system.handler.processor.SystemEventProcessorImpl;
+import com.spinyowl.legui.system.layout.LayoutManager;
+import com.spinyowl.legui.system.renderer.nvg.NvgRenderer;
+import org.joml.Vector2i;
+import org.lwjgl.glfw.GLFW;
+import org.lwjgl.opengl.GL;
+
+/**
+ * Example of on-demand rendering. Frame is rendered only when something was changed, otherwise
+ * main thread is blocked waiting for events.
+ */
+public class OnDemandRenderingExample {
+
+  public static final int WIDTH = 400;
+  public static final int HEIGHT = 200;
+
+  /**
+   * Timeout used to wait events. Limits frame rate of running animations (for example caret
+   * blinking).
+   */
+  private static final double WAIT_TIMEOUT = 1d / 30d;
+
+  private static volatile boolean running = false;
+
+  public static void main(String[] args) {
+    System.setProperty("joml.nounsafe", Boolean.TRUE.toString());
+    System.setProperty("java.awt.headless", Boolean.TRUE.toString());
+    if (!GLFW.glfwInit()) {
+      throw new RuntimeException("Can't initialize GLFW");
+    }
+    long window = glfwCreateWindow(WIDTH, HEIGHT, "On-demand rendering", NULL, NULL);
+    glfwShowWindow(window);
+
+    glfwMakeContextCurrent(window);
+    GL.createCapabilities();
+    glfwSwapInterval(0);
+
+    Frame frame = new Frame(WIDTH, HEIGHT);
+    createGuiElements(frame);
+
+    Context context = new Context(window);
+
+    CallbackKeeper keeper = new DefaultCallbackKeeper();
+    CallbackKeeper.registerCallbacks(window, keeper);
+    keeper.getChainKeyCallback().add((w1, key, code, action, mods) ->
+        running = !(key == GLFW_KEY_ESCAPE && action != GLFW_RELEASE));
+    keeper.getChainWindowCloseCallback().add(w -> running = false);
+
+    SystemEventProcessor systemEventProcessor = new SystemEventProcessorImpl();
+    SystemEventProcessor.addDefaultCallbacks(keeper, systemEventProcessor);
+
+    NvgRenderer renderer = new NvgRenderer();
+    renderer.initialize();
+
+    running = true;
+    while (running) {
+      // blocks until new events received (or timeout elapsed), returns immediately if context
+      // was invalidated.
+      context.waitEvents(WAIT_TIMEOUT);
+      context.updateGlfwWindow();
+
+      systemEventProcessor.processEvents(frame, context);
+      EventProcessorProvider.getInstance().processEvents();
+      LayoutManager.getInstance().layout(frame);
+      AnimatorProvider.getAnimator().runAnimations();
+
+      // render and swap buffers only if something was changed.
+      if (renderer.isRedrawRequired(frame, context)) {
+        Vector2i windowSize = context.getFramebufferSize();
+        glClearColor(1, 1, 1, 1);
+        glViewport(0, 0, windowSize.x, windowSize.y);
+        glClear(GL_COLOR_BUFFER_BIT | GL_STENCIL_BUFFER_BIT);
+
+        renderer.render(frame, context);
+        glfwSwapBuffers(window);
+      }
+    }
+
+    renderer.destroy();
+    glfwDestroyWindow(window);
+    glfwTerminate();
+  }
+
+  private static void createGuiElements(Frame frame) {
+    Label label = new Label("Clicks: 0", 20, 20, 200, 30);
+    Button button = new Button("Click me", 20, 60, 160, 30);
+    int[] clicks = {0};
+    button.getListenerMap().addListener(MouseClickEvent.class, event -> {
+      if (event.getAction() == MouseClickAction.CLICK) {
+        label.getTextState().setText("Clicks: " + (++clicks[0]));
+      }
+    });
+    TextInput textInput = new TextInput("Type here", 20, 100, 200, 30);
+
+    frame.getContainer().add(label);
+    frame.getContainer().add(button);
+    frame.getContainer().add(textInput);
+  }
+}
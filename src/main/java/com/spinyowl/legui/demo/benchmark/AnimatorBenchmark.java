@@ -0,0 +1,92 @@
+package com.spinyowl.legui.demo.benchmark;
+
+import com.spinyowl.legui.animation.Animation;
+import com.spinyowl.legui.animation.Animator;
+import com.spinyowl.legui.animation.AnimatorImpl;
+import com.spinyowl.legui.animation.ArrayAnimator;
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Compares {@link AnimatorImpl} and {@link ArrayAnimator} with 20k running animations: steady
+ * state (all animations keep running) and churn (1000 animations are stopped and 1000 are started
+ * each frame).
+ * <p>
+ * Prints average time and allocated memory per frame.
+ */
+public class AnimatorBenchmark {
+
+  private static final int ANIMATIONS = 20_000;
+  private static final int CHURN = 1_000;
+  private static final int WARMUP = 20;
+  private static final int FRAMES = 100;
+
+  public static void main(String[] args) {
+    double[] time = {0};
+    run("AnimatorImpl ", AnimatorImpl::new);
+    // queue should fit start and stop requests of one frame.
+    run("ArrayAnimator", () -> new ArrayAnimator(() -> time[0] += 0.016, 4 * CHURN));
+  }
+
+  private static void run(String name, Supplier<Animator> animatorSupplier) {
+    Animator animator = animatorSupplier.get();
+    CountingAnimation[] animations = new CountingAnimation[ANIMATIONS + CHURN];
+    for (int i = 0; i < animations.length; i++) {
+      animations[i] = new CountingAnimation();
+    }
+    for (int i = 0; i < ANIMATIONS; i++) {
+      animator.pushAnimation(animations[i]);
+    }
+
+    for (int i = 0; i < WARMUP; i++) {
+      animator.runAnimations();
+    }
+    measure(name + " steady", animator, null);
+
+    int[] offset = {0};
+    measure(name + " churn ", animator, () -> {
+      // stop CHURN running animations and start CHURN stopped ones.
+      for (int i = 0; i < CHURN; i++) {
+        int stop = (offset[0] + i) % animations.length;
+        int start = (offset[0] + ANIMATIONS + i) % animations.length;
+        animator.removeAnimation(animations[stop]);
+        animator.pushAnimation(animations[start]);
+      }
+      offset[0] = (offset[0] + CHURN) % animations.length;
+    });
+    System.out.printf("%s active animations: %d%n", name, animator.getActiveAnimationCount());
+  }
+
+  private static void measure(String name, Animator animator, Runnable beforeFrame) {
+    com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+
+    long frameTime = 0;
+    long allocated = 0;
+    for (int i = 0; i < FRAMES; i++) {
+      if (beforeFrame != null) {
+        beforeFrame.run();
+      }
+      long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+      long start = System.nanoTime();
+      animator.runAnimations();
+      frameTime += System.nanoTime() - start;
+      allocated += threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+    }
+
+    System.out.printf("%s: %10.3f ms/frame, %10d bytes/frame%n", name,
+        frameTime / 1e6 / FRAMES, allocated / FRAMES);
+  }
+
+  private static class CountingAnimation extends Animation {
+
+    private long frames;
+
+    @Override
+    protected boolean animate(double delta) {
+      frames++;
+      return false;
+    }
+  }
+}
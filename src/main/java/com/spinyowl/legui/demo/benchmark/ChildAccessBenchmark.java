@@ -0,0 +1,75 @@
+package com.spinyowl.legui.demo.benchmark;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.Panel;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compares traversal of component tree using {@link Component#getChildComponents()} (copy of child
+ * list on each call) and {@link Component#getChildComponentsView()} (no copy).
+ * <p>
+ * Prints average time and allocated memory per traversal of tree with 10k components.
+ */
+public class ChildAccessBenchmark {
+
+  private static final int CONTAINERS = 100;
+  private static final int CHILDREN = 100;
+  private static final int WARMUP = 200;
+  private static final int ITERATIONS = 1000;
+
+  public static void main(String[] args) {
+    Panel root = new Panel();
+    for (int i = 0; i < CONTAINERS; i++) {
+      Panel container = new Panel();
+      for (int j = 0; j < CHILDREN; j++) {
+        container.add(new Panel());
+      }
+      root.add(container);
+    }
+
+    run("getChildComponents()    ", root, ChildAccessBenchmark::countWithCopy);
+    run("getChildComponentsView()", root, ChildAccessBenchmark::countWithView);
+  }
+
+  private static void run(String name, Component root, ToIntFunction<Component> traversal) {
+    com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+
+    int count = 0;
+    for (int i = 0; i < WARMUP; i++) {
+      count += traversal.applyAsInt(root);
+    }
+
+    long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      count += traversal.applyAsInt(root);
+    }
+    long time = System.nanoTime() - start;
+    long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    System.out.printf("%s: %8.1f us/traversal, %10d bytes/traversal (%d)%n", name,
+        time / 1000d / ITERATIONS, allocated / ITERATIONS, count);
+  }
+
+  private static int countWithCopy(Component component) {
+    int count = 1;
+    List<Component> childComponents = component.getChildComponents();
+    for (Component child : childComponents) {
+      count += countWithCopy(child);
+    }
+    return count;
+  }
+
+  private static int countWithView(Component component) {
+    int count = 1;
+    List<Component> childComponents = component.getChildComponentsView();
+    for (Component child : childComponents) {
+      count += countWithView(child);
+    }
+    return count;
+  }
+}
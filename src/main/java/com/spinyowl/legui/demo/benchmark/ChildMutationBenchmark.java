@@ -0,0 +1,68 @@
+package com.spinyowl.legui.demo.benchmark;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.Panel;
+import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares rebuilding of large container (20k child components) using single-component {@link
+ * Component#add(Component)} / {@link Component#remove(Component)} and bulk {@link
+ * Component#addAll(java.util.Collection)} / {@link Component#replaceChildren(java.util.Collection)}.
+ */
+public class ChildMutationBenchmark {
+
+  private static final int CHILDREN = 20_000;
+  private static final int ITERATIONS = 10;
+
+  public static void main(String[] args) {
+    List<Component> first = createComponents();
+    List<Component> second = createComponents();
+
+    for (int warmup = 0; warmup < 2; warmup++) {
+      rebuildOneByOne(first, second);
+      rebuildBulk(first, second);
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      rebuildOneByOne(first, second);
+    }
+    long oneByOne = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      rebuildBulk(first, second);
+    }
+    long bulk = System.nanoTime() - start;
+
+    System.out.printf("add/remove:             %10.2f ms/rebuild%n", oneByOne / 1e6 / ITERATIONS);
+    System.out.printf("addAll/replaceChildren: %10.2f ms/rebuild%n", bulk / 1e6 / ITERATIONS);
+  }
+
+  private static void rebuildOneByOne(List<Component> first, List<Component> second) {
+    Panel container = new Panel();
+    first.forEach(container::add);
+    first.forEach(container::remove);
+    second.forEach(container::add);
+    container.clearChildComponents();
+    EventProcessorProvider.getInstance().processEvents();
+  }
+
+  private static void rebuildBulk(List<Component> first, List<Component> second) {
+    Panel container = new Panel();
+    container.addAll(first);
+    container.replaceChildren(second);
+    container.clearChildComponents();
+    EventProcessorProvider.getInstance().processEvents();
+  }
+
+  private static List<Component> createComponents() {
+    List<Component> components = new ArrayList<>(CHILDREN);
+    for (int i = 0; i < CHILDREN; i++) {
+      components.add(new Panel());
+    }
+    return components;
+  }
+}
@@ -0,0 +1,81 @@
+package com.spinyowl.legui.demo.benchmark;
+
+import com.spinyowl.legui.component.optional.LogBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Streams lines to {@link LogBuffer} from several producer threads at fixed rate while main thread
+ * drains buffer once per frame (60 frames per second), like {@link
+ * com.spinyowl.legui.component.LogView} renderer does.
+ * <p>
+ * Prints ingested lines per second and average/maximum drain time per frame.
+ */
+public class LogBufferBenchmark {
+
+  private static final int PRODUCERS = 4;
+  private static final int LINES_PER_SECOND = 50_000;
+  private static final int BATCH = 50;
+  private static final int MAX_LINES = 100_000;
+  private static final int FRAMES = 300;
+  private static final long FRAME_NANOS = TimeUnit.SECONDS.toNanos(1) / 60;
+
+  private static volatile boolean running;
+
+  public static void main(String[] args) throws InterruptedException {
+    run("1x rate", LINES_PER_SECOND);
+    run("4x rate", LINES_PER_SECOND * 4);
+  }
+
+  private static void run(String name, int linesPerSecond) throws InterruptedException {
+    LogBuffer buffer = new LogBuffer(MAX_LINES);
+    running = true;
+    List<Thread> producers = new ArrayList<>();
+    long batchInterval = TimeUnit.SECONDS.toNanos(1) * BATCH * PRODUCERS / linesPerSecond;
+    for (int p = 0; p < PRODUCERS; p++) {
+      int producer = p;
+      Thread thread = new Thread(() -> produce(buffer, producer, batchInterval));
+      thread.setDaemon(true);
+      producers.add(thread);
+      thread.start();
+    }
+
+    long maxDrain = 0;
+    long totalDrain = 0;
+    long drained = 0;
+    long start = System.nanoTime();
+    for (int frame = 0; frame < FRAMES; frame++) {
+      long frameStart = System.nanoTime();
+      drained += buffer.drain();
+      long drainTime = System.nanoTime() - frameStart;
+      totalDrain += drainTime;
+      maxDrain = Math.max(maxDrain, drainTime);
+      LockSupport.parkNanos(FRAME_NANOS - (System.nanoTime() - frameStart));
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    running = false;
+    for (Thread producer : producers) {
+      producer.join();
+    }
+
+    System.out.printf("%s: %.0f lines/s, drain avg %.3f ms, max %.3f ms, buffered %d lines%n",
+        name, drained / seconds, totalDrain / 1e6 / FRAMES, maxDrain / 1e6, buffer.size());
+  }
+
+  private static void produce(LogBuffer buffer, int producer, long batchInterval) {
+    List<String> batch = new ArrayList<>(BATCH);
+    long line = 0;
+    long next = System.nanoTime();
+    while (running) {
+      for (int i = 0; i < BATCH; i++) {
+        batch.add("[producer " + producer + "] line " + line++ + " INFO service request handled");
+      }
+      buffer.appendLines(batch);
+      batch.clear();
+      next += batchInterval;
+      LockSupport.parkNanos(next - System.nanoTime());
+    }
+  }
+}
@@ -279,6 +279,7 @@ public class MenuLayerDemo extends Demo {
             StyleUtilities.getFloatLengthNullSafe(menuBarItemOption.getStyle().getWidth(),
                 menuBarItemOption.getParent().getSize().x));
         this.getSize().y = this.getSize().y + MENU_HEIGHT;
+        this.invalidate();
         menuBarItemOptions.add(menuBarItemOption);
         menuBarItemOption.setLayer(layer);
         menuBarItemOption.setMenuBarItem(menuBarItem);
@@ -0,0 +1,74 @@
+package com.spinyowl.legui.event;
+
+import com.spinyowl.legui.component.Component;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Event which is generated once per bulk modification of child components ({@link
+ * Component#addAll(java.util.Collection)}, {@link Component#removeAll(java.util.Collection)}, {@link
+ * Component#replaceChildren(java.util.Collection)} and others) instead of {@link AddChildEvent} and
+ * {@link RemoveChildEvent} for each added or removed component.
+ *
+ * @param <T> type of component which child components were changed.
+ */
+public class ChildComponentsChangeEvent<T extends Component> extends Event<T> {
+
+  private final List<Component> added;
+  private final List<Component> removed;
+
+  public ChildComponentsChangeEvent(T targetComponent, List<Component> added,
+      List<Component> removed) {
+    super(targetComponent, null, targetComponent.getFrame());
+    this.added = Collections.unmodifiableList(added);
+    this.removed = Collections.unmodifiableList(removed);
+  }
+
+  /**
+   * Returns components added to target component.
+   *
+   * @return unmodifiable list of added components.
+   */
+  public List<Component> getAdded() {
+    return added;
+  }
+
+  /**
+   * Returns components removed from target component.
+   *
+   * @return unmodifiable list of removed components.
+   */
+  public List<Component> getRemoved() {
+    return removed;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this)
+        .append("added", added.size())
+        .append("removed", removed.size())
+        .toString();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    if (!super.equals(o)) {
+      return false;
+    }
+    ChildComponentsChangeEvent<?> that = (ChildComponentsChangeEvent<?>) o;
+    return Objects.equals(added, that.added) && Objects.equals(removed, that.removed);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), added, removed);
+  }
+}
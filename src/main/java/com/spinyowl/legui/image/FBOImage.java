@@ -6,6 +6,7 @@ public class FBOImage extends Image {
   private int textureId;
   private int width;
   private int height;
+  private boolean premultiplied;
 
   public FBOImage(int textureId, int width, int height) {
     this.textureId = textureId;
@@ -13,6 +14,19 @@ public class FBOImage extends Image {
     this.height = height;
   }
 
+  /**
+   * Creates image for provided texture.
+   *
+   * @param textureId     texture id.
+   * @param width         texture width.
+   * @param height        texture height.
+   * @param premultiplied true if texture colors are premultiplied by alpha.
+   */
+  public FBOImage(int textureId, int width, int height, boolean premultiplied) {
+    this(textureId, width, height);
+    this.premultiplied = premultiplied;
+  }
+
   /**
    * Returns image width.
    *
@@ -36,4 +50,14 @@ public class FBOImage extends Image {
   public int getTextureId() {
     return textureId;
   }
+
+  /**
+   * Returns true if texture colors are premultiplied by alpha (for example if texture was rendered
+   * by nanovg).
+   *
+   * @return true if texture colors are premultiplied by alpha.
+   */
+  public boolean isPremultiplied() {
+    return premultiplied;
+  }
 }
@@ -9,15 +9,39 @@ import static org.lwjgl.glfw.GLFW.GLFW_MOUSE_BUTTON_6;
 import static org.lwjgl.glfw.GLFW.GLFW_MOUSE_BUTTON_7;
 import static org.lwjgl.glfw.GLFW.GLFW_MOUSE_BUTTON_8;
 
+import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.context.ContextRuntime;
 import org.joml.Vector2f;
 
 /**
- * This class used to hold mouse state.
+ * This class used to access mouse state. State is taken from {@link ContextRuntime} bound to
+ * current thread (or resolved for context, see {@link #getState(Context)}), or default (shared)
+ * state is used if runtime could not be resolved.
  */
 public class Mouse {
 
-  private static Vector2f cursorPosition = new Vector2f();
-  private static Vector2f cursorPositionPrev = new Vector2f();
+  private static final MouseState DEFAULT_STATE = new MouseState();
+
+  /**
+   * Returns current mouse state - state of runtime bound to current thread or default state.
+   *
+   * @return current mouse state.
+   */
+  public static MouseState getState() {
+    return getState(null);
+  }
+
+  /**
+   * Returns mouse state of runtime resolved for context (see {@link
+   * ContextRuntime#resolve(Context, com.spinyowl.legui.component.Component)}) or default state.
+   *
+   * @param context context (could be null).
+   * @return mouse state.
+   */
+  public static MouseState getState(Context context) {
+    ContextRuntime runtime = ContextRuntime.resolve(context, null);
+    return runtime != null ? runtime.getMouseState() : DEFAULT_STATE;
+  }
 
   /**
    * Gets cursor position.
@@ -25,7 +49,7 @@ public class Mouse {
    * @return the cursor position
    */
   public static Vector2f getCursorPosition() {
-    return new Vector2f(cursorPosition);
+    return new Vector2f(getState().getCursorPosition());
   }
 
   /**
@@ -34,7 +58,7 @@ public class Mouse {
    * @param cursorPosition the cursor position
    */
   public static void setCursorPosition(Vector2f cursorPosition) {
-    Mouse.cursorPosition = cursorPosition != null ? cursorPosition : new Vector2f();
+    getState().setCursorPosition(cursorPosition);
   }
 
   /**
@@ -43,7 +67,7 @@ public class Mouse {
    * @return the previous cursor position.
    */
   public static Vector2f getCursorPositionPrev() {
-    return new Vector2f(cursorPositionPrev);
+    return new Vector2f(getState().getCursorPositionPrev());
   }
 
   /**
@@ -52,7 +76,7 @@ public class Mouse {
    * @param cursorPositionPrev the previous cursor position.
    */
   public static void setCursorPositionPrev(Vector2f cursorPositionPrev) {
-    Mouse.cursorPositionPrev = cursorPositionPrev != null ? cursorPositionPrev : new Vector2f();
+    getState().setCursorPositionPrev(cursorPositionPrev);
   }
 
   public enum MouseButton {
@@ -107,9 +131,6 @@ public class Mouse {
      */
     public static final MouseButton MOUSE_BUTTON_MIDDLE = MOUSE_BUTTON_3;
     private int code;
-    private boolean pressed;
-    private Vector2f pressPosition;
-    private Vector2f releasePosition;
 
     MouseButton(int code) {
       this.code = code;
@@ -145,7 +166,7 @@ public class Mouse {
      * @return the boolean
      */
     public boolean isPressed() {
-      return pressed;
+      return getState().isPressed(this);
     }
 
     /**
@@ -154,7 +175,7 @@ public class Mouse {
      * @param pressed the pressed
      */
     public void setPressed(boolean pressed) {
-      this.pressed = pressed;
+      getState().setPressed(this, pressed);
     }
 
     /**
@@ -163,7 +184,7 @@ public class Mouse {
      * @return the release position
      */
     public Vector2f getReleasePosition() {
-      return releasePosition;
+      return getState().getReleasePosition(this);
     }
 
     /**
@@ -172,7 +193,7 @@ public class Mouse {
      * @param releasePosition the release position
      */
     public void setReleasePosition(Vector2f releasePosition) {
-      this.releasePosition = releasePosition;
+      getState().setReleasePosition(this, releasePosition);
     }
 
     /**
@@ -181,7 +202,7 @@ public class Mouse {
      * @return the press position
      */
     public Vector2f getPressPosition() {
-      return pressPosition;
+      return getState().getPressPosition(this);
     }
 
     /**
@@ -190,7 +211,7 @@ public class Mouse {
      * @param pressPosition the press position
      */
     public void setPressPosition(Vector2f pressPosition) {
-      this.pressPosition = pressPosition;
+      getState().setPressPosition(this, pressPosition);
     }
   }
 }
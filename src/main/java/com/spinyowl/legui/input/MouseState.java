@@ -0,0 +1,114 @@
+package com.spinyowl.legui.input;
+
+import com.spinyowl.legui.input.Mouse.MouseButton;
+import org.joml.Vector2f;
+
+/**
+ * Mouse state (cursor position and state of mouse buttons). Default state is shared by all
+ * contexts, each {@link com.spinyowl.legui.system.context.ContextRuntime} could have its own
+ * state. Current state could be accessed using {@link Mouse}.
+ */
+public class MouseState {
+
+  private final boolean[] pressed = new boolean[MouseButton.values().length];
+  private final Vector2f[] pressPositions = new Vector2f[MouseButton.values().length];
+  private final Vector2f[] releasePositions = new Vector2f[MouseButton.values().length];
+  private Vector2f cursorPosition = new Vector2f();
+  private Vector2f cursorPositionPrev = new Vector2f();
+
+  /**
+   * Returns cursor position.
+   *
+   * @return cursor position.
+   */
+  public Vector2f getCursorPosition() {
+    return cursorPosition;
+  }
+
+  /**
+   * Sets cursor position.
+   *
+   * @param cursorPosition cursor position.
+   */
+  public void setCursorPosition(Vector2f cursorPosition) {
+    this.cursorPosition = cursorPosition != null ? cursorPosition : new Vector2f();
+  }
+
+  /**
+   * Returns previous cursor position.
+   *
+   * @return previous cursor position.
+   */
+  public Vector2f getCursorPositionPrev() {
+    return cursorPositionPrev;
+  }
+
+  /**
+   * Sets previous cursor position.
+   *
+   * @param cursorPositionPrev previous cursor position.
+   */
+  public void setCursorPositionPrev(Vector2f cursorPositionPrev) {
+    this.cursorPositionPrev = cursorPositionPrev != null ? cursorPositionPrev : new Vector2f();
+  }
+
+  /**
+   * Returns true if mouse button is pressed.
+   *
+   * @param button mouse button.
+   * @return true if mouse button is pressed.
+   */
+  public boolean isPressed(MouseButton button) {
+    return pressed[button.ordinal()];
+  }
+
+  /**
+   * Sets mouse button state.
+   *
+   * @param button  mouse button.
+   * @param pressed true if mouse button is pressed.
+   */
+  public void setPressed(MouseButton button, boolean pressed) {
+    this.pressed[button.ordinal()] = pressed;
+  }
+
+  /**
+   * Returns position where mouse button was pressed last time.
+   *
+   * @param button mouse button.
+   * @return press position.
+   */
+  public Vector2f getPressPosition(MouseButton button) {
+    return pressPositions[button.ordinal()];
+  }
+
+  /**
+   * Sets position where mouse button was pressed.
+   *
+   * @param button        mouse button.
+   * @param pressPosition press position.
+   */
+  public void setPressPosition(MouseButton button, Vector2f pressPosition) {
+    pressPositions[button.ordinal()] = pressPosition;
+  }
+
+  /**
+   * Returns position where mouse button was released last time.
+   *
+   * @param button mouse button.
+   * @return release position.
+   */
+  public Vector2f getReleasePosition(MouseButton button) {
+    return releasePositions[button.ordinal()];
+  }
+
+  /**
+   * Sets position where mouse button was released.
+   *
+   * @param button          mouse button.
+   * @param releasePosition release position.
+   */
+  public void setReleasePosition(MouseButton button, Vector2f releasePosition) {
+    releasePositions[button.ordinal()] = releasePosition;
+  }
+}
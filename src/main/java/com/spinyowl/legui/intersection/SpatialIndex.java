@@ -0,0 +1,311 @@
+package com.spinyowl.legui.intersection;
+
+import com.spinyowl.legui.component.Component;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.joml.Vector2f;
+
+/**
+ * Uniform grid built over absolute bounds of child components of root component (layer). Used to
+ * speed up search of components under cursor.
+ * <p>
+ * Index is refreshed lazily during first search after {@link #invalidate()}: component tree is
+ * traversed once and only components which bounds, visibility or parent were changed are moved
+ * between grid cells. Components with custom intersector (any intersector except {@link
+ * RectangleIntersector}) could intersect points outside of their bounds, so they are not placed to
+ * grid cells and checked during each search (the same way as without index).
+ * <p>
+ * Index reflects bounds of components at the moment of first search after invalidation, so it's
+ * used by system event handlers (index is invalidated before each batch of system events). Code
+ * which runs after components could be moved by layout or animations (for example event
+ * listeners) should search components by traversal of component tree. Index methods are
+ * synchronized, so index could be searched from several threads.
+ */
+public class SpatialIndex {
+
+  /**
+   * Preferred size of grid cell.
+   */
+  private static final float CELL_SIZE = 64f;
+  /**
+   * Maximum number of cells in each dimension.
+   */
+  private static final int MAX_CELLS = 128;
+
+  private final Component root;
+  private final Map<Component, Entry> entries = new IdentityHashMap<>();
+  private final List<Entry> unbounded = new ArrayList<>();
+  private List<Entry>[] cells;
+  private int columns;
+  private int rows;
+  private float originX;
+  private float originY;
+  private float cellWidth;
+  private float cellHeight;
+
+  private int generation;
+  private int order;
+  private boolean valid;
+
+  /**
+   * Creates index for child components of provided root component.
+   *
+   * @param root root component.
+   */
+  public SpatialIndex(Component root) {
+    this.root = root;
+  }
+
+  /**
+   * Used to mark index as outdated. Index will be refreshed during next search. Should be called
+   * when components could be moved, resized, hidden, added or removed (for example before
+   * processing of each batch of system events).
+   */
+  public synchronized void invalidate() {
+    valid = false;
+  }
+
+  /**
+   * Used to find target component under point. Target means top focusable component which
+   * intersected by provided point. Same as {@code SehUtil.getTargetComponent(root, point)}.
+   *
+   * @param point point to search.
+   * @return top focusable component under point or root component if it is focusable, or null.
+   */
+  public synchronized Component getTargetComponent(Vector2f point) {
+    refresh();
+    Entry target = null;
+    if (cells != null) {
+      target = searchTarget(cells[cellIndex(point)], point, null);
+    }
+    target = searchTarget(unbounded, point, target);
+    if (target != null) {
+      return target.component;
+    }
+    return root.isFocusable() ? root : null;
+  }
+
+  /**
+   * Used to find all components under point (including root component). Components are ordered
+   * the same way as they are rendered (parents before child components). Same as {@code
+   * SehUtil.getTargetComponentList(root, point)}.
+   *
+   * @param point point to search.
+   * @return list of all visible components under point.
+   */
+  public synchronized List<Component> getTargetComponentList(Vector2f point) {
+    List<Component> targetList = new ArrayList<>();
+    if (!root.isVisible() || !root.intersects(point)) {
+      return targetList;
+    }
+    refresh();
+    List<Entry> found = new ArrayList<>();
+    if (cells != null) {
+      searchAll(cells[cellIndex(point)], point, found);
+    }
+    searchAll(unbounded, point, found);
+    found.sort(Comparator.comparingInt(e -> e.order));
+
+    targetList.add(root);
+    for (Entry entry : found) {
+      targetList.add(entry.component);
+    }
+    return targetList;
+  }
+
+  private Entry searchTarget(List<Entry> list, Vector2f point, Entry target) {
+    for (Entry entry : list) {
+      if ((target == null || entry.order > target.order)
+          && entry.component.isFocusable() && isHit(entry, point)) {
+        target = entry;
+      }
+    }
+    return target;
+  }
+
+  private void searchAll(List<Entry> list, Vector2f point, List<Entry> found) {
+    for (Entry entry : list) {
+      if (isHit(entry, point)) {
+        found.add(entry);
+      }
+    }
+  }
+
+  /**
+   * Returns true if component of entry and all of its parents (except root) are visible and
+   * intersected by point.
+   */
+  private boolean isHit(Entry entry, Vector2f point) {
+    for (Entry e = entry; e != null; e = e.parent) {
+      if (!e.component.isVisible() || !e.contains(point)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int cellIndex(Vector2f point) {
+    int column = clamp((int) Math.floor((point.x - originX) / cellWidth), columns);
+    int row = clamp((int) Math.floor((point.y - originY) / cellHeight), rows);
+    return row * columns + column;
+  }
+
+  private static int clamp(int value, int count) {
+    return Math.max(0, Math.min(count - 1, value));
+  }
+
+  /**
+   * Used to refresh index if it was invalidated.
+   */
+  private void refresh() {
+    if (valid) {
+      return;
+    }
+    valid = true;
+    generation++;
+    order = 0;
+
+    Vector2f position = root.getAbsolutePosition();
+    resize(position, root.getSize());
+    root.forEach(child -> update(child, null, position.x, position.y));
+
+    // remove components that were not visited.
+    for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+      Entry entry = iterator.next();
+      if (entry.generation != generation) {
+        unlink(entry);
+        iterator.remove();
+      }
+    }
+  }
+
+  private void update(Component component, Entry parent, float parentX, float parentY) {
+    if (!component.isVisible()) {
+      return;
+    }
+    Entry entry = entries.computeIfAbsent(component, Entry::new);
+    entry.generation = generation;
+    entry.order = order++;
+    entry.parent = parent;
+
+    Vector2f position = component.getPosition();
+    Vector2f size = component.getSize();
+    float x = parentX + position.x;
+    float y = parentY + position.y;
+    boolean custom = component.getIntersector().getClass() != RectangleIntersector.class;
+    if (!entry.linked || entry.custom != custom || entry.x != x || entry.y != y
+        || entry.width != size.x || entry.height != size.y) {
+      unlink(entry);
+      entry.custom = custom;
+      entry.x = x;
+      entry.y = y;
+      entry.width = size.x;
+      entry.height = size.y;
+      link(entry);
+    }
+
+    if (!component.isEmpty()) {
+      component.forEach(child -> update(child, entry, x, y));
+    }
+  }
+
+  /**
+   * Used to resize grid according to root bounds. All entries are unlinked if grid was changed.
+   */
+  @SuppressWarnings("unchecked")
+  private void resize(Vector2f position, Vector2f size) {
+    int newColumns = Math.max(1, Math.min(MAX_CELLS, (int) Math.ceil(size.x / CELL_SIZE)));
+    int newRows = Math.max(1, Math.min(MAX_CELLS, (int) Math.ceil(size.y / CELL_SIZE)));
+    float newCellWidth = Math.max(size.x, 1f) / newColumns;
+    float newCellHeight = Math.max(size.y, 1f) / newRows;
+    if (cells != null && newColumns == columns && newRows == rows && position.x == originX
+        && position.y == originY && newCellWidth == cellWidth && newCellHeight == cellHeight) {
+      return;
+    }
+    for (Entry entry : entries.values()) {
+      entry.linked = false;
+    }
+    unbounded.clear();
+
+    columns = newColumns;
+    rows = newRows;
+    originX = position.x;
+    originY = position.y;
+    cellWidth = newCellWidth;
+    cellHeight = newCellHeight;
+    cells = new List[columns * rows];
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] = new ArrayList<>();
+    }
+  }
+
+  private void link(Entry entry) {
+    entry.linked = true;
+    if (entry.custom) {
+      unbounded.add(entry);
+      return;
+    }
+    entry.column0 = clamp((int) Math.floor((entry.x - originX) / cellWidth), columns);
+    entry.row0 = clamp((int) Math.floor((entry.y - originY) / cellHeight), rows);
+    entry.column1 = clamp((int) Math.floor((entry.x + entry.width - originX) / cellWidth), columns);
+    entry.row1 = clamp((int) Math.floor((entry.y + entry.height - originY) / cellHeight), rows);
+    for (int row = entry.row0; row <= entry.row1; row++) {
+      for (int column = entry.column0; column <= entry.column1; column++) {
+        cells[row * columns + column].add(entry);
+      }
+    }
+  }
+
+  private void unlink(Entry entry) {
+    if (!entry.linked) {
+      return;
+    }
+    entry.linked = false;
+    if (entry.custom) {
+      unbounded.remove(entry);
+      return;
+    }
+    for (int row = entry.row0; row <= entry.row1; row++) {
+      for (int column = entry.column0; column <= entry.column1; column++) {
+        cells[row * columns + column].remove(entry);
+      }
+    }
+  }
+
+  /**
+   * Indexed component with its absolute bounds.
+   */
+  private static class Entry {
+
+    private final Component component;
+    private Entry parent;
+    private int generation;
+    private int order;
+
+    private boolean linked;
+    private boolean custom;
+    private float x;
+    private float y;
+    private float width;
+    private float height;
+    private int column0;
+    private int row0;
+    private int column1;
+    private int row1;
+
+    private Entry(Component component) {
+      this.component = component;
+    }
+
+    private boolean contains(Vector2f point) {
+      if (custom) {
+        return component.intersects(point);
+      }
+      return point.x >= x && point.x <= x + width && point.y >= y && point.y <= y + height;
+    }
+  }
+}
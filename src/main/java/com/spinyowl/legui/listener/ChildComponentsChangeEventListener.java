@@ -0,0 +1,11 @@
+package com.spinyowl.legui.listener;
+
+import com.spinyowl.legui.event.ChildComponentsChangeEvent;
+
+public interface ChildComponentsChangeEventListener extends
+    EventListener<ChildComponentsChangeEvent> {
+
+  @Override
+  void process(ChildComponentsChangeEvent event);
+
+}
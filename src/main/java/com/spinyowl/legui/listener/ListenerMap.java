@@ -1,12 +1,16 @@
 package com.spinyowl.legui.listener;
 
 import com.spinyowl.legui.event.Event;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -14,11 +18,22 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 
 /**
  * Used to hold event listeners.
+ * <p>
+ * Listeners are stored in immutable arrays which are replaced on each modification, so reading
+ * and dispatching doesn't require locking and doesn't create anything for event classes without
+ * listeners. Listeners registered for event class also receive events of its subclasses (for
+ * example listener registered for {@link Event} receives all events), list of listeners which
+ * should receive event is precomputed on modification.
  */
+@SuppressWarnings({"unchecked", "rawtypes"})
 public class ListenerMap {
 
-  private final Lock lock = new ReentrantLock();
-  private Map<Class<? extends Event>, List<? extends EventListener>> listenerMap = new ConcurrentHashMap<>();
+  private static final EventListener[] EMPTY = new EventListener[0];
+
+  /**
+   * Current immutable state of map. Replaced on each modification.
+   */
+  private volatile Listeners listeners = Listeners.EMPTY_LISTENERS;
 
   /**
    * Used to add event listener for specified event type.
@@ -28,24 +43,45 @@ public class ListenerMap {
    * @param <E>        event type.
    */
   public <E extends Event> void addListener(Class<E> eventClass, EventListener<E> listener) {
-    getListeners(eventClass).add(listener);
+    modify(eventClass, list -> list.add(listener));
   }
 
   /**
-   * Returns event listeners for specified event type.
+   * Returns event listeners for specified event type (only listeners registered for this event
+   * type, without listeners registered for superclasses).
+   * <p>
+   * Returned list is a view - modifications of list are applied to this listener map. Iteration is
+   * performed over snapshot of listeners.
    *
    * @param eventClass event class for which registered listeners.
    * @param <E>        event type.
    * @return event listeners for specified event type.
    */
   public <E extends Event> List<EventListener<E>> getListeners(Class<E> eventClass) {
-    lock.lock();
-    List<EventListener<E>> eventListeners = (List<EventListener<E>>) listenerMap.get(eventClass);
-    if (eventListeners == null) {
-      listenerMap.put(eventClass, eventListeners = new CopyOnWriteArrayList<>());
+    return new ListenerList<>(eventClass);
+  }
+
+  /**
+   * Returns true if there are listeners which receive events of specified type (registered for
+   * this event type or for any of its superclasses).
+   *
+   * @param eventClass event class.
+   * @return true if there are listeners for specified event type.
+   */
+  public boolean hasListeners(Class<? extends Event> eventClass) {
+    return listeners.dispatch(eventClass).length != 0;
+  }
+
+  /**
+   * Used to pass event to all listeners which are registered for event class or for any of its
+   * superclasses. Listeners registered for event class are called first.
+   *
+   * @param event event to process.
+   */
+  public void dispatch(Event event) {
+    for (EventListener listener : listeners.dispatch(event.getClass())) {
+      listener.process(event);
     }
-    lock.unlock();
-    return eventListeners;
   }
 
   /**
@@ -56,7 +92,9 @@ public class ListenerMap {
    * @param <E>        event type.
    */
   public <E extends Event> void removeListener(Class<E> eventClass, EventListener<E> listener) {
-    getListeners(eventClass).remove(listener);
+    if (containsListener(listeners.registered.get(eventClass), listener)) {
+      modify(eventClass, list -> list.remove(listener));
+    }
   }
 
   /**
@@ -66,13 +104,52 @@ public class ListenerMap {
    * @param <E>        event type.
    */
   public <E extends Event> void removeAllListeners(Class<E> eventClass) {
-    listenerMap.remove(eventClass);
+    if (listeners.registered.containsKey(eventClass)) {
+      modify(eventClass, List::clear);
+    }
+  }
+
+  /**
+   * Used to modify listeners of event type. Writers are serialized, readers use published state.
+   */
+  private synchronized void modify(Class<? extends Event> eventClass,
+      Consumer<List<EventListener>> modification) {
+    Map<Class<? extends Event>, EventListener[]> registered = new HashMap<>(listeners.registered);
+    EventListener[] current = registered.get(eventClass);
+    List<EventListener> list = new ArrayList<>(current == null ? 0 : current.length + 1);
+    if (current != null) {
+      Collections.addAll(list, current);
+    }
+    modification.accept(list);
+    if (list.isEmpty()) {
+      registered.remove(eventClass);
+    } else {
+      registered.put(eventClass, list.toArray(EMPTY));
+    }
+    listeners = new Listeners(registered);
+  }
+
+  private static boolean containsListener(EventListener[] array, EventListener listener) {
+    if (array != null) {
+      for (EventListener eventListener : array) {
+        if (eventListener == listener || eventListener.equals(listener)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private Map<Class<? extends Event>, List<EventListener>> asMap() {
+    Map<Class<? extends Event>, List<EventListener>> map = new LinkedHashMap<>();
+    listeners.registered.forEach((k, v) -> map.put(k, Arrays.asList(v)));
+    return map;
   }
 
   @Override
   public int hashCode() {
     return new HashCodeBuilder(17, 37)
-        .append(listenerMap)
+        .append(asMap())
         .toHashCode();
   }
 
@@ -89,14 +166,139 @@ public class ListenerMap {
     ListenerMap that = (ListenerMap) obj;
 
     return new EqualsBuilder()
-        .append(listenerMap, that.listenerMap)
+        .append(asMap(), that.asMap())
         .isEquals();
   }
 
   @Override
   public String toString() {
     return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
-        .append("listenerMap", listenerMap)
+        .append("listenerMap", asMap())
         .toString();
   }
+
+  /**
+   * Immutable state of listener map.
+   */
+  private static class Listeners {
+
+    private static final Listeners EMPTY_LISTENERS = new Listeners(Collections.emptyMap());
+
+    /**
+     * Listeners registered for event classes.
+     */
+    private final Map<Class<? extends Event>, EventListener[]> registered;
+    /**
+     * Listeners which receive events of registered event classes - registered for event class and
+     * for its superclasses.
+     */
+    private final Map<Class<?>, EventListener[]> dispatch;
+
+    private Listeners(Map<Class<? extends Event>, EventListener[]> registered) {
+      this.registered = registered;
+      if (registered.isEmpty()) {
+        this.dispatch = Collections.emptyMap();
+        return;
+      }
+      this.dispatch = new HashMap<>(registered.size() * 2);
+      for (Class<? extends Event> eventClass : registered.keySet()) {
+        List<EventListener> list = new ArrayList<>();
+        for (Class<?> c = eventClass; c != null; c = c.getSuperclass()) {
+          EventListener[] array = registered.get(c);
+          if (array != null) {
+            Collections.addAll(list, array);
+          }
+        }
+        dispatch.put(eventClass, list.toArray(EMPTY));
+      }
+    }
+
+    /**
+     * Returns listeners for event class. Listeners of nearest registered superclass already
+     * contain listeners of all registered superclasses, so search stops on it.
+     */
+    private EventListener[] dispatch(Class<?> eventClass) {
+      if (dispatch.isEmpty()) {
+        return EMPTY;
+      }
+      for (Class<?> c = eventClass; c != null; c = c.getSuperclass()) {
+        EventListener[] array = dispatch.get(c);
+        if (array != null) {
+          return array;
+        }
+      }
+      return EMPTY;
+    }
+  }
+
+  /**
+   * Write-through view of listeners registered for event class.
+   */
+  private class ListenerList<E extends Event> extends AbstractList<EventListener<E>> {
+
+    private final Class<E> eventClass;
+
+    private ListenerList(Class<E> eventClass) {
+      this.eventClass = eventClass;
+    }
+
+    private EventListener[] current() {
+      EventListener[] array = listeners.registered.get(eventClass);
+      return array == null ? EMPTY : array;
+    }
+
+    @Override
+    public EventListener<E> get(int index) {
+      return current()[index];
+    }
+
+    @Override
+    public int size() {
+      return current().length;
+    }
+
+    @Override
+    public Iterator<EventListener<E>> iterator() {
+      return Collections.unmodifiableList(Arrays.<EventListener<E>>asList(current())).iterator();
+    }
+
+    @Override
+    public boolean add(EventListener<E> listener) {
+      modify(eventClass, list -> list.add(listener));
+      return true;
+    }
+
+    @Override
+    public void add(int index, EventListener<E> listener) {
+      modify(eventClass, list -> list.add(index, listener));
+    }
+
+    @Override
+    public EventListener<E> set(int index, EventListener<E> listener) {
+      EventListener[] previous = new EventListener[1];
+      modify(eventClass, list -> previous[0] = list.set(index, listener));
+      return previous[0];
+    }
+
+    @Override
+    public EventListener<E> remove(int index) {
+      EventListener[] previous = new EventListener[1];
+      modify(eventClass, list -> previous[0] = list.remove(index));
+      return previous[0];
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (!containsListener(listeners.registered.get(eventClass), (EventListener) o)) {
+        return false;
+      }
+      modify(eventClass, list -> list.remove(o));
+      return true;
+    }
+
+    @Override
+    public void clear() {
+      removeAllListeners(eventClass);
+    }
+  }
 }
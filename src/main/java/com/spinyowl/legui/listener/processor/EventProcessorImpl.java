@@ -2,8 +2,6 @@ package com.spinyowl.legui.listener.processor;
 
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.event.Event;
-import com.spinyowl.legui.listener.EventListener;
-import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Consumer;
@@ -29,13 +27,9 @@ public class EventProcessorImpl implements EventProcessor {
     for (Event event = second.poll(); event != null; event = second.poll()) {
       Component targetComponent = event.getTargetComponent();
       if (targetComponent == null) {
-        return;
-      }
-      List<? extends EventListener> listeners = targetComponent.getListenerMap()
-          .getListeners(event.getClass());
-      for (EventListener listener : listeners) {
-        listener.process(event);
+        continue;
       }
+      targetComponent.getListenerMap().dispatch(event);
     }
   }
 
@@ -1,5 +1,10 @@
 package com.spinyowl.legui.listener.processor;
 
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.event.Event;
+import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.context.ContextRuntime;
+
 /**
  * UI Events processor provider..
  */
@@ -14,16 +19,44 @@ public final class EventProcessorProvider {
   }
 
   /**
-   * Returns instance of event processor.
+   * Returns instance of event processor. If {@link ContextRuntime} is bound to current thread -
+   * returns its event processor.
    *
    * @return instance of event processor.
    */
   public static EventProcessor getInstance() {
+    return getInstance(null, null);
+  }
+
+  /**
+   * Returns event processor of runtime resolved for context and component (see {@link
+   * ContextRuntime#resolve(Context, Component)}) or default event processor.
+   *
+   * @param context   context (could be null).
+   * @param component component (could be null).
+   * @return instance of event processor.
+   */
+  public static EventProcessor getInstance(Context context, Component component) {
+    ContextRuntime runtime = ContextRuntime.resolve(context, component);
+    if (runtime != null) {
+      return runtime.getEventProcessor();
+    }
     return EventProcessorProviderHolder.INSTANCE;
   }
 
   /**
-   * Used to set event processor.
+   * Used to push event to event processor of its context or target component (see {@link
+   * #getInstance(Context, Component)}), so events pushed from any thread are processed by
+   * runtime of their window.
+   *
+   * @param event event to push.
+   */
+  public static void pushEvent(Event event) {
+    getInstance(event.getContext(), event.getTargetComponent()).pushEvent(event);
+  }
+
+  /**
+   * Used to set default event processor.
    *
    * @param eventProcessor event processor to set.
    */
@@ -0,0 +1,575 @@
+package com.spinyowl.legui.listener.processor;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.event.Event;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Event processor based on preallocated bounded ring buffer. Events could be pushed from any
+ * thread, {@link #processEvents()} should be called from single (ui) thread. Unlike {@link
+ * EventProcessorImpl} doesn't allocate anything per pushed event while buffer is not full.
+ * <p>
+ * Behavior of full buffer is defined by {@link Backpressure}. Events pushed by processing thread
+ * (for example by event listeners) are never blocked - if buffer is full they are stored in
+ * unbounded overflow queue and processed after events from buffer. Processing thread is recorded
+ * by first {@link #processEvents()} call or set by {@link #setProcessingThread(Thread)}; until then
+ * all threads are treated as producers, so thread which pushes many events before first
+ * processing (for example while building ui) should be set as processing thread to not block
+ * itself.
+ * <p>
+ * Could be used instead of default event processor:
+ * <pre>
+ * EventProcessorProvider.setInstance(new RingBufferEventProcessor(8192, Backpressure.BLOCK));
+ * </pre>
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class RingBufferEventProcessor implements EventProcessor {
+
+  /**
+   * Default buffer capacity.
+   */
+  public static final int DEFAULT_CAPACITY = 4096;
+
+  private static final int SPINS_BEFORE_PARK = 100;
+  private static final long PARK_NANOS = 50_000L;
+
+  private final Backpressure backpressure;
+  private final int mask;
+  private final Event[] buffer;
+  private final long[] pushTimes;
+  /**
+   * Sequence of each slot. Slot is free for position {@code p} if its sequence equals {@code p},
+   * and contains published event if its sequence equals {@code p + 1}.
+   */
+  private final AtomicLongArray sequences;
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong tail = new AtomicLong();
+
+  /**
+   * Events which were not put to buffer by processing thread.
+   */
+  private final Queue<PendingEvent> overflow = new ArrayDeque<>();
+  private volatile int overflowSize;
+  /**
+   * Latest event for each target and event class which was not put to full buffer ({@link
+   * Backpressure#COALESCE}). Each event is stamped with buffer position at which it was pushed and
+   * is processed right after buffer events pushed before it.
+   */
+  private final Map<CoalesceKey, PendingEvent> coalesced = new LinkedHashMap<>();
+  private volatile int coalescedSize;
+
+  private volatile Thread processingThread;
+  private Consumer<Event> debugEventConsumer;
+
+  private final LongAdder pushedEvents = new LongAdder();
+  private final LongAdder droppedEvents = new LongAdder();
+  private final LongAdder coalescedEvents = new LongAdder();
+  private volatile long processedEvents;
+  private volatile long totalLatency;
+  private volatile long maxLatency;
+  private volatile int maxQueueDepth;
+
+  /**
+   * Creates event processor with {@link #DEFAULT_CAPACITY} and {@link Backpressure#BLOCK}.
+   */
+  public RingBufferEventProcessor() {
+    this(DEFAULT_CAPACITY, Backpressure.BLOCK);
+  }
+
+  /**
+   * Creates event processor.
+   *
+   * @param capacity     buffer capacity. Rounded up to power of two.
+   * @param backpressure behavior of full buffer.
+   */
+  public RingBufferEventProcessor(int capacity, Backpressure backpressure) {
+    if (capacity < 2) {
+      throw new IllegalArgumentException("Capacity should be at least 2.");
+    }
+    if (backpressure == null) {
+      throw new IllegalArgumentException("Backpressure should not be null.");
+    }
+    int size = Integer.highestOneBit(capacity - 1) << 1;
+    this.backpressure = backpressure;
+    this.mask = size - 1;
+    this.buffer = new Event[size];
+    this.pushTimes = new long[size];
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Used to set thread which processes events before first {@link #processEvents()} call (which
+   * records calling thread as processing thread).
+   *
+   * @param thread processing thread.
+   */
+  public void setProcessingThread(Thread thread) {
+    this.processingThread = thread;
+  }
+
+  /**
+   * Processes events which were pushed before this call. Events pushed during processing are
+   * processed during next call. Events without target component are skipped.
+   */
+  @Override
+  public void processEvents() {
+    processingThread = Thread.currentThread();
+    maxQueueDepth = Math.max(maxQueueDepth, getQueueDepth());
+
+    long limit = tail.get();
+    List<PendingEvent> ready = takeCoalesced(limit);
+    int next = 0;
+    long position;
+    while ((position = head.get()) < limit) {
+      next = dispatchCoalesced(ready, next, position);
+      Event event = poll(true);
+      if (event == null) {
+        // slot is claimed by producer but event is not published yet.
+        break;
+      }
+      dispatch(event);
+    }
+    next = dispatchCoalesced(ready, next, head.get());
+    if (next < ready.size()) {
+      returnCoalesced(ready, next);
+    }
+
+    if (overflowSize != 0) {
+      int count = overflowSize;
+      for (int i = 0; i < count; i++) {
+        PendingEvent pending;
+        synchronized (overflow) {
+          pending = overflow.poll();
+          overflowSize = overflow.size();
+        }
+        if (pending == null) {
+          break;
+        }
+        registerLatency(pending.pushTime);
+        dispatch(pending.event);
+      }
+    }
+  }
+
+  /**
+   * Used to remove coalesced events pushed before provided buffer position.
+   *
+   * @return removed events sorted by their buffer positions.
+   */
+  private List<PendingEvent> takeCoalesced(long limit) {
+    if (coalescedSize == 0) {
+      return Collections.emptyList();
+    }
+    List<PendingEvent> events = new ArrayList<>();
+    synchronized (coalesced) {
+      Iterator<PendingEvent> iterator = coalesced.values().iterator();
+      while (iterator.hasNext()) {
+        PendingEvent pending = iterator.next();
+        if (pending.sequence <= limit) {
+          events.add(pending);
+          iterator.remove();
+        }
+      }
+      coalescedSize = coalesced.size();
+    }
+    events.sort(Comparator.comparingLong(pending -> pending.sequence));
+    return events;
+  }
+
+  /**
+   * Used to dispatch coalesced events which were pushed before event at provided buffer position.
+   *
+   * @return index of first not dispatched event.
+   */
+  private int dispatchCoalesced(List<PendingEvent> events, int from, long position) {
+    int index = from;
+    for (; index < events.size() && events.get(index).sequence <= position; index++) {
+      PendingEvent pending = events.get(index);
+      registerLatency(pending.pushTime);
+      dispatch(pending.event);
+    }
+    return index;
+  }
+
+  /**
+   * Used to return coalesced events which were not dispatched because buffer events pushed before
+   * them are not published yet. Events replaced by newer events are skipped.
+   */
+  private void returnCoalesced(List<PendingEvent> events, int from) {
+    synchronized (coalesced) {
+      for (int i = from; i < events.size(); i++) {
+        PendingEvent pending = events.get(i);
+        coalesced.putIfAbsent(pending.key, pending);
+      }
+      coalescedSize = coalesced.size();
+    }
+  }
+
+  private void dispatch(Event event) {
+    processedEvents++;
+    Component targetComponent = event.getTargetComponent();
+    if (targetComponent != null) {
+      targetComponent.getListenerMap().dispatch(event);
+    }
+  }
+
+  private void registerLatency(long pushTime) {
+    long latency = System.nanoTime() - pushTime;
+    totalLatency += latency;
+    if (latency > maxLatency) {
+      maxLatency = latency;
+    }
+  }
+
+  /**
+   * Used to push event to event processor. If buffer is full behavior is defined by {@link
+   * Backpressure}.
+   *
+   * @param event event to push to event processor.
+   */
+  @Override
+  public void pushEvent(Event event) {
+    if (event.getContext() != null && event.getContext().isDebugEnabled()
+        && debugEventConsumer != null) {
+      debugEventConsumer.accept(event);
+    }
+    pushedEvents.increment();
+
+    Thread thread = Thread.currentThread();
+    Thread processing = processingThread;
+    boolean ownThread = processing != null && processing == thread;
+    // keep order of events pushed by processing thread.
+    if (ownThread && overflowSize != 0) {
+      addToOverflow(event);
+      return;
+    }
+    if (offer(event)) {
+      return;
+    }
+
+    switch (backpressure) {
+      case BLOCK:
+        if (ownThread) {
+          addToOverflow(event);
+        } else {
+          block(event);
+        }
+        break;
+      case DROP_OLDEST:
+        while (!offer(event)) {
+          if (poll(false) != null) {
+            droppedEvents.increment();
+          }
+        }
+        break;
+      case COALESCE:
+        coalesce(event);
+        break;
+      default:
+        throw new IllegalStateException("Unsupported backpressure: " + backpressure);
+    }
+  }
+
+  private void block(Event event) {
+    for (int spins = 0; !offer(event); spins++) {
+      if (spins < SPINS_BEFORE_PARK) {
+        Thread.onSpinWait();
+      } else {
+        LockSupport.parkNanos(this, PARK_NANOS);
+      }
+    }
+  }
+
+  private void addToOverflow(Event event) {
+    PendingEvent pending = new PendingEvent(event, System.nanoTime(), null, 0);
+    synchronized (overflow) {
+      overflow.add(pending);
+      overflowSize = overflow.size();
+    }
+  }
+
+  private void coalesce(Event event) {
+    CoalesceKey key = new CoalesceKey(event.getTargetComponent(), event.getClass());
+    synchronized (coalesced) {
+      // events pushed to buffer before this one have lower positions.
+      PendingEvent pending = new PendingEvent(event, System.nanoTime(), key, tail.get());
+      PendingEvent previous = coalesced.put(key, pending);
+      if (previous != null) {
+        // keep push time of oldest event to measure latency correctly.
+        pending.pushTime = previous.pushTime;
+        coalescedEvents.increment();
+      }
+      coalescedSize = coalesced.size();
+    }
+  }
+
+  /**
+   * Used to put event to buffer.
+   *
+   * @return false if buffer is full.
+   */
+  private boolean offer(Event event) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          buffer[index] = event;
+          pushTimes[index] = System.nanoTime();
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Used to take event from buffer. Could be called by producers to drop oldest event.
+   *
+   * @param process true if event is taken to be processed (by processing thread).
+   * @return event or null if there is no published event.
+   */
+  private Event poll(boolean process) {
+    long position = head.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - (position + 1);
+      if (difference == 0) {
+        if (head.compareAndSet(position, position + 1)) {
+          Event event = buffer[index];
+          long pushTime = pushTimes[index];
+          buffer[index] = null;
+          sequences.set(index, position + mask + 1);
+          if (process) {
+            registerLatency(pushTime);
+          }
+          return event;
+        }
+        position = head.get();
+      } else if (difference < 0) {
+        return null;
+      } else {
+        position = head.get();
+      }
+    }
+  }
+
+  /**
+   * Returns true if there are events that should be processed.
+   *
+   * @return true if there are events that should be processed.
+   */
+  @Override
+  public boolean hasEvents() {
+    return getQueueDepth() != 0;
+  }
+
+  /**
+   * Used to add additional logic to see pushed events.
+   * <p>
+   * Could be used to log events that pushed to event processor.
+   *
+   * @param debugEventConsumer consumer to add.
+   */
+  public void setDebugEventConsumer(Consumer<Event> debugEventConsumer) {
+    this.debugEventConsumer = debugEventConsumer;
+  }
+
+  /**
+   * Returns behavior of full buffer.
+   *
+   * @return backpressure.
+   */
+  public Backpressure getBackpressure() {
+    return backpressure;
+  }
+
+  /**
+   * Returns buffer capacity.
+   *
+   * @return buffer capacity.
+   */
+  public int getCapacity() {
+    return buffer.length;
+  }
+
+  /**
+   * Returns number of events waiting for processing (including overflowed and coalesced events).
+   *
+   * @return queue depth.
+   */
+  public int getQueueDepth() {
+    long depth = tail.get() - head.get();
+    return (int) Math.max(0, depth) + overflowSize + coalescedSize;
+  }
+
+  /**
+   * Returns maximum queue depth. Sampled at the beginning of each {@link #processEvents()} call.
+   *
+   * @return maximum queue depth.
+   */
+  public int getMaxQueueDepth() {
+    return maxQueueDepth;
+  }
+
+  /**
+   * Returns number of pushed events.
+   *
+   * @return number of pushed events.
+   */
+  public long getPushedEvents() {
+    return pushedEvents.sum();
+  }
+
+  /**
+   * Returns number of processed events.
+   *
+   * @return number of processed events.
+   */
+  public long getProcessedEvents() {
+    return processedEvents;
+  }
+
+  /**
+   * Returns number of events dropped by {@link Backpressure#DROP_OLDEST}.
+   *
+   * @return number of dropped events.
+   */
+  public long getDroppedEvents() {
+    return droppedEvents.sum();
+  }
+
+  /**
+   * Returns number of events replaced by newer events by {@link Backpressure#COALESCE}.
+   *
+   * @return number of coalesced events.
+   */
+  public long getCoalescedEvents() {
+    return coalescedEvents.sum();
+  }
+
+  /**
+   * Returns average time between pushing and processing of event in nanoseconds.
+   *
+   * @return average latency in nanoseconds.
+   */
+  public long getAverageLatency() {
+    long processed = processedEvents;
+    return processed == 0 ? 0 : totalLatency / processed;
+  }
+
+  /**
+   * Returns maximum time between pushing and processing of event in nanoseconds.
+   *
+   * @return maximum latency in nanoseconds.
+   */
+  public long getMaxLatency() {
+    return maxLatency;
+  }
+
+  /**
+   * Used to reset counters. Should be called from processing thread.
+   */
+  public void resetStatistics() {
+    pushedEvents.reset();
+    droppedEvents.reset();
+    coalescedEvents.reset();
+    processedEvents = 0;
+    totalLatency = 0;
+    maxLatency = 0;
+    maxQueueDepth = 0;
+  }
+
+  /**
+   * Behavior of event processor when buffer is full.
+   */
+  public enum Backpressure {
+    /**
+     * Producer waits until there is free space in buffer. Processing thread is never blocked -
+     * its events are stored in overflow queue.
+     */
+    BLOCK,
+    /**
+     * Oldest event in buffer is dropped.
+     */
+    DROP_OLDEST,
+    /**
+     * Event replaces previous not processed event with the same target component and event class
+     * which was pushed while buffer was full. Such events are processed in push order with events
+     * from buffer, so replaced event is never processed after newer event from buffer. Suitable only if events carry state (position, size, value) and intermediate states could
+     * be skipped.
+     */
+    COALESCE
+  }
+
+  private static class PendingEvent {
+
+    private final Event event;
+    private final CoalesceKey key;
+    /**
+     * Buffer position at which coalesced event was pushed.
+     */
+    private final long sequence;
+    private long pushTime;
+
+    private PendingEvent(Event event, long pushTime, CoalesceKey key, long sequence) {
+      this.event = event;
+      this.pushTime = pushTime;
+      this.key = key;
+      this.sequence = sequence;
+    }
+  }
+
+  /**
+   * Target component (compared by reference) and event class.
+   */
+  private static class CoalesceKey {
+
+    private final Component target;
+    private final Class<?> eventClass;
+
+    private CoalesceKey(Component target, Class<?> eventClass) {
+      this.target = target;
+      this.eventClass = eventClass;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CoalesceKey)) {
+        return false;
+      }
+      CoalesceKey that = (CoalesceKey) o;
+      return target == that.target && eventClass == that.eventClass;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(target) + eventClass.hashCode();
+    }
+  }
+}
@@ -14,6 +14,14 @@ public class Background {
   private Icon icon;
   private Vector2f position;
   private Vector2f size;
+  /**
+   * Modification counter. Incremented every time when any of background properties changed.
+   */
+  private int version;
+  /**
+   * Called each time when any of properties is changed.
+   */
+  private Runnable changeListener;
 
 
   /**
@@ -40,6 +48,7 @@ public class Background {
     } else {
       this.color = ColorConstants.transparent();
     }
+    changed();
   }
 
   /**
@@ -52,6 +61,7 @@ public class Background {
    */
   public void setColor(float r, float g, float b, float a) {
     color.set(r, g, b, a);
+    changed();
   }
 
   /**
@@ -70,6 +80,7 @@ public class Background {
    */
   public void setIcon(Icon icon) {
     this.icon = icon;
+    changed();
   }
 
   /**
@@ -88,6 +99,7 @@ public class Background {
    */
   public void setPosition(Vector2f position) {
     this.position = position;
+    changed();
   }
 
   /**
@@ -106,5 +118,37 @@ public class Background {
    */
   public void setSize(Vector2f size) {
     this.size = size;
+    changed();
+  }
+
+  /**
+   * Returns modification counter of background. Could be used to check if background was changed
+   * since last check.
+   *
+   * @return modification counter.
+   */
+  public int getVersion() {
+    return version;
+  }
+
+  /**
+   * Used to set listener which is called each time when any of background properties is changed.
+   * Set by {@link Style} which owns this background.
+   *
+   * @param changeListener listener to set or null.
+   */
+  public void setChangeListener(Runnable changeListener) {
+    this.changeListener = changeListener;
+  }
+
+  /**
+   * Used to increment modification counter and notify change listener.
+   */
+  private void changed() {
+    version++;
+    Runnable listener = changeListener;
+    if (listener != null) {
+      listener.run();
+    }
   }
 }
@@ -0,0 +1,193 @@
+package com.spinyowl.legui.style;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.optional.align.HorizontalAlign;
+import com.spinyowl.legui.component.optional.align.VerticalAlign;
+import com.spinyowl.legui.icon.Icon;
+import com.spinyowl.legui.style.font.FontRegistry;
+import org.joml.Vector4f;
+
+/**
+ * Style properties used by renderers, resolved for current state of component: value from
+ * {@link Component#getStyle()} is overridden by non-null values of focused, hovered and pressed
+ * styles (if component is in that state), in that order. Same as
+ * {@link com.spinyowl.legui.style.util.StyleUtilities#getStyle StyleUtilities.getStyle(...)} but
+ * evaluated once per change instead of once per property read.
+ * <p>
+ * Resolved values are recalculated only when one of styles is replaced or modified (see
+ * {@link Style#getVersion()}) or when focused, hovered or pressed state is changed. Mutable values
+ * (colors) are not copied, so in-place modifications are visible without recalculation.
+ * <p>
+ * Instance is owned by component, see {@link Component#getResolvedStyle()}.
+ */
+public final class ResolvedStyle {
+
+  private static final float DEFAULT_FONT_SIZE = 16F;
+
+  private Style style;
+  private int styleVersion;
+  private int focusedStyleVersion;
+  private int hoveredStyleVersion;
+  private int pressedStyleVersion;
+  private boolean focused;
+  private boolean hovered;
+  private boolean pressed;
+  private boolean valid;
+
+  private String font;
+  private float fontSize;
+  private HorizontalAlign horizontalAlign;
+  private VerticalAlign verticalAlign;
+  private Vector4f textColor;
+  private Vector4f highlightColor;
+  private Vector4f backgroundColor;
+  private Icon backgroundIcon;
+
+  /**
+   * Used to recalculate resolved values if styles or state of component were changed since last
+   * call.
+   *
+   * @param component component which owns this resolved style.
+   * @return true if values were recalculated.
+   */
+  public boolean update(Component component) {
+    Style base = component.getStyle();
+    Style focusedStyle = component.getFocusedStyle();
+    Style hoveredStyle = component.getHoveredStyle();
+    Style pressedStyle = component.getPressedStyle();
+    boolean isFocused = component.isFocused();
+    boolean isHovered = component.isHovered();
+    boolean isPressed = component.isPressed();
+
+    if (valid
+        && style == base
+        && styleVersion == base.getVersion()
+        && focusedStyleVersion == focusedStyle.getVersion()
+        && hoveredStyleVersion == hoveredStyle.getVersion()
+        && pressedStyleVersion == pressedStyle.getVersion()
+        && focused == isFocused
+        && hovered == isHovered
+        && pressed == isPressed) {
+      return false;
+    }
+
+    style = base;
+    styleVersion = base.getVersion();
+    focusedStyleVersion = focusedStyle.getVersion();
+    hoveredStyleVersion = hoveredStyle.getVersion();
+    pressedStyleVersion = pressedStyle.getVersion();
+    focused = isFocused;
+    hovered = isHovered;
+    pressed = isPressed;
+    valid = true;
+
+    font = null;
+    fontSize = DEFAULT_FONT_SIZE;
+    horizontalAlign = HorizontalAlign.LEFT;
+    verticalAlign = VerticalAlign.MIDDLE;
+    textColor = null;
+    highlightColor = null;
+    backgroundColor = null;
+    backgroundIcon = null;
+
+    apply(base);
+    if (isFocused) {
+      apply(focusedStyle);
+    }
+    if (isHovered) {
+      apply(hoveredStyle);
+    }
+    if (isPressed) {
+      apply(pressedStyle);
+    }
+    return true;
+  }
+
+  /**
+   * Used to mark resolved values as outdated. Could be used after modification of style which is
+   * not tracked by {@link Style#getVersion()}.
+   */
+  public void invalidate() {
+    valid = false;
+  }
+
+  private void apply(Style s) {
+    if (s.getFont() != null) {
+      font = s.getFont();
+    }
+    if (s.getFontSize() != null) {
+      fontSize = s.getFontSize();
+    }
+    if (s.getHorizontalAlign() != null) {
+      horizontalAlign = s.getHorizontalAlign();
+    }
+    if (s.getVerticalAlign() != null) {
+      verticalAlign = s.getVerticalAlign();
+    }
+    if (s.getTextColor() != null) {
+      textColor = s.getTextColor();
+    }
+    if (s.getHighlightColor() != null) {
+      highlightColor = s.getHighlightColor();
+    }
+    Background background = s.getBackground();
+    if (background.getColor() != null) {
+      backgroundColor = background.getColor();
+    }
+    if (background.getIcon() != null) {
+      backgroundIcon = background.getIcon();
+    }
+  }
+
+  /**
+   * Returns resolved font or {@link FontRegistry#getDefaultFont()} if font is not set.
+   *
+   * @return font name.
+   */
+  public String getFont() {
+    return font == null ? FontRegistry.getDefaultFont() : font;
+  }
+
+  /**
+   * Returns resolved font size or 16 if font size is not set.
+   *
+   * @return font size.
+   */
+  public float getFontSize() {
+    return fontSize;
+  }
+
+  /**
+   * Returns resolved horizontal align or {@link HorizontalAlign#LEFT} if align is not set.
+   *
+   * @return horizontal align.
+   */
+  public HorizontalAlign getHorizontalAlign() {
+    return horizontalAlign;
+  }
+
+  /**
+   * Returns resolved vertical align or {@link VerticalAlign#MIDDLE} if align is not set.
+   *
+   * @return vertical align.
+   */
+  public VerticalAlign getVerticalAlign() {
+    return verticalAlign;
+  }
+
+  public Vector4f getTextColor() {
+    return textColor;
+  }
+
+  public Vector4f getHighlightColor() {
+    return highlightColor;
+  }
+
+  public Vector4f getBackgroundColor() {
+    return backgroundColor;
+  }
+
+  public Icon getBackgroundIcon() {
+    return backgroundIcon;
+  }
+}
@@ -10,6 +10,7 @@ import com.spinyowl.legui.style.flex.FlexStyle;
 import com.spinyowl.legui.style.length.Length;
 import com.spinyowl.legui.style.length.Unit;
 import com.spinyowl.legui.style.shadow.Shadow;
+import java.util.Objects;
 import org.joml.Vector4f;
 
 /**
@@ -81,6 +82,23 @@ public class Style {
    */
   private Vector4f highlightColor;
 
+  /**
+   * Modification counter. Incremented every time when any of style properties changed.
+   */
+  private int version;
+  /**
+   * Called each time when any of style properties (including {@link FlexStyle} and {@link
+   * Background} properties) is changed.
+   */
+  private Runnable changeListener;
+
+  /**
+   * Default constructor.
+   */
+  public Style() {
+    flexStyle.setChangeListener(this::changed);
+    background.setChangeListener(this::changed);
+  }
 
   /**
    * Used to set border radius for all four corners. (PIXEL VERSION)
@@ -98,8 +116,7 @@ public class Style {
    * @param radius radius to set. Sets border radius to all corners.
    */
   public void setBorderRadius(Length radius) {
-    borderTopLeftRadius = borderTopRightRadius =
-        borderBottomRightRadius = borderBottomLeftRadius = radius;
+    setBorderRadius(radius, radius, radius, radius);
   }
 
   /**
@@ -119,8 +136,8 @@ public class Style {
    * @param topRightBottomLeft top right and bottom left radius.
    */
   public void setBorderRadius(Length topLeftBottomRight, Length topRightBottomLeft) {
-    borderTopLeftRadius = borderBottomRightRadius = topLeftBottomRight;
-    borderTopRightRadius = borderBottomLeftRadius = topRightBottomLeft;
+    setBorderRadius(topLeftBottomRight, topRightBottomLeft, topLeftBottomRight,
+        topRightBottomLeft);
   }
 
   /**
@@ -142,9 +159,7 @@ public class Style {
    * @param topRightBottomLeft top right and bottom left radius.
    */
   public void setBorderRadius(Length topLeft, Length topRightBottomLeft, Length bottomRight) {
-    borderTopLeftRadius = topLeft;
-    borderTopRightRadius = borderBottomLeftRadius = topRightBottomLeft;
-    borderBottomRightRadius = bottomRight;
+    setBorderRadius(topLeft, topRightBottomLeft, bottomRight, topRightBottomLeft);
   }
 
   /**
@@ -169,10 +184,10 @@ public class Style {
    */
   public void setBorderRadius(Length topLeft, Length topRight, Length bottomRight,
       Length bottomLeft) {
-    borderTopLeftRadius = topLeft;
-    borderTopRightRadius = topRight;
-    borderBottomRightRadius = bottomRight;
-    borderBottomLeftRadius = bottomLeft;
+    setBorderTopLeftRadius(topLeft);
+    setBorderTopRightRadius(topRight);
+    setBorderBottomRightRadius(bottomRight);
+    setBorderBottomLeftRadius(bottomLeft);
   }
 
   /**
@@ -199,7 +214,7 @@ public class Style {
    * @param borderTopLeftRadius top left border radius.
    */
   public void setBorderTopLeftRadius(Length borderTopLeftRadius) {
-    this.borderTopLeftRadius = borderTopLeftRadius;
+    this.borderTopLeftRadius = changed(this.borderTopLeftRadius, borderTopLeftRadius);
   }
 
   /**
@@ -226,7 +241,7 @@ public class Style {
    * @param borderTopRightRadius top right border radius.
    */
   public void setBorderTopRightRadius(Length borderTopRightRadius) {
-    this.borderTopRightRadius = borderTopRightRadius;
+    this.borderTopRightRadius = changed(this.borderTopRightRadius, borderTopRightRadius);
   }
 
   /**
@@ -253,7 +268,7 @@ public class Style {
    * @param borderBottomRightRadius bottom right border radius.
    */
   public void setBorderBottomRightRadius(Length borderBottomRightRadius) {
-    this.borderBottomRightRadius = borderBottomRightRadius;
+    this.borderBottomRightRadius = changed(this.borderBottomRightRadius, borderBottomRightRadius);
   }
 
   /**
@@ -280,7 +295,7 @@ public class Style {
    * @param borderBottomLeftRadius bottom left border radius.
    */
   public void setBorderBottomLeftRadius(Length borderBottomLeftRadius) {
-    this.borderBottomLeftRadius = borderBottomLeftRadius;
+    this.borderBottomLeftRadius = changed(this.borderBottomLeftRadius, borderBottomLeftRadius);
   }
 
   /**
@@ -307,7 +322,7 @@ public class Style {
    * @param width width to set.
    */
   public void setWidth(Unit width) {
-    this.width = width;
+    this.width = changed(this.width, width);
   }
 
   /**
@@ -324,7 +339,7 @@ public class Style {
   }
 
   public void setHeight(Unit height) {
-    this.height = height;
+    this.height = changed(this.height, height);
   }
 
   public Length getMinWidth() {
@@ -336,7 +351,7 @@ public class Style {
   }
 
   public void setMinWidth(Length minWidth) {
-    this.minWidth = minWidth;
+    this.minWidth = changed(this.minWidth, minWidth);
   }
 
   public Length getMinHeight() {
@@ -348,7 +363,7 @@ public class Style {
   }
 
   public void setMinHeight(Length minHeight) {
-    this.minHeight = minHeight;
+    this.minHeight = changed(this.minHeight, minHeight);
   }
 
   public Length getMaxWidth() {
@@ -360,7 +375,7 @@ public class Style {
   }
 
   public void setMaxWidth(Length maxWidth) {
-    this.maxWidth = maxWidth;
+    this.maxWidth = changed(this.maxWidth, maxWidth);
   }
 
   public Length getMaxHeight() {
@@ -372,7 +387,7 @@ public class Style {
   }
 
   public void setMaxHeight(Length maxHeight) {
-    this.maxHeight = maxHeight;
+    this.maxHeight = changed(this.maxHeight, maxHeight);
   }
 
   public void setPadding(float padding) {
@@ -380,8 +395,7 @@ public class Style {
   }
 
   public void setPadding(Length padding) {
-    paddingLeft = paddingRight =
-        paddingTop = paddingBottom = padding;
+    setPadding(padding, padding, padding, padding);
   }
 
   public void setPadding(float topBottom, float leftRight) {
@@ -389,8 +403,7 @@ public class Style {
   }
 
   public void setPadding(Length topBottom, Length leftRight) {
-    paddingLeft = paddingRight = leftRight;
-    paddingTop = paddingBottom = topBottom;
+    setPadding(topBottom, leftRight, topBottom, leftRight);
   }
 
   public void setPadding(float top, float right, float bottom, float left) {
@@ -398,10 +411,10 @@ public class Style {
   }
 
   public void setPadding(Length top, Length right, Length bottom, Length left) {
-    paddingTop = top;
-    paddingRight = right;
-    paddingBottom = bottom;
-    paddingLeft = left;
+    setPaddingTop(top);
+    setPaddingRight(right);
+    setPaddingBottom(bottom);
+    setPaddingLeft(left);
   }
 
   public Length getPaddingTop() {
@@ -409,7 +422,7 @@ public class Style {
   }
 
   public void setPaddingTop(Length paddingTop) {
-    this.paddingTop = paddingTop;
+    this.paddingTop = changed(this.paddingTop, paddingTop);
   }
 
 
@@ -418,7 +431,7 @@ public class Style {
   }
 
   public void setPaddingBottom(Length paddingBottom) {
-    this.paddingBottom = paddingBottom;
+    this.paddingBottom = changed(this.paddingBottom, paddingBottom);
   }
 
 
@@ -427,7 +440,7 @@ public class Style {
   }
 
   public void setPaddingRight(Length paddingRight) {
-    this.paddingRight = paddingRight;
+    this.paddingRight = changed(this.paddingRight, paddingRight);
   }
 
 
@@ -436,7 +449,7 @@ public class Style {
   }
 
   public void setPaddingLeft(Length paddingLeft) {
-    this.paddingLeft = paddingLeft;
+    this.paddingLeft = changed(this.paddingLeft, paddingLeft);
   }
 
   public void setMargin(float margin) {
@@ -444,7 +457,7 @@ public class Style {
   }
 
   public void setMargin(Unit margin) {
-    marginLeft = marginRight = marginTop = marginBottom = margin;
+    setMargin(margin, margin, margin, margin);
   }
 
   public void setMargin(float topBottom, float leftRight) {
@@ -452,8 +465,7 @@ public class Style {
   }
 
   public void setMargin(Unit topBottom, Unit leftRight) {
-    marginLeft = marginRight = leftRight;
-    marginTop = marginBottom = topBottom;
+    setMargin(topBottom, leftRight, topBottom, leftRight);
   }
 
   public void setMargin(float top, float right, float bottom, float left) {
@@ -461,10 +473,10 @@ public class Style {
   }
 
   public void setMargin(Unit top, Unit right, Unit bottom, Unit left) {
-    marginTop = top;
-    marginRight = right;
-    marginBottom = bottom;
-    marginLeft = left;
+    setMarginTop(top);
+    setMarginRight(right);
+    setMarginBottom(bottom);
+    setMarginLeft(left);
   }
 
   public Unit getMarginTop() {
@@ -472,7 +484,7 @@ public class Style {
   }
 
   public void setMarginTop(Unit marginTop) {
-    this.marginTop = marginTop;
+    this.marginTop = changed(this.marginTop, marginTop);
   }
 
   public void setMarginTop(Float marginTop) {
@@ -484,7 +496,7 @@ public class Style {
   }
 
   public void setMarginBottom(Unit marginBottom) {
-    this.marginBottom = marginBottom;
+    this.marginBottom = changed(this.marginBottom, marginBottom);
   }
 
   public void setMarginBottom(Float marginBottom) {
@@ -496,7 +508,7 @@ public class Style {
   }
 
   public void setMarginRight(Unit marginRight) {
-    this.marginRight = marginRight;
+    this.marginRight = changed(this.marginRight, marginRight);
   }
 
   public void setMarginRight(Float marginRight) {
@@ -508,7 +520,7 @@ public class Style {
   }
 
   public void setMarginLeft(Unit marginLeft) {
-    this.marginLeft = marginLeft;
+    this.marginLeft = changed(this.marginLeft, marginLeft);
   }
 
   public void setMarginLeft(Float marginLeft) {
@@ -539,7 +551,7 @@ public class Style {
    * @param top top style.
    */
   public void setTop(Unit top) {
-    this.top = top;
+    this.top = changed(this.top, top);
   }
 
   /**
@@ -566,7 +578,7 @@ public class Style {
    * @param bottom bottom style.
    */
   public void setBottom(Unit bottom) {
-    this.bottom = bottom;
+    this.bottom = changed(this.bottom, bottom);
   }
 
   /**
@@ -593,7 +605,7 @@ public class Style {
    * @param right right style.
    */
   public void setRight(Unit right) {
-    this.right = right;
+    this.right = changed(this.right, right);
   }
 
   /**
@@ -620,7 +632,7 @@ public class Style {
    * @param left left style.
    */
   public void setLeft(Unit left) {
-    this.left = left;
+    this.left = changed(this.left, left);
   }
 
   /**
@@ -641,7 +653,7 @@ public class Style {
     if (display == null) {
       this.display = DisplayType.MANUAL;
     }
-    this.display = display;
+    this.display = changed(this.display, display);
   }
 
   /**
@@ -659,11 +671,15 @@ public class Style {
    * @param background the background
    */
   public void setBackground(Background background) {
+    // keep modification counter growing after background replacement.
+    version += this.background.getVersion();
+    this.background.setChangeListener(null);
     if (background != null) {
-      this.background = background;
+      this.background = changed(this.background, background);
     } else {
-      this.background = new Background();
+      this.background = changed(this.background, new Background());
     }
+    this.background.setChangeListener(this::changed);
   }
 
   /**
@@ -681,7 +697,7 @@ public class Style {
    * @param border the border
    */
   public void setBorder(Border border) {
-    this.border = border;
+    this.border = changed(this.border, border);
   }
 
   /**
@@ -699,7 +715,7 @@ public class Style {
    * @param font the font
    */
   public void setFont(String font) {
-    this.font = font;
+    this.font = changed(this.font, font);
   }
 
   /**
@@ -721,7 +737,7 @@ public class Style {
    * @param focusedStrokeColor focused stroke color vector.
    */
   public void setFocusedStrokeColor(Vector4f focusedStrokeColor) {
-    this.focusedStrokeColor = focusedStrokeColor;
+    this.focusedStrokeColor = changed(this.focusedStrokeColor, focusedStrokeColor);
   }
 
   /**
@@ -734,6 +750,7 @@ public class Style {
    */
   public void setFocusedStrokeColor(float r, float g, float b, float a) {
     focusedStrokeColor.set(r, g, b, a);
+    changed();
   }
 
   /**
@@ -761,7 +778,7 @@ public class Style {
    */
   public void setPosition(PositionType position) {
     if (position != null) {
-      this.position = position;
+      this.position = changed(this.position, position);
     }
   }
 
@@ -792,7 +809,7 @@ public class Style {
   }
 
   public void setShadow(Shadow shadow) {
-    this.shadow = shadow;
+    this.shadow = changed(this.shadow, shadow);
   }
 
   public Float getFontSize() {
@@ -800,7 +817,7 @@ public class Style {
   }
 
   public void setFontSize(Float fontSize) {
-    this.fontSize = fontSize;
+    this.fontSize = changed(this.fontSize, fontSize);
   }
 
   /**
@@ -818,7 +835,7 @@ public class Style {
    * @param horizontalAlign horizontal alignment.
    */
   public void setHorizontalAlign(HorizontalAlign horizontalAlign) {
-    this.horizontalAlign = horizontalAlign;
+    this.horizontalAlign = changed(this.horizontalAlign, horizontalAlign);
   }
 
   /**
@@ -836,7 +853,7 @@ public class Style {
    * @param verticalAlign vertical alignment.
    */
   public void setVerticalAlign(VerticalAlign verticalAlign) {
-    this.verticalAlign = verticalAlign;
+    this.verticalAlign = changed(this.verticalAlign, verticalAlign);
   }
 
   /**
@@ -854,7 +871,7 @@ public class Style {
    * @param textColor text color.
    */
   public void setTextColor(Vector4f textColor) {
-    this.textColor = textColor;
+    this.textColor = changed(this.textColor, textColor);
   }
 
   /**
@@ -866,7 +883,7 @@ public class Style {
    * @param a alpha component.
    */
   public void setTextColor(float r, float g, float b, float a) {
-    this.textColor = new Vector4f(r, g, b, a);
+    setTextColor(new Vector4f(r, g, b, a));
   }
 
   /**
@@ -884,7 +901,7 @@ public class Style {
    * @param highlightColor highlight color.
    */
   public void setHighlightColor(Vector4f highlightColor) {
-    this.highlightColor = highlightColor;
+    this.highlightColor = changed(this.highlightColor, highlightColor);
   }
 
   /**
@@ -896,7 +913,57 @@ public class Style {
    * @param a alpha component.
    */
   public void setHighlightColor(float r, float g, float b, float a) {
-    this.highlightColor = new Vector4f(r, g, b, a);
+    setHighlightColor(new Vector4f(r, g, b, a));
+  }
+
+  /**
+   * Returns modification counter of style (including {@link FlexStyle} and {@link Background}
+   * modifications). Could be used to check if style was changed since last check.
+   * <p>
+   * <b>Note:</b> in-place modifications of mutable values (for example colors returned by getters)
+   * are not tracked.
+   *
+   * @return modification counter.
+   */
+  public int getVersion() {
+    return version + flexStyle.getVersion() + background.getVersion();
+  }
+
+  /**
+   * Used to increment modification counter if new value differs from old one.
+   *
+   * @param oldValue old property value.
+   * @param newValue new property value.
+   * @param <T>      property type.
+   * @return new property value.
+   */
+  private <T> T changed(T oldValue, T newValue) {
+    if (!Objects.equals(oldValue, newValue)) {
+      changed();
+    }
+    return newValue;
+  }
+
+  /**
+   * Used to increment modification counter and notify change listener.
+   */
+  private void changed() {
+    version++;
+    Runnable listener = changeListener;
+    if (listener != null) {
+      listener.run();
+    }
+  }
+
+  /**
+   * Used to set listener which is called each time when any of style properties is changed. Set by
+   * {@link com.spinyowl.legui.component.Component} which owns this style, so if style is shared
+   * between components only last owner is notified.
+   *
+   * @param changeListener listener to set or null.
+   */
+  public void setChangeListener(Runnable changeListener) {
+    this.changeListener = changeListener;
   }
 
   /**
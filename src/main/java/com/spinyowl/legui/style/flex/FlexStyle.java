@@ -43,6 +43,14 @@ public class FlexStyle {
    * The length of the item. Legal values: a number in px.
    */
   private float flexBasis;
+  /**
+   * Modification counter. Incremented every time when any of style properties changed.
+   */
+  private int version;
+  /**
+   * Called each time when any of properties is changed.
+   */
+  private Runnable changeListener;
 
   public FlexStyle() {
     this.flexDirection = FlexDirection.ROW;
@@ -69,7 +77,10 @@ public class FlexStyle {
   }
 
   public void setAlignSelf(AlignSelf alignSelf) {
-    this.alignSelf = alignSelf;
+    if (this.alignSelf != alignSelf) {
+      this.alignSelf = alignSelf;
+      changed();
+    }
   }
 
   public int getFlexGrow() {
@@ -77,7 +88,10 @@ public class FlexStyle {
   }
 
   public void setFlexGrow(int flexGrow) {
-    this.flexGrow = flexGrow;
+    if (this.flexGrow != flexGrow) {
+      this.flexGrow = flexGrow;
+      changed();
+    }
   }
 
   public int getFlexShrink() {
@@ -85,7 +99,10 @@ public class FlexStyle {
   }
 
   public void setFlexShrink(int flexShrink) {
-    this.flexShrink = flexShrink;
+    if (this.flexShrink != flexShrink) {
+      this.flexShrink = flexShrink;
+      changed();
+    }
   }
 
   public float getFlexBasis() {
@@ -93,7 +110,10 @@ public class FlexStyle {
   }
 
   public void setFlexBasis(float flexBasis) {
-    this.flexBasis = flexBasis;
+    if (this.flexBasis != flexBasis) {
+      this.flexBasis = flexBasis;
+      changed();
+    }
   }
 
   public FlexDirection getFlexDirection() {
@@ -101,8 +121,9 @@ public class FlexStyle {
   }
 
   public void setFlexDirection(FlexDirection flexDirection) {
-    if (flexDirection != null) {
+    if (flexDirection != null && this.flexDirection != flexDirection) {
       this.flexDirection = flexDirection;
+      changed();
     }
   }
 
@@ -111,8 +132,9 @@ public class FlexStyle {
   }
 
   public void setJustifyContent(JustifyContent justifyContent) {
-    if (justifyContent != null) {
+    if (justifyContent != null && this.justifyContent != justifyContent) {
       this.justifyContent = justifyContent;
+      changed();
     }
   }
 
@@ -121,8 +143,9 @@ public class FlexStyle {
   }
 
   public void setAlignItems(AlignItems alignItems) {
-    if (alignItems != null) {
+    if (alignItems != null && this.alignItems != alignItems) {
       this.alignItems = alignItems;
+      changed();
     }
   }
 
@@ -131,8 +154,9 @@ public class FlexStyle {
   }
 
   public void setFlexWrap(FlexWrap flexWrap) {
-    if (flexWrap != null) {
+    if (flexWrap != null && this.flexWrap != flexWrap) {
       this.flexWrap = flexWrap;
+      changed();
     }
   }
 
@@ -141,8 +165,40 @@ public class FlexStyle {
   }
 
   public void setAlignContent(AlignContent alignContent) {
-    if (alignContent != null) {
+    if (alignContent != null && this.alignContent != alignContent) {
       this.alignContent = alignContent;
+      changed();
+    }
+  }
+
+  /**
+   * Returns modification counter of flex style. Could be used to check if style was changed since
+   * last check.
+   *
+   * @return modification counter.
+   */
+  public int getVersion() {
+    return version;
+  }
+
+  /**
+   * Used to set listener which is called each time when any of flex style properties is changed.
+   * Set by {@link com.spinyowl.legui.style.Style} which owns this flex style.
+   *
+   * @param changeListener listener to set or null.
+   */
+  public void setChangeListener(Runnable changeListener) {
+    this.changeListener = changeListener;
+  }
+
+  /**
+   * Used to increment modification counter and notify change listener.
+   */
+  private void changed() {
+    version++;
+    Runnable listener = changeListener;
+    if (listener != null) {
+      listener.run();
     }
   }
 
@@ -21,4 +21,21 @@ public class Length<T> extends Unit {
   public LengthType<T> type() {
     return this.type;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    Length<?> length = (Length<?>) o;
+    return value.equals(length.value) && type.equals(length.type);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(value, type);
+  }
 }
@@ -6,14 +6,22 @@ import static org.lwjgl.glfw.GLFW.glfwGetFramebufferSize;
 import static org.lwjgl.glfw.GLFW.glfwGetWindowAttrib;
 import static org.lwjgl.glfw.GLFW.glfwGetWindowPos;
 import static org.lwjgl.glfw.GLFW.glfwGetWindowSize;
+import static org.lwjgl.glfw.GLFW.glfwPollEvents;
+import static org.lwjgl.glfw.GLFW.glfwPostEmptyEvent;
+import static org.lwjgl.glfw.GLFW.glfwWaitEvents;
+import static org.lwjgl.glfw.GLFW.glfwWaitEventsTimeout;
 
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.Frame;
 import com.spinyowl.legui.config.Configuration;
 import com.spinyowl.legui.event.FocusEvent;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.joml.Vector2f;
 import org.joml.Vector2i;
 
@@ -34,6 +42,24 @@ public class Context {
   private Component focusedGui;
   private boolean debugEnabled;
   private boolean iconified;
+  /**
+   * Runtime of this context. If null - default global instances are used.
+   */
+  private ContextRuntime runtime;
+  /**
+   * Shows if frame associated with this context should be re-rendered.
+   */
+  private volatile boolean invalid = true;
+  /**
+   * Shows if whole frame associated with this context should be re-rendered.
+   */
+  private final AtomicBoolean fullyInvalid = new AtomicBoolean(true);
+  /**
+   * Components marked as changed since last {@link #takeInvalidComponents()}. Guarded by {@link
+   * #invalidComponentsLock}.
+   */
+  private Set<Component> invalidComponents = newComponentSet();
+  private final Object invalidComponentsLock = new Object();
 
   /**
    * Instantiates a new Context.
@@ -48,13 +74,13 @@ public class Context {
     Component current = context == null ? null : context.focusedGui;
     if (current != null) {
       current.setFocused(false);
-      EventProcessorProvider.getInstance()
-          .pushEvent(new FocusEvent<>(current, context, frame, toGainFocus, false));
+      EventProcessorProvider.pushEvent(
+          new FocusEvent<>(current, context, frame, toGainFocus, false));
     }
     if (toGainFocus != null) {
       toGainFocus.setFocused(true);
-      EventProcessorProvider.getInstance()
-          .pushEvent(new FocusEvent<>(toGainFocus, context, frame, toGainFocus, true));
+      EventProcessorProvider.pushEvent(
+          new FocusEvent<>(toGainFocus, context, frame, toGainFocus, true));
       if (context != null) {
         context.setFocusedGui(toGainFocus);
       }
@@ -263,4 +289,124 @@ public class Context {
   public void setIconified(boolean iconified) {
     this.iconified = iconified;
   }
+
+  /**
+   * Returns runtime of this context.
+   *
+   * @return runtime of this context or null if default global instances are used.
+   */
+  public ContextRuntime getRuntime() {
+    return runtime;
+  }
+
+  /**
+   * Used to set runtime of this context. Runtime is bound to current thread during system event
+   * processing and rendering of this context.
+   *
+   * @param runtime runtime to set or null to use default global instances.
+   */
+  public void setRuntime(ContextRuntime runtime) {
+    this.runtime = runtime;
+    if (runtime != null) {
+      ContextRuntime.markAttached();
+    }
+  }
+
+  /**
+   * Returns true if frame associated with this context was marked to be re-rendered using {@link
+   * #invalidate()} or {@link #invalidate(Component)} since last {@link #validate()}.
+   *
+   * @return true if frame should be re-rendered.
+   */
+  public boolean isInvalid() {
+    return invalid;
+  }
+
+  /**
+   * Used to mark whole frame associated with this context to be re-rendered and to wake up thread
+   * which waits for events in {@link #waitEvents(double)}. Could be called from any thread.
+   */
+  public void invalidate() {
+    fullyInvalid.set(true);
+    this.invalid = true;
+    glfwPostEmptyEvent();
+  }
+
+  /**
+   * Used to mark component of frame associated with this context as changed and to wake up thread
+   * which waits for events in {@link #waitEvents(double)}. Called by {@link
+   * Component#invalidate()}, could be called from any thread.
+   *
+   * @param component changed component.
+   */
+  public void invalidate(Component component) {
+    synchronized (invalidComponentsLock) {
+      invalidComponents.add(component);
+    }
+    if (!invalid) {
+      this.invalid = true;
+      glfwPostEmptyEvent();
+    }
+  }
+
+  /**
+   * Used to take whole frame invalidation mark. Returns true (only once) if {@link #invalidate()}
+   * was called since previous call.
+   *
+   * @return true if whole frame should be re-rendered.
+   */
+  public boolean takeFullInvalidation() {
+    return fullyInvalid.getAndSet(false);
+  }
+
+  /**
+   * Used to take components marked as changed using {@link #invalidate(Component)} since previous
+   * call. Returned set is not used by context anymore.
+   *
+   * @return changed components.
+   */
+  public Set<Component> takeInvalidComponents() {
+    synchronized (invalidComponentsLock) {
+      if (invalidComponents.isEmpty()) {
+        return Collections.emptySet();
+      }
+      Set<Component> components = invalidComponents;
+      invalidComponents = newComponentSet();
+      return components;
+    }
+  }
+
+  private static Set<Component> newComponentSet() {
+    // components could override equals and hashCode, so identity is used.
+    return Collections.newSetFromMap(new IdentityHashMap<>());
+  }
+
+  /**
+   * Used to mark frame associated with this context as up-to-date. Called by renderer before
+   * frame is drawn, so changes made during rendering (for example from other threads) request one
+   * more frame.
+   */
+  public void validate() {
+    this.invalid = false;
+  }
+
+  /**
+   * Used to process pending window events and block current thread until new events are received
+   * if frame is not invalidated. Should be called from main thread instead of {@code
+   * glfwPollEvents()} when on-demand rendering is used.
+   * <p>
+   * Note that animations are not able to wake up waiting thread, so timeout should be used if
+   * there are running animations (or components that use them, like scrollable panels).
+   *
+   * @param timeout maximum time to wait in seconds. Zero or negative value means no timeout.
+   */
+  public void waitEvents(double timeout) {
+    if (invalid) {
+      glfwPollEvents();
+    } else if (timeout > 0) {
+      glfwWaitEventsTimeout(timeout);
+    } else {
+      glfwWaitEvents();
+    }
+  }
 }
@@ -0,0 +1,221 @@
+package com.spinyowl.legui.system.context;
+
+import com.spinyowl.legui.animation.Animator;
+import com.spinyowl.legui.animation.AnimatorImpl;
+import com.spinyowl.legui.animation.AnimatorProvider;
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.Frame;
+import com.spinyowl.legui.input.Mouse;
+import com.spinyowl.legui.input.MouseState;
+import com.spinyowl.legui.listener.processor.EventProcessor;
+import com.spinyowl.legui.listener.processor.EventProcessorImpl;
+import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import com.spinyowl.legui.system.layout.DefaultLayoutManager;
+import com.spinyowl.legui.system.layout.LayoutManager;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds per-context instances of event processor, animator, layout manager and mouse state, so
+ * multiple windows could be processed independently (and from different threads) without sharing
+ * global state.
+ * <p>
+ * Runtime is resolved by {@link #resolve(Context, Component)}: runtime of context is used first,
+ * then runtime of component frame (see {@link Frame#setRuntime(ContextRuntime)}) and then runtime
+ * bound to current thread using {@link #bind()} or {@link #run(Runnable)}. So events pushed and
+ * animations started from any thread (for example worker thread which updates component) reach
+ * runtime of their window. Providers ({@link EventProcessorProvider}, {@link AnimatorProvider},
+ * {@link LayoutManager}, {@link Mouse}) use global instances only if runtime could not be
+ * resolved, in that case warning is logged if any runtime is attached to context.
+ * <p>
+ * Runtime of {@link Context} (see {@link Context#setRuntime(ContextRuntime)}) is bound
+ * automatically during system event processing and rendering of that context, and is attached to
+ * processed frame.
+ */
+public class ContextRuntime {
+
+  private static final ThreadLocal<ContextRuntime> CURRENT = new ThreadLocal<>();
+  private static final Logger LOGGER = System.getLogger(ContextRuntime.class.getName());
+  private static final AtomicBoolean FALLBACK_WARNED = new AtomicBoolean();
+  /**
+   * True if any runtime was attached to context or frame, so global instances are not processed
+   * by default.
+   */
+  private static volatile boolean attached;
+
+  private final EventProcessor eventProcessor;
+  private final Animator animator;
+  private final LayoutManager layoutManager;
+  private final MouseState mouseState;
+
+  /**
+   * Creates runtime with default implementations.
+   */
+  public ContextRuntime() {
+    this(new EventProcessorImpl(), new AnimatorImpl(), new DefaultLayoutManager(),
+        new MouseState());
+  }
+
+  /**
+   * Creates runtime with provided instances.
+   *
+   * @param eventProcessor event processor.
+   * @param animator       animator.
+   * @param layoutManager  layout manager.
+   * @param mouseState     mouse state.
+   */
+  public ContextRuntime(EventProcessor eventProcessor, Animator animator,
+      LayoutManager layoutManager, MouseState mouseState) {
+    this.eventProcessor = Objects.requireNonNull(eventProcessor);
+    this.animator = Objects.requireNonNull(animator);
+    this.layoutManager = Objects.requireNonNull(layoutManager);
+    this.mouseState = Objects.requireNonNull(mouseState);
+  }
+
+  /**
+   * Returns runtime bound to current thread.
+   *
+   * @return runtime bound to current thread or null.
+   */
+  public static ContextRuntime getCurrent() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Returns runtime of context, runtime of component frame or runtime bound to current thread (in
+   * that order).
+   *
+   * @param context   context (could be null).
+   * @param component component (could be null).
+   * @return runtime or null if runtime could not be resolved.
+   */
+  public static ContextRuntime resolve(Context context, Component component) {
+    ContextRuntime runtime = context == null ? null : context.getRuntime();
+    if (runtime != null) {
+      return runtime;
+    }
+    Frame frame = component == null ? null : component.getFrame();
+    runtime = frame == null ? null : frame.getRuntime();
+    if (runtime != null) {
+      return runtime;
+    }
+    runtime = CURRENT.get();
+    if (runtime == null && attached) {
+      warnFallback(context, component);
+    }
+    return runtime;
+  }
+
+  /**
+   * Used to mark that runtime is attached to context or frame.
+   */
+  static void markAttached() {
+    attached = true;
+  }
+
+  private static void warnFallback(Context context, Component component) {
+    // first fallback is logged as warning, others are logged only if debug logging is enabled.
+    Level level = FALLBACK_WARNED.compareAndSet(false, true) ? Level.WARNING : Level.DEBUG;
+    if (LOGGER.isLoggable(level)) {
+      LOGGER.log(level, "Runtime is not resolved for context {0} and component {1} in thread {2},"
+              + " global instance is used. Attach component to frame with runtime or bind runtime"
+              + " to current thread.", context, component, Thread.currentThread().getName());
+    }
+  }
+
+  /**
+   * Used to unbind runtime from current thread.
+   */
+  public static void unbind() {
+    CURRENT.remove();
+  }
+
+  /**
+   * Used to bind this runtime to current thread.
+   */
+  public void bind() {
+    CURRENT.set(this);
+  }
+
+  /**
+   * Used to run action with this runtime bound to current thread. Previously bound runtime is
+   * restored after action.
+   *
+   * @param action action to run.
+   */
+  public void run(Runnable action) {
+    ContextRuntime previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      action.run();
+    } finally {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Used to process UI events of this runtime.
+   */
+  public void processEvents() {
+    run(eventProcessor::processEvents);
+  }
+
+  /**
+   * Used to run animations of this runtime.
+   */
+  public void runAnimations() {
+    run(animator::runAnimations);
+  }
+
+  /**
+   * Used to layout frame using layout manager of this runtime.
+   *
+   * @param frame   frame to lay out.
+   * @param context context (used for event generation).
+   */
+  public void layout(Frame frame, Context context) {
+    run(() -> layoutManager.layout(frame, context));
+  }
+
+  /**
+   * Returns event processor of this runtime.
+   *
+   * @return event processor.
+   */
+  public EventProcessor getEventProcessor() {
+    return eventProcessor;
+  }
+
+  /**
+   * Returns animator of this runtime.
+   *
+   * @return animator.
+   */
+  public Animator getAnimator() {
+    return animator;
+  }
+
+  /**
+   * Returns layout manager of this runtime.
+   *
+   * @return layout manager.
+   */
+  public LayoutManager getLayoutManager() {
+    return layoutManager;
+  }
+
+  /**
+   * Returns mouse state of this runtime.
+   *
+   * @return mouse state.
+   */
+  public MouseState getMouseState() {
+    return mouseState;
+  }
+}
@@ -2,6 +2,10 @@ package com.spinyowl.legui.system.event;
 
 /**
  * Marker interface that defines tree of system events.
+ * <p>
+ * System events are immutable, but event processors could pass the same instance to handlers more
+ * than once (see {@link com.spinyowl.legui.system.handler.processor.BufferedSystemEventProcessor}),
+ * so events should not be retained after dispatch.
  */
 public interface SystemEvent {
 
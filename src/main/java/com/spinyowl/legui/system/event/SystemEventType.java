@@ -0,0 +1,59 @@
+package com.spinyowl.legui.system.event;
+
+/**
+ * Types of system events produced by GLFW callbacks. Ordinal of type is used as event type id, so
+ * handlers and other per-type data could be stored in arrays.
+ */
+public enum SystemEventType {
+  CHAR(SystemCharEvent.class),
+  CHAR_MODS(SystemCharModsEvent.class),
+  CURSOR_ENTER(SystemCursorEnterEvent.class),
+  CURSOR_POS(SystemCursorPosEvent.class),
+  DROP(SystemDropEvent.class),
+  FRAMEBUFFER_SIZE(SystemFramebufferSizeEvent.class),
+  KEY(SystemKeyEvent.class),
+  MOUSE_CLICK(SystemMouseClickEvent.class),
+  SCROLL(SystemScrollEvent.class),
+  WINDOW_CLOSE(SystemWindowCloseEvent.class),
+  WINDOW_FOCUS(SystemWindowFocusEvent.class),
+  WINDOW_ICONIFY(SystemWindowIconifyEvent.class),
+  WINDOW_POS(SystemWindowPosEvent.class),
+  WINDOW_REFRESH(SystemWindowRefreshEvent.class),
+  WINDOW_SIZE(SystemWindowSizeEvent.class);
+
+  private static final SystemEventType[] VALUES = values();
+
+  private final Class<? extends SystemEvent> eventClass;
+
+  SystemEventType(Class<? extends SystemEvent> eventClass) {
+    this.eventClass = eventClass;
+  }
+
+  /**
+   * Returns type by its id (ordinal).
+   *
+   * @param id type id.
+   * @return system event type.
+   */
+  public static SystemEventType byId(int id) {
+    return VALUES[id];
+  }
+
+  /**
+   * Returns number of types.
+   *
+   * @return number of types.
+   */
+  public static int count() {
+    return VALUES.length;
+  }
+
+  /**
+   * Returns class of system event of this type.
+   *
+   * @return system event class.
+   */
+  public Class<? extends SystemEvent> getEventClass() {
+    return eventClass;
+  }
+}
@@ -17,7 +17,6 @@ public class CharEventHandler implements SystemEventHandler<SystemCharEvent> {
       return;
     }
 
-    EventProcessorProvider.getInstance()
-        .pushEvent(new CharEvent(focusedGui, context, frame, event.codepoint));
+    EventProcessorProvider.pushEvent(new CharEvent(focusedGui, context, frame, event.codepoint));
   }
 }
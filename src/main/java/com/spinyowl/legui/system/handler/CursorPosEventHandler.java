@@ -52,13 +52,13 @@ public class CursorPosEventHandler extends AbstractSystemEventHandler<SystemCurs
             .negate();
         CursorEnterEvent enterEvent = new CursorEnterEvent(targetComponent, context, frame, true,
             curPosInComponent, cursorPosition);
-        EventProcessorProvider.getInstance().pushEvent(enterEvent);
+        EventProcessorProvider.pushEvent(enterEvent);
       }
       if (prevTarget != null) {
         Vector2f curPosInPrevTarget = prevTarget.getAbsolutePosition().sub(cursorPosition).negate();
         CursorEnterEvent exitEvent = new CursorEnterEvent(prevTarget, context, frame, false,
             curPosInPrevTarget, cursorPosition);
-        EventProcessorProvider.getInstance().pushEvent(exitEvent);
+        EventProcessorProvider.pushEvent(exitEvent);
         prevTarget.setHovered(false);
       }
     }
@@ -76,35 +76,30 @@ public class CursorPosEventHandler extends AbstractSystemEventHandler<SystemCurs
    */
   @Override
   protected boolean handle(SystemCursorPosEvent event, Layer layer, Context context, Frame frame) {
-    List<Component> childComponents = layer.getChildComponents();
-    for (Component child : childComponents) {
-      handle(child, context, frame);
+    Component focused = context.getFocusedGui();
+    if (focused != null && focused.isEmpty() && isChildOf(focused, layer)
+        && (Mouse.MouseButton.MOUSE_BUTTON_LEFT.isPressed()
+        || Mouse.MouseButton.MOUSE_BUTTON_RIGHT.isPressed())) {
+      Vector2f delta = Mouse.getCursorPosition().sub(Mouse.getCursorPositionPrev());
+      EventProcessorProvider.pushEvent(new MouseDragEvent(focused, context, frame, delta));
     }
     return false;
   }
 
   /**
-   * Used to handle event for specific component.
+   * Used to check if component is placed in layer.
    *
    * @param component component.
-   * @param context   context.
-   * @param frame     frame.
+   * @param layer     layer.
+   * @return true if layer is one of component parents.
    */
-  private void handle(Component component, Context context, Frame frame) {
-    if (component.isEmpty()) {
-      if ((Mouse.MouseButton.MOUSE_BUTTON_LEFT.isPressed()
-          || Mouse.MouseButton.MOUSE_BUTTON_RIGHT.isPressed()) &&
-          component == context.getFocusedGui()) {
-        Vector2f delta = Mouse.getCursorPosition().sub(Mouse.getCursorPositionPrev());
-        EventProcessorProvider.getInstance()
-            .pushEvent(new MouseDragEvent(component, context, frame, delta));
-      }
-    } else {
-      List<Component> childComponents = component.getChildComponents();
-      for (Component child : childComponents) {
-        handle(child, context, frame);
+  private boolean isChildOf(Component component, Layer layer) {
+    for (Component parent = component.getParent(); parent != null; parent = parent.getParent()) {
+      if (parent == layer) {
+        return true;
       }
     }
+    return false;
   }
 
 }
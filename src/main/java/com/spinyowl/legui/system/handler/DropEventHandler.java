@@ -21,8 +21,7 @@ public class DropEventHandler extends AbstractSystemEventHandler<SystemDropEvent
         Mouse.getCursorPosition());
     List<String> strings = Arrays.stream(event.strings).collect(Collectors.toList());
     for (Component component : targetComponentList) {
-      EventProcessorProvider.getInstance()
-          .pushEvent(new DropEvent<>(component, context, frame, strings));
+      EventProcessorProvider.pushEvent(new DropEvent<>(component, context, frame, strings));
     }
     return false;
   }
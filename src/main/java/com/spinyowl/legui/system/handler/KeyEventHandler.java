@@ -64,11 +64,11 @@ public class KeyEventHandler implements SystemEventHandler<SystemKeyEvent> {
       modSet.add(KeyMod.NUM_LOCK);
     }
 
-    EventProcessorProvider.getInstance().pushEvent(
+    EventProcessorProvider.pushEvent(
         new KeyEvent(focusedGui, context, frame, event.action, keyCode, event.mods,
             event.scancode));
-    EventProcessorProvider.getInstance()
-        .pushEvent(new KeyboardEvent(focusedGui, context, frame, action, key, modSet));
+    EventProcessorProvider.pushEvent(
+        new KeyboardEvent(focusedGui, context, frame, action, key, modSet));
   }
 
   private boolean isMod(int mods, int modToTest) {
@@ -55,8 +55,8 @@ public class MouseClickEventHandler implements SystemEventHandler<SystemMouseCli
       if (event.action == GLFW_RELEASE) {
         if (focusedGui != null) {
           updateReleasePosAndFocusedGui(btn, cursorPos, focusedGui);
-          EventProcessorProvider.getInstance()
-              .pushEvent(new MouseClickEvent<>(focusedGui, ctx, frame, RELEASE, btn,
+          EventProcessorProvider.pushEvent(
+              new MouseClickEvent<>(focusedGui, ctx, frame, RELEASE, btn,
                   buttonCursorPosition(cursorPos, focusedGui), cursorPos, mods));
         }
       } else {
@@ -73,25 +73,22 @@ public class MouseClickEventHandler implements SystemEventHandler<SystemMouseCli
           ctx.setFocusedGui(target);
         }
 
-        EventProcessorProvider.getInstance()
-            .pushEvent(new MouseClickEvent<>(target, ctx, frame, PRESS, btn,
-                buttonCursorPosition(cursorPos, target), cursorPos, mods));
+        EventProcessorProvider.pushEvent(new MouseClickEvent<>(target, ctx, frame, PRESS, btn,
+            buttonCursorPosition(cursorPos, target), cursorPos, mods));
 
         if (focusedGui != target) {
-          EventProcessorProvider.getInstance()
-              .pushEvent(new FocusEvent<>(target, ctx, frame, target, true));
+          EventProcessorProvider.pushEvent(new FocusEvent<>(target, ctx, frame, target, true));
         }
       } else {
         updateReleasePosAndFocusedGui(btn, cursorPos, focusedGui);
 
         if (focusedGui != null) {
           if (focusedGui == target) {
-            EventProcessorProvider.getInstance()
-                .pushEvent(new MouseClickEvent<>(target, ctx, frame, CLICK, btn,
-                    buttonCursorPosition(cursorPos, target), cursorPos, mods));
+            EventProcessorProvider.pushEvent(new MouseClickEvent<>(target, ctx, frame, CLICK, btn,
+                buttonCursorPosition(cursorPos, target), cursorPos, mods));
           }
-          EventProcessorProvider.getInstance()
-              .pushEvent(new MouseClickEvent<>(focusedGui, ctx, frame, RELEASE, btn,
+          EventProcessorProvider.pushEvent(
+              new MouseClickEvent<>(focusedGui, ctx, frame, RELEASE, btn,
                   buttonCursorPosition(cursorPos, focusedGui), cursorPos, mods));
         }
       }
@@ -114,7 +111,7 @@ public class MouseClickEventHandler implements SystemEventHandler<SystemMouseCli
   private void removeFocus(Component targetComponent, Frame frame, Context context) {
     List<Layer> allLayers = frame.getAllLayers();
     for (Layer layer : allLayers) {
-      List<Component> childComponents = layer.getChildComponents();
+      List<Component> childComponents = layer.getChildComponentsView();
       for (Component child : childComponents) {
         removeFocus(targetComponent, child, context, frame);
       }
@@ -125,10 +122,9 @@ public class MouseClickEventHandler implements SystemEventHandler<SystemMouseCli
     if (component != focused && component.isVisible() && component.isFocused()) {
       component.setFocused(false);
       component.setPressed(false);
-      EventProcessorProvider.getInstance()
-          .pushEvent(new FocusEvent<>(component, context, frame, focused, false));
+      EventProcessorProvider.pushEvent(new FocusEvent<>(component, context, frame, focused, false));
     }
-    List<? extends Component> childComponents = component.getChildComponents();
+    List<? extends Component> childComponents = component.getChildComponentsView();
     for (Component child : childComponents) {
       removeFocus(focused, child, context, frame);
     }
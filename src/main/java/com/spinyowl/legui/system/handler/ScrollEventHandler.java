@@ -18,8 +18,8 @@ public class ScrollEventHandler extends AbstractSystemEventHandler<SystemScrollE
     List<Component> targetComponentList = SehUtil.getTargetComponentList(layer,
         Mouse.getCursorPosition());
     for (Component component : targetComponentList) {
-      EventProcessorProvider.getInstance()
-          .pushEvent(new ScrollEvent<>(component, context, frame, event.xoffset, event.yoffset));
+      EventProcessorProvider.pushEvent(
+          new ScrollEvent<>(component, context, frame, event.xoffset, event.yoffset));
     }
     return false;
   }
@@ -1,6 +1,7 @@
 package com.spinyowl.legui.system.handler;
 
 import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.Layer;
 import java.util.ArrayList;
 import java.util.List;
 import org.joml.Vector2f;
@@ -17,13 +18,19 @@ public final class SehUtil {
    * Used to find target component for provided component and vector. Target means top component
    * which intersected by provided point(vector).
    *
+   * <p>
+   * Search in {@link Layer} is performed using its {@link Layer#getSpatialIndex() spatial index}.
+   *
    * @param component component to search.
    * @param vector    point to search.
    * @return top component from component intersected by vector.
    */
   public static Component getTargetComponent(Component component, Vector2f vector) {
+    if (component instanceof Layer) {
+      return ((Layer) component).getSpatialIndex().getTargetComponent(vector);
+    }
     Component target = component.isFocusable() ? component : null;
-    List<Component> childComponents = component.getChildComponents();
+    List<Component> childComponents = component.getChildComponentsView();
     for (Component child : childComponents) {
       target = recursiveTargetComponentSearch(vector, child, target);
     }
@@ -46,7 +53,7 @@ public final class SehUtil {
       if (component.isFocusable()) {
         newtarget = component;
       }
-      List<Component> childComponents = component.getChildComponents();
+      List<Component> childComponents = component.getChildComponentsView();
       for (Component child : childComponents) {
         newtarget = recursiveTargetComponentSearch(vector, child, newtarget);
       }
@@ -57,12 +64,17 @@ public final class SehUtil {
 
   /**
    * Used to search all components (under point) in component.
+   * <p>
+   * Search in {@link Layer} is performed using its {@link Layer#getSpatialIndex() spatial index}.
    *
    * @param vector    vector to point.
    * @param component component to search in.
    * @return all top visible components in component under point(vector).
    */
   public static List<Component> getTargetComponentList(Component component, Vector2f vector) {
+    if (component instanceof Layer) {
+      return ((Layer) component).getSpatialIndex().getTargetComponentList(vector);
+    }
     List<Component> targetList = new ArrayList<>();
     recursiveTargetComponentListSearch(vector, component, targetList);
     return targetList;
@@ -81,7 +93,7 @@ public final class SehUtil {
       List<Component> targetList) {
     if (component.isVisible() /*&& component.isEnabled()*/ && component.intersects(vector)) {
       targetList.add(component);
-      List<Component> childComponents = component.getChildComponents();
+      List<Component> childComponents = component.getChildComponentsView();
       for (Component child : childComponents) {
         recursiveTargetComponentListSearch(vector, child, targetList);
       }
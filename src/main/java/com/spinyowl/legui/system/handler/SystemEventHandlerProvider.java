@@ -20,6 +20,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class SystemEventHandlerProvider {
 
   private Map<Class<? extends SystemEvent>, SystemEventHandler<? extends SystemEvent>> processorMap = new ConcurrentHashMap<>();
+  private volatile int version;
 
   private SystemEventHandlerProvider() {
     registerProcessor(SystemWindowCloseEvent.class, new WindowCloseEventHandler());
@@ -44,12 +45,23 @@ public class SystemEventHandlerProvider {
   public <E extends SystemEvent> void registerProcessor(Class<E> eventClass,
       SystemEventHandler<E> processor) {
     processorMap.put(eventClass, processor);
+    version++;
   }
 
   public <E extends SystemEvent> SystemEventHandler<E> getProcessor(Class<E> eventClass) {
     return (SystemEventHandler<E>) processorMap.get(eventClass);
   }
 
+  /**
+   * Returns number of handler registrations. Could be used to find out if cached handlers should
+   * be resolved again.
+   *
+   * @return modification counter.
+   */
+  public int getVersion() {
+    return version;
+  }
+
   private static class LSEPPH {
 
     private static final SystemEventHandlerProvider I = new SystemEventHandlerProvider();
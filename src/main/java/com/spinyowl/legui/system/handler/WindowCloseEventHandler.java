@@ -23,8 +23,8 @@ public class WindowCloseEventHandler extends AbstractSystemEventHandler<SystemWi
     if (!(component.isVisible())) {
       return;
     }
-    EventProcessorProvider.getInstance().pushEvent(new WindowCloseEvent(component, context, frame));
-    List<Component> childComponents = component.getChildComponents();
+    EventProcessorProvider.pushEvent(new WindowCloseEvent(component, context, frame));
+    List<Component> childComponents = component.getChildComponentsView();
     for (Component child : childComponents) {
       pushEvent(child, context, frame);
     }
@@ -25,10 +25,10 @@ public class WindowFocusEventHandler extends AbstractSystemEventHandler<SystemWi
     if (!(component.isVisible())) {
       return;
     }
-    EventProcessorProvider.getInstance()
-        .pushEvent(new WindowFocusEvent(component, context, frame, event.focused));
+    EventProcessorProvider.pushEvent(
+        new WindowFocusEvent(component, context, frame, event.focused));
 
-    List<Component> childComponents = component.getChildComponents();
+    List<Component> childComponents = component.getChildComponentsView();
     for (Component child : childComponents) {
       pushEvent(child, event, context, frame);
     }
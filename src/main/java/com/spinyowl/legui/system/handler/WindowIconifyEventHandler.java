@@ -26,9 +26,9 @@ public class WindowIconifyEventHandler extends
     if (!(component.isVisible())) {
       return;
     }
-    EventProcessorProvider.getInstance()
-        .pushEvent(new WindowIconifyEvent(component, context, frame, event.iconified));
-    List<Component> childComponents = component.getChildComponents();
+    EventProcessorProvider.pushEvent(
+        new WindowIconifyEvent(component, context, frame, event.iconified));
+    List<Component> childComponents = component.getChildComponentsView();
     for (Component child : childComponents) {
       pushEvent(child, event, context, frame);
     }
@@ -41,9 +41,9 @@ public class WindowPosEventHandler extends AbstractSystemEventHandler<SystemWind
     if (!(component.isVisible())) {
       return;
     }
-    EventProcessorProvider.getInstance()
-        .pushEvent(new WindowPosEvent(component, context, frame, event.xpos, event.ypos));
-    List<Component> childComponents = component.getChildComponents();
+    EventProcessorProvider.pushEvent(
+        new WindowPosEvent(component, context, frame, event.xpos, event.ypos));
+    List<Component> childComponents = component.getChildComponentsView();
     for (Component child : childComponents) {
       pushEvent(child, event, context, frame);
     }
@@ -24,9 +24,8 @@ public class WindowRefreshEventHandler extends
     if (!(component.isVisible())) {
       return;
     }
-    EventProcessorProvider.getInstance()
-        .pushEvent(new WindowRefreshEvent(component, context, frame));
-    List<Component> childComponents = component.getChildComponents();
+    EventProcessorProvider.pushEvent(new WindowRefreshEvent(component, context, frame));
+    List<Component> childComponents = component.getChildComponentsView();
     for (Component child : childComponents) {
       pushEvent(child, context, frame);
     }
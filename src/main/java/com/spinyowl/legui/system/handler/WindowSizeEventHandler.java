@@ -30,9 +30,9 @@ public class WindowSizeEventHandler implements SystemEventHandler<SystemWindowSi
     if (!component.isVisible() || !component.isEnabled()) {
       return;
     }
-    EventProcessorProvider.getInstance()
-        .pushEvent(new WindowSizeEvent(component, context, frame, event.width, event.height));
-    List<Component> childComponents = component.getChildComponents();
+    EventProcessorProvider.pushEvent(
+        new WindowSizeEvent(component, context, frame, event.width, event.height));
+    List<Component> childComponents = component.getChildComponentsView();
     for (Component child : childComponents) {
       pushEvent(child, event, context, frame);
     }
@@ -0,0 +1,595 @@
+package com.spinyowl.legui.system.handler.processor;
+
+import static com.spinyowl.legui.system.event.SystemEventType.CHAR;
+import static com.spinyowl.legui.system.event.SystemEventType.CHAR_MODS;
+import static com.spinyowl.legui.system.event.SystemEventType.CURSOR_ENTER;
+import static com.spinyowl.legui.system.event.SystemEventType.CURSOR_POS;
+import static com.spinyowl.legui.system.event.SystemEventType.FRAMEBUFFER_SIZE;
+import static com.spinyowl.legui.system.event.SystemEventType.KEY;
+import static com.spinyowl.legui.system.event.SystemEventType.MOUSE_CLICK;
+import static com.spinyowl.legui.system.event.SystemEventType.SCROLL;
+import static com.spinyowl.legui.system.event.SystemEventType.WINDOW_CLOSE;
+import static com.spinyowl.legui.system.event.SystemEventType.WINDOW_FOCUS;
+import static com.spinyowl.legui.system.event.SystemEventType.WINDOW_ICONIFY;
+import static com.spinyowl.legui.system.event.SystemEventType.WINDOW_POS;
+import static com.spinyowl.legui.system.event.SystemEventType.WINDOW_REFRESH;
+import static com.spinyowl.legui.system.event.SystemEventType.WINDOW_SIZE;
+
+import com.spinyowl.legui.component.Frame;
+import com.spinyowl.legui.component.Layer;
+import com.spinyowl.legui.system.context.CallbackKeeper;
+import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.context.ContextRuntime;
+import com.spinyowl.legui.system.event.SystemCharEvent;
+import com.spinyowl.legui.system.event.SystemCharModsEvent;
+import com.spinyowl.legui.system.event.SystemCursorEnterEvent;
+import com.spinyowl.legui.system.event.SystemCursorPosEvent;
+import com.spinyowl.legui.system.event.SystemDropEvent;
+import com.spinyowl.legui.system.event.SystemEvent;
+import com.spinyowl.legui.system.event.SystemEventType;
+import com.spinyowl.legui.system.event.SystemFramebufferSizeEvent;
+import com.spinyowl.legui.system.event.SystemKeyEvent;
+import com.spinyowl.legui.system.event.SystemMouseClickEvent;
+import com.spinyowl.legui.system.event.SystemScrollEvent;
+import com.spinyowl.legui.system.event.SystemWindowCloseEvent;
+import com.spinyowl.legui.system.event.SystemWindowFocusEvent;
+import com.spinyowl.legui.system.event.SystemWindowIconifyEvent;
+import com.spinyowl.legui.system.event.SystemWindowPosEvent;
+import com.spinyowl.legui.system.event.SystemWindowRefreshEvent;
+import com.spinyowl.legui.system.event.SystemWindowSizeEvent;
+import com.spinyowl.legui.system.handler.SystemEventHandler;
+import com.spinyowl.legui.system.handler.SystemEventHandlerProvider;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * System event processor which doesn't allocate memory for input events in GLFW callbacks.
+ * <p>
+ * GLFW callbacks registered by {@link #addCallbacks(CallbackKeeper)} (or by {@link
+ * SystemEventProcessor#addDefaultCallbacks(CallbackKeeper, SystemEventProcessor)}) write event
+ * type and callback arguments to preallocated primitive ring buffer. During {@link
+ * #processEvents(Frame, Context)} data is decoded to event instances and passed to handlers which
+ * are stored in array indexed by event type. Last decoded event of each type is reused if next
+ * event has the same data (for example repeated key or window refresh events), so the same instance
+ * could be passed to handlers several times and events should not be retained after dispatch.
+ * <p>
+ * Events pushed as objects ({@link #pushEvent(SystemEvent)}) and drop events (dropped paths should
+ * be copied during callback) are stored in the same buffer by reference. If buffer is full, events
+ * are stored to unbounded overflow queue as objects.
+ * <p>
+ * Cursor position, scroll, window size, window position and framebuffer size events are coalesced
+ * the same way as in {@link SystemEventProcessorImpl}. Coalescing could be disabled per event type
+ * using {@link #setCoalesced(SystemEventType, boolean)}.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class BufferedSystemEventProcessor implements SystemEventProcessor {
+
+  /**
+   * Default buffer capacity.
+   */
+  public static final int DEFAULT_CAPACITY = 4096;
+
+  /**
+   * Type id of events stored by reference.
+   */
+  private static final int OBJECT = -1;
+  private static final int INTS = 4;
+  private static final int DOUBLES = 2;
+
+  private final int mask;
+  private final int[] types;
+  private final long[] windows;
+  private final int[] ints;
+  private final double[] doubles;
+  private final SystemEvent[] objects;
+  /**
+   * Sequence of each slot. Slot is free for position {@code p} if its sequence equals {@code p},
+   * and contains published event if its sequence equals {@code p + 1}.
+   */
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  /**
+   * Modified only by processing thread.
+   */
+  private volatile long head;
+  private final Queue<SystemEvent> overflow = new ConcurrentLinkedQueue<>();
+
+  private final boolean[] coalesced = new boolean[SystemEventType.count()];
+  private final SystemEventHandler[] handlers = new SystemEventHandler[SystemEventType.count()];
+  private int handlersVersion = -1;
+  private long coalescedEvents;
+
+  /**
+   * Last decoded event of each type. Events are immutable, so last event is passed to handlers
+   * again instead of allocating new instance if next event of the same type has the same data.
+   */
+  private SystemCharEvent charEvent;
+  private SystemCharModsEvent charModsEvent;
+  private SystemCursorEnterEvent cursorEnterEvent;
+  private SystemCursorPosEvent cursorPosEvent;
+  private SystemFramebufferSizeEvent framebufferSizeEvent;
+  private SystemKeyEvent keyEvent;
+  private SystemMouseClickEvent mouseClickEvent;
+  private SystemScrollEvent scrollEvent;
+  private SystemWindowCloseEvent windowCloseEvent;
+  private SystemWindowFocusEvent windowFocusEvent;
+  private SystemWindowIconifyEvent windowIconifyEvent;
+  private SystemWindowPosEvent windowPosEvent;
+  private SystemWindowRefreshEvent windowRefreshEvent;
+  private SystemWindowSizeEvent windowSizeEvent;
+
+  /**
+   * Creates processor with {@link #DEFAULT_CAPACITY}.
+   */
+  public BufferedSystemEventProcessor() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates processor.
+   *
+   * @param capacity buffer capacity. Rounded up to power of two.
+   */
+  public BufferedSystemEventProcessor(int capacity) {
+    if (capacity < 2) {
+      throw new IllegalArgumentException("Capacity should be at least 2.");
+    }
+    int size = Integer.highestOneBit(capacity - 1) << 1;
+    this.mask = size - 1;
+    this.types = new int[size];
+    this.windows = new long[size];
+    this.ints = new int[size * INTS];
+    this.doubles = new double[size * DOUBLES];
+    this.objects = new SystemEvent[size];
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+    coalesced[CURSOR_POS.ordinal()] = true;
+    coalesced[SCROLL.ordinal()] = true;
+    coalesced[WINDOW_SIZE.ordinal()] = true;
+    coalesced[WINDOW_POS.ordinal()] = true;
+    coalesced[FRAMEBUFFER_SIZE.ordinal()] = true;
+  }
+
+  /**
+   * Used to add callbacks which write events to buffer without allocations.
+   *
+   * @param keeper callback keeper.
+   */
+  public void addCallbacks(CallbackKeeper keeper) {
+    //@formatter:off
+    keeper.getChainCharCallback().add((w, codepoint) -> push(CHAR, w, codepoint, 0, 0, 0, 0, 0));
+    keeper.getChainDropCallback().add((w, count, names) ->
+        pushEvent(new SystemDropEvent(w, count, names)));
+    keeper.getChainKeyCallback().add((w, key, scancode, action, mods) ->
+        push(KEY, w, key, scancode, action, mods, 0, 0));
+    keeper.getChainScrollCallback().add((w, x, y) -> push(SCROLL, w, 0, 0, 0, 0, x, y));
+    keeper.getChainCharModsCallback().add((w, codepoint, mods) ->
+        push(CHAR_MODS, w, codepoint, mods, 0, 0, 0, 0));
+    keeper.getChainCursorEnterCallback().add((w, entered) ->
+        push(CURSOR_ENTER, w, entered ? 1 : 0, 0, 0, 0, 0, 0));
+    keeper.getChainFramebufferSizeCallback().add((w, width, height) ->
+        push(FRAMEBUFFER_SIZE, w, width, height, 0, 0, 0, 0));
+    keeper.getChainMouseButtonCallback().add((w, button, action, mods) ->
+        push(MOUSE_CLICK, w, button, action, mods, 0, 0, 0));
+    keeper.getChainCursorPosCallback().add((w, x, y) -> push(CURSOR_POS, w, 0, 0, 0, 0, x, y));
+    keeper.getChainWindowCloseCallback().add(w -> push(WINDOW_CLOSE, w, 0, 0, 0, 0, 0, 0));
+    keeper.getChainWindowFocusCallback().add((w, focused) ->
+        push(WINDOW_FOCUS, w, focused ? 1 : 0, 0, 0, 0, 0, 0));
+    keeper.getChainWindowIconifyCallback().add((w, iconified) ->
+        push(WINDOW_ICONIFY, w, iconified ? 1 : 0, 0, 0, 0, 0, 0));
+    keeper.getChainWindowPosCallback().add((w, x, y) -> push(WINDOW_POS, w, x, y, 0, 0, 0, 0));
+    keeper.getChainWindowRefreshCallback().add(w -> push(WINDOW_REFRESH, w, 0, 0, 0, 0, 0, 0));
+    keeper.getChainWindowSizeCallback().add((w, width, height) ->
+        push(WINDOW_SIZE, w, width, height, 0, 0, 0, 0));
+    //@formatter:on
+  }
+
+  /**
+   * Used to push event data to buffer.
+   *
+   * @param type   event type.
+   * @param window window.
+   * @param i0     first int argument.
+   * @param i1     second int argument.
+   * @param i2     third int argument.
+   * @param i3     fourth int argument.
+   * @param d0     first double argument.
+   * @param d1     second double argument.
+   */
+  public void push(SystemEventType type, long window, int i0, int i1, int i2, int i3,
+      double d0, double d1) {
+    if (type == SystemEventType.DROP) {
+      throw new IllegalArgumentException("Drop events should be pushed as objects.");
+    }
+    if (!overflow.isEmpty()) {
+      overflow.add(decode(type.ordinal(), window, i0, i1, i2, i3, d0, d1, false));
+      return;
+    }
+    long position = claim();
+    if (position < 0) {
+      overflow.add(decode(type.ordinal(), window, i0, i1, i2, i3, d0, d1, false));
+      return;
+    }
+    int index = (int) (position & mask);
+    types[index] = type.ordinal();
+    windows[index] = window;
+    int i = index * INTS;
+    ints[i] = i0;
+    ints[i + 1] = i1;
+    ints[i + 2] = i2;
+    ints[i + 3] = i3;
+    int d = index * DOUBLES;
+    doubles[d] = d0;
+    doubles[d + 1] = d1;
+    sequences.set(index, position + 1);
+  }
+
+  /**
+   * Push event. Event is stored by reference and is not coalesced.
+   *
+   * @param event the event
+   */
+  @Override
+  public void pushEvent(SystemEvent event) {
+    if (!overflow.isEmpty()) {
+      overflow.add(event);
+      return;
+    }
+    long position = claim();
+    if (position < 0) {
+      overflow.add(event);
+      return;
+    }
+    int index = (int) (position & mask);
+    types[index] = OBJECT;
+    objects[index] = event;
+    sequences.set(index, position + 1);
+  }
+
+  /**
+   * Used to claim free slot.
+   *
+   * @return claimed position or -1 if buffer is full.
+   */
+  private long claim() {
+    long position = tail.get();
+    while (true) {
+      long difference = sequences.get((int) (position & mask)) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          return position;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        return -1;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Used to process events pushed before this call. Runtime of context (if set) is attached to
+   * frame and bound to current thread during processing.
+   *
+   * @param frame   target frame for events.
+   * @param context context.
+   */
+  @Override
+  public void processEvents(Frame frame, Context context) {
+    frame.setContext(context);
+    ContextRuntime runtime = context.getRuntime();
+    if (runtime == null) {
+      process(frame, context);
+    } else {
+      frame.setRuntime(runtime);
+      runtime.run(() -> process(frame, context));
+    }
+  }
+
+  private void process(Frame frame, Context context) {
+    // components could be changed since previous call.
+    for (Layer layer : frame.getAllLayers()) {
+      layer.getSpatialIndex().invalidate();
+    }
+    updateHandlers();
+
+    long limit = tail.get();
+    long position = head;
+    double scrollX = 0;
+    double scrollY = 0;
+    while (position < limit) {
+      int index = (int) (position & mask);
+      if (sequences.get(index) != position + 1) {
+        // slot is claimed by producer but event is not published yet.
+        break;
+      }
+      int type = types[index];
+      if (type == OBJECT) {
+        SystemEvent event = objects[index];
+        objects[index] = null;
+        release(index, position++);
+        handle(event, frame, context);
+        continue;
+      }
+      if (coalesced[type] && isOverridden(position, limit)) {
+        if (type == SCROLL.ordinal()) {
+          scrollX += doubles[index * DOUBLES];
+          scrollY += doubles[index * DOUBLES + 1];
+        }
+        coalescedEvents++;
+        release(index, position++);
+        continue;
+      }
+      int i = index * INTS;
+      int d = index * DOUBLES;
+      SystemEvent event = decode(type, windows[index], ints[i], ints[i + 1], ints[i + 2],
+          ints[i + 3], doubles[d] + scrollX, doubles[d + 1] + scrollY, true);
+      if (type == SCROLL.ordinal()) {
+        scrollX = 0;
+        scrollY = 0;
+      }
+      release(index, position++);
+      SystemEventHandler handler = handlers[type];
+      if (handler != null) {
+        handler.handle(event, frame, context);
+      }
+    }
+    head = position;
+
+    if (!overflow.isEmpty()) {
+      // events pushed after this point will be processed during next call.
+      for (int count = overflow.size(); count > 0; count--) {
+        SystemEvent event = overflow.poll();
+        if (event == null) {
+          break;
+        }
+        handle(event, frame, context);
+      }
+    }
+  }
+
+  /**
+   * Used to check if event at provided position is overridden by next event of the same type and
+   * window. Cursor position and scroll events are merged only with directly following event, other
+   * events - with any following event of the same type before first not coalesced event.
+   */
+  private boolean isOverridden(long position, long limit) {
+    int index = (int) (position & mask);
+    int type = types[index];
+    long window = windows[index];
+    boolean consecutive = type == CURSOR_POS.ordinal() || type == SCROLL.ordinal();
+    for (long next = position + 1; next < limit; next++) {
+      int nextIndex = (int) (next & mask);
+      if (sequences.get(nextIndex) != next + 1) {
+        return false;
+      }
+      int nextType = types[nextIndex];
+      if (nextType == type && windows[nextIndex] == window) {
+        return true;
+      }
+      if (consecutive || nextType == OBJECT || !coalesced[nextType]) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  private void release(int index, long position) {
+    sequences.set(index, position + mask + 1);
+  }
+
+  private void handle(SystemEvent event, Frame frame, Context context) {
+    SystemEventHandler handler = SystemEventHandlerProvider.getInstance()
+        .getProcessor(event.getClass());
+    if (handler != null) {
+      handler.handle(event, frame, context);
+    }
+  }
+
+  private void updateHandlers() {
+    SystemEventHandlerProvider provider = SystemEventHandlerProvider.getInstance();
+    int version = provider.getVersion();
+    if (version != handlersVersion) {
+      handlersVersion = version;
+      for (int i = 0; i < handlers.length; i++) {
+        handlers[i] = provider.getProcessor(SystemEventType.byId(i).getEventClass());
+      }
+    }
+  }
+
+  /**
+   * Used to decode event data to event instance.
+   *
+   * @param flyweight if true - last decoded event of the same type is returned if it has the same
+   *                  data, otherwise new instance.
+   */
+  private SystemEvent decode(int type, long window, int i0, int i1, int i2, int i3, double d0,
+      double d1, boolean flyweight) {
+    switch (SystemEventType.byId(type)) {
+      case CHAR:
+        if (!flyweight) {
+          return new SystemCharEvent(window, i0);
+        }
+        if (charEvent == null || charEvent.window != window || charEvent.codepoint != i0) {
+          charEvent = new SystemCharEvent(window, i0);
+        }
+        return charEvent;
+      case CHAR_MODS:
+        if (!flyweight) {
+          return new SystemCharModsEvent(window, i0, i1);
+        }
+        if (charModsEvent == null || charModsEvent.window != window
+            || charModsEvent.codepoint != i0 || charModsEvent.mods != i1) {
+          charModsEvent = new SystemCharModsEvent(window, i0, i1);
+        }
+        return charModsEvent;
+      case CURSOR_ENTER:
+        if (!flyweight) {
+          return new SystemCursorEnterEvent(window, i0 != 0);
+        }
+        if (cursorEnterEvent == null || cursorEnterEvent.window != window
+            || cursorEnterEvent.entered != (i0 != 0)) {
+          cursorEnterEvent = new SystemCursorEnterEvent(window, i0 != 0);
+        }
+        return cursorEnterEvent;
+      case CURSOR_POS:
+        if (!flyweight) {
+          return new SystemCursorPosEvent(window, d0, d1);
+        }
+        if (cursorPosEvent == null || cursorPosEvent.window != window
+            || cursorPosEvent.xpos != d0 || cursorPosEvent.ypos != d1) {
+          cursorPosEvent = new SystemCursorPosEvent(window, d0, d1);
+        }
+        return cursorPosEvent;
+      case FRAMEBUFFER_SIZE:
+        if (!flyweight) {
+          return new SystemFramebufferSizeEvent(window, i0, i1);
+        }
+        if (framebufferSizeEvent == null || framebufferSizeEvent.window != window
+            || framebufferSizeEvent.width != i0 || framebufferSizeEvent.height != i1) {
+          framebufferSizeEvent = new SystemFramebufferSizeEvent(window, i0, i1);
+        }
+        return framebufferSizeEvent;
+      case KEY:
+        if (!flyweight) {
+          return new SystemKeyEvent(window, i0, i1, i2, i3);
+        }
+        if (keyEvent == null || keyEvent.window != window || keyEvent.key != i0
+            || keyEvent.scancode != i1 || keyEvent.action != i2 || keyEvent.mods != i3) {
+          keyEvent = new SystemKeyEvent(window, i0, i1, i2, i3);
+        }
+        return keyEvent;
+      case MOUSE_CLICK:
+        if (!flyweight) {
+          return new SystemMouseClickEvent(window, i0, i1, i2);
+        }
+        if (mouseClickEvent == null || mouseClickEvent.window != window
+            || mouseClickEvent.button != i0 || mouseClickEvent.action != i1
+            || mouseClickEvent.mods != i2) {
+          mouseClickEvent = new SystemMouseClickEvent(window, i0, i1, i2);
+        }
+        return mouseClickEvent;
+      case SCROLL:
+        if (!flyweight) {
+          return new SystemScrollEvent(window, d0, d1);
+        }
+        if (scrollEvent == null || scrollEvent.window != window || scrollEvent.xoffset != d0
+            || scrollEvent.yoffset != d1) {
+          scrollEvent = new SystemScrollEvent(window, d0, d1);
+        }
+        return scrollEvent;
+      case WINDOW_CLOSE:
+        if (!flyweight) {
+          return new SystemWindowCloseEvent(window);
+        }
+        if (windowCloseEvent == null || windowCloseEvent.window != window) {
+          windowCloseEvent = new SystemWindowCloseEvent(window);
+        }
+        return windowCloseEvent;
+      case WINDOW_FOCUS:
+        if (!flyweight) {
+          return new SystemWindowFocusEvent(window, i0 != 0);
+        }
+        if (windowFocusEvent == null || windowFocusEvent.window != window
+            || windowFocusEvent.focused != (i0 != 0)) {
+          windowFocusEvent = new SystemWindowFocusEvent(window, i0 != 0);
+        }
+        return windowFocusEvent;
+      case WINDOW_ICONIFY:
+        if (!flyweight) {
+          return new SystemWindowIconifyEvent(window, i0 != 0);
+        }
+        if (windowIconifyEvent == null || windowIconifyEvent.window != window
+            || windowIconifyEvent.iconified != (i0 != 0)) {
+          windowIconifyEvent = new SystemWindowIconifyEvent(window, i0 != 0);
+        }
+        return windowIconifyEvent;
+      case WINDOW_POS:
+        if (!flyweight) {
+          return new SystemWindowPosEvent(window, i0, i1);
+        }
+        if (windowPosEvent == null || windowPosEvent.window != window
+            || windowPosEvent.xpos != i0 || windowPosEvent.ypos != i1) {
+          windowPosEvent = new SystemWindowPosEvent(window, i0, i1);
+        }
+        return windowPosEvent;
+      case WINDOW_REFRESH:
+        if (!flyweight) {
+          return new SystemWindowRefreshEvent(window);
+        }
+        if (windowRefreshEvent == null || windowRefreshEvent.window != window) {
+          windowRefreshEvent = new SystemWindowRefreshEvent(window);
+        }
+        return windowRefreshEvent;
+      case WINDOW_SIZE:
+        if (!flyweight) {
+          return new SystemWindowSizeEvent(window, i0, i1);
+        }
+        if (windowSizeEvent == null || windowSizeEvent.window != window
+            || windowSizeEvent.width != i0 || windowSizeEvent.height != i1) {
+          windowSizeEvent = new SystemWindowSizeEvent(window, i0, i1);
+        }
+        return windowSizeEvent;
+      default:
+        throw new IllegalArgumentException("Unsupported event type: " + type);
+    }
+  }
+
+  /**
+   * Returns true if there are events that should be processed.
+   *
+   * @return true if there are events that should be processed.
+   */
+  @Override
+  public boolean hasEvents() {
+    return tail.get() != head || !overflow.isEmpty();
+  }
+
+  /**
+   * Returns true if events of provided type are coalesced.
+   *
+   * @param type event type.
+   * @return true if events of provided type are coalesced.
+   */
+  public boolean isCoalesced(SystemEventType type) {
+    return coalesced[type.ordinal()];
+  }
+
+  /**
+   * Used to enable or disable coalescing of events of provided type. Only cursor position, scroll,
+   * window size, window position and framebuffer size events could be coalesced.
+   *
+   * @param type      event type.
+   * @param coalesced true to enable coalescing.
+   */
+  public void setCoalesced(SystemEventType type, boolean coalesced) {
+    if (coalesced && type != CURSOR_POS && type != SCROLL && type != WINDOW_SIZE
+        && type != WINDOW_POS && type != FRAMEBUFFER_SIZE) {
+      throw new IllegalArgumentException("Events of type " + type + " could not be coalesced.");
+    }
+    this.coalesced[type.ordinal()] = coalesced;
+  }
+
+  /**
+   * Returns number of events which were merged with other events.
+   *
+   * @return number of coalesced events.
+   */
+  public long getCoalescedEvents() {
+    return coalescedEvents;
+  }
+
+  /**
+   * Returns buffer capacity.
+   *
+   * @return buffer capacity.
+   */
+  public int getCapacity() {
+    return types.length;
+  }
+}
@@ -0,0 +1,23 @@
+package com.spinyowl.legui.system.handler.processor;
+
+import com.spinyowl.legui.system.event.SystemEvent;
+
+/**
+ * Used by {@link SystemEventProcessorImpl} to merge system events of the same type which were
+ * pushed during one frame.
+ *
+ * @param <E> system event type.
+ */
+@FunctionalInterface
+public interface SystemEventMerger<E extends SystemEvent> {
+
+  /**
+   * Used to merge two events.
+   *
+   * @param previous previous event.
+   * @param next     next event.
+   * @return merged event or null if events could not be merged (for example if they are related to
+   * different windows).
+   */
+  E merge(E previous, E next);
+}
@@ -39,12 +39,17 @@ import org.lwjgl.glfw.GLFWWindowSizeCallbackI;
 public interface SystemEventProcessor {
 
   /**
-   * Add default callbacks to callback keeper.
+   * Add default callbacks to callback keeper. For {@link BufferedSystemEventProcessor} callbacks
+   * which don't allocate event instances are added.
    *
    * @param guiCallbackKeeper the gui callback keeper
    */
   static void addDefaultCallbacks(CallbackKeeper guiCallbackKeeper,
       SystemEventProcessor processor) {
+    if (processor instanceof BufferedSystemEventProcessor) {
+      ((BufferedSystemEventProcessor) processor).addCallbacks(guiCallbackKeeper);
+      return;
+    }
     //@formatter:off
     guiCallbackKeeper.getChainCharCallback().add(createDefaultGlfwCharCallbackI(processor));
     guiCallbackKeeper.getChainDropCallback().add(createDefaultGlfwDropCallbackI(processor));
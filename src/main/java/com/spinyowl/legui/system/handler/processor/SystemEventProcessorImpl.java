@@ -1,35 +1,157 @@
 package com.spinyowl.legui.system.handler.processor;
 
 import com.spinyowl.legui.component.Frame;
+import com.spinyowl.legui.component.Layer;
 import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.context.ContextRuntime;
+import com.spinyowl.legui.system.event.SystemCursorPosEvent;
 import com.spinyowl.legui.system.event.SystemEvent;
+import com.spinyowl.legui.system.event.SystemFramebufferSizeEvent;
+import com.spinyowl.legui.system.event.SystemScrollEvent;
+import com.spinyowl.legui.system.event.SystemWindowPosEvent;
+import com.spinyowl.legui.system.event.SystemWindowSizeEvent;
 import com.spinyowl.legui.system.handler.SystemEventHandler;
 import com.spinyowl.legui.system.handler.SystemEventHandlerProvider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
-
+/**
+ * Default system event processor.
+ * <p>
+ * Before processing, events pushed since previous call are coalesced according to registered
+ * rules (see {@link #setCoalescing(Class, SystemEventMerger, boolean)}). By default:
+ * <ul>
+ *   <li>consecutive {@link SystemCursorPosEvent}s of the same window are replaced by the latest
+ *   one (cursor delta is calculated between processed positions, so drag deltas are summed);</li>
+ *   <li>consecutive {@link SystemScrollEvent}s of the same window are replaced by one event with
+ *   summed offsets;</li>
+ *   <li>only the latest {@link SystemWindowSizeEvent}, {@link SystemWindowPosEvent} and {@link
+ *   SystemFramebufferSizeEvent} of the same window is kept between other events.</li>
+ * </ul>
+ * Events without coalescing rule (clicks, keys, chars, etc.) are never merged or reordered and
+ * events are never merged across them.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
 public class SystemEventProcessorImpl implements SystemEventProcessor {
 
+  private final Map<Class<? extends SystemEvent>, CoalescingRule> coalescingRules =
+      new ConcurrentHashMap<>();
+  private final List<SystemEvent> batch = new ArrayList<>();
+  private boolean coalescingEnabled = true;
+  private long coalescedEvents;
+
   private Queue<SystemEvent> first = new ConcurrentLinkedQueue<>();
   private Queue<SystemEvent> second = new ConcurrentLinkedQueue<>();
 
+  public SystemEventProcessorImpl() {
+    setCoalescing(SystemCursorPosEvent.class,
+        (p, n) -> p.window == n.window ? n : null, true);
+    setCoalescing(SystemScrollEvent.class,
+        (p, n) -> p.window == n.window
+            ? new SystemScrollEvent(n.window, p.xoffset + n.xoffset, p.yoffset + n.yoffset)
+            : null, true);
+    setCoalescing(SystemWindowSizeEvent.class,
+        (p, n) -> p.window == n.window ? n : null, false);
+    setCoalescing(SystemWindowPosEvent.class,
+        (p, n) -> p.window == n.window ? n : null, false);
+    setCoalescing(SystemFramebufferSizeEvent.class,
+        (p, n) -> p.window == n.window ? n : null, false);
+  }
+
   /**
-   * Process events.
+   * Process events. Runtime of context (if set) is attached to frame and bound to current thread
+   * during processing.
    *
    * @param frame   the frame
    * @param context the context
    */
   public void processEvents(Frame frame, Context context) {
+    frame.setContext(context);
+    ContextRuntime runtime = context.getRuntime();
+    if (runtime == null) {
+      process(frame, context);
+    } else {
+      frame.setRuntime(runtime);
+      runtime.run(() -> process(frame, context));
+    }
+  }
+
+  private void process(Frame frame, Context context) {
     swap();
 
+    // components could be changed since previous call.
+    for (Layer layer : frame.getAllLayers()) {
+      layer.getSpatialIndex().invalidate();
+    }
+
+    if (!coalescingEnabled || coalescingRules.isEmpty()) {
+      for (SystemEvent event = second.poll(); event != null; event = second.poll()) {
+        handle(event, frame, context);
+      }
+      return;
+    }
+
+    int barrier = 0;
     for (SystemEvent event = second.poll(); event != null; event = second.poll()) {
-      SystemEventHandler processor = SystemEventHandlerProvider.getInstance()
-          .getProcessor(event.getClass());
-      if (processor != null) {
-        processor.handle(event, frame, context);
+      CoalescingRule rule = coalescingRules.get(event.getClass());
+      if (rule == null) {
+        batch.add(event);
+        barrier = batch.size();
+      } else if (!coalesce(event, rule, barrier)) {
+        batch.add(event);
+      }
+    }
+    try {
+      for (SystemEvent event : batch) {
+        handle(event, frame, context);
+      }
+    } finally {
+      batch.clear();
+    }
+  }
+
+  /**
+   * Used to merge event with previous event of the same type.
+   *
+   * @param event   event to merge.
+   * @param rule    coalescing rule of event type.
+   * @param barrier index of first event after last event without coalescing rule.
+   * @return true if event was merged.
+   */
+  private boolean coalesce(SystemEvent event, CoalescingRule rule, int barrier) {
+    int last = batch.size() - 1;
+    int from = rule.consecutive ? last : barrier;
+    for (int i = last; i >= from && i >= 0; i--) {
+      SystemEvent previous = batch.get(i);
+      if (previous.getClass() == event.getClass()) {
+        SystemEvent merged = rule.merger.merge(previous, event);
+        if (merged == null) {
+          return false;
+        }
+        if (i == last) {
+          batch.set(i, merged);
+        } else {
+          // latest state should be placed after events it was pushed after.
+          batch.remove(i);
+          batch.add(merged);
+        }
+        coalescedEvents++;
+        return true;
       }
     }
+    return false;
+  }
+
+  private void handle(SystemEvent event, Frame frame, Context context) {
+    SystemEventHandler processor = SystemEventHandlerProvider.getInstance()
+        .getProcessor(event.getClass());
+    if (processor != null) {
+      processor.handle(event, frame, context);
+    }
   }
 
   private void swap() {
@@ -56,4 +178,81 @@ public class SystemEventProcessorImpl implements SystemEventProcessor {
   public boolean hasEvents() {
     return !(first.isEmpty() && second.isEmpty());
   }
+
+  /**
+   * Used to set coalescing rule for system event type.
+   *
+   * @param eventClass  system event class.
+   * @param merger      merges two events of provided type.
+   * @param consecutive if true - event is merged only with directly preceding event, otherwise
+   *                    with latest event of the same type pushed after last event without
+   *                    coalescing rule. Should be true for events which depend on order relative
+   *                    to other coalesced events (for example cursor position).
+   * @param <E>         system event type.
+   */
+  public <E extends SystemEvent> void setCoalescing(Class<E> eventClass,
+      SystemEventMerger<E> merger, boolean consecutive) {
+    if (merger == null) {
+      coalescingRules.remove(eventClass);
+    } else {
+      coalescingRules.put(eventClass, new CoalescingRule(merger, consecutive));
+    }
+  }
+
+  /**
+   * Used to disable coalescing of system event type.
+   *
+   * @param eventClass system event class.
+   */
+  public void removeCoalescing(Class<? extends SystemEvent> eventClass) {
+    coalescingRules.remove(eventClass);
+  }
+
+  /**
+   * Returns true if coalescing rule is set for system event type.
+   *
+   * @param eventClass system event class.
+   * @return true if events of provided type are coalesced.
+   */
+  public boolean isCoalesced(Class<? extends SystemEvent> eventClass) {
+    return coalescingEnabled && coalescingRules.containsKey(eventClass);
+  }
+
+  /**
+   * Returns true if coalescing is enabled.
+   *
+   * @return true if coalescing is enabled.
+   */
+  public boolean isCoalescingEnabled() {
+    return coalescingEnabled;
+  }
+
+  /**
+   * Used to enable or disable coalescing of all system events.
+   *
+   * @param coalescingEnabled true to enable coalescing.
+   */
+  public void setCoalescingEnabled(boolean coalescingEnabled) {
+    this.coalescingEnabled = coalescingEnabled;
+  }
+
+  /**
+   * Returns number of events which were merged with other events.
+   *
+   * @return number of coalesced events.
+   */
+  public long getCoalescedEvents() {
+    return coalescedEvents;
+  }
+
+  private static class CoalescingRule {
+
+    private final SystemEventMerger merger;
+    private final boolean consecutive;
+
+    private CoalescingRule(SystemEventMerger merger, boolean consecutive) {
+      this.merger = merger;
+      this.consecutive = consecutive;
+    }
+  }
 }
@@ -47,6 +47,16 @@ public class DefaultLayoutManager extends LayoutManager {
     }
   }
 
+  /**
+   * Returns layout registered for specified display type.
+   *
+   * @param displayType display type.
+   * @return registered layout or null.
+   */
+  protected Layout getLayout(DisplayType displayType) {
+    return layoutMap.get(displayType);
+  }
+
   /**
    * Used to layout component and all of his child components.
    *
@@ -56,15 +66,23 @@ public class DefaultLayoutManager extends LayoutManager {
    */
   public void layout(Component component, Frame frame, Context context) {
     if (component != null && component.isVisible() && Utilites.visibleInParents(component)) {
-      Layout layout = layoutMap.get(component.getStyle().getDisplay());
-      if (layout != null) {
-        layout.layout(component, frame, context);
-      }
+      layoutTree(component, frame, context);
+    }
+  }
+
+  private void layoutTree(Component component, Frame frame, Context context) {
+    Layout layout = layoutMap.get(component.getStyle().getDisplay());
+    if (layout != null) {
+      layout.layout(component, frame, context);
+    }
 
-      if (!component.isEmpty()) {
-        List<Component> childComponents = component.getChildComponents();
-        for (Component child : childComponents) {
-          layout(child, frame, context);
+    if (!component.isEmpty()) {
+      // size of component could be changed by layout, children are checked using its bounds.
+      component.updateBounds();
+      List<Component> childComponents = component.getChildComponentsView();
+      for (Component child : childComponents) {
+        if (child.isVisible() && child.updateBounds().isVisibleInParents()) {
+          layoutTree(child, frame, context);
         }
       }
     }
@@ -0,0 +1,96 @@
+package com.spinyowl.legui.system.layout;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.Frame;
+import com.spinyowl.legui.style.Style.DisplayType;
+import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.layout.flex.FlexLayoutTree;
+import com.spinyowl.legui.util.Utilites;
+import java.util.List;
+
+/**
+ * Layout manager which keeps yoga nodes of flex containers between frames and recalculates only
+ * changed parts of flex trees.
+ * <p>
+ * Unlike {@link DefaultLayoutManager} nested flex containers are calculated together with their
+ * top-most flex container, so content of nested container takes part in calculation of it's size.
+ * Layouts registered for other display types are used the same way as in {@link
+ * DefaultLayoutManager}.
+ * <p>
+ * Usage: {@code LayoutManager.setInstance(new IncrementalLayoutManager());}
+ */
+public class IncrementalLayoutManager extends DefaultLayoutManager {
+
+  private final FlexLayoutTree flexLayoutTree = new FlexLayoutTree();
+
+  /**
+   * Used to layout frame layers and all of their child components.
+   *
+   * @param frame   frame to lay out.
+   * @param context context (used for event generation).
+   */
+  @Override
+  public void layout(Frame frame, Context context) {
+    super.layout(frame, context);
+    flexLayoutTree.sweep(frame);
+  }
+
+  /**
+   * Used to layout component and all of his child components.
+   *
+   * @param component component to lay out.
+   * @param frame     component frame (for event generation if needed).
+   * @param context   context (used for event generation).
+   */
+  @Override
+  public void layout(Component component, Frame frame, Context context) {
+    if (component != null && component.isVisible() && Utilites.visibleInParents(component)) {
+      layout(component, frame, context, true);
+    }
+  }
+
+  /**
+   * Used to release all native resources held by this layout manager.
+   */
+  public void dispose() {
+    flexLayoutTree.dispose();
+  }
+
+  private void layout(Component component, Frame frame, Context context, boolean entry) {
+    DisplayType display = component.getStyle().getDisplay();
+    if (display == DisplayType.FLEX) {
+      if (entry || !isFlexChild(component)) {
+        flexLayoutTree.layout(component, frame, context);
+      }
+    } else {
+      Layout layout = getLayout(display);
+      if (layout != null) {
+        layout.layout(component, frame, context);
+      }
+    }
+
+    if (!component.isEmpty()) {
+      // size of component could be changed by layout, children are checked using its bounds.
+      component.updateBounds();
+      List<Component> childComponents = component.getChildComponentsView();
+      for (Component child : childComponents) {
+        if (child.isVisible() && child.updateBounds().isVisibleInParents()) {
+          layout(child, frame, context, false);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns true if component is laid out as part of parent flex container tree.
+   *
+   * @param component component to check.
+   * @return true if parent of component is visible flex container.
+   */
+  private boolean isFlexChild(Component component) {
+    Component parent = component.getParent();
+    return parent != null
+        && parent.isVisible()
+        && parent.getStyle().getDisplay() == DisplayType.FLEX;
+  }
+}
@@ -4,6 +4,7 @@ import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.Frame;
 import com.spinyowl.legui.style.Style.DisplayType;
 import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.context.ContextRuntime;
 
 /**
  * Layout manager. Used to layout component and it's child components..
@@ -16,16 +17,32 @@ public abstract class LayoutManager {
   private static LayoutManager instance = new DefaultLayoutManager();
 
   /**
-   * Returns layout manager instance.
+   * Returns layout manager instance. If {@link ContextRuntime} is bound to current thread - returns
+   * its layout manager.
    *
    * @return layout manager instance.
    */
   public static LayoutManager getInstance() {
+    return getInstance(null);
+  }
+
+  /**
+   * Returns layout manager of runtime resolved for context (see {@link
+   * ContextRuntime#resolve(Context, Component)}) or default layout manager.
+   *
+   * @param context context (could be null).
+   * @return layout manager instance.
+   */
+  public static LayoutManager getInstance(Context context) {
+    ContextRuntime runtime = ContextRuntime.resolve(context, null);
+    if (runtime != null) {
+      return runtime.getLayoutManager();
+    }
     return instance;
   }
 
   /**
-   * Used to set layout manager instance.
+   * Used to set default layout manager instance.
    *
    * @param instance layout manager instance to set.
    */
@@ -0,0 +1,391 @@
+package com.spinyowl.legui.system.layout.flex;
+
+import static com.spinyowl.legui.system.layout.flex.FlexUtils.prepareNode;
+import static org.lwjgl.util.yoga.Yoga.YGConfigFree;
+import static org.lwjgl.util.yoga.Yoga.YGConfigNew;
+import static org.lwjgl.util.yoga.Yoga.YGDirectionLTR;
+import static org.lwjgl.util.yoga.Yoga.YGDisplayFlex;
+import static org.lwjgl.util.yoga.Yoga.YGDisplayNone;
+import static org.lwjgl.util.yoga.Yoga.YGNodeCalculateLayout;
+import static org.lwjgl.util.yoga.Yoga.YGNodeCopyStyle;
+import static org.lwjgl.util.yoga.Yoga.YGNodeFree;
+import static org.lwjgl.util.yoga.Yoga.YGNodeGetHasNewLayout;
+import static org.lwjgl.util.yoga.Yoga.YGNodeInsertChild;
+import static org.lwjgl.util.yoga.Yoga.YGNodeLayoutGetHeight;
+import static org.lwjgl.util.yoga.Yoga.YGNodeLayoutGetLeft;
+import static org.lwjgl.util.yoga.Yoga.YGNodeLayoutGetTop;
+import static org.lwjgl.util.yoga.Yoga.YGNodeLayoutGetWidth;
+import static org.lwjgl.util.yoga.Yoga.YGNodeNewWithConfig;
+import static org.lwjgl.util.yoga.Yoga.YGNodeRemoveAllChildren;
+import static org.lwjgl.util.yoga.Yoga.YGNodeRemoveChild;
+import static org.lwjgl.util.yoga.Yoga.YGNodeSetHasNewLayout;
+import static org.lwjgl.util.yoga.Yoga.YGNodeStyleSetDisplay;
+import static org.lwjgl.util.yoga.Yoga.YGNodeStyleSetHeight;
+import static org.lwjgl.util.yoga.Yoga.YGNodeStyleSetWidth;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.Frame;
+import com.spinyowl.legui.component.event.component.ChangePositionEvent;
+import com.spinyowl.legui.component.event.component.ChangeSizeEvent;
+import com.spinyowl.legui.event.ChildComponentsChangeEvent;
+import com.spinyowl.legui.event.RemoveChildEvent;
+import com.spinyowl.legui.listener.ChildComponentsChangeEventListener;
+import com.spinyowl.legui.listener.RemoveChildEventListener;
+import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import com.spinyowl.legui.style.Style;
+import com.spinyowl.legui.style.Style.DisplayType;
+import com.spinyowl.legui.system.context.Context;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.joml.Vector2f;
+
+/**
+ * Long-lived yoga node tree used to lay out flex containers incrementally.
+ * <p>
+ * Keeps one yoga node per laid out component and reuses it between frames. Node style is
+ * re-applied only if component {@link Style} (or it's flex style) version changed, and yoga child
+ * list is rebuilt only if component child list changed. Nested flex containers are part of the
+ * same yoga tree, so whole tree is calculated by single {@code YGNodeCalculateLayout} call and yoga
+ * can skip clean subtrees.
+ * <p>
+ * Nodes are released when component removed from flex container ({@link RemoveChildEvent} or
+ * {@link ChildComponentsChangeEvent}) or when it was not laid out during last pass (see {@link
+ * #sweep(Frame)}).
+ */
+public class FlexLayoutTree {
+
+  /**
+   * Yoga config shared by all nodes of this tree.
+   */
+  private final long config = YGConfigNew();
+  /**
+   * Node with default style. Used to reset node style before applying component style.
+   */
+  private final long defaultNode = YGNodeNewWithConfig(config);
+
+  private final Map<Component, FlexNode> nodes = new IdentityHashMap<>();
+  private final Map<Component, FlexNode> roots = new IdentityHashMap<>();
+  private final List<FlexNode> orphans = new ArrayList<>();
+  /**
+   * Components removed from flex containers. Filled by event processor, drained during layout.
+   */
+  private final Queue<Component> removed = new ConcurrentLinkedQueue<>();
+
+  private int pass;
+
+  /**
+   * Used to lay out flex container and all nested flex containers in single calculation.
+   *
+   * @param root    flex container which is not a child of another flex container.
+   * @param frame   component frame (for event generation).
+   * @param context context (used for event generation).
+   */
+  public synchronized void layout(Component root, Frame frame, Context context) {
+    releaseRemoved();
+
+    FlexNode node = nodes.get(root);
+    if (node != null && node.parent != null) {
+      detach(node);
+    }
+    node = sync(root, true, false);
+    node.pass = pass;
+    roots.put(root, node);
+
+    Vector2f size = root.getSize();
+    YGNodeStyleSetWidth(node.node, size.x);
+    YGNodeStyleSetHeight(node.node, size.y);
+    YGNodeCalculateLayout(node.node, size.x, size.y, YGDirectionLTR);
+
+    apply(node, frame, context, YGNodeGetHasNewLayout(node.node));
+    YGNodeSetHasNewLayout(node.node, false);
+  }
+
+  /**
+   * Used to release nodes of flex roots that were not laid out during current pass and nodes that
+   * were detached from their parents and were not attached to another flex container.
+   *
+   * @param frame frame which was laid out during current pass.
+   */
+  public synchronized void sweep(Frame frame) {
+    releaseRemoved();
+    for (FlexNode orphan : orphans) {
+      if (orphan.parent == null && !orphan.root && nodes.get(orphan.component) == orphan) {
+        release(orphan);
+      }
+    }
+    orphans.clear();
+
+    List<FlexNode> unused = null;
+    for (FlexNode root : roots.values()) {
+      Frame rootFrame = root.component.getFrame();
+      if (root.pass != pass && (rootFrame == null || rootFrame == frame)) {
+        if (unused == null) {
+          unused = new ArrayList<>();
+        }
+        unused.add(root);
+      }
+    }
+    if (unused != null) {
+      unused.forEach(this::release);
+    }
+    pass++;
+  }
+
+  /**
+   * Used to release all yoga nodes and config. Tree could not be used after disposing.
+   */
+  public synchronized void dispose() {
+    new ArrayList<>(roots.values()).forEach(this::release);
+    new ArrayList<>(nodes.values()).forEach(this::release);
+    orphans.clear();
+    removed.clear();
+    YGNodeFree(defaultNode);
+    YGConfigFree(config);
+  }
+
+  /**
+   * Used to synchronize yoga node with component state.
+   *
+   * @param component component to synchronize.
+   * @param root      true if component is root of yoga tree.
+   * @param force     true if node style should be re-applied even if style wasn't changed (for
+   *                  example if parent style was changed and component inherits some of it's
+   *                  properties).
+   * @return synchronized node.
+   */
+  private FlexNode sync(Component component, boolean root, boolean force) {
+    FlexNode node = nodes.get(component);
+    if (node == null) {
+      node = new FlexNode(component, YGNodeNewWithConfig(config));
+      nodes.put(component, node);
+      force = true;
+    }
+    if (node.root != root) {
+      node.root = root;
+      force = true;
+    }
+
+    Style style = component.getStyle();
+    boolean visible = component.isVisible();
+    if (force || node.style != style || node.styleVersion != style.getVersion()) {
+      YGNodeCopyStyle(node.node, defaultNode);
+      prepareNode(component, node.node);
+      YGNodeStyleSetDisplay(node.node, visible ? YGDisplayFlex : YGDisplayNone);
+      node.style = style;
+      node.styleVersion = style.getVersion();
+      force = true;
+    }
+
+    if (visible && style.getDisplay() == DisplayType.FLEX) {
+      syncChildren(node, force);
+    } else if (node.children != null) {
+      YGNodeRemoveAllChildren(node.node);
+      orphanChildren(node);
+      node.children = null;
+    }
+    return node;
+  }
+
+  private void syncChildren(FlexNode node, boolean force) {
+    if (node.listener == null) {
+      node.listener = event -> removed.add(event.getRemoved());
+      node.bulkListener = event -> removed.addAll(event.getRemoved());
+      node.component.getListenerMap().addListener(RemoveChildEvent.class, node.listener);
+      node.component.getListenerMap()
+          .addListener(ChildComponentsChangeEvent.class, node.bulkListener);
+    }
+
+    List<Component> components = node.component.getChildComponentsView();
+    if (sameChildren(node.children, components)) {
+      for (Component component : components) {
+        sync(component, false, force);
+      }
+      return;
+    }
+
+    components = node.component.getChildComponents();
+    YGNodeRemoveAllChildren(node.node);
+    orphanChildren(node);
+
+    FlexNode[] children = new FlexNode[components.size()];
+    for (int i = 0; i < children.length; i++) {
+      FlexNode child = sync(components.get(i), false, force);
+      if (child.parent != null) {
+        detach(child);
+      }
+      roots.remove(child.component);
+      child.parent = node;
+      YGNodeInsertChild(node.node, child.node, i);
+      children[i] = child;
+    }
+    node.children = children;
+  }
+
+  private boolean sameChildren(FlexNode[] children, List<Component> components) {
+    if (children == null || children.length != components.size()) {
+      return false;
+    }
+    for (int i = 0; i < children.length; i++) {
+      if (children[i].component != components.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Used to apply calculated layout to child components.
+   *
+   * @param node      laid out container node.
+   * @param frame     component frame (for event generation).
+   * @param context   context (used for event generation).
+   * @param newLayout true if container node received new layout during last calculation. If not -
+   *                  child nodes have the same layout as well, so only cached values are used.
+   */
+  private void apply(FlexNode node, Frame frame, Context context, boolean newLayout) {
+    if (node.children == null) {
+      return;
+    }
+    for (FlexNode child : node.children) {
+      if (!child.component.isVisible()) {
+        continue;
+      }
+      boolean childNewLayout = newLayout && YGNodeGetHasNewLayout(child.node);
+      if (childNewLayout) {
+        child.left = YGNodeLayoutGetLeft(child.node);
+        child.top = YGNodeLayoutGetTop(child.node);
+        child.width = YGNodeLayoutGetWidth(child.node);
+        child.height = YGNodeLayoutGetHeight(child.node);
+        YGNodeSetHasNewLayout(child.node, false);
+      }
+      updateComponent(frame, context, child);
+      apply(child, frame, context, childNewLayout);
+    }
+  }
+
+  private void updateComponent(Frame frame, Context context, FlexNode node) {
+    Component component = node.component;
+    Vector2f oldPos = component.getPosition();
+    Vector2f oldSize = component.getSize();
+    boolean positionChanged = oldPos.x != node.left || oldPos.y != node.top;
+    boolean sizeChanged = oldSize.x != node.width || oldSize.y != node.height;
+    if (!positionChanged && !sizeChanged) {
+      return;
+    }
+
+    Vector2f newPos = new Vector2f(node.left, node.top);
+    Vector2f newSize = new Vector2f(node.width, node.height);
+    component.setPosition(newPos);
+    component.setSize(newSize);
+
+    if (frame != null && context != null) {
+      if (!oldPos.equals(newPos, FlexLayout.THRESHOLD)) {
+        EventProcessorProvider.pushEvent(
+            new ChangePositionEvent<>(component, context, frame, oldPos, newPos));
+      }
+      if (!oldSize.equals(newSize, FlexLayout.THRESHOLD)) {
+        EventProcessorProvider.pushEvent(
+            new ChangeSizeEvent<>(component, context, frame, oldSize, newSize));
+      }
+    }
+  }
+
+  /**
+   * Used to detach node from it's current yoga parent. Parent child list will be rebuilt during
+   * next synchronization.
+   *
+   * @param node node to detach.
+   */
+  private void detach(FlexNode node) {
+    YGNodeRemoveChild(node.parent.node, node.node);
+    node.parent.children = null;
+    node.parent = null;
+  }
+
+  private void orphanChildren(FlexNode node) {
+    if (node.children == null) {
+      return;
+    }
+    for (FlexNode child : node.children) {
+      if (child.parent == node) {
+        child.parent = null;
+        orphans.add(child);
+      }
+    }
+  }
+
+  private void releaseRemoved() {
+    for (Component component = removed.poll(); component != null; component = removed.poll()) {
+      FlexNode node = nodes.get(component);
+      if (node != null && !node.root) {
+        release(node);
+      }
+    }
+  }
+
+  /**
+   * Used to release node and all of it's child nodes.
+   *
+   * @param node node to release.
+   */
+  private void release(FlexNode node) {
+    if (nodes.get(node.component) != node) {
+      return;
+    }
+    nodes.remove(node.component);
+    roots.remove(node.component);
+    if (node.children != null) {
+      for (FlexNode child : node.children) {
+        if (child.parent == node) {
+          release(child);
+        }
+      }
+    }
+    if (node.listener != null) {
+      node.component.getListenerMap().removeListener(RemoveChildEvent.class, node.listener);
+      node.component.getListenerMap()
+          .removeListener(ChildComponentsChangeEvent.class, node.bulkListener);
+    }
+    if (node.parent != null) {
+      node.parent.children = null;
+    }
+    // also detaches node from yoga parent.
+    YGNodeFree(node.node);
+  }
+
+  /**
+   * Yoga node associated with component.
+   */
+  private static class FlexNode {
+
+    private final Component component;
+    private final long node;
+
+    private FlexNode parent;
+    private FlexNode[] children;
+    private boolean root;
+    private int pass;
+
+    private Style style;
+    private int styleVersion;
+    private RemoveChildEventListener listener;
+    private ChildComponentsChangeEventListener bulkListener;
+
+    /**
+     * Last calculated layout.
+     */
+    private float left;
+    private float top;
+    private float width;
+    private float height;
+
+    private FlexNode(Component component, long node) {
+      this.component = component;
+      this.node = node;
+    }
+  }
+}
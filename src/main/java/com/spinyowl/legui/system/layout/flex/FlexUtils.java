@@ -5,12 +5,14 @@ import static com.spinyowl.legui.style.length.LengthType.PIXEL;
 
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.style.Style;
+import com.spinyowl.legui.style.Style.PositionType;
 import com.spinyowl.legui.style.flex.FlexStyle;
 import com.spinyowl.legui.style.flex.FlexStyle.AlignItems;
 import com.spinyowl.legui.style.flex.FlexStyle.AlignSelf;
 import com.spinyowl.legui.style.flex.FlexStyle.FlexDirection;
 import com.spinyowl.legui.style.flex.FlexStyle.JustifyContent;
 import com.spinyowl.legui.style.length.Length;
+import com.spinyowl.legui.style.length.LengthType;
 import com.spinyowl.legui.style.length.Unit;
 import org.lwjgl.util.yoga.Yoga;
 
@@ -181,4 +183,135 @@ final class FlexUtils {
     }
   }
 
+  /**
+   * Used to prepare root node.
+   *
+   * @param component parent component associated to root node.
+   * @param node root yoga node.
+   */
+  public static void prepareNode(Component component, long node) {
+    Style style = component.getStyle();
+    FlexStyle flexStyle = style.getFlexStyle();
+    setFlexDirection(node, flexStyle.getFlexDirection());
+    setJustifyContent(node, flexStyle.getJustifyContent(), component);
+    setAlignItems(node, flexStyle.getAlignItems(), component);
+    setAlignSelf(node, flexStyle.getAlignSelf(), component);
+    setFlexWrap(node, flexStyle.getFlexWrap());
+
+    setMinWidth(node, style);
+    setMinHeight(node, style);
+
+    setMaxWidth(node, style);
+    setMaxHeight(node, style);
+
+    setWidth(node, style);
+    setHeight(node, style);
+
+    setPosition(node, style.getTop(), Yoga.YGEdgeTop);
+    setPosition(node, style.getBottom(), Yoga.YGEdgeBottom);
+    setPosition(node, style.getRight(), Yoga.YGEdgeRight);
+    setPosition(node, style.getLeft(), Yoga.YGEdgeLeft);
+
+    Yoga.YGNodeStyleSetFlexBasis(node, flexStyle.getFlexBasis());
+
+    setPadding(node, style);
+    setMargin(node, style);
+
+    Yoga.YGNodeStyleSetPositionType(
+        node,
+        style.getPosition() == PositionType.RELATIVE
+            ? Yoga.YGPositionTypeRelative
+            : Yoga.YGPositionTypeAbsolute);
+
+    Yoga.YGNodeStyleSetFlexGrow(node, flexStyle.getFlexGrow());
+    Yoga.YGNodeStyleSetFlexShrink(node, flexStyle.getFlexShrink());
+  }
+
+  private static void setPosition(long node, Unit distance, int edge) {
+    if (distance != null && distance.isLength()) {
+      Length<?> length = distance.asLength();
+      if (LengthType.PIXEL.equals(length.type())) {
+        Yoga.YGNodeStyleSetPosition(node, edge, LengthType.PIXEL.type().cast(length.get()));
+      } else if (LengthType.PERCENT.equals(length.type())) {
+        Yoga.YGNodeStyleSetPositionPercent(
+            node, edge, LengthType.PERCENT.type().cast(length.get()));
+      }
+    }
+  }
+
+  private static void setHeight(long node, Style style) {
+    Unit height = style.getHeight();
+    if (height != null) {
+      if (height.isAuto()) {
+        Yoga.YGNodeStyleSetHeightAuto(node);
+      } else {
+        Length<?> length = height.asLength();
+        if (LengthType.PIXEL.equals(length.type())) {
+          Yoga.YGNodeStyleSetHeight(node, LengthType.PIXEL.type().cast(length.get()));
+        } else if (LengthType.PERCENT.equals(length.type())) {
+          Yoga.YGNodeStyleSetHeightPercent(node, LengthType.PERCENT.type().cast(length.get()));
+        }
+      }
+    }
+  }
+
+  private static void setWidth(long node, Style style) {
+    Unit width = style.getWidth();
+    if (width != null) {
+      if (width.isAuto()) {
+        Yoga.YGNodeStyleSetWidthAuto(node);
+      } else {
+        Length<?> length = width.asLength();
+        if (LengthType.PIXEL.equals(length.type())) {
+          Yoga.YGNodeStyleSetWidth(node, LengthType.PIXEL.type().cast(length.get()));
+        } else if (LengthType.PERCENT.equals(length.type())) {
+          Yoga.YGNodeStyleSetWidthPercent(node, LengthType.PERCENT.type().cast(length.get()));
+        }
+      }
+    }
+  }
+
+  private static void setMaxHeight(long node, Style style) {
+    Length<?> maxHeight = style.getMaxHeight();
+    if (maxHeight != null) {
+      if (LengthType.PIXEL.equals(maxHeight.type())) {
+        Yoga.YGNodeStyleSetMaxHeight(node, LengthType.PIXEL.type().cast(maxHeight.get()));
+      } else if (LengthType.PERCENT.equals(maxHeight.type())) {
+        Yoga.YGNodeStyleSetMaxHeightPercent(node, LengthType.PERCENT.type().cast(maxHeight.get()));
+      }
+    }
+  }
+
+  private static void setMaxWidth(long node, Style style) {
+    Length<?> maxWidth = style.getMaxWidth();
+    if (maxWidth != null) {
+      if (LengthType.PIXEL.equals(maxWidth.type())) {
+        Yoga.YGNodeStyleSetMaxWidth(node, LengthType.PIXEL.type().cast(maxWidth.get()));
+      } else if (LengthType.PERCENT.equals(maxWidth.type())) {
+        Yoga.YGNodeStyleSetMaxWidthPercent(node, LengthType.PERCENT.type().cast(maxWidth.get()));
+      }
+    }
+  }
+
+  private static void setMinHeight(long node, Style style) {
+    Length<?> minHeight = style.getMinHeight();
+    if (minHeight != null) {
+      if (LengthType.PIXEL.equals(minHeight.type())) {
+        Yoga.YGNodeStyleSetMinHeight(node, LengthType.PIXEL.type().cast(minHeight.get()));
+      } else if (LengthType.PERCENT.equals(minHeight.type())) {
+        Yoga.YGNodeStyleSetMinHeightPercent(node, LengthType.PERCENT.type().cast(minHeight.get()));
+      }
+    }
+  }
+
+  private static void setMinWidth(long node, Style style) {
+    Length<?> minWidth = style.getMinWidth();
+    if (minWidth != null) {
+      if (LengthType.PIXEL.equals(minWidth.type())) {
+        Yoga.YGNodeStyleSetMinWidth(node, LengthType.PIXEL.type().cast(minWidth.get()));
+      } else if (LengthType.PERCENT.equals(minWidth.type())) {
+        Yoga.YGNodeStyleSetMinWidthPercent(node, LengthType.PERCENT.type().cast(minWidth.get()));
+      }
+    }
+  }
 }
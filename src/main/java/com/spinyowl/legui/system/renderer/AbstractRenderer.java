@@ -3,22 +3,96 @@ package com.spinyowl.legui.system.renderer;
 import com.spinyowl.legui.component.Frame;
 import com.spinyowl.legui.component.Layer;
 import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.context.ContextRuntime;
 
 /**
  * Base of main renderer which called by renderer thread.
+ * <p>
+ * Supports on-demand rendering: {@link #isRedrawRequired(Frame, Context)} could be used to skip
+ * rendering (and buffer swapping) of frames which were not changed since last render.
  */
 public abstract class AbstractRenderer implements Renderer {
 
+  private final InvalidationTracker invalidationTracker = new InvalidationTracker();
+  private boolean partialRedrawEnabled;
+
   protected abstract void preRender(Context context);
 
   protected abstract void postRender(Context context);
 
   public void render(Frame display, Context context) {
+    display.setContext(context);
+    ContextRuntime runtime = context.getRuntime();
+    if (runtime == null) {
+      renderFrame(display, context);
+    } else {
+      display.setRuntime(runtime);
+      runtime.run(() -> renderFrame(display, context));
+    }
+  }
+
+  private void renderFrame(Frame display, Context context) {
+    // frame is marked as up-to-date before it's drawn, so changes made during rendering (for
+    // example from other threads) request next frame instead of being lost.
+    context.validate();
+    invalidationTracker.prepare(context);
     preRender(context);
     for (Layer layer : display.getAllLayers()) {
       RendererProvider.getInstance().getComponentRenderer(layer.getClass()).render(layer, context);
     }
     postRender(context);
+    invalidationTracker.reset();
   }
 
+  /**
+   * Used to check if frame was changed since last render and should be rendered again.
+   *
+   * @param frame   frame to check.
+   * @param context context.
+   * @return true if frame should be rendered.
+   */
+  public boolean isRedrawRequired(Frame frame, Context context) {
+    return invalidationTracker.update(frame, context);
+  }
+
+  /**
+   * Returns true if partial redraw is enabled.
+   *
+   * @return true if partial redraw is enabled.
+   */
+  public boolean isPartialRedrawEnabled() {
+    return partialRedrawEnabled;
+  }
+
+  /**
+   * Used to enable or disable partial redraw. If enabled and {@link #isRedrawRequired(Frame,
+   * Context)} was called before {@link #render(Frame, Context)} - only damaged area of frame will
+   * be cleared and rendered.
+   * <p>
+   * Partial redraw requires window back buffer to be preserved after buffer swap (for example
+   * single buffered window or swap behavior which preserves buffer content), otherwise whole frame
+   * should be rendered each time.
+   *
+   * @param partialRedrawEnabled true to enable partial redraw.
+   */
+  public void setPartialRedrawEnabled(boolean partialRedrawEnabled) {
+    this.partialRedrawEnabled = partialRedrawEnabled;
+  }
+
+  /**
+   * Used to mark whole frame as changed. Next call of {@link #isRedrawRequired(Frame, Context)}
+   * will return true and whole frame will be rendered.
+   */
+  public void invalidate() {
+    invalidationTracker.invalidate();
+  }
+
+  /**
+   * Returns invalidation tracker which holds damaged area of current frame.
+   *
+   * @return invalidation tracker.
+   */
+  protected InvalidationTracker getInvalidationTracker() {
+    return invalidationTracker;
+  }
 }
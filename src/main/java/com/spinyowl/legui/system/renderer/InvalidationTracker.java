@@ -0,0 +1,435 @@
+package com.spinyowl.legui.system.renderer;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.Frame;
+import com.spinyowl.legui.component.Layer;
+import com.spinyowl.legui.component.TextAreaField;
+import com.spinyowl.legui.component.TextComponent;
+import com.spinyowl.legui.component.TextInput;
+import com.spinyowl.legui.component.optional.TextState;
+import com.spinyowl.legui.style.Style;
+import com.spinyowl.legui.style.shadow.Shadow;
+import com.spinyowl.legui.system.context.Context;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.joml.Vector2f;
+import org.joml.Vector2i;
+import org.joml.Vector4f;
+
+/**
+ * Used to find out if frame should be re-rendered and which part of it was changed (damaged).
+ * <p>
+ * Keeps absolute bounds, state, style and text state of every visible component rendered last
+ * time. Components report changes to context of their frame (see {@link Component#invalidate()}
+ * and {@link Context#invalidate(Component)}), so only reported components (with their child
+ * components) are checked during {@link #update(Frame, Context)}, and if nothing was reported it
+ * takes constant time. Whole frame is checked only if it was invalidated using {@link
+ * Context#invalidate()}, window size was changed or frame was rendered without update.
+ * <p>
+ * Damaged area is kept as single rectangle which contains all changed components (old and new
+ * bounds). Redraw area additionally contains damaged area of previous frame, so it could be used
+ * with double buffered windows.
+ */
+public class InvalidationTracker {
+
+  /**
+   * Additional space around component bounds which is damaged together with component (borders
+   * and focus strokes could be rendered outside of component bounds).
+   */
+  private static final float DAMAGE_MARGIN = 2f;
+  private static final Component[] NO_COMPONENTS = new Component[0];
+
+  private final Vector2i windowSize = new Vector2i();
+  private final Map<Component, ComponentState> states = new IdentityHashMap<>();
+  private final Set<Component> animated = Collections.newSetFromMap(new IdentityHashMap<>());
+  private float pixelRatio;
+  private Frame frame;
+  private Context context;
+  /**
+   * Incremented on each update, used to find out components which were checked during update.
+   */
+  private int pass;
+  /**
+   * Shows if states of components are up-to-date with frame (except changes reported to context).
+   */
+  private boolean tracked;
+
+  private boolean updated;
+  private boolean fullDamage = true;
+  private float minX = Float.POSITIVE_INFINITY;
+  private float minY = Float.POSITIVE_INFINITY;
+  private float maxX = Float.NEGATIVE_INFINITY;
+  private float maxY = Float.NEGATIVE_INFINITY;
+
+  private boolean previousFullDamage = true;
+  private float previousMinX = Float.POSITIVE_INFINITY;
+  private float previousMinY = Float.POSITIVE_INFINITY;
+  private float previousMaxX = Float.NEGATIVE_INFINITY;
+  private float previousMaxY = Float.NEGATIVE_INFINITY;
+
+  /**
+   * Returns additional space around component bounds which could be affected by component
+   * rendering (shadows, borders).
+   *
+   * @param component component.
+   * @return damage margin.
+   */
+  public static float getDamageMargin(Component component) {
+    float margin = DAMAGE_MARGIN;
+    margin = Math.max(margin, getShadowMargin(component.getStyle()));
+    margin = Math.max(margin, getShadowMargin(component.getHoveredStyle()));
+    margin = Math.max(margin, getShadowMargin(component.getFocusedStyle()));
+    margin = Math.max(margin, getShadowMargin(component.getPressedStyle()));
+    return margin;
+  }
+
+  private static float getShadowMargin(Style style) {
+    Shadow shadow = style.getShadow();
+    if (shadow == null) {
+      return 0;
+    }
+    return Math.max(Math.abs(shadow.gethOffset()), Math.abs(shadow.getvOffset()))
+        + Math.abs(shadow.getBlur()) + Math.abs(shadow.getSpread()) + DAMAGE_MARGIN;
+  }
+
+  /**
+   * Used to check components of frame reported as changed to context and find out damaged area.
+   *
+   * @param frame   frame to check.
+   * @param context context.
+   * @return true if frame should be re-rendered.
+   */
+  public boolean update(Frame frame, Context context) {
+    updated = true;
+    pass++;
+    Set<Component> changed = context.takeInvalidComponents();
+    boolean full = context.takeFullInvalidation();
+    if (!tracked || this.frame != frame || this.context != context) {
+      this.frame = frame;
+      this.context = context;
+      full = true;
+    }
+    Vector2i size = context.getWindowSize();
+    if (size != null && (!windowSize.equals(size) || pixelRatio != context.getPixelRatio())) {
+      windowSize.set(size);
+      pixelRatio = context.getPixelRatio();
+      full = true;
+    }
+
+    if (full) {
+      fullDamage = true;
+      tracked = true;
+      animated.clear();
+      for (Layer layer : frame.getAllLayers()) {
+        check(layer, 0, 0);
+      }
+      // components that were not visited were removed or hidden.
+      Iterator<ComponentState> iterator = states.values().iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().pass != pass) {
+          iterator.remove();
+        }
+      }
+    } else {
+      for (Component component : changed) {
+        checkChanged(frame, component);
+      }
+    }
+    return finishUpdate();
+  }
+
+  /**
+   * Used to check component and all of its child components and find out changed ones. Positions
+   * are tracked relative to provided component, so moving of component itself does not damage
+   * anything.
+   *
+   * @param component component to check.
+   * @return true if component or any of its child components was changed.
+   */
+  public boolean update(Component component) {
+    updated = true;
+    pass++;
+    Vector2f position = component.getPosition();
+    check(component, -position.x, -position.y);
+    return finishUpdate();
+  }
+
+  private boolean finishUpdate() {
+    for (Component component : animated) {
+      damage(states.get(component));
+    }
+    return isDamaged();
+  }
+
+  /**
+   * Used to drop changes reported to context if frame is rendered without update, so next update
+   * checks whole frame.
+   *
+   * @param context context.
+   */
+  void prepare(Context context) {
+    if (!updated) {
+      context.takeFullInvalidation();
+      context.takeInvalidComponents();
+      tracked = false;
+    }
+  }
+
+  private void checkChanged(Frame frame, Component component) {
+    ComponentState state = states.get(component);
+    if (state != null && state.pass == pass) {
+      // already checked together with parent.
+      return;
+    }
+    float x = 0;
+    float y = 0;
+    boolean shown = true;
+    Component root = component;
+    for (Component parent = component.getParent(); parent != null; parent = parent.getParent()) {
+      shown &= parent.isVisible();
+      x += parent.getPosition().x;
+      y += parent.getPosition().y;
+      root = parent;
+    }
+    if (shown && root.getFrame() == frame) {
+      check(component, x, y);
+    } else {
+      remove(component);
+    }
+  }
+
+  private void check(Component component, float parentX, float parentY) {
+    if (!component.isVisible()) {
+      remove(component);
+      return;
+    }
+    Vector2f position = component.getPosition();
+    Vector2f size = component.getSize();
+    float x = parentX + position.x;
+    float y = parentY + position.y;
+
+    ComponentState state = states.get(component);
+    if (state == null) {
+      state = new ComponentState();
+      state.update(component, x, y, size);
+      damage(state);
+      states.put(component, state);
+    } else if (state.isChanged(component, x, y, size)) {
+      damage(state);
+      state.update(component, x, y, size);
+      damage(state);
+    }
+    state.pass = pass;
+    if (isAnimated(component)) {
+      animated.add(component);
+    } else {
+      animated.remove(component);
+    }
+
+    // child components that are not attached to component anymore were removed.
+    for (int i = 0; i < state.childCount; i++) {
+      Component child = state.children[i];
+      if (child.getParent() != component) {
+        remove(child);
+      }
+    }
+    List<Component> childComponents = component.getChildComponentsView();
+    state.setChildren(childComponents);
+    for (Component child : childComponents) {
+      check(child, x, y);
+    }
+  }
+
+  /**
+   * Used to damage last rendered area of component and its child components and to stop tracking
+   * them. Components which were already checked during current update (moved to other parent) are
+   * kept.
+   *
+   * @param component removed or hidden component.
+   */
+  private void remove(Component component) {
+    ComponentState state = states.get(component);
+    if (state == null || state.pass == pass) {
+      return;
+    }
+    states.remove(component);
+    animated.remove(component);
+    damage(state);
+    for (int i = 0; i < state.childCount; i++) {
+      remove(state.children[i]);
+    }
+  }
+
+  /**
+   * Returns true if component is animated by renderer (for example caret blinking in focused text
+   * input).
+   *
+   * @param component component to check.
+   * @return true if component is animated by renderer.
+   */
+  private boolean isAnimated(Component component) {
+    return component.isFocused()
+        && (component instanceof TextInput || component instanceof TextAreaField)
+        && ((TextComponent) component).getTextState().isEditable();
+  }
+
+  private void damage(ComponentState state) {
+    minX = Math.min(minX, state.x - state.margin);
+    minY = Math.min(minY, state.y - state.margin);
+    maxX = Math.max(maxX, state.x + state.width + state.margin);
+    maxY = Math.max(maxY, state.y + state.height + state.margin);
+  }
+
+  /**
+   * Returns true if there are damaged areas.
+   *
+   * @return true if there are damaged areas.
+   */
+  public boolean isDamaged() {
+    return fullDamage || (minX < maxX && minY < maxY);
+  }
+
+  /**
+   * Returns true if {@link #update(Frame, Context)} was called after last {@link #reset()} and
+   * whole frame should be re-rendered.
+   *
+   * @return true if whole frame should be re-rendered.
+   */
+  public boolean isFullDamage() {
+    return !updated || fullDamage || previousFullDamage;
+  }
+
+  /**
+   * Used to get area which should be redrawn (damaged area of current and previous frames).
+   *
+   * @param dest destination vector (x, y, width, height).
+   * @return destination vector.
+   */
+  public Vector4f getRedrawArea(Vector4f dest) {
+    float x = Math.min(minX, previousMinX);
+    float y = Math.min(minY, previousMinY);
+    float w = Math.max(maxX, previousMaxX) - x;
+    float h = Math.max(maxY, previousMaxY) - y;
+    return dest.set(x, y, Math.max(w, 0), Math.max(h, 0));
+  }
+
+  /**
+   * Used to reset damaged area. Called after frame rendering.
+   */
+  public void reset() {
+    previousFullDamage = !updated || fullDamage;
+    previousMinX = minX;
+    previousMinY = minY;
+    previousMaxX = maxX;
+    previousMaxY = maxY;
+
+    updated = false;
+    fullDamage = false;
+    minX = minY = Float.POSITIVE_INFINITY;
+    maxX = maxY = Float.NEGATIVE_INFINITY;
+  }
+
+  /**
+   * Used to mark whole frame as damaged.
+   */
+  public void invalidate() {
+    fullDamage = true;
+  }
+
+  /**
+   * Rendered state of component.
+   */
+  private static class ComponentState {
+
+    private int pass;
+    private Component[] children = NO_COMPONENTS;
+    private int childCount;
+
+    private float x;
+    private float y;
+    private float width;
+    private float height;
+    private float margin;
+    private int flags;
+    private int revision;
+
+    private Style style;
+    private int styleVersion;
+
+    private TextState textState;
+    private int textRevision;
+    private int caretPosition;
+    private int startSelectionIndex;
+    private int endSelectionIndex;
+
+    private static int flags(Component component) {
+      return (component.isHovered() ? 1 : 0)
+          | (component.isFocused() ? 2 : 0)
+          | (component.isPressed() ? 4 : 0)
+          | (component.isEnabled() ? 8 : 0);
+    }
+
+    private static int styleVersion(Component component) {
+      return component.getStyle().getVersion()
+          + component.getHoveredStyle().getVersion()
+          + component.getFocusedStyle().getVersion()
+          + component.getPressedStyle().getVersion();
+    }
+
+    private boolean isChanged(Component component, float x, float y, Vector2f size) {
+      if (this.x != x || this.y != y || width != size.x || height != size.y
+          || flags != flags(component) || revision != component.getRevision()
+          || style != component.getStyle() || styleVersion != styleVersion(component)) {
+        return true;
+      }
+      if (component instanceof TextComponent) {
+        TextState state = ((TextComponent) component).getTextState();
+        return textState != state
+            || (state != null && (textRevision != state.getRevision()
+            || caretPosition != state.getCaretPosition()
+            || startSelectionIndex != state.getStartSelectionIndex()
+            || endSelectionIndex != state.getEndSelectionIndex()));
+      }
+      return false;
+    }
+
+    private void setChildren(List<Component> childComponents) {
+      int count = childComponents.size();
+      if (children.length < count) {
+        children = new Component[Math.max(count, children.length * 2)];
+      } else if (count < childCount) {
+        Arrays.fill(children, count, childCount, null);
+      }
+      for (int i = 0; i < count; i++) {
+        children[i] = childComponents.get(i);
+      }
+      childCount = count;
+    }
+
+    private void update(Component component, float x, float y, Vector2f size) {
+      this.x = x;
+      this.y = y;
+      this.width = size.x;
+      this.height = size.y;
+      this.margin = getDamageMargin(component);
+      this.flags = flags(component);
+      this.revision = component.getRevision();
+      this.style = component.getStyle();
+      this.styleVersion = styleVersion(component);
+      if (component instanceof TextComponent) {
+        textState = ((TextComponent) component).getTextState();
+        if (textState != null) {
+          textRevision = textState.getRevision();
+          caretPosition = textState.getCaretPosition();
+          startSelectionIndex = textState.getStartSelectionIndex();
+          endSelectionIndex = textState.getEndSelectionIndex();
+        }
+      }
+    }
+  }
+}
@@ -8,7 +8,7 @@ import com.spinyowl.legui.style.color.ColorConstants;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.renderer.ComponentRenderer;
 import com.spinyowl.legui.system.renderer.nvg.border.NvgSimpleLineBorderRenderer;
-import com.spinyowl.legui.util.Utilites;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils;
 
 /**
  * The base NanoVG component renderer.
@@ -35,8 +35,14 @@ public abstract class NvgComponentRenderer<C extends Component> extends Componen
   @Override
   public void renderComponent(C component, Context context) {
     long nanovgContext = (long) context.getContextData().get(NVG_CONTEXT);
-    if (component.isVisible() && (component.keepRendering() || Utilites.visibleInParents(
-        component))) {
+    // components outside of parent clip rectangle are skipped together with their children.
+    if (!component.isVisible()
+        || !NvgRenderUtils.enterComponent(component, component.keepRendering())) {
+      return;
+    }
+    try {
+      // component is attached and visible - bound animations could run.
+      component.resumeAnimations();
       renderComponent(component, context, nanovgContext);
       if (context.isDebugEnabled()) {
         if (component.isFocused()) {
@@ -45,8 +51,8 @@ public abstract class NvgComponentRenderer<C extends Component> extends Componen
           debugBorderRenderer.renderBorder(debugBorder, component, context);
         }
       }
-    } else {
-      return;
+    } finally {
+      NvgRenderUtils.exitComponent(component);
     }
   }
 
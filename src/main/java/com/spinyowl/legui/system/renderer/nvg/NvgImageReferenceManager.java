@@ -9,81 +9,130 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import org.lwjgl.nanovg.NanoVG;
 
-
+/**
+ * Used to hold nanovg image references. Image references are valid only for nanovg context which
+ * created them, so each renderer (and each nanovg context) could use its own manager, which is bound
+ * to rendering thread during rendering. Image reference providers are shared by all managers.
+ * <p>
+ * Expired cache entries are cleaned up by rendering thread (see {@link #removeOldImages(long)}),
+ * so manager doesn't own any thread which could outlive its renderer.
+ */
 public final class NvgImageReferenceManager {
 
+  private static final long CLEANUP_PERIOD = TimeUnit.SECONDS.toNanos(1);
   private static final NvgImageReferenceManager INSTANCE = new NvgImageReferenceManager();
+  private static final ThreadLocal<NvgImageReferenceManager> CURRENT = new ThreadLocal<>();
+  private static final Map<Class<? extends Image>, BiFunction<? extends Image, Long, Integer>>
+      IMAGE_REFERENCE_PROVIDERS = new ConcurrentHashMap<>();
 
   /**
-   * BufferedImage queue to remove.
+   * Queue of removed cache entries (image path and reference) which references should be deleted.
    */
-  private final Queue<String> imagesToRemove = new ConcurrentLinkedQueue<>();
+  private final Queue<Map.Entry<String, Integer>> imagesToRemove = new ConcurrentLinkedQueue<>();
 
   /**
    * Removal listener.
    */
-  private final RemovalListener<String, Integer> removalListener = removal -> imagesToRemove.add(
-      removal.getKey());
+  private final RemovalListener<String, Integer> removalListener = imagesToRemove::add;
 
   /**
    * Cache of loaded images. If image is reached only by soft reference it will be deleted.
    */
   private final Cache<String, Integer> imageCache;
 
+  private final Map<String, Integer> imageAssociationMap = new ConcurrentHashMap<>();
   /**
-   * Cleanup scheduler.
+   * Time of last cache cleanup.
    */
-  private final ScheduledExecutorService cleanup = Executors.newSingleThreadScheduledExecutor();
-  private final Map<String, Integer> imageAssociationMap = new ConcurrentHashMap<>();
-  private final Map<Class<? extends Image>, BiFunction<? extends Image, Long, Integer>> imageReferenceProviders = new ConcurrentHashMap<>();
+  private long lastCleanup = System.nanoTime();
 
   /**
    * Used to create image reference manager.
    */
-  private NvgImageReferenceManager() {
+  public NvgImageReferenceManager() {
     imageCache = CacheBuilder.newBuilder().initialCapacity(200)
         .expireAfterAccess(3000, TimeUnit.SECONDS).removalListener(removalListener).build();
-    cleanup.scheduleAtFixedRate(imageCache::cleanUp, 1, 1, TimeUnit.SECONDS);
   }
 
+  /**
+   * Returns image reference manager bound to current thread or default manager.
+   *
+   * @return image reference manager.
+   */
   public static NvgImageReferenceManager getInstance() {
-    return INSTANCE;
+    NvgImageReferenceManager manager = CURRENT.get();
+    return manager != null ? manager : INSTANCE;
+  }
+
+  /**
+   * Used to bind image reference manager to current thread.
+   *
+   * @param manager manager to bind or null to use default manager.
+   */
+  public static void bind(NvgImageReferenceManager manager) {
+    if (manager == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(manager);
+    }
   }
 
   public <I extends Image> void putImageReferenceProvider(
       Class<I> imageClass, BiFunction<I, Long, Integer> imageReferenceProvider
   ) {
-    imageReferenceProviders.put(Objects.requireNonNull(imageClass),
+    IMAGE_REFERENCE_PROVIDERS.put(Objects.requireNonNull(imageClass),
         Objects.requireNonNull(imageReferenceProvider));
   }
 
   public <I extends Image> void removeImageReferenceProvider(Class<I> imageClass) {
-    imageReferenceProviders.remove(imageClass);
+    IMAGE_REFERENCE_PROVIDERS.remove(imageClass);
   }
 
   public <I extends Image> BiFunction<I, Long, Integer> getImageReferenceProvider(
       Class<I> imageClass) {
-    return (BiFunction<I, Long, Integer>) imageReferenceProviders.get(imageClass);
+    return (BiFunction<I, Long, Integer>) IMAGE_REFERENCE_PROVIDERS.get(imageClass);
   }
 
   /**
-   * Used to remove old images.
+   * Used to remove old images. Also cleans up expired cache entries (at most once per second).
+   * Called by renderer after each frame.
    *
    * @param context nanovg context.
    */
   protected void removeOldImages(long context) {
-    String path = imagesToRemove.poll();
-    if (path == null) {
+    long now = System.nanoTime();
+    if (now - lastCleanup >= CLEANUP_PERIOD) {
+      lastCleanup = now;
+      imageCache.cleanUp();
+    }
+    Map.Entry<String, Integer> removed = imagesToRemove.poll();
+    if (removed == null) {
       return;
     }
+    // reference could be already deleted and path could be associated with new reference.
+    Integer imageRef = removed.getValue();
+    if (imageRef != null && imageAssociationMap.remove(removed.getKey(), imageRef)) {
+      NanoVG.nvgDeleteImage(context, imageRef);
+    }
+  }
+
+  /**
+   * Used to remove image reference cached under provided path, so next request of image creates
+   * new reference. Should be used when image behind path is changed (for example texture of
+   * framebuffer is resized or deleted).
+   *
+   * @param path    image path (cache key).
+   * @param context nanovg context to delete reference in or 0 if nanovg context is already
+   *                deleted.
+   */
+  public void removeImageReference(String path, long context) {
     Integer imageRef = imageAssociationMap.remove(path);
-    if (imageRef != null) {
+    imageCache.invalidate(path);
+    if (imageRef != null && context != 0) {
       NanoVG.nvgDeleteImage(context, imageRef);
     }
   }
@@ -99,7 +148,7 @@ public final class NvgImageReferenceManager {
     Integer imageRef = 0;
     if (image != null) {
       Class<I> aClass = (Class<I>) image.getClass();
-      if (imageReferenceProviders.containsKey(aClass)) {
+      if (IMAGE_REFERENCE_PROVIDERS.containsKey(aClass)) {
         imageRef = getImageReferenceProvider(aClass).apply(image, context);
       }
     }
@@ -107,10 +156,13 @@ public final class NvgImageReferenceManager {
   }
 
   /**
-   * Used to destroy image reference manager.
+   * Used to destroy image reference manager. Drops all cached references, nanovg images are
+   * deleted together with nanovg context.
    */
   public void destroy() {
-    cleanup.shutdown();
+    imageCache.invalidateAll();
+    imagesToRemove.clear();
+    imageAssociationMap.clear();
   }
 
   public Cache<String, Integer> getImageCache() {
@@ -10,6 +10,7 @@ import static org.lwjgl.nanovg.NanoVG.nvgRoundedRectVarying;
 import com.spinyowl.legui.image.Image;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.renderer.ImageRenderer;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgScratch;
 import java.util.Map;
 import org.joml.Vector2fc;
 import org.joml.Vector4f;
@@ -62,18 +63,17 @@ public abstract class NvgImageRenderer<I extends Image> extends ImageRenderer<I>
    */
   protected void renderImage(int imageRef, Vector2fc position, Vector2fc size,
       Map<String, Object> properties, long nanovg) {
-    try (NVGPaint imagePaint = NVGPaint.calloc()) {
-      float x = position.x();
-      float y = position.y();
-      float w = size.x();
-      float h = size.y();
-      Vector4f r = (Vector4f) properties.getOrDefault(C_RADIUS, 0);
+    NVGPaint imagePaint = NvgScratch.getInstance().paint();
+    float x = position.x();
+    float y = position.y();
+    float w = size.x();
+    float h = size.y();
+    Vector4f r = (Vector4f) properties.getOrDefault(C_RADIUS, 0);
 
-      nvgBeginPath(nanovg);
-      nvgImagePattern(nanovg, x, y, w, h, 0, imageRef, 1, imagePaint);
-      nvgRoundedRectVarying(nanovg, x, y, w, h, r.x, r.y, r.z, r.w);
-      nvgFillPaint(nanovg, imagePaint);
-      nvgFill(nanovg);
-    }
+    nvgBeginPath(nanovg);
+    nvgImagePattern(nanovg, x, y, w, h, 0, imageRef, 1, imagePaint);
+    nvgRoundedRectVarying(nanovg, x, y, w, h, r.x, r.y, r.z, r.w);
+    nvgFillPaint(nanovg, imagePaint);
+    nvgFill(nanovg);
   }
 }
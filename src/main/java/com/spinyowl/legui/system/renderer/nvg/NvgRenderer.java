@@ -4,14 +4,20 @@ import static org.lwjgl.nanovg.NanoVG.nvgBeginFrame;
 import static org.lwjgl.nanovg.NanoVG.nvgCreateFontMem;
 import static org.lwjgl.nanovg.NanoVG.nvgEndFrame;
 import static org.lwjgl.opengl.GL11.GL_BLEND;
+import static org.lwjgl.opengl.GL11.GL_COLOR_BUFFER_BIT;
 import static org.lwjgl.opengl.GL11.GL_DEPTH_TEST;
 import static org.lwjgl.opengl.GL11.GL_ONE_MINUS_SRC_ALPHA;
+import static org.lwjgl.opengl.GL11.GL_SCISSOR_TEST;
 import static org.lwjgl.opengl.GL11.GL_SRC_ALPHA;
+import static org.lwjgl.opengl.GL11.GL_STENCIL_BUFFER_BIT;
 import static org.lwjgl.opengl.GL11.glBlendFunc;
+import static org.lwjgl.opengl.GL11.glClear;
 import static org.lwjgl.opengl.GL11.glDisable;
 import static org.lwjgl.opengl.GL11.glEnable;
 import static org.lwjgl.opengl.GL11.glGetInteger;
+import static org.lwjgl.opengl.GL11.glScissor;
 
+import com.spinyowl.legui.component.CachedPanel;
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.icon.Icon;
 import com.spinyowl.legui.image.Image;
@@ -22,12 +28,18 @@ import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.renderer.AbstractRenderer;
 import com.spinyowl.legui.system.renderer.BorderRenderer;
 import com.spinyowl.legui.system.renderer.ComponentRenderer;
+import com.spinyowl.legui.system.renderer.InvalidationTracker;
 import com.spinyowl.legui.system.renderer.RendererProvider;
+import com.spinyowl.legui.system.renderer.nvg.component.NvgCachedPanelRenderer;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgScratch;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgTextMetricsCache;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import org.joml.Vector2fc;
 import org.joml.Vector2i;
+import org.joml.Vector4f;
 import org.lwjgl.nanovg.NanoVGGL2;
 import org.lwjgl.nanovg.NanoVGGL3;
 import org.lwjgl.opengl.GL30;
@@ -37,9 +49,13 @@ public class NvgRenderer extends AbstractRenderer {
 
   public static final String NVG_CONTEXT = "NVG_CONTEXT";
   public static final String IMAGE_REFERENCE_MANAGER = "IMAGE_REFERENCE_MANAGER";
-  private final NvgImageReferenceManager imageReferenceManager = NvgImageReferenceManager.getInstance();
+  public static final String TEXT_METRICS_CACHE = "TEXT_METRICS_CACHE";
+  private final NvgImageReferenceManager imageReferenceManager;
+  private final NvgScratch scratch = new NvgScratch();
+  private final NvgTextMetricsCache textMetricsCache = new NvgTextMetricsCache();
   private final boolean antialiasingEnabled;
   protected Map<String, Font> loadedFonts = new ConcurrentHashMap<>();
+  private final Vector4f redrawArea = new Vector4f();
   private long nvgContext;
   private boolean isVersionNew;
 
@@ -49,7 +65,21 @@ public class NvgRenderer extends AbstractRenderer {
    * @param antialiasingEnabled if antialiasing shoould be enabled
    */
   public NvgRenderer(boolean antialiasingEnabled) {
+    this(antialiasingEnabled, NvgImageReferenceManager.getInstance());
+  }
+
+  /**
+   * Allows to create nvg renderer with own image reference manager. Should be used if several
+   * renderers (nanovg contexts) are used, since image references are not shared between nanovg
+   * contexts.
+   *
+   * @param antialiasingEnabled   if antialiasing should be enabled
+   * @param imageReferenceManager image reference manager of this renderer
+   */
+  public NvgRenderer(boolean antialiasingEnabled,
+      NvgImageReferenceManager imageReferenceManager) {
     this.antialiasingEnabled = antialiasingEnabled;
+    this.imageReferenceManager = Objects.requireNonNull(imageReferenceManager);
   }
 
   /**
@@ -120,6 +150,15 @@ public class NvgRenderer extends AbstractRenderer {
     }
   }
 
+  /**
+   * Returns text metrics cache of this renderer. Could be used to check cache statistics.
+   *
+   * @return text metrics cache.
+   */
+  public NvgTextMetricsCache getTextMetricsCache() {
+    return textMetricsCache;
+  }
+
   @Override
   public void initialize() {
     isVersionNew =
@@ -146,26 +185,55 @@ public class NvgRenderer extends AbstractRenderer {
       if (loadedFonts.get(fontName) == null || !loadedFonts.get(fontName).equals(font)) {
         nvgCreateFontMem(nvgContext, fontName, fontDataEntry.getValue().getData(), 0);
         loadedFonts.put(fontName, font);
+        textMetricsCache.clear();
       }
     }
   }
 
   @Override
   protected void preRender(Context context) {
+    NvgImageReferenceManager.bind(imageReferenceManager);
+    NvgScratch.bind(scratch);
     loadFontsToNvg();
     context.getContextData().put(NVG_CONTEXT, nvgContext);
+    context.getContextData().put(TEXT_METRICS_CACHE, textMetricsCache);
 
     glDisable(GL_DEPTH_TEST);
     glEnable(GL_BLEND);
     glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
 
     Vector2i windowSize = context.getWindowSize();
+    InvalidationTracker tracker = getInvalidationTracker();
+    if (isPartialRedrawEnabled() && !tracker.isFullDamage()) {
+      clearRedrawArea(tracker.getRedrawArea(redrawArea), windowSize, context.getPixelRatio());
+      NvgRenderUtils.setBaseScissor(redrawArea);
+    }
     nvgBeginFrame(nvgContext, windowSize.x, windowSize.y, context.getPixelRatio());
+    NvgRenderUtils.resetScissor(nvgContext);
+  }
+
+  /**
+   * Used to clear damaged area of framebuffer with current clear color.
+   *
+   * @param area       area to clear (in window coordinates).
+   * @param windowSize window size.
+   * @param pixelRatio pixel ratio.
+   */
+  private void clearRedrawArea(Vector4f area, Vector2i windowSize, float pixelRatio) {
+    int x = (int) Math.floor(area.x * pixelRatio);
+    int y = (int) Math.floor((windowSize.y - area.y - area.w) * pixelRatio);
+    int w = (int) Math.ceil(area.z * pixelRatio) + 1;
+    int h = (int) Math.ceil(area.w * pixelRatio) + 1;
+    glEnable(GL_SCISSOR_TEST);
+    glScissor(x, y, w, h);
+    glClear(GL_COLOR_BUFFER_BIT | GL_STENCIL_BUFFER_BIT);
+    glDisable(GL_SCISSOR_TEST);
   }
 
   @Override
   protected void postRender(Context context) {
     nvgEndFrame(nvgContext);
+    NvgRenderUtils.setBaseScissor(null);
 
     glDisable(GL_BLEND);
     glEnable(GL_DEPTH_TEST);
@@ -173,10 +241,19 @@ public class NvgRenderer extends AbstractRenderer {
     imageReferenceManager.removeOldImages(nvgContext);
     context.getContextData().remove(NVG_CONTEXT);
     context.getContextData().remove(IMAGE_REFERENCE_MANAGER);
+    context.getContextData().remove(TEXT_METRICS_CACHE);
+    NvgImageReferenceManager.bind(null);
+    NvgScratch.bind(null);
   }
 
   @Override
   public void destroy() {
+    // framebuffers of cached panels are owned by this context and should be deleted before it.
+    ComponentRenderer cachedPanelRenderer =
+        RendererProvider.getInstance().getComponentRenderer(CachedPanel.class);
+    if (cachedPanelRenderer instanceof NvgCachedPanelRenderer) {
+      ((NvgCachedPanelRenderer) cachedPanelRenderer).releaseCaches(nvgContext);
+    }
     if (isVersionNew) {
       NanoVGGL3.nnvgDelete(nvgContext);
     } else {
@@ -184,5 +261,6 @@ public class NvgRenderer extends AbstractRenderer {
     }
     RendererProvider.getInstance().getComponentRenderers().forEach(ComponentRenderer::destroy);
     imageReferenceManager.destroy();
+    scratch.free();
   }
 }
@@ -1,10 +1,12 @@
 package com.spinyowl.legui.system.renderer.nvg;
 
 import com.spinyowl.legui.component.Button;
+import com.spinyowl.legui.component.CachedPanel;
 import com.spinyowl.legui.component.CheckBox;
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.ImageView;
 import com.spinyowl.legui.component.Label;
+import com.spinyowl.legui.component.LogView;
 import com.spinyowl.legui.component.PasswordInput;
 import com.spinyowl.legui.component.ProgressBar;
 import com.spinyowl.legui.component.RadioButton;
@@ -31,10 +33,12 @@ import com.spinyowl.legui.system.renderer.RendererProvider;
 import com.spinyowl.legui.system.renderer.nvg.border.NvgDefaultBorderRenderer;
 import com.spinyowl.legui.system.renderer.nvg.border.NvgSimpleLineBorderRenderer;
 import com.spinyowl.legui.system.renderer.nvg.component.NvgButtonRenderer;
+import com.spinyowl.legui.system.renderer.nvg.component.NvgCachedPanelRenderer;
 import com.spinyowl.legui.system.renderer.nvg.component.NvgCheckBoxRenderer;
 import com.spinyowl.legui.system.renderer.nvg.component.NvgDefaultComponentRenderer;
 import com.spinyowl.legui.system.renderer.nvg.component.NvgImageViewRenderer;
 import com.spinyowl.legui.system.renderer.nvg.component.NvgLabelRenderer;
+import com.spinyowl.legui.system.renderer.nvg.component.NvgLogViewRenderer;
 import com.spinyowl.legui.system.renderer.nvg.component.NvgPasswordInputRenderer;
 import com.spinyowl.legui.system.renderer.nvg.component.NvgProgressBarRenderer;
 import com.spinyowl.legui.system.renderer.nvg.component.NvgRadioButtonRenderer;
@@ -51,24 +55,23 @@ import com.spinyowl.legui.system.renderer.nvg.image.NvgBufferedImageRGBARenderer
 import com.spinyowl.legui.system.renderer.nvg.image.NvgDefaultImageRenderer;
 import com.spinyowl.legui.system.renderer.nvg.image.NvgFBOImageRenderer;
 import com.spinyowl.legui.system.renderer.nvg.image.NvgStbBackedLoadableImageRenderer;
+import com.spinyowl.legui.util.ClassHierarchyMap;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 
 public class NvgRendererProvider implements RendererProvider {
 
-  private final Map<Class<? extends Component>, ComponentRenderer<? extends Component>> componentRendererMap = new ConcurrentHashMap<>();
-  private final Map<Class<? extends Border>, BorderRenderer<? extends Border>> borderRendererMap = new ConcurrentHashMap<>();
-  private final Map<Class<? extends Icon>, IconRenderer<? extends Icon>> iconRendererMap = new ConcurrentHashMap<>();
-  private final Map<Class<? extends Image>, ImageRenderer<? extends Image>> imageRendererMap = new ConcurrentHashMap<>();
-
   private final NvgComponentRenderer defaultComponentRenderer = new NvgDefaultComponentRenderer();
   private final NvgBorderRenderer defaultBorderRenderer = new NvgDefaultBorderRenderer();
   private final NvgIconRenderer defaultIconRenderer = new NvgDefaultIconRenderer();
   private final NvgImageRenderer defaultImageRenderer = new NvgDefaultImageRenderer();
 
+  private final ClassHierarchyMap<ComponentRenderer<? extends Component>> componentRendererMap = new ClassHierarchyMap<>(defaultComponentRenderer);
+  private final ClassHierarchyMap<BorderRenderer<? extends Border>> borderRendererMap = new ClassHierarchyMap<>(defaultBorderRenderer);
+  private final ClassHierarchyMap<IconRenderer<? extends Icon>> iconRendererMap = new ClassHierarchyMap<>(defaultIconRenderer);
+  private final ClassHierarchyMap<ImageRenderer<? extends Image>> imageRendererMap = new ClassHierarchyMap<>(defaultImageRenderer);
+
   private NvgRendererProvider() {
 
     // register component renderers
@@ -77,6 +80,7 @@ public class NvgRendererProvider implements RendererProvider {
     componentRendererMap.put(ImageView.class, new NvgImageViewRenderer());
     componentRendererMap.put(CheckBox.class, new NvgCheckBoxRenderer());
     componentRendererMap.put(Label.class, new NvgLabelRenderer());
+    componentRendererMap.put(LogView.class, new NvgLogViewRenderer());
     componentRendererMap.put(ProgressBar.class, new NvgProgressBarRenderer());
     componentRendererMap.put(RadioButton.class, new NvgRadioButtonRenderer());
     componentRendererMap.put(ScrollBar.class, new NvgScrollBarRenderer());
@@ -85,6 +89,7 @@ public class NvgRendererProvider implements RendererProvider {
     componentRendererMap.put(TextInput.class, new NvgTextInputRenderer());
     componentRendererMap.put(PasswordInput.class, new NvgPasswordInputRenderer());
     componentRendererMap.put(Tooltip.class, new NvgTooltipRenderer());
+    componentRendererMap.put(CachedPanel.class, new NvgCachedPanelRenderer());
 
     // register border renderers
     borderRendererMap.put(SimpleLineBorder.class, new NvgSimpleLineBorderRenderer());
@@ -105,42 +110,22 @@ public class NvgRendererProvider implements RendererProvider {
 
   @Override
   public <C extends Component> ComponentRenderer<C> getComponentRenderer(Class<C> componentClass) {
-    return this.<C, ComponentRenderer<C>>cycledSearchOfRenderer(componentClass,
-        componentRendererMap, defaultComponentRenderer);
+    return (ComponentRenderer<C>) componentRendererMap.get(componentClass);
   }
 
   @Override
   public <B extends Border> BorderRenderer<B> getBorderRenderer(Class<B> borderClass) {
-    return this.<B, BorderRenderer<B>>cycledSearchOfRenderer(borderClass, borderRendererMap,
-        defaultBorderRenderer);
+    return (BorderRenderer<B>) borderRendererMap.get(borderClass);
   }
 
   @Override
   public <C extends Icon> IconRenderer getIconRenderer(Class<C> iconClass) {
-    return this.<C, IconRenderer<C>>cycledSearchOfRenderer(iconClass, iconRendererMap,
-        defaultIconRenderer);
+    return iconRendererMap.get(iconClass);
   }
 
   @Override
   public <I extends Image> ImageRenderer getImageRenderer(Class<I> imageClass) {
-    return this.<I, ImageRenderer<I>>cycledSearchOfRenderer(imageClass, imageRendererMap,
-        defaultImageRenderer);
-  }
-
-  private <C, R> R cycledSearchOfRenderer(Class<C> componentClass, Map map, R defaultRenderer) {
-    R renderer = null;
-    Class cClass = componentClass;
-    while (renderer == null) {
-      renderer = (R) map.get(cClass);
-      if (cClass.isAssignableFrom(Component.class)) {
-        break;
-      }
-      cClass = cClass.getSuperclass();
-    }
-    if (renderer == null) {
-      renderer = defaultRenderer;
-    }
-    return renderer;
+    return imageRendererMap.get(imageClass);
   }
 
   public <I extends Component, R extends NvgComponentRenderer<I>> void putComponentRenderer(
@@ -1,6 +1,5 @@
 package com.spinyowl.legui.system.renderer.nvg.component;
 
-import static com.spinyowl.legui.style.util.StyleUtilities.getStyle;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.calculateTextBoundsRect;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createScissor;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.resetScissor;
@@ -13,9 +12,9 @@ import com.spinyowl.legui.component.optional.TextState;
 import com.spinyowl.legui.component.optional.align.HorizontalAlign;
 import com.spinyowl.legui.component.optional.align.VerticalAlign;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
-import com.spinyowl.legui.style.Style;
-import com.spinyowl.legui.style.font.FontRegistry;
+import com.spinyowl.legui.style.ResolvedStyle;
 import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgTextMetricsCache;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
 
@@ -32,20 +31,21 @@ public class NvgButtonRenderer extends NvgDefaultComponentRenderer<Button> {
       TextState textState = component.getTextState();
       Vector4f rect = new Vector4f(pos, size.x(), size.y());
 
-      Float fontSize = getStyle(component, Style::getFontSize, 16F);
+      ResolvedStyle resolvedStyle = component.getResolvedStyle();
+      float fontSize = resolvedStyle.getFontSize();
 
-      HorizontalAlign hAlign = getStyle(component, Style::getHorizontalAlign, HorizontalAlign.LEFT);
-      VerticalAlign vAlign = getStyle(component, Style::getVerticalAlign, VerticalAlign.MIDDLE);
+      HorizontalAlign hAlign = resolvedStyle.getHorizontalAlign();
+      VerticalAlign vAlign = resolvedStyle.getVerticalAlign();
 
-      float[] textBounds =
-          calculateTextBoundsRect(nanovg, rect, textState.getText(), hAlign, vAlign, fontSize);
+      float[] textBounds = calculateTextBoundsRect(nanovg, rect, textState.getText(),
+          resolvedStyle.getFont(), hAlign, vAlign, fontSize,
+          NvgTextMetricsCache.getInstance(context));
       float textWidth = textState.getTextWidth();
 
       if (Math.abs(textWidth - textBounds[2]) > 0.001) {
-        EventProcessorProvider.getInstance()
-            .pushEvent(
-                new ButtonWidthChangeEvent(
-                    component, context, component.getFrame(), textBounds[2]));
+        EventProcessorProvider.pushEvent(
+            new ButtonWidthChangeEvent(
+                component, context, component.getFrame(), textBounds[2]));
       }
 
       pos = component.getAbsolutePosition();
@@ -57,7 +57,6 @@ public class NvgButtonRenderer extends NvgDefaultComponentRenderer<Button> {
       nvgIntersectScissor(nanovg, pos.x, pos.y, size.x, size.y);
       textState = component.getTextState();
       rect = new Vector4f(pos, size.x(), size.y());
-      fontSize = getStyle(component, Style::getFontSize, 16F);
 
       textState.setTextWidth(textBounds[2]);
       textState.setTextHeight(fontSize);
@@ -68,12 +67,12 @@ public class NvgButtonRenderer extends NvgDefaultComponentRenderer<Button> {
           nanovg,
           rect,
           true,
-          getStyle(component, Style::getHorizontalAlign, HorizontalAlign.LEFT),
-          getStyle(component, Style::getVerticalAlign, VerticalAlign.MIDDLE),
+          resolvedStyle.getHorizontalAlign(),
+          resolvedStyle.getVerticalAlign(),
           fontSize,
-          getStyle(component, Style::getFont, FontRegistry.getDefaultFont()),
+          resolvedStyle.getFont(),
           textState.getText(),
-          getStyle(component, Style::getTextColor),
+          resolvedStyle.getTextColor(),
           component.getTextDirection());
     }
     resetScissor(nanovg);
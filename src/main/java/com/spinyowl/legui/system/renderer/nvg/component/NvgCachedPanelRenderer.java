@@ -0,0 +1,360 @@
+package com.spinyowl.legui.system.renderer.nvg.component;
+
+import static com.spinyowl.legui.system.renderer.ImageRenderer.C_RADIUS;
+import static com.spinyowl.legui.system.renderer.nvg.NvgRenderer.renderImage;
+import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createScissor;
+import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.getBorderRadius;
+import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.resetScissor;
+import static org.lwjgl.nanovg.NanoVG.nvgBeginFrame;
+import static org.lwjgl.nanovg.NanoVG.nvgEndFrame;
+import static org.lwjgl.nanovg.NanoVG.nvgScale;
+import static org.lwjgl.nanovg.NanoVG.nvgTranslate;
+import static org.lwjgl.opengl.GL30.GL_CLAMP_TO_EDGE;
+import static org.lwjgl.opengl.GL30.GL_COLOR_ATTACHMENT0;
+import static org.lwjgl.opengl.GL30.GL_COLOR_BUFFER_BIT;
+import static org.lwjgl.opengl.GL30.GL_COLOR_CLEAR_VALUE;
+import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER;
+import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER_BINDING;
+import static org.lwjgl.opengl.GL30.GL_LINEAR;
+import static org.lwjgl.opengl.GL30.GL_RENDERBUFFER;
+import static org.lwjgl.opengl.GL30.GL_RGBA;
+import static org.lwjgl.opengl.GL30.GL_STENCIL_ATTACHMENT;
+import static org.lwjgl.opengl.GL30.GL_STENCIL_BUFFER_BIT;
+import static org.lwjgl.opengl.GL30.GL_STENCIL_INDEX8;
+import static org.lwjgl.opengl.GL30.GL_TEXTURE_2D;
+import static org.lwjgl.opengl.GL30.GL_TEXTURE_MAG_FILTER;
+import static org.lwjgl.opengl.GL30.GL_TEXTURE_MIN_FILTER;
+import static org.lwjgl.opengl.GL30.GL_TEXTURE_WRAP_S;
+import static org.lwjgl.opengl.GL30.GL_TEXTURE_WRAP_T;
+import static org.lwjgl.opengl.GL30.GL_UNSIGNED_BYTE;
+import static org.lwjgl.opengl.GL30.GL_VIEWPORT;
+import static org.lwjgl.opengl.GL30.glBindFramebuffer;
+import static org.lwjgl.opengl.GL30.glBindRenderbuffer;
+import static org.lwjgl.opengl.GL30.glBindTexture;
+import static org.lwjgl.opengl.GL30.glClear;
+import static org.lwjgl.opengl.GL30.glClearColor;
+import static org.lwjgl.opengl.GL30.glDeleteFramebuffers;
+import static org.lwjgl.opengl.GL30.glDeleteRenderbuffers;
+import static org.lwjgl.opengl.GL30.glDeleteTextures;
+import static org.lwjgl.opengl.GL30.glFramebufferRenderbuffer;
+import static org.lwjgl.opengl.GL30.glFramebufferTexture2D;
+import static org.lwjgl.opengl.GL30.glGenFramebuffers;
+import static org.lwjgl.opengl.GL30.glGenRenderbuffers;
+import static org.lwjgl.opengl.GL30.glGenTextures;
+import static org.lwjgl.opengl.GL30.glGetFloatv;
+import static org.lwjgl.opengl.GL30.glGetInteger;
+import static org.lwjgl.opengl.GL30.glGetIntegerv;
+import static org.lwjgl.opengl.GL30.glRenderbufferStorage;
+import static org.lwjgl.opengl.GL30.glTexImage2D;
+import static org.lwjgl.opengl.GL30.glTexParameteri;
+import static org.lwjgl.opengl.GL30.glViewport;
+
+import com.spinyowl.legui.component.CachedPanel;
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.image.FBOImage;
+import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.renderer.InvalidationTracker;
+import com.spinyowl.legui.system.renderer.nvg.image.NvgFBOImageRenderer;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.joml.Vector2f;
+import org.joml.Vector2i;
+import org.joml.Vector4f;
+
+/**
+ * Renderer for {@link CachedPanel}. Renders panel background and child components to offscreen
+ * framebuffer and draws resulting texture as {@link FBOImage} until panel content is changed.
+ * <p>
+ * Shadow and border of panel are rendered directly, cause they could be rendered outside of panel
+ * bounds. Cached panels placed inside other cached panel are rendered as regular panels to texture
+ * of outer panel.
+ * <p>
+ * Renderer is shared by all contexts, so state of texture pass is stored in context data and
+ * framebuffers are owned by nanovg context which created them: they are deleted only while that
+ * context is rendered (see {@link #releaseCaches(long)}).
+ */
+public class NvgCachedPanelRenderer extends NvgDefaultComponentRenderer<CachedPanel> {
+
+  private static final String RENDER_CACHE = "NVG_RENDER_CACHE";
+  /**
+   * Context data key which is set while panel is rendered to texture.
+   */
+  private static final String TEXTURE_PASS = "NVG_CACHED_PANEL_TEXTURE_PASS";
+
+  /**
+   * Queue of caches which panels were garbage collected.
+   */
+  private final ReferenceQueue<CachedPanel> releasedPanels = new ReferenceQueue<>();
+  /**
+   * All created caches. Used to keep references reachable and to release resources on destroy.
+   */
+  private final Set<RenderCache> caches = ConcurrentHashMap.newKeySet();
+  /**
+   * Caches which should be released by nanovg context that owns them.
+   */
+  private final Map<Long, Queue<RenderCache>> pendingReleases = new ConcurrentHashMap<>();
+
+  @Override
+  protected void renderComponent(CachedPanel panel, Context context, long nanovg) {
+    releaseUnusedCaches(nanovg);
+    if (!panel.isCacheEnabled() || context.getContextData().containsKey(TEXTURE_PASS)) {
+      super.renderComponent(panel, context, nanovg);
+      return;
+    }
+    if (!panel.isVisible() || panel.getSize().lengthSquared() <= 0.01) {
+      return;
+    }
+
+    float pixelRatio = context.getPixelRatio();
+    Vector2f size = panel.getSize();
+    int width = (int) Math.ceil(size.x * pixelRatio);
+    int height = (int) Math.ceil(size.y * pixelRatio);
+
+    RenderCache cache = getRenderCache(panel, nanovg);
+    boolean changed = cache.tracker.update(panel);
+    cache.tracker.reset();
+    if (changed || cache.image == null
+        || cache.image.getWidth() != width || cache.image.getHeight() != height) {
+      panel.registerCacheMiss();
+      renderToTexture(panel, context, nanovg, cache, width, height);
+    } else {
+      panel.registerCacheHit();
+    }
+
+    Vector2f position = panel.getAbsolutePosition();
+    cache.imageSize.set(width / pixelRatio, height / pixelRatio);
+    createScissor(nanovg, panel);
+    {
+      NvgRenderUtils.renderShadow(nanovg, panel);
+      cache.imageProperties.put(C_RADIUS, getBorderRadius(panel));
+      renderImage(cache.image, position, cache.imageSize, cache.imageProperties, context);
+    }
+    resetScissor(nanovg);
+    renderBorder(panel, context, nanovg);
+  }
+
+  /**
+   * Used to render panel background and child components to texture of cache. Current nanovg frame
+   * is finished before rendering to texture and started again after.
+   *
+   * @param panel   panel to render.
+   * @param context context.
+   * @param nanovg  nanovg context pointer.
+   * @param cache   render cache of panel.
+   * @param width   texture width.
+   * @param height  texture height.
+   */
+  private void renderToTexture(CachedPanel panel, Context context, long nanovg, RenderCache cache,
+      int width, int height) {
+    nvgEndFrame(nanovg);
+
+    int[] viewport = cache.viewport;
+    float[] clearColor = cache.clearColor;
+    glGetIntegerv(GL_VIEWPORT, viewport);
+    glGetFloatv(GL_COLOR_CLEAR_VALUE, clearColor);
+    int framebuffer = glGetInteger(GL_FRAMEBUFFER_BINDING);
+
+    cache.prepare(width, height, nanovg);
+    glBindFramebuffer(GL_FRAMEBUFFER, cache.framebuffer);
+    glViewport(0, 0, width, height);
+    glClearColor(0, 0, 0, 0);
+    glClear(GL_COLOR_BUFFER_BIT | GL_STENCIL_BUFFER_BIT);
+
+    float pixelRatio = context.getPixelRatio();
+    float w = width / pixelRatio;
+    float h = height / pixelRatio;
+    Vector2f position = panel.getAbsolutePosition();
+    Vector4f baseScissor = NvgRenderUtils.getBaseScissor();
+    Component scissorRoot = NvgRenderUtils.getScissorRoot();
+    NvgRenderUtils.setBaseScissor(cache.scissor.set(position.x, position.y, w, h));
+    NvgRenderUtils.setScissorRoot(panel);
+    Map<String, Object> contextData = context.getContextData();
+    contextData.put(TEXTURE_PASS, panel);
+    try {
+      nvgBeginFrame(nanovg, w, h, pixelRatio);
+      // texture origin is bottom left corner, so content should be flipped vertically.
+      nvgTranslate(nanovg, 0, h);
+      nvgScale(nanovg, 1, -1);
+      nvgTranslate(nanovg, -position.x, -position.y);
+      resetScissor(nanovg);
+
+      renderBackground(panel, context, nanovg);
+      renderChildComponents(panel, context, nanovg);
+      nvgEndFrame(nanovg);
+    } finally {
+      contextData.remove(TEXTURE_PASS);
+      NvgRenderUtils.setBaseScissor(baseScissor);
+      NvgRenderUtils.setScissorRoot(scissorRoot);
+
+      glBindFramebuffer(GL_FRAMEBUFFER, framebuffer);
+      glViewport(viewport[0], viewport[1], viewport[2], viewport[3]);
+      glClearColor(clearColor[0], clearColor[1], clearColor[2], clearColor[3]);
+
+      Vector2i windowSize = context.getWindowSize();
+      nvgBeginFrame(nanovg, windowSize.x, windowSize.y, pixelRatio);
+    }
+  }
+
+  private RenderCache getRenderCache(CachedPanel panel, long nanovg) {
+    Map<String, Object> metadata = panel.getMetadata();
+    Object cache = metadata.get(RENDER_CACHE);
+    if (cache instanceof RenderCache) {
+      RenderCache renderCache = (RenderCache) cache;
+      if (renderCache.owner == nanovg) {
+        return renderCache;
+      }
+      // panel is rendered by other context, framebuffer of previous one can't be used here.
+      caches.remove(renderCache);
+      scheduleRelease(renderCache);
+    }
+    RenderCache renderCache = new RenderCache(panel, releasedPanels, nanovg);
+    caches.add(renderCache);
+    metadata.put(RENDER_CACHE, renderCache);
+    return renderCache;
+  }
+
+  private void scheduleRelease(RenderCache cache) {
+    pendingReleases.computeIfAbsent(cache.owner, owner -> new ConcurrentLinkedQueue<>()).add(cache);
+  }
+
+  /**
+   * Used to release caches which panels were garbage collected. Caches are released by nanovg
+   * context which owns them, caches of other contexts are released when those contexts are
+   * rendered.
+   *
+   * @param nanovg nanovg context pointer which is rendered.
+   */
+  private void releaseUnusedCaches(long nanovg) {
+    Reference<? extends CachedPanel> reference;
+    while ((reference = releasedPanels.poll()) != null) {
+      RenderCache cache = (RenderCache) reference;
+      caches.remove(cache);
+      scheduleRelease(cache);
+    }
+    Queue<RenderCache> queue = pendingReleases.get(nanovg);
+    if (queue != null) {
+      RenderCache cache;
+      while ((cache = queue.poll()) != null) {
+        cache.release(nanovg);
+      }
+    }
+  }
+
+  /**
+   * Used to release all caches owned by nanovg context. Should be called with OpenGL context of
+   * nanovg context current, before nanovg context is deleted.
+   *
+   * @param nanovg nanovg context pointer.
+   */
+  public void releaseCaches(long nanovg) {
+    releaseUnusedCaches(nanovg);
+    pendingReleases.remove(nanovg);
+    for (RenderCache cache : caches) {
+      if (cache.owner == nanovg) {
+        caches.remove(cache);
+        cache.release(nanovg);
+      }
+    }
+  }
+
+  @Override
+  public void destroy() {
+    super.destroy();
+    // caches are released by their contexts (see releaseCaches), framebuffers of contexts which
+    // were not released are deleted together with OpenGL context.
+    caches.clear();
+    pendingReleases.clear();
+  }
+
+  /**
+   * Offscreen framebuffer of cached panel.
+   */
+  private static class RenderCache extends WeakReference<CachedPanel> {
+
+    private final InvalidationTracker tracker = new InvalidationTracker();
+    /**
+     * Nanovg context which owns framebuffer.
+     */
+    private final long owner;
+    private final Vector2f imageSize = new Vector2f();
+    private final Map<String, Object> imageProperties = new HashMap<>();
+    private final Vector4f scissor = new Vector4f();
+    private final int[] viewport = new int[4];
+    private final float[] clearColor = new float[4];
+    private int framebuffer;
+    private int texture;
+    private int stencil;
+    private FBOImage image;
+
+    private RenderCache(CachedPanel panel, ReferenceQueue<CachedPanel> queue, long owner) {
+      super(panel, queue);
+      this.owner = owner;
+    }
+
+    /**
+     * Used to create or resize framebuffer and its attachments.
+     *
+     * @param width  texture width.
+     * @param height texture height.
+     * @param nanovg nanovg context pointer.
+     */
+    private void prepare(int width, int height, long nanovg) {
+      if (framebuffer != 0 && image.getWidth() == width && image.getHeight() == height) {
+        return;
+      }
+      // nanovg image of texture is created with texture size, so it should be created again.
+      NvgFBOImageRenderer.removeImageReference(image, nanovg);
+      if (framebuffer == 0) {
+        framebuffer = glGenFramebuffers();
+        texture = glGenTextures();
+        stencil = glGenRenderbuffers();
+      }
+
+      glBindTexture(GL_TEXTURE_2D, texture);
+      glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, 0);
+      glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
+      glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+      glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+      glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+      glBindTexture(GL_TEXTURE_2D, 0);
+
+      glBindRenderbuffer(GL_RENDERBUFFER, stencil);
+      glRenderbufferStorage(GL_RENDERBUFFER, GL_STENCIL_INDEX8, width, height);
+      glBindRenderbuffer(GL_RENDERBUFFER, 0);
+
+      glBindFramebuffer(GL_FRAMEBUFFER, framebuffer);
+      glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D, texture, 0);
+      glFramebufferRenderbuffer(GL_FRAMEBUFFER, GL_STENCIL_ATTACHMENT, GL_RENDERBUFFER, stencil);
+
+      // nanovg renders colors premultiplied by alpha.
+      image = new FBOImage(texture, width, height, true);
+    }
+
+    /**
+     * Used to delete framebuffer, its attachments and nanovg image of texture. Should be called
+     * by owner context.
+     *
+     * @param nanovg nanovg context pointer.
+     */
+    private void release(long nanovg) {
+      NvgFBOImageRenderer.removeImageReference(image, nanovg);
+      if (framebuffer != 0) {
+        glDeleteFramebuffers(framebuffer);
+        glDeleteRenderbuffers(stencil);
+        glDeleteTextures(texture);
+      }
+      framebuffer = 0;
+      texture = 0;
+      stencil = 0;
+      image = null;
+    }
+  }
+}
@@ -1,18 +1,15 @@
 package com.spinyowl.legui.system.renderer.nvg.component;
 
 import static com.spinyowl.legui.style.util.StyleUtilities.getPadding;
-import static com.spinyowl.legui.style.util.StyleUtilities.getStyle;
 import static com.spinyowl.legui.system.renderer.nvg.NvgRenderer.renderIcon;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createScissor;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.resetScissor;
 
 import com.spinyowl.legui.component.CheckBox;
 import com.spinyowl.legui.component.optional.TextState;
-import com.spinyowl.legui.component.optional.align.HorizontalAlign;
-import com.spinyowl.legui.component.optional.align.VerticalAlign;
 import com.spinyowl.legui.icon.Icon;
+import com.spinyowl.legui.style.ResolvedStyle;
 import com.spinyowl.legui.style.Style;
-import com.spinyowl.legui.style.font.FontRegistry;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgText;
 import org.joml.Vector2f;
@@ -48,13 +45,14 @@ public class NvgCheckBoxRenderer extends NvgDefaultComponentRenderer<CheckBox> {
 
       Vector2fc size1 = new Vector2f(w, h);
       Vector4f rect = new Vector4f(new Vector2f(x, y), size1.x(), size1.y());
+      ResolvedStyle resolvedStyle = checkBox.getResolvedStyle();
       NvgText.drawTextLineToRect(nanovg, rect, true,
-          getStyle(checkBox, Style::getHorizontalAlign, HorizontalAlign.LEFT),
-          getStyle(checkBox, Style::getVerticalAlign, VerticalAlign.MIDDLE),
-          getStyle(checkBox, Style::getFontSize, 16F),
-          getStyle(checkBox, Style::getFont, FontRegistry.getDefaultFont()),
+          resolvedStyle.getHorizontalAlign(),
+          resolvedStyle.getVerticalAlign(),
+          resolvedStyle.getFontSize(),
+          resolvedStyle.getFont(),
           textState.getText(),
-          getStyle(checkBox, Style::getTextColor));
+          resolvedStyle.getTextColor());
       renderIcon(icon, checkBox, context);
     }
     resetScissor(nanovg);
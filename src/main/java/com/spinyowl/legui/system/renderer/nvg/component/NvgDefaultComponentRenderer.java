@@ -1,6 +1,5 @@
 package com.spinyowl.legui.system.renderer.nvg.component;
 
-import static com.spinyowl.legui.style.util.StyleUtilities.getStyle;
 import static com.spinyowl.legui.system.renderer.nvg.NvgRenderer.renderBorderWScissor;
 import static com.spinyowl.legui.system.renderer.nvg.NvgRenderer.renderIcon;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createScissor;
@@ -57,8 +56,8 @@ public class NvgDefaultComponentRenderer<C extends Component> extends NvgCompone
   }
 
   protected void renderBackground(C component, Context context, long nanovg) {
-    Icon bgIcon = getStyle(component, s -> s.getBackground().getIcon());
-    Vector4f bgColor = getStyle(component, s -> s.getBackground().getColor());
+    Icon bgIcon = component.getResolvedStyle().getBackgroundIcon();
+    Vector4f bgColor = component.getResolvedStyle().getBackgroundColor();
     Vector4f cornerRadius = getBorderRadius(component);
 
     NvgRenderUtils.renderShadow(nanovg, component);
@@ -80,7 +79,7 @@ public class NvgDefaultComponentRenderer<C extends Component> extends NvgCompone
    * @param nanovg    nanovg context pointer.
    */
   protected void renderChildComponents(C component, Context context, long nanovg) {
-    for (Component child : component.getChildComponents()) {
+    for (Component child : component.getChildComponentsView()) {
       RendererProvider.getInstance().getComponentRenderer(child.getClass()).render(child, context);
     }
   }
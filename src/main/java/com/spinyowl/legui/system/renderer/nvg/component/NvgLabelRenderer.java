@@ -2,7 +2,6 @@ package com.spinyowl.legui.system.renderer.nvg.component;
 
 import static com.spinyowl.legui.style.util.StyleUtilities.getInnerContentRectangle;
 import static com.spinyowl.legui.style.util.StyleUtilities.getPadding;
-import static com.spinyowl.legui.style.util.StyleUtilities.getStyle;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.calculateTextBoundsRect;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createScissor;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.resetScissor;
@@ -13,10 +12,11 @@ import com.spinyowl.legui.component.optional.TextState;
 import com.spinyowl.legui.component.optional.align.HorizontalAlign;
 import com.spinyowl.legui.component.optional.align.VerticalAlign;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import com.spinyowl.legui.style.ResolvedStyle;
 import com.spinyowl.legui.style.Style;
-import com.spinyowl.legui.style.font.FontRegistry;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgText;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgTextMetricsCache;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
 
@@ -34,19 +34,21 @@ public class NvgLabelRenderer extends NvgDefaultComponentRenderer<Label> {
       Vector4f padding = getPadding(label, style);
       Vector4f rect = getInnerContentRectangle(pos, size, padding);
 
-      Float fontSize = getStyle(label, Style::getFontSize, 16F);
+      ResolvedStyle resolvedStyle = label.getResolvedStyle();
+      float fontSize = resolvedStyle.getFontSize();
 
-      HorizontalAlign hAlign = getStyle(label, Style::getHorizontalAlign, HorizontalAlign.LEFT);
-      VerticalAlign vAlign = getStyle(label, Style::getVerticalAlign, VerticalAlign.MIDDLE);
+      HorizontalAlign hAlign = resolvedStyle.getHorizontalAlign();
+      VerticalAlign vAlign = resolvedStyle.getVerticalAlign();
 
-      float[] textBounds =
-          calculateTextBoundsRect(nanovg, rect, textState.getText(), hAlign, vAlign, fontSize);
+      float[] textBounds = calculateTextBoundsRect(nanovg, rect, textState.getText(),
+          resolvedStyle.getFont(), hAlign, vAlign, fontSize,
+          NvgTextMetricsCache.getInstance(context));
       float textWidth = textState.getTextWidth();
 
       // Calculation of the text size and sending of the sizing event
       if (Math.abs(textWidth - textBounds[2]) > 0.001) {
-        EventProcessorProvider.getInstance()
-            .pushEvent(new LabelWidthChangeEvent(label, context, label.getFrame(), textBounds[2]));
+        EventProcessorProvider.pushEvent(
+            new LabelWidthChangeEvent(label, context, label.getFrame(), textBounds[2]));
       }
 
       // The variables are recovered again because they could have been modified by an event.
@@ -57,9 +59,6 @@ public class NvgLabelRenderer extends NvgDefaultComponentRenderer<Label> {
       textState = label.getTextState();
       padding = getPadding(label, style);
       rect = getInnerContentRectangle(pos, size, padding);
-      fontSize = getStyle(label, Style::getFontSize, 16F);
-      vAlign = getStyle(label, Style::getVerticalAlign, VerticalAlign.MIDDLE);
-      hAlign = getStyle(label, Style::getHorizontalAlign, HorizontalAlign.LEFT);
 
       // Applying the new settings to the text
       textState.setTextWidth(textBounds[2]);
@@ -77,9 +76,9 @@ public class NvgLabelRenderer extends NvgDefaultComponentRenderer<Label> {
           hAlign,
           vAlign,
           fontSize,
-          getStyle(label, Style::getFont, FontRegistry.getDefaultFont()),
+          resolvedStyle.getFont(),
           textState.getText(),
-          getStyle(label, Style::getTextColor),
+          resolvedStyle.getTextColor(),
           label.getTextDirection());
     }
     resetScissor(nanovg);
@@ -0,0 +1,86 @@
+package com.spinyowl.legui.system.renderer.nvg.component;
+
+import static com.spinyowl.legui.style.util.StyleUtilities.getPadding;
+import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.alignTextInBox;
+import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.intersectScissor;
+import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.runWithScissor;
+import static org.lwjgl.nanovg.NanoVG.nnvgText;
+import static org.lwjgl.nanovg.NanoVG.nvgFillColor;
+import static org.lwjgl.nanovg.NanoVG.nvgFindFont;
+import static org.lwjgl.nanovg.NanoVG.nvgFontFace;
+import static org.lwjgl.nanovg.NanoVG.nvgFontSize;
+import static org.lwjgl.system.MemoryUtil.memAddress;
+
+import com.spinyowl.legui.component.LogView;
+import com.spinyowl.legui.component.optional.LogBuffer;
+import com.spinyowl.legui.component.optional.align.HorizontalAlign;
+import com.spinyowl.legui.component.optional.align.VerticalAlign;
+import com.spinyowl.legui.style.ResolvedStyle;
+import com.spinyowl.legui.style.font.FontRegistry;
+import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgScratch;
+import java.nio.ByteBuffer;
+import org.joml.Vector2f;
+import org.joml.Vector4f;
+
+/**
+ * NanoVG log view renderer. Drains appended lines once per frame and renders only lines in visible
+ * part of view, lines are not measured.
+ */
+public class NvgLogViewRenderer extends NvgDefaultComponentRenderer<LogView> {
+
+  @Override
+  public void renderSelf(LogView component, Context context, long nanovg) {
+    runWithScissor(nanovg, component, () -> {
+      renderBackground(component, context, nanovg);
+
+      ResolvedStyle resolvedStyle = component.getResolvedStyle();
+      float fontSize = resolvedStyle.getFontSize();
+      component.update(fontSize);
+
+      LogBuffer logBuffer = component.getLogBuffer();
+      int lineCount = logBuffer.size();
+      if (lineCount == 0 || fontSize <= 0) {
+        return;
+      }
+
+      String font = resolvedStyle.getFont();
+      // switch to default font if font not found in nanovg.
+      if (nvgFindFont(nanovg, font) == -1) {
+        font = FontRegistry.getDefaultFont();
+      }
+
+      Vector2f pos = component.getAbsolutePosition();
+      Vector4f padding = getPadding(component, component.getStyle());
+      Vector2f viewportSize = component.getViewportSize();
+      Vector4f textRect = new Vector4f(pos.x + padding.x, pos.y + padding.y, viewportSize.x,
+          viewportSize.y);
+      intersectScissor(nanovg, new Vector4f(textRect));
+
+      float offset = component.getScrollOffset();
+      int first = Math.max(0, (int) (offset / fontSize));
+      int last = Math.min(lineCount - 1, (int) ((offset + textRect.w) / fontSize));
+
+      NvgScratch scratch = NvgScratch.getInstance();
+      alignTextInBox(nanovg, HorizontalAlign.LEFT, VerticalAlign.TOP);
+      nvgFontFace(nanovg, font);
+      nvgFontSize(nanovg, fontSize);
+      nvgFillColor(nanovg, scratch.color(resolvedStyle.getTextColor()));
+
+      for (int i = first; i <= last; i++) {
+        String line = logBuffer.getLine(i);
+        if (line.isEmpty()) {
+          continue;
+        }
+        ByteBuffer lineBytes = scratch.pushText(line, false);
+        try {
+          long start = memAddress(lineBytes);
+          nnvgText(nanovg, textRect.x, textRect.y + fontSize * i - offset, start,
+              start + lineBytes.remaining());
+        } finally {
+          scratch.popText();
+        }
+      }
+    });
+  }
+}
@@ -3,44 +3,49 @@ package com.spinyowl.legui.system.renderer.nvg.component;
 import static com.spinyowl.legui.style.color.ColorUtil.oppositeBlackOrWhite;
 import static com.spinyowl.legui.style.util.StyleUtilities.getInnerContentRectangle;
 import static com.spinyowl.legui.style.util.StyleUtilities.getPadding;
-import static com.spinyowl.legui.style.util.StyleUtilities.getStyle;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.alignTextInBox;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.calculateTextBoundsRect;
+import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.getGlyphPositions;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.intersectScissor;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.runWithScissor;
+import static org.lwjgl.nanovg.NanoVG.nnvgTextBreakLines;
 import static org.lwjgl.nanovg.NanoVG.nnvgTextGlyphPositions;
 import static org.lwjgl.nanovg.NanoVG.nvgFillColor;
 import static org.lwjgl.nanovg.NanoVG.nvgFindFont;
 import static org.lwjgl.nanovg.NanoVG.nvgFontFace;
 import static org.lwjgl.nanovg.NanoVG.nvgFontSize;
 import static org.lwjgl.system.MemoryUtil.memAddress;
-import static org.lwjgl.system.MemoryUtil.memFree;
-import static org.lwjgl.system.MemoryUtil.memUTF8;
 
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.TextAreaField;
 import com.spinyowl.legui.component.event.textarea.TextAreaFieldHeightChangeEvent;
 import com.spinyowl.legui.component.event.textarea.TextAreaFieldWidthChangeEvent;
+import com.spinyowl.legui.component.optional.GlyphPositions;
+import com.spinyowl.legui.component.optional.TextLineIndex;
 import com.spinyowl.legui.component.optional.TextState;
+import com.spinyowl.legui.component.optional.TextWrapIndex;
 import com.spinyowl.legui.component.optional.align.HorizontalAlign;
 import com.spinyowl.legui.component.optional.align.VerticalAlign;
 import com.spinyowl.legui.input.Mouse;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import com.spinyowl.legui.style.ResolvedStyle;
 import com.spinyowl.legui.style.Style;
 import com.spinyowl.legui.style.font.FontRegistry;
 import com.spinyowl.legui.system.context.Context;
-import com.spinyowl.legui.system.renderer.nvg.util.NvgColorUtil;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgScratch;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgShapes;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgText;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgTextMetricsCache;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
 import org.lwjgl.glfw.GLFW;
-import org.lwjgl.nanovg.NVGColor;
 import org.lwjgl.nanovg.NVGGlyphPosition;
+import org.lwjgl.nanovg.NVGTextRow;
 
 /**
  * NanoVG Text area renderer.
@@ -51,7 +56,12 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
   private static final String TABS = "\t";
   private static final String SPACES = " ";
   private static final char SPACEC = ' ';
-  private static final int MAX_GLYPH_COUNT = 2048;
+  private static final int[] SINGLE_ROW = {0};
+  private static final int MAX_ROW_COUNT = 64;
+  /**
+   * Time which could be spent per frame to wrap lines outside of viewport.
+   */
+  private static final long WRAP_TIME_BUDGET = TimeUnit.MILLISECONDS.toNanos(4);
   private final Vector4f caretColor = new Vector4f(0, 0, 0, 0.5f);
 
   @Override
@@ -76,420 +86,795 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
 
       intersectScissor(nanovg, new Vector4f(textRect));
 
-      renderText(context, nanovg, component, textRect, viewportRect, backgroundColor);
+      // line index, wrap index and glyph cache are updated by event processing thread on text
+      // modification, so they are read and filled holding text state monitor.
+      synchronized (component.getTextState()) {
+        if (component.isWordWrap()) {
+          renderWrappedText(context, nanovg, component, textRect, viewportRect, backgroundColor);
+        } else {
+          renderText(context, nanovg, component, textRect, viewportRect, backgroundColor);
+        }
+      }
     });
   }
 
   private void renderText(Context leguiContext, long context, TextAreaField gui, Vector4f rect,
       Vector4f viewportRect, Vector4f bc) {
 
-    String font = getStyle(gui, Style::getFont, FontRegistry.getDefaultFont());
+    ResolvedStyle resolvedStyle = gui.getResolvedStyle();
+    String font = resolvedStyle.getFont();
     // switch to default font if font not found in nanovg.
     if (nvgFindFont(context, font) == -1) {
       font = FontRegistry.getDefaultFont();
     }
-    try (NVGGlyphPosition.Buffer glyphs = NVGGlyphPosition.calloc(MAX_GLYPH_COUNT)) {
+    NvgTextMetricsCache metricsCache = NvgTextMetricsCache.getInstance(leguiContext);
+
+    TextState textState = gui.getTextState();
+    TextLineIndex lineIndex = textState.getLineIndex();
+    float fontSize = resolvedStyle.getFontSize();
+    HorizontalAlign halign = resolvedStyle.getHorizontalAlign();
+    VerticalAlign valign = resolvedStyle.getVerticalAlign();
+    Vector4f textColor = resolvedStyle.getTextColor();
+    int caretPosition = gui.getCaretPosition();
+    boolean focused = gui.isFocused();
+    int tabSize = gui.getTabSize();
+
+    preinitializeTextRendering(context, font, fontSize, halign, valign, textColor);
+    float spaceWidth = getSpaceWidth(context);
+
+    lineIndex.setWidthFont(font, fontSize, tabSize);
+    int lineCount = lineIndex.getLineCount();
+
+    // calculate caret line and line caret position
+    int caretLine = lineIndex.getLineOfOffset(caretPosition);
+    int lineCaretPosition = caretPosition - lineIndex.getLineStart(caretLine);
+
+    // if not focused set caret line and caret position in line to default
+    if (!focused && gui.isStickToAlignment()) {
+      switch (valign) {
+        case TOP:
+          caretLine = 0;
+          break;
+        case BOTTOM:
+          caretLine = lineCount - 1;
+          break;
+        default:
+          caretLine = lineCount / 2;
+          break;
+      }
+      switch (halign) {
+        case LEFT:
+          lineCaretPosition = (0);
+          break;
+        case RIGHT:
+          lineCaretPosition = lineIndex.getLineLength(caretLine);
+          break;
+        default:
+          lineCaretPosition = lineIndex.getLineLength(caretLine) / 2;
+          break;
+      }
+    }
 
-      TextState textState = gui.getTextState();
-      float fontSize = getStyle(gui, Style::getFontSize, 16F);
-      HorizontalAlign halign = getStyle(gui, Style::getHorizontalAlign, HorizontalAlign.LEFT);
-      VerticalAlign valign = getStyle(gui, Style::getVerticalAlign, VerticalAlign.MIDDLE);
-      Vector4f textColor = getStyle(gui, Style::getTextColor);
-      int caretPosition = gui.getCaretPosition();
-      boolean focused = gui.isFocused();
+    int vp;
+    switch (valign) {
+      case TOP:
+        vp = 0;
+        break;
+      case MIDDLE:
+        vp = 1;
+        break;
+      default:
+        vp = valign == VerticalAlign.BOTTOM ? 2 : 1;
+        break;
+    }
+
+    float voffset =
+        (lineCount - 1) * fontSize * vp * -0.5f + (valign == VerticalAlign.BASELINE ? fontSize
+            / 4f : 0);
+    float caretx;
+    float mouseCaretX = 0;
+    int mouseLineIndex = 0;
+
+    int mouseCaretPositionInLine = 0;
+    Vector2f cursorPosition = Mouse.getCursorPosition();
+    float mouseX = cursorPosition.x;
+    float mouseY = cursorPosition.y;
+
+    // we need to calculate x and y offsets
+    String caretLineText = lineIndex.getLine(caretLine);
+    float[] caretLineBounds = calculateTextBoundsRect(context, rect, caretLineText, font, halign,
+        valign, fontSize, metricsCache);
+
+    // also we need to calculate offset x // caretLine
+    caretx = getCaretx(context, textState, lineIndex.getLineStart(caretLine), lineCaretPosition,
+        caretLineText, caretLineBounds, font, fontSize, spaceWidth, tabSize);
+
+    preinitializeTextRendering(context, font, fontSize, halign, valign, textColor);
+
+    // all lines have same height, so lines in viewport rect are found by line position.
+    int first = 0;
+    int last = lineCount - 1;
+    if (viewportRect != null && fontSize > 0) {
+      float topLineY = caretLineBounds[5] + voffset;
+      // extra line on each side covers difference between bounds of empty and non-empty lines
+      first = Math.max(first, (int) Math.floor(
+          (viewportRect.y - caretLineBounds[7] - topLineY) / fontSize) - 1);
+      last = Math.min(last, (int) Math.floor(
+          (viewportRect.y + viewportRect.w - topLineY) / fontSize) + 1);
+    }
+
+    // calculate bounds only for lines in viewport rect
+    int visibleLineCount = Math.max(0, last - first + 1);
+    String[] lines = new String[visibleLineCount];
+    float[][] bounds = new float[visibleLineCount][];
+    float maxWid = 0f;
+    for (int i = 0; i < visibleLineCount; i++) {
+      lines[i] = lineIndex.getLine(first + i);
+      bounds[i] = calculateLineBounds(context, rect, lineIndex, first + i, lines[i], font,
+          fontSize, halign, valign, spaceWidth, tabSize, metricsCache);
+      maxWid = Math.max(maxWid, bounds[i][6]);
+    }
 
-      int caretLine = 0;
+    // calculate max width: longest line is measured (if not cached) for lines out of viewport,
+    // widest line could be other than longest one.
+    if (viewportRect != null) {
+      maxWid = Math.max(maxWid, getLineWidth(context, rect, lineIndex,
+          lineIndex.getLongestLine(), font, fontSize, halign, valign, spaceWidth, tabSize,
+          metricsCache));
+      maxWid = Math.max(maxWid, lineIndex.getMaxCachedWidth());
+    }
+
+    float textWidth = textState.getTextWidth();
+    float textHeight = textState.getTextHeight();
+
+    textState.setTextWidth(maxWid);
+    float newTextHeight = lineCount * fontSize;
+    textState.setTextHeight(newTextHeight);
+    textState.setCaretX(caretx);
+    textState.setCaretY(caretLineBounds[5] + voffset + fontSize * caretLine);
+
+    if (Math.abs(textWidth - maxWid) > 0.001) {
+      EventProcessorProvider.pushEvent(
+          new TextAreaFieldWidthChangeEvent(gui, leguiContext, gui.getFrame(), maxWid));
+    }
+
+    if (Math.abs(textHeight - newTextHeight) > 0.001) {
+      EventProcessorProvider.pushEvent(
+          new TextAreaFieldHeightChangeEvent(gui, leguiContext, gui.getFrame(), newTextHeight));
+    }
+
+    // calculate default mouse line index
+    float[] lastLineBounds = visibleLineCount > 0 && last == lineCount - 1
+        ? bounds[visibleLineCount - 1]
+        : calculateTextBoundsRect(context, rect, lineIndex.getLine(lineCount - 1), font, halign,
+            valign, fontSize, metricsCache);
+    float llineY = lastLineBounds[5] - voffset + fontSize * (lineCount - 1);
+    if (mouseY > llineY + fontSize) {
+      mouseLineIndex = lineCount - 1;
+    }
+
+    // calculate caret color based on time
+    if (focused) {
+      oppositeBlackOrWhite(bc, caretColor);
+      caretColor.w = (float) Math.abs(GLFW.glfwGetTime() % 1 * 2 - 1);
+    }
+
+    int startSelectionIndex = gui.getStartSelectionIndex();
+    int endSelectionIndex = gui.getEndSelectionIndex();
+    // swap
+    if (startSelectionIndex > endSelectionIndex) {
+      startSelectionIndex += endSelectionIndex;
+      endSelectionIndex = startSelectionIndex - endSelectionIndex;
+      startSelectionIndex -= endSelectionIndex;
+    }
+
+    int startSelectionLine = lineIndex.getLineOfOffset(startSelectionIndex);
+    int startSelectionIndexInLine =
+        startSelectionIndex - lineIndex.getLineStart(startSelectionLine);
+    int endSelectionLine = lineIndex.getLineOfOffset(endSelectionIndex);
+    int endSelectionIndexInLine = endSelectionIndex - lineIndex.getLineStart(endSelectionLine);
+
+    float startSelectionCaretX = 0;
+    float endSelectionCaretX = 0;
+    if (startSelectionIndex != endSelectionIndex) {
+      String startSelectionLineText = lineIndex.getLine(startSelectionLine);
+      startSelectionCaretX = getCaretx(context, textState,
+          lineIndex.getLineStart(startSelectionLine), startSelectionIndexInLine,
+          startSelectionLineText, calculateTextBoundsRect(context, rect, startSelectionLineText,
+              font, halign, valign, fontSize, metricsCache), font, fontSize, spaceWidth, tabSize);
+      String endSelectionLineText = lineIndex.getLine(endSelectionLine);
+      endSelectionCaretX = getCaretx(context, textState,
+          lineIndex.getLineStart(endSelectionLine), endSelectionIndexInLine,
+          endSelectionLineText, calculateTextBoundsRect(context, rect, endSelectionLineText,
+              font, halign, valign, fontSize, metricsCache), font, fontSize, spaceWidth, tabSize);
+    }
+
+    // render every line of text
+    for (int i = first; i <= last; i++) {
+      String line = lines[i - first];
+      float[] lineBounds = bounds[i - first];
+      float lineX = lineBounds[4];
+      float lineWidth = lineBounds[6];
+      float lineY = lineBounds[5] + voffset + fontSize * i;
+      float lineHeight = lineBounds[7];
+      if (inRect(viewportRect, lineX, lineWidth, lineY, lineHeight)) {
+
+        // calculate mouse caret position
+        if (lineY <= mouseY && lineY + fontSize > mouseY) {
+          if (line.length() == 0) {
+            mouseCaretX = caretx;
+          } else {
+            // glyph positions are required only for line under mouse cursor
+            int lineStart = lineIndex.getLineStart(i);
+            GlyphPositions glyphs = getGlyphPositions(context, textState, font, fontSize,
+                lineStart, lineStart + line.length(), 0, line);
+            int ng = glyphs.getCount();
+            List<Integer> tabIndices = getTabIndices(line);
+            float lineEndX = lineX + glyphs.getMaxX(ng - 1)
+                + spaceWidth * (gui.getTabSize() - 1) * tabIndices.size();
+            if (mouseX <= lineX + glyphs.getX(0)) {
+              mouseCaretPositionInLine = 0;
+              mouseCaretX = lineX + glyphs.getX(0);
+            } else if (mouseX >= lineEndX) {
+              mouseCaretPositionInLine = ng;
+              mouseCaretX = lineEndX;
+              // if window not minimized
+            } else if (!leguiContext.isIconified()) {
+              // binary search mouse caret position
+              int upper = ng;
+              int lower = 0;
+              boolean found = false;
+              do {
+                int index = (upper + lower) / 2;
+                float tabAddition = 0;
+                for (Integer tabIndex : tabIndices) {
+                  if (index > tabIndex) {
+                    tabAddition += spaceWidth * (gui.getTabSize() - 1);
+                  }
+                }
+                float left = lineX + glyphs.getX(index);
+                float right =
+                    lineX + (index >= ng - 1 ? glyphs.getMaxX(ng - 1) : glyphs.getX(index + 1));
+                left += tabAddition;
+                right += tabAddition;
+                if (tabIndices.contains(index)) {
+                  right += spaceWidth * (gui.getTabSize() - 1);
+                }
+
+                float mid = (left + right) / 2f;
+                if (mouseX >= left && mouseX < right) {
+                  found = true;
+                  if (mouseX > mid) {
+                    mouseCaretPositionInLine = index + 1;
+                    mouseCaretX = right;
+                  } else {
+                    mouseCaretPositionInLine = index;
+                    mouseCaretX = left;
+                  }
+                } else if (mouseX >= right) {
+                  if (index != ng) {
+                    lower = index + 1;
+                  } else {
+                    found = true;
+                    mouseCaretPositionInLine = ng;
+                    mouseCaretX = right;
+                  }
+                } else if (mouseX < left) {
+                  if (index != 0) {
+                    upper = index;
+                  } else {
+                    found = true;
+                    mouseCaretPositionInLine = 0;
+                    mouseCaretX = left;
+                  }
+                }
+              } while (!found);
+            }
+          }
 
-      preinitializeTextRendering(context, font, fontSize, halign, valign, textColor);
-      float spaceWidth = getSpaceWidth(context);
+          mouseLineIndex = i;
+          // render mouse caret
+          if (leguiContext.isDebugEnabled()) {
+            NvgShapes.drawRectStroke(context,
+                new Vector4f(mouseCaretX - 1, lineY, 1, lineHeight),
+                new Vector4f(caretColor).div(2), 1);
+          }
+        }
+        if (mouseY >= lastLineBounds[5] + voffset + fontSize * (lineCount - 1) + fontSize) {
+          mouseLineIndex = lineCount - 1;
+          mouseCaretPositionInLine = lineIndex.getLineLength(mouseLineIndex);
+        }
+        // render selection background
+        if (startSelectionIndex != endSelectionIndex && i >= startSelectionLine
+            && i <= endSelectionLine) {
+          float x1 = lineBounds[4];
+          float w = lineBounds[6];
+          float x2 = x1 + w;
+          if (i == startSelectionLine) {
+            x1 = startSelectionCaretX;
+          }
+          if (i == endSelectionLine) {
+            x2 = endSelectionCaretX;
+          }
+          w = x2 - x1;
+          NvgShapes
+              .drawRect(context,
+                  new Vector4f(x1, lineY, w, lineHeight),
+                  resolvedStyle.getHighlightColor());
+        }
 
-      String[] lines = textState.getText().split(NEWLINE, -1);
-      int lineCount = lines.length;
-      int[] lineStartIndeces = new int[lineCount];
-      int caretOffset = 0;
+        // render current line background
+        renderCurrentLineBackground(context, rect, bc, fontSize, focused, caretLine, i, lineY);
 
-      // calculate caret offset for every line
-      for (int i = 0; i < lineCount - 1; i++) {
-        lineStartIndeces[i + 1] = lineStartIndeces[i] + lines[i].length() + 1;
-        if (caretPosition >= lineStartIndeces[i + 1]) {
-          caretOffset = lineStartIndeces[i + 1];
-          caretLine = i + 1;
+        NvgText.drawTextLineToRect(context, new Vector4f(lineX, lineY, lineWidth, lineHeight),
+            false, HorizontalAlign.LEFT, VerticalAlign.MIDDLE,
+            fontSize, font, expandTabs(line, gui.getTabSize()), textColor);
+        if (i == caretLine && focused) {
+          // render caret
+          NvgShapes.drawRectStroke(context, new Vector4f(caretx - 1, lineY, 1, lineHeight),
+              caretColor, 1);
         }
       }
+    }
 
-      // calculate line caret position
-      int lineCaretPosition = caretPosition - caretOffset;
+    gui.setMouseCaretPosition(lineIndex.getLineStart(mouseLineIndex) + mouseCaretPositionInLine);
+  }
 
-      // if not focused set caret line and caret position in line to default
-      if (!focused && gui.isStickToAlignment()) {
-        switch (valign) {
-          case TOP:
-            caretLine = 0;
-            break;
-          case BOTTOM:
-            caretLine = lineCount - 1;
-            break;
-          default:
-            caretLine = lineCount / 2;
-            break;
-        }
-        switch (halign) {
-          case LEFT:
-            lineCaretPosition = (0);
-            break;
-          case RIGHT:
-            lineCaretPosition = lines[caretLine].length();
-            break;
-          default:
-            lineCaretPosition = lines[caretLine].length() / 2;
-            break;
+  /**
+   * Used to render text with soft word wrap. Lines are broken to rows by nanovg and rows are cached
+   * in wrap index of text state, so only modified lines and lines invalidated by width, font or tab
+   * size change are wrapped again. Caret line and lines in viewport are wrapped immediately, other
+   * invalid lines are wrapped within time budget per frame (component is invalidated until all
+   * lines are wrapped).
+   */
+  private void renderWrappedText(Context leguiContext, long context, TextAreaField gui,
+      Vector4f rect, Vector4f viewportRect, Vector4f bc) {
+
+    ResolvedStyle resolvedStyle = gui.getResolvedStyle();
+    String font = resolvedStyle.getFont();
+    // switch to default font if font not found in nanovg.
+    if (nvgFindFont(context, font) == -1) {
+      font = FontRegistry.getDefaultFont();
+    }
+    NvgTextMetricsCache metricsCache = NvgTextMetricsCache.getInstance(leguiContext);
+
+    TextState textState = gui.getTextState();
+    TextLineIndex lineIndex = textState.getLineIndex();
+    TextWrapIndex wrapIndex = lineIndex.getWrapIndex();
+    float fontSize = resolvedStyle.getFontSize();
+    HorizontalAlign halign = resolvedStyle.getHorizontalAlign();
+    VerticalAlign valign = resolvedStyle.getVerticalAlign();
+    Vector4f textColor = resolvedStyle.getTextColor();
+    int caretPosition = gui.getCaretPosition();
+    boolean focused = gui.isFocused();
+    int tabSize = gui.getTabSize();
+
+    preinitializeTextRendering(context, font, fontSize, halign, valign, textColor);
+    float spaceWidth = getSpaceWidth(context);
+    float wrapWidth = Math.max(rect.z, spaceWidth);
+    wrapIndex.setWrapKey(wrapWidth, font, fontSize, tabSize);
+
+    // wrap caret line, then invalid lines within time budget
+    int caretLine = lineIndex.getLineOfOffset(caretPosition);
+    if (!wrapIndex.isValid(caretLine)) {
+      wrapLine(context, lineIndex, wrapIndex, caretLine, wrapWidth, tabSize);
+    }
+    long deadline = System.nanoTime() + WRAP_TIME_BUDGET;
+    for (int line = wrapIndex.nextInvalidLine(0); line != -1 && System.nanoTime() < deadline;
+        line = wrapIndex.nextInvalidLine(line + 1)) {
+      wrapLine(context, lineIndex, wrapIndex, line, wrapWidth, tabSize);
+    }
+
+    int vp;
+    switch (valign) {
+      case TOP:
+        vp = 0;
+        break;
+      case MIDDLE:
+        vp = 1;
+        break;
+      default:
+        vp = valign == VerticalAlign.BOTTOM ? 2 : 1;
+        break;
+    }
+    float rowY = calculateTextBoundsRect(context, rect, "", font, halign, valign, fontSize,
+        metricsCache)[5];
+
+    // all rows have same height, so rows in viewport rect are found by row position. Wrapping of
+    // lines in viewport could change number of rows, so range is checked again after wrapping.
+    int rowCount;
+    float voffset;
+    int first;
+    int last;
+    boolean wrapped;
+    int pass = 0;
+    do {
+      rowCount = wrapIndex.getRowCount();
+      voffset = (rowCount - 1) * fontSize * vp * -0.5f
+          + (valign == VerticalAlign.BASELINE ? fontSize / 4f : 0);
+      first = 0;
+      last = rowCount - 1;
+      if (viewportRect != null && fontSize > 0) {
+        float topRowY = rowY + voffset;
+        // extra row on each side covers difference between bounds of empty and non-empty rows
+        first = Math.max(first, (int) Math.floor(
+            (viewportRect.y - fontSize - topRowY) / fontSize) - 1);
+        last = Math.min(last, (int) Math.floor(
+            (viewportRect.y + viewportRect.w - topRowY) / fontSize) + 1);
+      }
+      wrapped = false;
+      if (first <= last) {
+        for (int line = wrapIndex.getLineOfRow(first), lastLine = wrapIndex.getLineOfRow(last);
+            line <= lastLine; line++) {
+          if (!wrapIndex.isValid(line)) {
+            wrapLine(context, lineIndex, wrapIndex, line, wrapWidth, tabSize);
+            wrapped = true;
+          }
         }
       }
+    } while (wrapped && ++pass < 3);
+    if (wrapIndex.getInvalidLineCount() != 0) {
+      // continue wrapping in next frame: revision of component is changed for cached parents and
+      // context is notified, so waiting main thread is woken up.
+      gui.invalidate();
+      leguiContext.invalidate(gui);
+    }
 
-      int vp;
+    // calculate caret row and caret position in row
+    int caretRow = wrapIndex.getRowOfOffset(caretPosition);
+    int rowCaretPosition = caretPosition - wrapIndex.getRowStart(caretRow);
+    // if not focused set caret row and caret position in row to default
+    if (!focused && gui.isStickToAlignment()) {
       switch (valign) {
         case TOP:
-          vp = 0;
+          caretRow = 0;
           break;
-        case MIDDLE:
-          vp = 1;
+        case BOTTOM:
+          caretRow = rowCount - 1;
           break;
         default:
-          vp = valign == VerticalAlign.BOTTOM ? 2 : 1;
+          caretRow = rowCount / 2;
           break;
       }
+      int rowLength = wrapIndex.getRowEnd(caretRow) - wrapIndex.getRowStart(caretRow);
+      switch (halign) {
+        case LEFT:
+          rowCaretPosition = 0;
+          break;
+        case RIGHT:
+          rowCaretPosition = rowLength;
+          break;
+        default:
+          rowCaretPosition = rowLength / 2;
+          break;
+      }
+    }
 
-      float voffset =
-          (lineCount - 1) * fontSize * vp * -0.5f + (valign == VerticalAlign.BASELINE ? fontSize
-              / 4f : 0);
-      float caretx;
-      float mouseCaretX = 0;
-      int mouseLineIndex = 0;
-
-      int mouseCaretPositionInLine = 0;
-      Vector2f cursorPosition = Mouse.getCursorPosition();
-      float mouseX = cursorPosition.x;
-      float mouseY = cursorPosition.y;
-
-      // we need to calculate x and y offsets
-      String caretLineText = lines[caretLine];
-      float[] caretLineBounds = calculateTextBoundsRect(context, rect, caretLineText, halign,
-          valign, fontSize);
-
-      // also we need to calculate offset x // caretLine
-      caretx = getCaretx(context, lineCaretPosition, caretLineText, caretLineBounds, glyphs,
-          spaceWidth, gui.getTabSize());
-
-      preinitializeTextRendering(context, font, fontSize, halign, valign, textColor);
-
-      float[][] bounds = new float[lineCount][8];
-      float maxWid = 0f;
-
-      // binary search line in view rect
-      int first = 0;
-      int last = lineCount - 1;
-
-      if (viewportRect != null) {
-        int mid = (first + last) / 2;
-
-        // search for any line in viewport rect
-        while (first <= last) {
-          String line = lines[mid];
-          float[] lineBounds = calculateTextBoundsRect(context, rect, line, halign, valign,
-              fontSize);
-          bounds[mid] = lineBounds;
-
-          float lineY = lineBounds[5] + voffset + fontSize * mid;
-          float lineHeight = lineBounds[7];
-
-          if (lineY > viewportRect.y + viewportRect.w) {
-            last = mid - 1;
-          } else if (lineY <= viewportRect.y + viewportRect.w
-              && lineY + lineHeight >= viewportRect.y) {
-            break;
-          } else {
-            first = mid + 1;
-          }
-
-          mid = (first + last) / 2;
-        }
-
-        // search start and end lines in viewport rect and calculate bounds
-        float lineY;
-        float lineHeight;
+    String caretRowText = getRowText(textState, wrapIndex, caretRow);
+    float[] caretRowBounds = calculateRowBounds(context, rect, caretRowText, font, fontSize,
+        halign, valign, spaceWidth, tabSize, metricsCache);
+    float caretx = getCaretx(context, textState, wrapIndex.getRowStart(caretRow),
+        rowCaretPosition, caretRowText, caretRowBounds, font, fontSize, spaceWidth, tabSize);
 
-        for (first = mid - 1; first >= 0; first--) {
-          String line = lines[first];
-          float[] lineBounds = calculateTextBoundsRect(context, rect, line, halign, valign,
-              fontSize);
-          bounds[first] = lineBounds;
+    preinitializeTextRendering(context, font, fontSize, halign, valign, textColor);
 
-          lineY = lineBounds[5] + voffset + fontSize * first;
-          lineHeight = lineBounds[7];
-          if (lineY + lineHeight <= viewportRect.y) {
-            break;
-          }
-        }
-        first++;
+    float textWidth = textState.getTextWidth();
+    float textHeight = textState.getTextHeight();
 
-        for (last = mid + 1; last < lineCount; last++) {
-          String line = lines[last];
-          float[] lineBounds = calculateTextBoundsRect(context, rect, line, halign, valign,
-              fontSize);
-          bounds[last] = lineBounds;
+    float newTextHeight = rowCount * fontSize;
+    textState.setTextWidth(wrapWidth);
+    textState.setTextHeight(newTextHeight);
+    textState.setCaretX(caretx);
+    textState.setCaretY(caretRowBounds[5] + voffset + fontSize * caretRow);
 
-          lineY = lineBounds[5] + voffset + fontSize * last;
-          if (lineY > viewportRect.y + viewportRect.w) {
-            break;
-          }
-        }
-        last--;
-
-        // calculate max width
-        int maxLength = 0;
-        int longestStringIndex = 0;
-        for (int i = 0; i < lines.length; i++) {
-          String s = lines[i];
-          if (s.length() > maxLength) {
-            maxLength = s.length();
-            longestStringIndex = i;
-          }
-        }
-        if (longestStringIndex < first || longestStringIndex > last) {
-          float[] lineBounds = calculateTextBoundsRect(context, rect, lines[longestStringIndex],
-              halign, valign, fontSize);
-          maxWid = lineBounds[2];
-        } else {
-          maxWid = bounds[longestStringIndex][2];
-        }
-      } else {
-        maxWid = calculateLineBoundsAndMaxWidth(context, gui, rect, fontSize, halign, valign,
-            spaceWidth, lines, lineCount, bounds, maxWid);
-      }
+    if (Math.abs(textWidth - wrapWidth) > 0.001) {
+      EventProcessorProvider.pushEvent(
+          new TextAreaFieldWidthChangeEvent(gui, leguiContext, gui.getFrame(), wrapWidth));
+    }
 
-      float textWidth = textState.getTextWidth();
-      float textHeight = textState.getTextHeight();
+    if (Math.abs(textHeight - newTextHeight) > 0.001) {
+      EventProcessorProvider.pushEvent(
+          new TextAreaFieldHeightChangeEvent(gui, leguiContext, gui.getFrame(), newTextHeight));
+    }
 
-      textState.setTextWidth(maxWid);
-      float newTextHeight = (lines.length) * fontSize;
-      textState.setTextHeight(newTextHeight);
-      textState.setCaretX(caretx);
-      textState.setCaretY(caretLineBounds[5] + voffset + fontSize * caretLine);
+    // calculate caret color based on time
+    if (focused) {
+      oppositeBlackOrWhite(bc, caretColor);
+      caretColor.w = (float) Math.abs(GLFW.glfwGetTime() % 1 * 2 - 1);
+    }
 
-      if (Math.abs(textWidth - maxWid) > 0.001) {
-        EventProcessorProvider.getInstance().pushEvent(
-            new TextAreaFieldWidthChangeEvent(gui, leguiContext, gui.getFrame(), maxWid));
-      }
+    int startSelectionIndex = gui.getStartSelectionIndex();
+    int endSelectionIndex = gui.getEndSelectionIndex();
+    // swap
+    if (startSelectionIndex > endSelectionIndex) {
+      startSelectionIndex += endSelectionIndex;
+      endSelectionIndex = startSelectionIndex - endSelectionIndex;
+      startSelectionIndex -= endSelectionIndex;
+    }
 
-      if (Math.abs(textHeight - newTextHeight) > 0.001) {
-        EventProcessorProvider.getInstance().pushEvent(
-            new TextAreaFieldHeightChangeEvent(gui, leguiContext, gui.getFrame(), newTextHeight));
-      }
+    int startSelectionRow = wrapIndex.getRowOfOffset(startSelectionIndex);
+    int endSelectionRow = wrapIndex.getRowOfOffset(endSelectionIndex);
+    float startSelectionCaretX = 0;
+    float endSelectionCaretX = 0;
+    if (startSelectionIndex != endSelectionIndex) {
+      startSelectionCaretX = getRowCaretx(context, textState, wrapIndex, rect, startSelectionRow,
+          startSelectionIndex, font, fontSize, halign, valign, spaceWidth, tabSize, metricsCache);
+      endSelectionCaretX = getRowCaretx(context, textState, wrapIndex, rect, endSelectionRow,
+          endSelectionIndex, font, fontSize, halign, valign, spaceWidth, tabSize, metricsCache);
+    }
 
-      // calculate default mouse line index
-      float llineY = bounds[lineCount - 1][5] - voffset + fontSize * (lineCount - 1);
-      if (mouseY > llineY + fontSize) {
-        mouseLineIndex = lineCount - 1;
+    // calculate mouse caret position
+    Vector2f cursorPosition = Mouse.getCursorPosition();
+    int mouseRow = 0;
+    int mouseCaretPosition = 0;
+    float mouseCaretX = caretx;
+    if (fontSize > 0) {
+      mouseRow = (int) Math.floor((cursorPosition.y - rowY - voffset) / fontSize);
+    }
+    if (mouseRow >= rowCount) {
+      mouseCaretPosition = textState.length();
+      mouseRow = rowCount - 1;
+    } else if (mouseRow >= 0) {
+      int rowStart = wrapIndex.getRowStart(mouseRow);
+      String mouseRowText = getRowText(textState, wrapIndex, mouseRow);
+      float[] mouseRowBounds = calculateRowBounds(context, rect, mouseRowText, font, fontSize,
+          halign, valign, spaceWidth, tabSize, metricsCache);
+      GlyphPositions glyphs = getGlyphPositions(context, textState, font, fontSize, rowStart,
+          rowStart + mouseRowText.length(), 0, mouseRowText);
+      float tabWidth = spaceWidth * (tabSize - 1);
+      int position = leguiContext.isIconified() ? 0 : getCaretPosition(glyphs, mouseRowText,
+          cursorPosition.x - mouseRowBounds[4], tabWidth);
+      // end of row (except last row of line) is start of next row
+      if (position == mouseRowText.length() && position > 0
+          && !wrapIndex.isLastRowOfLine(mouseRow)) {
+        position--;
       }
+      mouseCaretPosition = rowStart + position;
+      mouseCaretX = mouseRowBounds[4] + glyphs.getCaretX(position)
+          + tabWidth * countTabs(mouseRowText, position);
+    } else {
+      mouseRow = 0;
+    }
 
-      // calculate caret color based on time
-      if (focused) {
-        oppositeBlackOrWhite(bc, caretColor);
-        caretColor.w = (float) Math.abs(GLFW.glfwGetTime() % 1 * 2 - 1);
-      }
+    // render rows in viewport
+    for (int row = first; row <= last; row++) {
+      String rowText = getRowText(textState, wrapIndex, row);
+      float[] rowBounds = calculateRowBounds(context, rect, rowText, font, fontSize, halign,
+          valign, spaceWidth, tabSize, metricsCache);
+      float rowX = rowBounds[4];
+      float rowWidth = rowBounds[6];
+      float lineY = rowBounds[5] + voffset + fontSize * row;
+      float rowHeight = rowBounds[7];
+      if (inRect(viewportRect, rowX, rowWidth, lineY, rowHeight)) {
+        // render selection background
+        if (startSelectionIndex != endSelectionIndex && row >= startSelectionRow
+            && row <= endSelectionRow) {
+          float x1 = row == startSelectionRow ? startSelectionCaretX : rowX;
+          float x2 = row == endSelectionRow ? endSelectionCaretX : rowX + rowWidth;
+          NvgShapes.drawRect(context, new Vector4f(x1, lineY, x2 - x1, rowHeight),
+              resolvedStyle.getHighlightColor());
+        }
 
-      int startSelectionIndex = gui.getStartSelectionIndex();
-      int endSelectionIndex = gui.getEndSelectionIndex();
-      // swap
-      if (startSelectionIndex > endSelectionIndex) {
-        startSelectionIndex += endSelectionIndex;
-        endSelectionIndex = startSelectionIndex - endSelectionIndex;
-        startSelectionIndex -= endSelectionIndex;
-      }
+        // render current row background
+        renderCurrentLineBackground(context, rect, bc, fontSize, focused, caretRow, row, lineY);
 
-      int startSelectionLine = 0;
-      int startSelectionIndexInLine;
-      int endSelectionLine = 0;
-      int endSelectionIndexInLine;
-      for (int i = 0; i < lineCount; i++) {
-        if (startSelectionIndex >= lineStartIndeces[i]) {
-          startSelectionLine = i;
+        NvgText.drawTextLineToRect(context, new Vector4f(rowX, lineY, rowWidth, rowHeight),
+            false, HorizontalAlign.LEFT, VerticalAlign.MIDDLE,
+            fontSize, font, expandTabs(rowText, tabSize), textColor);
+        if (row == caretRow && focused) {
+          // render caret
+          NvgShapes.drawRectStroke(context, new Vector4f(caretx - 1, lineY, 1, rowHeight),
+              caretColor, 1);
         }
-        if (endSelectionIndex >= lineStartIndeces[i]) {
-          endSelectionLine = i;
+        // render mouse caret
+        if (row == mouseRow && leguiContext.isDebugEnabled()) {
+          NvgShapes.drawRectStroke(context, new Vector4f(mouseCaretX - 1, lineY, 1, rowHeight),
+              new Vector4f(caretColor).div(2), 1);
         }
       }
-      startSelectionIndexInLine = startSelectionIndex - lineStartIndeces[startSelectionLine];
-      endSelectionIndexInLine = endSelectionIndex - lineStartIndeces[endSelectionLine];
-
-      float startSelectionCaretX =
-          getCaretx(context, startSelectionIndexInLine, lines[startSelectionLine],
-              bounds[startSelectionLine], glyphs, spaceWidth, gui.getTabSize());
-      float endSelectionCaretX =
-          getCaretx(context, endSelectionIndexInLine, lines[endSelectionLine],
-              bounds[endSelectionLine], glyphs, spaceWidth, gui.getTabSize());
-
-      // render every line of text
-      for (int i = first; i <= last; i++) {
-        ByteBuffer lineBytes = null;
-        try {
-          String line = lines[i];
-          lineBytes = memUTF8(line);
-
-          alignTextInBox(context, HorizontalAlign.LEFT, VerticalAlign.MIDDLE);
-          int ng = nnvgTextGlyphPositions(context, bounds[i][4], 0, memAddress(lineBytes), 0,
-              memAddress(glyphs), MAX_GLYPH_COUNT);
-
-          float lineX = bounds[i][4];
-          float lineWidth = bounds[i][6];
-          float lineY = bounds[i][5] + voffset + fontSize * i;
-          float lineHeight = bounds[i][7];
-          if (inRect(viewportRect, lineX, lineWidth, lineY, lineHeight)) {
+    }
 
-            List<Integer> tabIndices = getTabIndices(line);
-            // calculate mouse caret position
-            if (lineY <= mouseY && lineY + fontSize > mouseY) {
-              if (line.length() == 0) {
-                mouseCaretX = caretx;
-              } else {
-                if (mouseX <= glyphs.get(0).x()) {
-                  mouseCaretPositionInLine = 0;
-                  mouseCaretX = glyphs.get(0).x();
-                } else if (mouseX >= glyphs.get(ng - 1).maxx() + spaceWidth * (gui.getTabSize() - 1)
-                    * tabIndices.size()) {
-                  mouseCaretPositionInLine = ng;
-                  mouseCaretX = glyphs.get(ng - 1).maxx() + spaceWidth * (gui.getTabSize() - 1)
-                      * tabIndices.size();
-                  // if window not minimized
-                } else if (!leguiContext.isIconified()) {
-                  // binary search mouse caret position
-                  int upper = ng;
-                  int lower = 0;
-                  boolean found = false;
-                  do {
-                    int index = (upper + lower) / 2;
-                    float tabAddition = 0;
-                    for (Integer tabIndex : tabIndices) {
-                      if (index > tabIndex) {
-                        tabAddition += spaceWidth * (gui.getTabSize() - 1);
-                      }
-                    }
-                    float left = glyphs.get(index).x();
-                    float right =
-                        index >= ng - 1 ? glyphs.get(ng - 1).maxx() : glyphs.get(index + 1).x();
-                    left += tabAddition;
-                    right += tabAddition;
-                    if (tabIndices.contains(index)) {
-                      right += spaceWidth * (gui.getTabSize() - 1);
-                    }
-
-                    float mid = (left + right) / 2f;
-                    if (mouseX >= left && mouseX < right) {
-                      found = true;
-                      if (mouseX > mid) {
-                        mouseCaretPositionInLine = index + 1;
-                        mouseCaretX = right;
-                      } else {
-                        mouseCaretPositionInLine = index;
-                        mouseCaretX = left;
-                      }
-                    } else if (mouseX >= right) {
-                      if (index != ng) {
-                        lower = index + 1;
-                      } else {
-                        found = true;
-                        mouseCaretPositionInLine = ng;
-                        mouseCaretX = right;
-                      }
-                    } else if (mouseX < left) {
-                      if (index != 0) {
-                        upper = index;
-                      } else {
-                        found = true;
-                        mouseCaretPositionInLine = 0;
-                        mouseCaretX = left;
-                      }
-                    }
-                  } while (!found);
-                }
-              }
-
-              mouseLineIndex = i;
-              // render mouse caret
-              if (leguiContext.isDebugEnabled()) {
-                NvgShapes.drawRectStroke(context,
-                    new Vector4f(mouseCaretX - 1, lineY, 1, lineHeight),
-                    new Vector4f(caretColor).div(2), 1);
-              }
-            }
-            if (mouseY >= bounds[lineCount - 1][5] + voffset + fontSize * (lineCount - 1)
-                + fontSize) {
-              mouseLineIndex = lineCount - 1;
-              mouseCaretPositionInLine = lines[mouseLineIndex].length();
-            }
-            // render selection background
-            if (startSelectionIndex != endSelectionIndex && i >= startSelectionLine
-                && i <= endSelectionLine) {
-              float x1 = bounds[i][4];
-              float w = bounds[i][6];
-              float x2 = x1 + w;
-              if (i == startSelectionLine) {
-                x1 = startSelectionCaretX;
-              }
-              if (i == endSelectionLine) {
-                x2 = endSelectionCaretX;
-              }
-              w = x2 - x1;
-              NvgShapes
-                  .drawRect(context,
-                      new Vector4f(x1, bounds[i][5] + voffset + fontSize * i, w, bounds[i][7]),
-                      getStyle(gui, Style::getHighlightColor));
-            }
+    gui.setMouseCaretPosition(mouseCaretPosition);
+  }
 
-            // render current line background
-            renderCurrentLineBackground(context, rect, bc, fontSize, focused, caretLine, i, lineY);
-
-            char[] spaces = new char[gui.getTabSize()];
-            Arrays.fill(spaces, SPACEC);
-            NvgText.drawTextLineToRect(context, new Vector4f(lineX, lineY, lineWidth, lineHeight),
-                false, HorizontalAlign.LEFT, VerticalAlign.MIDDLE,
-                fontSize, font, line.replace(TABS, new String(spaces)), textColor);
-            if (i == caretLine && focused) {
-              // render caret
-              NvgShapes.drawRectStroke(context, new Vector4f(caretx - 1, lineY, 1, lineHeight),
-                  caretColor, 1);
+  /**
+   * Used to break line to rows with nanovg and store row starts in wrap index. Line is measured with
+   * tabs expanded to spaces, same as rows are rendered. Font and font size should be set before
+   * call.
+   */
+  private void wrapLine(long context, TextLineIndex lineIndex, TextWrapIndex wrapIndex, int line,
+      float wrapWidth, int tabSize) {
+    String text = lineIndex.getLine(line);
+    if (text.isEmpty()) {
+      wrapIndex.setRows(line, SINGLE_ROW);
+      return;
+    }
+    String measuredText = expandTabs(text, tabSize);
+    NvgScratch scratch = NvgScratch.getInstance();
+    ByteBuffer textBytes = scratch.pushText(measuredText, false);
+    NVGTextRow.Buffer rows = scratch.pushRows(MAX_ROW_COUNT);
+    try {
+      long start = memAddress(textBytes);
+      long end = start + textBytes.remaining();
+      int[] rowStarts = new int[8];
+      int rowCount = 1;
+      // row offsets are byte offsets of utf-8 text, they are converted to char offsets of measured
+      // text and then to offsets in line (tab takes tabSize chars of measured text).
+      long position = start;
+      int charOffset = 0;
+      int lineOffset = 0;
+      int measuredOffset = 0;
+      boolean expanded = measuredText != text;
+      boolean done = false;
+      while (!done) {
+        int count = nnvgTextBreakLines(context, position, end, wrapWidth, rows.address(),
+            MAX_ROW_COUNT);
+        // if buffer is full, breaking continues from start of last row
+        done = count < MAX_ROW_COUNT;
+        for (int i = 0; i < count; i++) {
+          long next = rows.get(i).next();
+          if (next >= end || next <= position) {
+            done = true;
+            break;
+          }
+          charOffset += countChars(textBytes, (int) (position - start), (int) (next - start));
+          position = next;
+          if (expanded) {
+            // row which starts inside of expanded tab starts after tab
+            while (measuredOffset < charOffset && lineOffset < text.length()) {
+              measuredOffset += text.charAt(lineOffset++) == '\t' ? tabSize : 1;
             }
+          } else {
+            lineOffset = charOffset;
           }
-        } finally {
-          // free allocated memory
-          if (lineBytes != null) {
-            memFree(lineBytes);
+          if (rowCount == rowStarts.length) {
+            rowStarts = Arrays.copyOf(rowStarts, rowCount << 1);
           }
+          rowStarts[rowCount++] = lineOffset;
         }
       }
-
-      gui.setMouseCaretPosition(lineStartIndeces[mouseLineIndex] + mouseCaretPositionInLine);
+      wrapIndex.setRows(line, rowCount == 1 ? SINGLE_ROW : Arrays.copyOf(rowStarts, rowCount));
+    } finally {
+      scratch.popRows();
+      scratch.popText();
     }
   }
 
-  private float calculateLineBoundsAndMaxWidth(long context, TextAreaField gui, Vector4f rect,
-      float fontSize, HorizontalAlign halign, VerticalAlign valign, float spaceWidth,
-      String[] lines, int lineCount, float[][] bounds, float maxWid) {
-    for (int i = 0; i < lineCount; i++) {
-      String line = lines[i];
-      float[] lineBounds = calculateTextBoundsRect(context, rect, line, halign, valign, fontSize);
+  /**
+   * Returns text with tabs replaced by tabSize spaces, as text is rendered.
+   */
+  private static String expandTabs(String text, int tabSize) {
+    if (text.indexOf('\t') == -1) {
+      return text;
+    }
+    char[] spaces = new char[tabSize];
+    Arrays.fill(spaces, SPACEC);
+    return text.replace(TABS, new String(spaces));
+  }
 
-      if (lineBounds[2] > maxWid) {
-        maxWid = lineBounds[2];
+  /**
+   * Returns number of chars (utf-16 code units) encoded by utf-8 bytes in range.
+   */
+  private static int countChars(ByteBuffer utf8, int from, int to) {
+    int count = 0;
+    for (int i = from; i < to; i++) {
+      int b = utf8.get(i) & 0xFF;
+      if ((b & 0xC0) != 0x80) {
+        // 4 byte sequences are encoded as surrogate pairs
+        count += b >= 0xF0 ? 2 : 1;
       }
+    }
+    return count;
+  }
 
-      bounds[i] = lineBounds;
-      if (line.contains(TABS)) {
-        bounds[i][6] +=
-            spaceWidth * (line.length() - line.replace(TABS, "").length()) * (gui.getTabSize() - 1);
+  private String getRowText(TextState textState, TextWrapIndex wrapIndex, int row) {
+    return textState.getTextBuffer()
+        .subSequence(wrapIndex.getRowStart(row), wrapIndex.getRowEnd(row));
+  }
+
+  /**
+   * Used to calculate bounds of row. Width of tabs is added to bounds of row.
+   */
+  private float[] calculateRowBounds(long context, Vector4f rect, String row, String font,
+      float fontSize, HorizontalAlign halign, VerticalAlign valign, float spaceWidth, int tabSize,
+      NvgTextMetricsCache metricsCache) {
+    float[] rowBounds = calculateTextBoundsRect(context, rect, row, font, halign, valign,
+        fontSize, metricsCache);
+    rowBounds[6] += spaceWidth * countTabs(row, row.length()) * (tabSize - 1);
+    return rowBounds;
+  }
+
+  /**
+   * Used to get caret x position (on screen) of offset in row.
+   */
+  private float getRowCaretx(long context, TextState textState, TextWrapIndex wrapIndex,
+      Vector4f rect, int row, int offset, String font, float fontSize, HorizontalAlign halign,
+      VerticalAlign valign, float spaceWidth, int tabSize, NvgTextMetricsCache metricsCache) {
+    int rowStart = wrapIndex.getRowStart(row);
+    String rowText = getRowText(textState, wrapIndex, row);
+    float[] rowBounds = calculateRowBounds(context, rect, rowText, font, fontSize, halign, valign,
+        spaceWidth, tabSize, metricsCache);
+    return getCaretx(context, textState, rowStart, offset - rowStart, rowText, rowBounds, font,
+        fontSize, spaceWidth, tabSize);
+  }
+
+  /**
+   * Returns caret position nearest to x. Caret x grows with caret position (tab adds width of
+   * (tab size - 1) spaces), so it's found by binary search.
+   *
+   * @param glyphs   glyph positions of text.
+   * @param text     text.
+   * @param x        x relative to text origin.
+   * @param tabWidth additional width of tab.
+   * @return caret position in text.
+   */
+  private int getCaretPosition(GlyphPositions glyphs, String text, float x, float tabWidth) {
+    int count = glyphs.getCount();
+    if (count == 0 || x <= glyphs.getX(0)) {
+      return 0;
+    }
+    int lower = 0;
+    int upper = count;
+    while (lower < upper) {
+      int index = (lower + upper + 1) >>> 1;
+      if (glyphs.getCaretX(index) + tabWidth * countTabs(text, index) <= x) {
+        lower = index;
+      } else {
+        upper = index - 1;
       }
     }
-    return maxWid;
+    if (lower == count) {
+      return count;
+    }
+    float left = glyphs.getCaretX(lower) + tabWidth * countTabs(text, lower);
+    float right = glyphs.getCaretX(lower + 1) + tabWidth * countTabs(text, lower + 1);
+    return x > (left + right) / 2f ? lower + 1 : lower;
+  }
+
+  private static int countTabs(String text, int end) {
+    int count = 0;
+    for (int i = text.indexOf(TABS); i != -1 && i < end; i = text.indexOf(TABS, i + 1)) {
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Used to calculate bounds of line. Width of line is cached in line index and width of tabs is
+   * added to bounds of line.
+   */
+  private float[] calculateLineBounds(long context, Vector4f rect, TextLineIndex lineIndex,
+      int lineNumber, String line, String font, float fontSize, HorizontalAlign halign,
+      VerticalAlign valign, float spaceWidth, int tabSize, NvgTextMetricsCache metricsCache) {
+    float[] lineBounds = calculateTextBoundsRect(context, rect, line, font, halign, valign,
+        fontSize, metricsCache);
+    lineBounds[6] += getTabsWidth(line, spaceWidth, tabSize);
+    lineIndex.setCachedWidth(lineNumber, lineBounds[6]);
+    return lineBounds;
+  }
+
+  /**
+   * Used to get width of line. Width is measured only if it's not cached in line index.
+   */
+  private float getLineWidth(long context, Vector4f rect, TextLineIndex lineIndex,
+      int lineNumber, String font, float fontSize, HorizontalAlign halign, VerticalAlign valign,
+      float spaceWidth, int tabSize, NvgTextMetricsCache metricsCache) {
+    float width = lineIndex.getCachedWidth(lineNumber);
+    if (Float.isNaN(width)) {
+      String line = lineIndex.getLine(lineNumber);
+      width = calculateTextBoundsRect(context, rect, line, font, halign, valign, fontSize,
+          metricsCache)[2] + getTabsWidth(line, spaceWidth, tabSize);
+      lineIndex.setCachedWidth(lineNumber, width);
+    }
+    return width;
+  }
+
+  /**
+   * Returns width which is added to measured width of text by rendering tabs as tabSize spaces.
+   */
+  private static float getTabsWidth(String line, float spaceWidth, int tabSize) {
+    int tabs = countTabs(line, line.length());
+    return tabs == 0 ? 0 : spaceWidth * tabs * (tabSize - 1);
   }
 
   /**
@@ -500,90 +885,62 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
    */
   private float getSpaceWidth(long context) {
     String s = SPACES + SPACES;
-    ByteBuffer spaceBytes = null;
-
-    try (NVGGlyphPosition.Buffer glyphs = NVGGlyphPosition.calloc(MAX_GLYPH_COUNT)) {
-      spaceBytes = memUTF8(s);
+    NvgScratch scratch = NvgScratch.getInstance();
+    ByteBuffer spaceBytes = scratch.pushText(s, true);
+    NVGGlyphPosition.Buffer glyphs = scratch.pushGlyphs(s.length());
+    try {
 
       alignTextInBox(context, HorizontalAlign.LEFT, VerticalAlign.MIDDLE);
       nnvgTextGlyphPositions(context, 10, 0, memAddress(spaceBytes), 0, memAddress(glyphs),
-          MAX_GLYPH_COUNT);
+          s.length());
 
       float x1 = glyphs.get(1).x();
       float x0 = glyphs.get(0).x();
       return x1 - x0;
     } finally {
-      if (spaceBytes != null) {
-        memFree(spaceBytes);
-      }
+      scratch.popGlyphs();
+      scratch.popText();
     }
   }
 
 
   /**
    * Used to obtain caret (x) position (on screen) by text line and caret position in text(index).
+   * Glyph positions of line are taken from glyph cache of text state.
    *
    * @param context         context
+   * @param textState       text state.
+   * @param lineStart       offset of line in text.
    * @param caretPosInText  position of caret in text.
    * @param text            text.
    * @param caretLineBounds text bounds on screen.
-   * @param glyphs          glyphs.
+   * @param font            font.
+   * @param fontSize        font size.
    * @param spaceWidth      space width.
    * @return caret x position on screen.
    */
-  private float getCaretx(long context, int caretPosInText, String text, float[] caretLineBounds,
-      NVGGlyphPosition.Buffer glyphs, float spaceWidth,
+  private float getCaretx(long context, TextState textState, int lineStart, int caretPosInText,
+      String text, float[] caretLineBounds, String font, float fontSize, float spaceWidth,
       int tabSize) {
-    float caretx;
-    ByteBuffer caretLineBytes = null;
-    try {
-      // allocate ofheap memory and fill it with text
-      caretLineBytes = memUTF8(text);
-      // align text for calculations
-      alignTextInBox(context, HorizontalAlign.LEFT, VerticalAlign.MIDDLE);
-      int ng = nnvgTextGlyphPositions(context, caretLineBounds[4], 0, memAddress(caretLineBytes), 0,
-          memAddress(glyphs), MAX_GLYPH_COUNT);
-      caretx = calculateCaretPos(caretPosInText, caretLineBounds, ng, glyphs);
-
-      String substring = text.substring(0, caretPosInText);
-      int tabCountBeforeCaret;
-      if (substring.contains(TABS)) {
-        tabCountBeforeCaret = substring.length() - substring.replace(TABS, "").length();
-        caretx += spaceWidth * tabCountBeforeCaret * (tabSize - 1);
-      }
-    } finally {
-      memFree(caretLineBytes);
+    GlyphPositions glyphs = getGlyphPositions(context, textState, font, fontSize, lineStart,
+        lineStart + text.length(), 0, text);
+    float caretx = caretLineBounds[4] + glyphs.getCaretX(caretPosInText);
+
+    String substring = text.substring(0, caretPosInText);
+    int tabCountBeforeCaret;
+    if (substring.contains(TABS)) {
+      tabCountBeforeCaret = substring.length() - substring.replace(TABS, "").length();
+      caretx += spaceWidth * tabCountBeforeCaret * (tabSize - 1);
     }
     return caretx;
   }
 
   private void preinitializeTextRendering(long context, String font, float fontSize,
       HorizontalAlign halign, VerticalAlign valign, Vector4f textColor) {
-    try (NVGColor colorA = NvgColorUtil.create(textColor)) {
-      alignTextInBox(context, halign, valign);
-      nvgFontSize(context, fontSize);
-      nvgFontFace(context, font);
-      nvgFillColor(context, colorA);
-    }
-  }
-
-  private float calculateCaretPos(int caretPosition, float[] textBounds, int ng,
-      NVGGlyphPosition.Buffer glyphs) {
-    float caretx = 0;
-    if (caretPosition < ng) {
-      try {
-        caretx = glyphs.get(caretPosition).x();
-      } catch (IndexOutOfBoundsException e) {
-        e.printStackTrace();
-      }
-    } else {
-      if (ng > 0) {
-        caretx = glyphs.get(ng - 1).maxx();
-      } else {
-        caretx = textBounds[4];
-      }
-    }
-    return caretx;
+    alignTextInBox(context, halign, valign);
+    nvgFontSize(context, fontSize);
+    nvgFontFace(context, font);
+    nvgFillColor(context, NvgScratch.getInstance().color(textColor));
   }
 
   private boolean inRect(Vector4f rect, float lineX, float lineWidth, float lineY,
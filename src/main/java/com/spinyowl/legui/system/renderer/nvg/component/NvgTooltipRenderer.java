@@ -1,7 +1,6 @@
 package com.spinyowl.legui.system.renderer.nvg.component;
 
 import static com.spinyowl.legui.style.util.StyleUtilities.getPadding;
-import static com.spinyowl.legui.style.util.StyleUtilities.getStyle;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.alignTextInBox;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createBounds;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createScissor;
@@ -14,8 +13,6 @@ import static org.lwjgl.nanovg.NanoVG.nvgFillColor;
 import static org.lwjgl.nanovg.NanoVG.nvgFontFace;
 import static org.lwjgl.nanovg.NanoVG.nvgFontSize;
 import static org.lwjgl.system.MemoryUtil.memAddress;
-import static org.lwjgl.system.MemoryUtil.memFree;
-import static org.lwjgl.system.MemoryUtil.memUTF8;
 
 import com.spinyowl.legui.component.Tooltip;
 import com.spinyowl.legui.component.event.tooltip.TooltipTextSizeChangeEvent;
@@ -23,16 +20,15 @@ import com.spinyowl.legui.component.optional.TextState;
 import com.spinyowl.legui.component.optional.align.HorizontalAlign;
 import com.spinyowl.legui.component.optional.align.VerticalAlign;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import com.spinyowl.legui.style.ResolvedStyle;
 import com.spinyowl.legui.style.Style;
-import com.spinyowl.legui.style.font.FontRegistry;
 import com.spinyowl.legui.system.context.Context;
-import com.spinyowl.legui.system.renderer.nvg.util.NvgColorUtil;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgScratch;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
-import org.lwjgl.nanovg.NVGColor;
 import org.lwjgl.nanovg.NVGTextRow;
 
 
@@ -47,14 +43,13 @@ public class NvgTooltipRenderer extends NvgDefaultComponentRenderer<Tooltip> {
       TextState textState = component.getTextState();
       Vector2f pos = component.getAbsolutePosition();
       Vector2f size = component.getSize();
-      float fontSize = getStyle(component, Style::getFontSize, 16F);
-      String font = getStyle(component, Style::getFont, FontRegistry.getDefaultFont());
+      ResolvedStyle resolvedStyle = component.getResolvedStyle();
+      float fontSize = resolvedStyle.getFontSize();
+      String font = resolvedStyle.getFont();
       String text = textState.getText();
-      HorizontalAlign horizontalAlign = getStyle(component, Style::getHorizontalAlign,
-          HorizontalAlign.LEFT);
-      VerticalAlign verticalAlign = getStyle(component, Style::getVerticalAlign,
-          VerticalAlign.MIDDLE);
-      Vector4f textColor = getStyle(component, Style::getTextColor);
+      HorizontalAlign horizontalAlign = resolvedStyle.getHorizontalAlign();
+      VerticalAlign verticalAlign = resolvedStyle.getVerticalAlign();
+      Vector4f textColor = resolvedStyle.getTextColor();
       Vector4f padding = getPadding(component, style);
 
       renderBackground(component, context, nanovg);
@@ -62,10 +57,9 @@ public class NvgTooltipRenderer extends NvgDefaultComponentRenderer<Tooltip> {
       nvgFontSize(nanovg, fontSize);
       nvgFontFace(nanovg, font);
 
-      ByteBuffer byteText = null;
+      NvgScratch scratch = NvgScratch.getInstance();
+      ByteBuffer byteText = scratch.pushText(text, false);
       try {
-
-        byteText = memUTF8(text, false);
         long start = memAddress(byteText);
         long end = start + byteText.remaining();
 
@@ -79,14 +73,12 @@ public class NvgTooltipRenderer extends NvgDefaultComponentRenderer<Tooltip> {
         List<float[]> boundList = new ArrayList<>();
         List<long[]> indicesList = new ArrayList<>();
 
-        try (
-            NVGColor colorA = NvgColorUtil.create(textColor);
-            NVGTextRow.Buffer buffer = NVGTextRow.calloc(1)
-        ) {
+        NVGTextRow.Buffer buffer = scratch.pushRows(1);
+        try {
           alignTextInBox(nanovg, HorizontalAlign.LEFT, VerticalAlign.MIDDLE);
           nvgFontSize(nanovg, fontSize);
           nvgFontFace(nanovg, font);
-          nvgFillColor(nanovg, colorA);
+          nvgFillColor(nanovg, scratch.color(textColor));
 
           // calculate text bounds for every line and start/end indices
           float newWidth = 0;
@@ -110,7 +102,7 @@ public class NvgTooltipRenderer extends NvgDefaultComponentRenderer<Tooltip> {
           textState.setTextHeight(newHeight);
 
           if (Math.abs(textWidth - newWidth) > 0.001 || Math.abs(textHeight - newHeight) > 0.001) {
-            EventProcessorProvider.getInstance().pushEvent(
+            EventProcessorProvider.pushEvent(
                 new TooltipTextSizeChangeEvent(component, context, component.getFrame(), newWidth,
                     newHeight));
           }
@@ -126,9 +118,11 @@ public class NvgTooltipRenderer extends NvgDefaultComponentRenderer<Tooltip> {
             nvgBeginPath(nanovg);
             nnvgText(nanovg, bounds[4], bounds[5] - offsetY, indices[0], indices[1]);
           }
+        } finally {
+          scratch.popRows();
         }
       } finally {
-        memFree(byteText);
+        scratch.popText();
       }
     }
     resetScissor(nanovg);
@@ -20,8 +20,9 @@ public class NvgBufferedImageRGBARenderer extends NvgImageRenderer<BufferedImage
 
   @Override
   public void initialize() {
-    NvgImageReferenceManager manager = NvgImageReferenceManager.getInstance();
-    manager.putImageReferenceProvider(BufferedImageRGBA.class, (image, context) -> {
+    NvgImageReferenceManager.getInstance().putImageReferenceProvider(BufferedImageRGBA.class, (image, context) -> {
+      // manager of renderer which is currently rendering image.
+      NvgImageReferenceManager manager = NvgImageReferenceManager.getInstance();
       int imageRef = 0;
       Function<BufferedImageRGBA, String> getPath = i -> "TI::RGBA::" + i.hashCode();
 
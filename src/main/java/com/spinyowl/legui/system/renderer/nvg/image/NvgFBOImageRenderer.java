@@ -1,6 +1,7 @@
 package com.spinyowl.legui.system.renderer.nvg.image;
 
-
+import static org.lwjgl.nanovg.NanoVG.NVG_IMAGE_NODELETE;
+import static org.lwjgl.nanovg.NanoVG.NVG_IMAGE_PREMULTIPLIED;
 import static org.lwjgl.opengl.GL11.glGetInteger;
 import static org.lwjgl.opengl.GL30.GL_MAJOR_VERSION;
 import static org.lwjgl.opengl.GL30.GL_MINOR_VERSION;
@@ -22,17 +23,34 @@ import org.lwjgl.nanovg.NanoVGGL3;
  */
 public class NvgFBOImageRenderer extends NvgImageRenderer<FBOImage> {
 
+  private static final IntFunction<String> FBO_PATH = textureId -> "::FBO::" + textureId;
+
+  /**
+   * Used to delete nanovg image reference created for texture of provided image. Nanovg image is
+   * created once for texture id with texture size and flags of image, so reference should be
+   * removed when texture is resized or deleted (texture id could be reused by other image).
+   *
+   * @param image   image which texture is resized or deleted.
+   * @param context nanovg context or 0 if nanovg context is already deleted.
+   */
+  public static void removeImageReference(FBOImage image, long context) {
+    if (image != null && image.getTextureId() != 0) {
+      NvgImageReferenceManager.getInstance()
+          .removeImageReference(FBO_PATH.apply(image.getTextureId()), context);
+    }
+  }
+
   @Override
   public void initialize() {
-    NvgImageReferenceManager manager = NvgImageReferenceManager.getInstance();
-    manager.putImageReferenceProvider(FBOImage.class, (i, c) -> {
-      IntFunction<String> getFboPath = textureId -> "::FBO::" + textureId;
+    NvgImageReferenceManager.getInstance().putImageReferenceProvider(FBOImage.class, (i, c) -> {
+      // manager of renderer which is currently rendering image.
+      NvgImageReferenceManager manager = NvgImageReferenceManager.getInstance();
       int textureId = i.getTextureId();
       Integer imageRef = 0;
       if (textureId != 0) {
-        String path = getFboPath.apply(textureId);
+        String path = FBO_PATH.apply(textureId);
         try {
-          imageRef = manager.getImageCache().get(path, createReference(manager, i, c, getFboPath));
+          imageRef = manager.getImageCache().get(path, createReference(manager, i, c));
         } catch (ExecutionException e) {
           e.printStackTrace();
         }
@@ -43,22 +61,27 @@ public class NvgFBOImageRenderer extends NvgImageRenderer<FBOImage> {
     });
   }
 
-  private Callable<Integer> createReference(NvgImageReferenceManager manager, FBOImage i, Long c,
-      IntFunction<String> getFboPath) {
+  private Callable<Integer> createReference(NvgImageReferenceManager manager, FBOImage i,
+      Long c) {
     return () -> {
       int handle = i.getTextureId();
       int width = i.getWidth();
       int height = i.getHeight();
+      // texture is owned by image creator, so it should not be deleted together with reference.
+      int flags = NVG_IMAGE_NODELETE;
+      if (i.isPremultiplied()) {
+        flags |= NVG_IMAGE_PREMULTIPLIED;
+      }
       int reference;
       boolean isVersionNew =
           (glGetInteger(GL_MAJOR_VERSION) > 3) || (glGetInteger(GL_MAJOR_VERSION) == 3
               && glGetInteger(GL_MINOR_VERSION) >= 2);
       if (isVersionNew) {
-        reference = NanoVGGL3.nvglCreateImageFromHandle(c, handle, width, height, 0);
+        reference = NanoVGGL3.nvglCreateImageFromHandle(c, handle, width, height, flags);
       } else {
-        reference = NanoVGGL2.nvglCreateImageFromHandle(c, handle, width, height, 0);
+        reference = NanoVGGL2.nvglCreateImageFromHandle(c, handle, width, height, flags);
       }
-      manager.getImageAssociationMap().put(getFboPath.apply(handle), reference);
+      manager.getImageAssociationMap().put(FBO_PATH.apply(handle), reference);
       return reference;
     };
   }
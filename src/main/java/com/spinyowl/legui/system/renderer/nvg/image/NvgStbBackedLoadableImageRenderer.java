@@ -16,8 +16,9 @@ public class NvgStbBackedLoadableImageRenderer extends NvgImageRenderer<StbBacke
 
   @Override
   public void initialize() {
-    NvgImageReferenceManager manager = NvgImageReferenceManager.getInstance();
-    manager.putImageReferenceProvider(StbBackedLoadableImage.class, (image, context) -> {
+    NvgImageReferenceManager.getInstance().putImageReferenceProvider(StbBackedLoadableImage.class, (image, context) -> {
+      // manager of renderer which is currently rendering image.
+      NvgImageReferenceManager manager = NvgImageReferenceManager.getInstance();
       int imageRef = 0;
       String path = image.getPath();
       if (path != null) {
@@ -0,0 +1,163 @@
+package com.spinyowl.legui.system.renderer.nvg.util;
+
+import static org.lwjgl.nanovg.NanoVG.nvgResetScissor;
+import static org.lwjgl.nanovg.NanoVG.nvgScissor;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.ComponentBounds;
+import java.util.Arrays;
+import org.joml.Vector4f;
+
+/**
+ * Stack of clip rectangles of components which are rendered at the moment (from top-level
+ * component to currently rendered one). Each entry contains clip rectangle of component itself
+ * (intersection of bounds of all parents) and clip rectangle of its children (clip rectangle of
+ * component intersected with component bounds), so clip rectangle of child is calculated from
+ * clip rectangle of parent in constant time.
+ * <p>
+ * Used by {@link NvgRenderUtils} from rendering thread.
+ */
+final class ClipStack {
+
+  private static final int SELF = 0;
+  private static final int CHILDREN = 4;
+  private static final int ENTRY_SIZE = 8;
+
+  private Component[] components = new Component[32];
+  /**
+   * Clip rectangles as (minX, minY, maxX, maxY), {@link #ENTRY_SIZE} values per entry.
+   */
+  private float[] clips = new float[32 * ENTRY_SIZE];
+  private int size;
+
+  private final float[] clip = new float[4];
+
+  /**
+   * Used to push component to stack if it intersects clip rectangle of parent.
+   *
+   * @param component component to push.
+   * @param force     push component even if it is outside of clip rectangle.
+   * @param root      scissor root (parents of scissor root are ignored) or null.
+   * @return true if component was pushed.
+   */
+  boolean push(Component component, boolean force, Component root) {
+    Component parent = component.getParent();
+    boolean parentOnTop = size > 0 && parent != null && components[size - 1] == parent;
+    if (parentOnTop && parent != root) {
+      System.arraycopy(clips, (size - 1) * ENTRY_SIZE + CHILDREN, clip, 0, 4);
+    } else {
+      calculateClip(parent, root);
+    }
+
+    // bounds of parent on top of the stack were updated when parent was pushed.
+    ComponentBounds bounds = parentOnTop ? component.updateBounds() : component.getBounds();
+    float minX = bounds.getX();
+    float minY = bounds.getY();
+    float maxX = minX + bounds.getWidth();
+    float maxY = minY + bounds.getHeight();
+    if (!force && (clip[0] > clip[2] || clip[1] > clip[3]
+        || minX > clip[2] || maxX < clip[0] || minY > clip[3] || maxY < clip[1])) {
+      return false;
+    }
+
+    if (size == components.length) {
+      components = Arrays.copyOf(components, size << 1);
+      clips = Arrays.copyOf(clips, (size << 1) * ENTRY_SIZE);
+    }
+    components[size] = component;
+    int offset = size * ENTRY_SIZE;
+    clips[offset + SELF] = clip[0];
+    clips[offset + SELF + 1] = clip[1];
+    clips[offset + SELF + 2] = clip[2];
+    clips[offset + SELF + 3] = clip[3];
+    clips[offset + CHILDREN] = Math.max(clip[0], minX);
+    clips[offset + CHILDREN + 1] = Math.max(clip[1], minY);
+    clips[offset + CHILDREN + 2] = Math.min(clip[2], maxX);
+    clips[offset + CHILDREN + 3] = Math.min(clip[3], maxY);
+    size++;
+    return true;
+  }
+
+  /**
+   * Used to remove component from top of the stack.
+   *
+   * @param component component which should be on top of the stack.
+   */
+  void pop(Component component) {
+    if (size > 0 && components[size - 1] == component) {
+      components[--size] = null;
+    }
+  }
+
+  /**
+   * Used to set scissor to clip rectangle of component or clip rectangle of its children. Clip
+   * rectangle is taken from stack if component (or its parent) is on top of the stack, otherwise
+   * it's calculated using bounds of parent components. Base scissor is intersected with clip
+   * rectangle, so single scissor call is issued.
+   *
+   * @param context   nanovg context.
+   * @param component component.
+   * @param children  true to use clip rectangle of component children.
+   * @param base      base scissor or null.
+   * @param root      scissor root (parents of scissor root are ignored) or null.
+   */
+  void scissor(long context, Component component, boolean children, Vector4f base,
+      Component root) {
+    Component top = size > 0 ? components[size - 1] : null;
+    if (top != null && top == component) {
+      System.arraycopy(clips, (size - 1) * ENTRY_SIZE + (children ? CHILDREN : SELF), clip, 0, 4);
+    } else if (top != null && !children && top == component.getParent() && top != root) {
+      System.arraycopy(clips, (size - 1) * ENTRY_SIZE + CHILDREN, clip, 0, 4);
+    } else {
+      calculateClip(children ? component : component.getParent(), root);
+    }
+
+    if (base != null) {
+      clip[0] = Math.max(clip[0], base.x);
+      clip[1] = Math.max(clip[1], base.y);
+      clip[2] = Math.min(clip[2], base.x + base.z);
+      clip[3] = Math.min(clip[3], base.y + base.w);
+    }
+    if (clip[0] == Float.NEGATIVE_INFINITY && clip[1] == Float.NEGATIVE_INFINITY
+        && clip[2] == Float.POSITIVE_INFINITY && clip[3] == Float.POSITIVE_INFINITY) {
+      nvgResetScissor(context);
+    } else {
+      nvgScissor(context, clip[0], clip[1],
+          Math.max(0, clip[2] - clip[0]), Math.max(0, clip[3] - clip[1]));
+    }
+  }
+
+  /**
+   * Used to calculate intersection of bounds of component and its parents (up to scissor root) to
+   * {@link #clip}.
+   */
+  private void calculateClip(Component component, Component root) {
+    clip[0] = Float.NEGATIVE_INFINITY;
+    clip[1] = Float.NEGATIVE_INFINITY;
+    clip[2] = Float.POSITIVE_INFINITY;
+    clip[3] = Float.POSITIVE_INFINITY;
+    if (component == null) {
+      return;
+    }
+    if (root == null) {
+      ComponentBounds bounds = component.getBounds();
+      clip[0] = bounds.getClipMinX();
+      clip[1] = bounds.getClipMinY();
+      clip[2] = bounds.getClipMaxX();
+      clip[3] = bounds.getClipMaxY();
+      intersect(bounds);
+      return;
+    }
+    Component boundary = root.getParent();
+    for (Component p = component; p != null && p != boundary; p = p.getParent()) {
+      intersect(p.getBounds());
+    }
+  }
+
+  private void intersect(ComponentBounds bounds) {
+    clip[0] = Math.max(clip[0], bounds.getX());
+    clip[1] = Math.max(clip[1], bounds.getY());
+    clip[2] = Math.min(clip[2], bounds.getX() + bounds.getWidth());
+    clip[3] = Math.min(clip[3], bounds.getY() + bounds.getHeight());
+  }
+}
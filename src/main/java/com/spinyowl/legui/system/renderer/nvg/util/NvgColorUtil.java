@@ -45,7 +45,7 @@ public final class NvgColorUtil {
 
   /**
    * Used to allocate and fill instance of {@link NVGColor}. Should be used in try-with-resources to
-   * avoid memory leaks.
+   * avoid memory leaks. Renderers should prefer {@link NvgScratch#color} which doesn't allocate.
    *
    * @param r red.
    * @param g green.
@@ -64,7 +64,7 @@ public final class NvgColorUtil {
 
   /**
    * Used to allocate and fill instance of {@link NVGColor}. Should be used in try-with-resources to
-   * avoid memory leaks.
+   * avoid memory leaks. Renderers should prefer {@link NvgScratch#color} which doesn't allocate.
    *
    * @param rgba rgba color {@link Vector4fc} of floats. <ul> <li>rgba.x - red.</li> <li>rgba.y -
    *             green.</li> <li>rgba.z - blue.</li> <li>rgba.w - alpha.</li>
@@ -9,37 +9,59 @@ import static org.lwjgl.nanovg.NanoVG.NVG_ALIGN_RIGHT;
 import static org.lwjgl.nanovg.NanoVG.NVG_ALIGN_TOP;
 import static org.lwjgl.nanovg.NanoVG.NVG_HOLE;
 import static org.lwjgl.nanovg.NanoVG.nvgBeginPath;
+import static org.lwjgl.nanovg.NanoVG.nnvgTextGlyphPositions;
 import static org.lwjgl.nanovg.NanoVG.nvgBoxGradient;
 import static org.lwjgl.nanovg.NanoVG.nvgFill;
 import static org.lwjgl.nanovg.NanoVG.nvgFillPaint;
+import static org.lwjgl.nanovg.NanoVG.nvgFontFace;
+import static org.lwjgl.nanovg.NanoVG.nvgFontSize;
 import static org.lwjgl.nanovg.NanoVG.nvgIntersectScissor;
 import static org.lwjgl.nanovg.NanoVG.nvgPathWinding;
 import static org.lwjgl.nanovg.NanoVG.nvgResetScissor;
 import static org.lwjgl.nanovg.NanoVG.nvgRestore;
 import static org.lwjgl.nanovg.NanoVG.nvgRoundedRectVarying;
+import static org.lwjgl.nanovg.NanoVG.nvgSave;
 import static org.lwjgl.nanovg.NanoVG.nvgScissor;
 import static org.lwjgl.nanovg.NanoVG.nvgTextAlign;
 import static org.lwjgl.nanovg.NanoVG.nvgTextBounds;
-import static org.lwjgl.system.MemoryUtil.memFree;
-import static org.lwjgl.system.MemoryUtil.memUTF8;
+import static org.lwjgl.system.MemoryUtil.memAddress;
 
 import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.optional.GlyphPositions;
+import com.spinyowl.legui.component.optional.TextGlyphCache;
+import com.spinyowl.legui.component.optional.TextState;
 import com.spinyowl.legui.component.optional.align.HorizontalAlign;
 import com.spinyowl.legui.component.optional.align.VerticalAlign;
 import com.spinyowl.legui.style.Style;
 import com.spinyowl.legui.style.shadow.Shadow;
 import com.spinyowl.legui.style.util.StyleUtilities;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.List;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
 import org.lwjgl.nanovg.NVGColor;
+import org.lwjgl.nanovg.NVGGlyphPosition;
 import org.lwjgl.nanovg.NVGPaint;
 
 
 public final class NvgRenderUtils {
 
+  /**
+   * Scissor which is applied to all scissors created by this utility class (used to limit rendering
+   * to damaged area of frame).
+   */
+  private static final ThreadLocal<Vector4f> BASE_SCISSOR = new ThreadLocal<>();
+
+  /**
+   * Component which parents are ignored during scissor creation (used to render component subtree
+   * to offscreen buffer).
+   */
+  private static final ThreadLocal<Component> SCISSOR_ROOT = new ThreadLocal<>();
+
+  /**
+   * Clip rectangles of components which are rendered at the moment.
+   */
+  private static final ThreadLocal<ClipStack> CLIP_STACK = ThreadLocal.withInitial(ClipStack::new);
+
   /**
    * Private constructor.
    */
@@ -57,15 +79,13 @@ public final class NvgRenderUtils {
   public static float[] calculateTextBoundsRect(
       long context, float x, float y, float w, float h,
       String text, HorizontalAlign horizontalAlign, VerticalAlign verticalAlign, float fontSize) {
-    ByteBuffer byteText = null;
+    NvgScratch scratch = NvgScratch.getInstance();
+    ByteBuffer byteText = scratch.pushText(text, false);
     try {
-      byteText = memUTF8(text, false);
       return calculateTextBoundsRect(context, x, y, w, h, byteText, horizontalAlign, verticalAlign,
           fontSize);
     } finally {
-      if (byteText != null) {
-        memFree(byteText);
-      }
+      scratch.popText();
     }
   }
 
@@ -81,6 +101,95 @@ public final class NvgRenderUtils {
     return createBounds(x, y, w, h, horizontalAlign, verticalAlign, 0, fontSize);
   }
 
+  /**
+   * Used to calculate bounds of single line text aligned in rectangle. Text metrics are taken from
+   * provided cache, so text is measured by nanovg only once for each font, font size and text.
+   *
+   * @param context         nanovg context.
+   * @param rect            rectangle (x, y, width, height).
+   * @param text            text.
+   * @param font            font name.
+   * @param horizontalAlign horizontal align.
+   * @param verticalAlign   vertical align.
+   * @param fontSize        font size.
+   * @param cache           text metrics cache.
+   * @return text bounds (same as {@link #createBounds(float, float, float, float, HorizontalAlign,
+   * VerticalAlign, float, float)}).
+   */
+  public static float[] calculateTextBoundsRect(
+      long context, Vector4f rect, String text, String font,
+      HorizontalAlign horizontalAlign, VerticalAlign verticalAlign, float fontSize,
+      NvgTextMetricsCache cache) {
+    if (text == null || text.isEmpty()) {
+      return createBounds(rect.x, rect.y, rect.z, rect.w, horizontalAlign, verticalAlign, 0,
+          fontSize);
+    }
+    TextMetrics metrics = cache.measure(context, font, fontSize, text);
+    return createBounds(rect.x, rect.y, rect.z, rect.w, horizontalAlign, verticalAlign,
+        metrics.getWidth(), metrics.getHeight());
+  }
+
+  /**
+   * Used to get glyph positions of part of text state text. Positions are taken from glyph cache of
+   * text state (see {@link TextState#getGlyphCache()}) and measured by nanovg only if text, font or
+   * font size was changed. Nanovg state is not changed.
+   *
+   * @param context   nanovg context.
+   * @param textState text state.
+   * @param font      font name.
+   * @param fontSize  font size.
+   * @param start     start of text range in text state.
+   * @param end       end of text range in text state.
+   * @param mask      mask character or zero if text is not masked.
+   * @param text      rendered text of range (masked text if mask is used).
+   * @return glyph positions relative to text origin.
+   */
+  public static GlyphPositions getGlyphPositions(long context, TextState textState, String font,
+      float fontSize, int start, int end, int mask, CharSequence text) {
+    TextGlyphCache cache = textState.getGlyphCache();
+    GlyphPositions positions = cache.get(textState.getRevision(), font, fontSize, start, end, mask);
+    if (positions == null) {
+      positions = measureGlyphPositions(context, font, fontSize, text);
+      cache.put(start, end, mask, positions);
+    }
+    return positions;
+  }
+
+  private static GlyphPositions measureGlyphPositions(long context, String font, float fontSize,
+      CharSequence text) {
+    int length = text.length();
+    if (length == 0) {
+      return new GlyphPositions(new float[0], new float[0], new float[0], 0);
+    }
+    NvgScratch scratch = NvgScratch.getInstance();
+    // number of glyphs is not greater than number of chars.
+    NVGGlyphPosition.Buffer glyphs = scratch.pushGlyphs(length);
+    ByteBuffer byteText = scratch.pushText(text, false);
+    nvgSave(context);
+    try {
+      nvgFontFace(context, font);
+      nvgFontSize(context, fontSize);
+      nvgTextAlign(context, NVG_ALIGN_LEFT | NVG_ALIGN_MIDDLE);
+      long start = memAddress(byteText);
+      int count = nnvgTextGlyphPositions(context, 0, 0, start, start + byteText.remaining(),
+          glyphs.address(), length);
+      float[] x = new float[count];
+      float[] minX = new float[count];
+      float[] maxX = new float[count];
+      for (int i = 0; i < count; i++) {
+        NVGGlyphPosition glyph = glyphs.get(i);
+        x[i] = glyph.x();
+        minX[i] = glyph.minx();
+        maxX[i] = glyph.maxx();
+      }
+      return new GlyphPositions(x, minX, maxX, count);
+    } finally {
+      nvgRestore(context);
+      scratch.popText();
+      scratch.popGlyphs();
+    }
+  }
+
   public static float[] createBounds(float x, float y, float w, float h,
       HorizontalAlign horizontalAlign, VerticalAlign verticalAlign, float[] bounds) {
     float ww = bounds[2] - bounds[0];
@@ -174,14 +283,15 @@ public final class NvgRenderUtils {
   }
 
   /**
-   * Creates scissor for provided component by it's parent components.
+   * Creates scissor for provided component by it's parent components. If component is rendered at
+   * the moment (see {@link #enterComponent(Component, boolean)}) clip rectangle calculated during
+   * render traversal is used, so only one scissor call is issued.
    *
    * @param context nanovg context.
    * @param gui     {@link Component}.
    */
   public static void createScissor(long context, Component gui) {
-    Component parent = gui.getParent();
-    createScissorByParent(context, parent);
+    CLIP_STACK.get().scissor(context, gui, false, BASE_SCISSOR.get(), SCISSOR_ROOT.get());
   }
 
   /**
@@ -192,6 +302,56 @@ public final class NvgRenderUtils {
    */
   public static void createScissor(long context, Vector4f bounds) {
     nvgScissor(context, bounds.x, bounds.y, bounds.z, bounds.w);
+    Vector4f base = BASE_SCISSOR.get();
+    if (base != null) {
+      nvgIntersectScissor(context, base.x, base.y, base.z, base.w);
+    }
+  }
+
+  /**
+   * Used to set base scissor for current thread. Base scissor is intersected with all scissors
+   * created by this utility class and applied instead of scissor reset.
+   *
+   * @param bounds base scissor bounds or null to remove base scissor.
+   */
+  public static void setBaseScissor(Vector4f bounds) {
+    if (bounds == null) {
+      BASE_SCISSOR.remove();
+    } else {
+      BASE_SCISSOR.set(bounds);
+    }
+  }
+
+  /**
+   * Returns base scissor for current thread.
+   *
+   * @return base scissor bounds or null if base scissor is not set.
+   */
+  public static Vector4f getBaseScissor() {
+    return BASE_SCISSOR.get();
+  }
+
+  /**
+   * Used to set scissor root for current thread. Parents of scissor root are not used for scissor
+   * creation.
+   *
+   * @param root scissor root or null to remove scissor root.
+   */
+  public static void setScissorRoot(Component root) {
+    if (root == null) {
+      SCISSOR_ROOT.remove();
+    } else {
+      SCISSOR_ROOT.set(root);
+    }
+  }
+
+  /**
+   * Returns scissor root for current thread.
+   *
+   * @return scissor root or null if scissor root is not set.
+   */
+  public static Component getScissorRoot() {
+    return SCISSOR_ROOT.get();
   }
 
   /**
@@ -211,36 +371,50 @@ public final class NvgRenderUtils {
    * @param parent  parent component.
    */
   public static void createScissorByParent(long context, Component parent) {
-    List<Component> parents = new ArrayList<>();
-    while (parent != null) {
-      parents.add(parent);
-      parent = parent.getParent();
-    }
-    Vector2f pos = new Vector2f();
-    int size = parents.size();
-    if (size > 0) {
-      parent = parents.get(size - 1);
-      pos.add(parent.getPosition());
-      Vector2f s = parent.getSize();
-      createScissor(context, new Vector4f(pos, s.x, s.y));
-      if (size > 1) {
-        for (int i = size - 2; i >= 0; i--) {
-          parent = parents.get(i);
-          s = parent.getSize();
-          pos.add(parent.getPosition());
-          nvgIntersectScissor(context, pos.x, pos.y, s.x, s.y);
-        }
-      }
+    if (parent == null) {
+      resetScissor(context);
+    } else {
+      CLIP_STACK.get().scissor(context, parent, true, BASE_SCISSOR.get(), SCISSOR_ROOT.get());
     }
   }
 
+  /**
+   * Used to mark component as rendered at the moment. Clip rectangle of component is calculated
+   * from clip rectangle of parent (if parent is rendered at the moment) and kept until {@link
+   * #exitComponent(Component)} is called, so scissors created for component and its children
+   * don't need to walk parent chain.
+   *
+   * @param component component to render.
+   * @param force     true to render component even if it's outside of clip rectangle of parent.
+   * @return false if component is outside of clip rectangle of parent and should not be rendered
+   * (in that case {@link #exitComponent(Component)} should not be called).
+   */
+  public static boolean enterComponent(Component component, boolean force) {
+    return CLIP_STACK.get().push(component, force, SCISSOR_ROOT.get());
+  }
+
+  /**
+   * Used to mark component as rendered. Should be called after component (and its child
+   * components) is rendered if {@link #enterComponent(Component, boolean)} returned true.
+   *
+   * @param component rendered component.
+   */
+  public static void exitComponent(Component component) {
+    CLIP_STACK.get().pop(component);
+  }
+
   /**
    * Used to reset scissor.
    *
    * @param context nanovg context pointer.
    */
   public static void resetScissor(long context) {
-    nvgResetScissor(context);
+    Vector4f base = BASE_SCISSOR.get();
+    if (base != null) {
+      nvgScissor(context, base.x, base.y, base.z, base.w);
+    } else {
+      nvgResetScissor(context);
+    }
   }
 
   /**
@@ -306,39 +480,37 @@ public final class NvgRenderUtils {
       Vector4f borderRadius = getBorderRadius(component);
       float cornerRadius = (borderRadius.x + borderRadius.y + borderRadius.z + borderRadius.w) / 4;
 
-      try (
-          NVGPaint shadowPaint = NVGPaint.calloc();
-          NVGColor firstColor = NvgColorUtil.create(shadow.getColor());
-          NVGColor secondColor = NvgColorUtil.create(0, 0, 0, 0)
-      ) {
-        // creating gradient and put it to shadowPaint
-        nvgBoxGradient(context,
-            x + hOffset - spread,
-            y + vOffset - spread,
-            w + 2 * spread,
-            h + 2 * spread,
-            cornerRadius + spread,
-            blur,
-            firstColor,
-            secondColor,
-            shadowPaint);
-        nvgBeginPath(context);
-        nvgRoundedRectVarying(context,
-            x + hOffset - spread - blur,
-            y + vOffset - spread - blur,
-            w + 2 * spread + 2 * blur,
-            h + 2 * spread + 2 * blur,
-            borderRadius.x + spread,
-            borderRadius.y + spread,
-            borderRadius.z + spread,
-            borderRadius.w + spread
-        );
-        nvgRoundedRectVarying(context, x, y, w, h, borderRadius.x, borderRadius.y, borderRadius.z,
-            borderRadius.w);
-        nvgPathWinding(context, NVG_HOLE);
-        nvgFillPaint(context, shadowPaint);
-        nvgFill(context);
-      }
+      NvgScratch scratch = NvgScratch.getInstance();
+      NVGPaint shadowPaint = scratch.paint();
+      NVGColor firstColor = scratch.color(shadow.getColor());
+      NVGColor secondColor = scratch.color(0, 0, 0, 0);
+      // creating gradient and put it to shadowPaint
+      nvgBoxGradient(context,
+          x + hOffset - spread,
+          y + vOffset - spread,
+          w + 2 * spread,
+          h + 2 * spread,
+          cornerRadius + spread,
+          blur,
+          firstColor,
+          secondColor,
+          shadowPaint);
+      nvgBeginPath(context);
+      nvgRoundedRectVarying(context,
+          x + hOffset - spread - blur,
+          y + vOffset - spread - blur,
+          w + 2 * spread + 2 * blur,
+          h + 2 * spread + 2 * blur,
+          borderRadius.x + spread,
+          borderRadius.y + spread,
+          borderRadius.z + spread,
+          borderRadius.w + spread
+      );
+      nvgRoundedRectVarying(context, x, y, w, h, borderRadius.x, borderRadius.y, borderRadius.z,
+          borderRadius.w);
+      nvgPathWinding(context, NVG_HOLE);
+      nvgFillPaint(context, shadowPaint);
+      nvgFill(context);
     }
     nvgRestore(context);
   }
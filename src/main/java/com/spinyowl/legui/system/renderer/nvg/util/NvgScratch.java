@@ -0,0 +1,273 @@
+package com.spinyowl.legui.system.renderer.nvg.util;
+
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memFree;
+import static org.lwjgl.system.MemoryUtil.memLengthUTF8;
+import static org.lwjgl.system.MemoryUtil.memRealloc;
+import static org.lwjgl.system.MemoryUtil.memUTF8;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.joml.Vector4fc;
+import org.lwjgl.nanovg.NVGColor;
+import org.lwjgl.nanovg.NVGGlyphPosition;
+import org.lwjgl.nanovg.NVGPaint;
+import org.lwjgl.nanovg.NVGTextRow;
+
+/**
+ * Reusable native memory used by nanovg renderers instead of allocating and freeing native memory
+ * for each drawn shape or text.
+ * <p>
+ * Colors and paints are taken from small rings. NanoVG copies colors and paints passed to it, so
+ * returned instance should be passed to nanovg right away and not kept - it is reused after {@link
+ * #COLORS} (or {@link #PAINTS}) next requests.
+ * <p>
+ * Text, glyph and text row buffers are used as stacks: each {@code push} call should be paired
+ * with {@code pop} call (in finally block), so buffers could be used by nested helpers. Buffers are
+ * allocated on first use and grown when needed.
+ * <p>
+ * Instance is owned by renderer, bound to rendering thread during rendering (see {@link
+ * #bind(NvgScratch)}) and freed when renderer is destroyed, helpers of this package use {@link
+ * #getInstance()}. Code which uses helpers outside of renderer should create, bind and {@link
+ * #free()} its own instance. Not thread safe.
+ */
+public final class NvgScratch {
+
+  /**
+   * Number of colors in color ring.
+   */
+  public static final int COLORS = 4;
+  /**
+   * Number of paints in paint ring.
+   */
+  public static final int PAINTS = 2;
+
+  private static final ThreadLocal<NvgScratch> CURRENT = new ThreadLocal<>();
+
+  private static final int MIN_TEXT_CAPACITY = 256;
+
+  private NVGColor[] colors;
+  private int colorIndex;
+  private NVGPaint[] paints;
+  private int paintIndex;
+
+  private ByteBuffer[] texts = new ByteBuffer[4];
+  private int textDepth;
+  private NVGGlyphPosition.Buffer[] glyphs = new NVGGlyphPosition.Buffer[2];
+  private int glyphDepth;
+  private NVGTextRow.Buffer[] rows = new NVGTextRow.Buffer[2];
+  private int rowDepth;
+
+  /**
+   * Returns scratch bound to current thread.
+   *
+   * @return scratch.
+   * @throws IllegalStateException if no scratch is bound to current thread.
+   */
+  public static NvgScratch getInstance() {
+    NvgScratch scratch = CURRENT.get();
+    if (scratch == null) {
+      throw new IllegalStateException("NvgScratch is not bound to current thread.");
+    }
+    return scratch;
+  }
+
+  /**
+   * Used to bind scratch to current thread.
+   *
+   * @param scratch scratch to bind or null to unbind.
+   */
+  public static void bind(NvgScratch scratch) {
+    if (scratch == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(scratch);
+    }
+  }
+
+  /**
+   * Returns color from color ring filled with provided values.
+   *
+   * @param r red.
+   * @param g green.
+   * @param b blue.
+   * @param a alpha.
+   * @return filled color.
+   */
+  public NVGColor color(float r, float g, float b, float a) {
+    if (colors == null) {
+      colors = new NVGColor[COLORS];
+      for (int i = 0; i < COLORS; i++) {
+        colors[i] = NVGColor.calloc();
+      }
+    }
+    NVGColor color = colors[colorIndex];
+    colorIndex = (colorIndex + 1) % COLORS;
+    NvgColorUtil.fillNvgColorWithRGBA(r, g, b, a, color);
+    return color;
+  }
+
+  /**
+   * Returns color from color ring filled with provided values.
+   *
+   * @param rgba rgba color.
+   * @return filled color.
+   */
+  public NVGColor color(Vector4fc rgba) {
+    return color(rgba.x(), rgba.y(), rgba.z(), rgba.w());
+  }
+
+  /**
+   * Returns paint from paint ring. Paint is not cleared.
+   *
+   * @return paint.
+   */
+  public NVGPaint paint() {
+    if (paints == null) {
+      paints = new NVGPaint[PAINTS];
+      for (int i = 0; i < PAINTS; i++) {
+        paints[i] = NVGPaint.calloc();
+      }
+    }
+    NVGPaint paint = paints[paintIndex];
+    paintIndex = (paintIndex + 1) % PAINTS;
+    return paint;
+  }
+
+  /**
+   * Used to encode text to UTF-8 text buffer. Buffer should be released with {@link #popText()}.
+   *
+   * @param text           text to encode.
+   * @param nullTerminated true to add null terminator.
+   * @return buffer which contains encoded text (position is zero, limit is length of encoded text
+   * including null terminator).
+   */
+  public ByteBuffer pushText(CharSequence text, boolean nullTerminated) {
+    int length = memLengthUTF8(text, nullTerminated);
+    if (textDepth == texts.length) {
+      texts = Arrays.copyOf(texts, textDepth << 1);
+    }
+    ByteBuffer buffer = texts[textDepth];
+    if (buffer == null) {
+      buffer = memAlloc(Math.max(MIN_TEXT_CAPACITY, length));
+    } else if (buffer.capacity() < length) {
+      buffer = memRealloc(buffer, Math.max(length, buffer.capacity() << 1));
+    }
+    texts[textDepth++] = buffer;
+    buffer.clear();
+    memUTF8(text, nullTerminated, buffer);
+    buffer.limit(length);
+    return buffer;
+  }
+
+  /**
+   * Used to release last text buffer returned by {@link #pushText(CharSequence, boolean)}.
+   */
+  public void popText() {
+    if (textDepth > 0) {
+      textDepth--;
+    }
+  }
+
+  /**
+   * Used to get glyph position buffer. Buffer should be released with {@link #popGlyphs()}.
+   *
+   * @param capacity minimal capacity of buffer.
+   * @return glyph position buffer (position is zero, limit is capacity).
+   */
+  public NVGGlyphPosition.Buffer pushGlyphs(int capacity) {
+    if (glyphDepth == glyphs.length) {
+      glyphs = Arrays.copyOf(glyphs, glyphDepth << 1);
+    }
+    NVGGlyphPosition.Buffer buffer = glyphs[glyphDepth];
+    if (buffer == null || buffer.capacity() < capacity) {
+      if (buffer != null) {
+        buffer.free();
+      }
+      buffer = NVGGlyphPosition.calloc(capacity);
+    }
+    glyphs[glyphDepth++] = buffer;
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Used to release last buffer returned by {@link #pushGlyphs(int)}.
+   */
+  public void popGlyphs() {
+    if (glyphDepth > 0) {
+      glyphDepth--;
+    }
+  }
+
+  /**
+   * Used to get text row buffer. Buffer should be released with {@link #popRows()}.
+   *
+   * @param capacity minimal capacity of buffer.
+   * @return text row buffer (position is zero, limit is capacity).
+   */
+  public NVGTextRow.Buffer pushRows(int capacity) {
+    if (rowDepth == rows.length) {
+      rows = Arrays.copyOf(rows, rowDepth << 1);
+    }
+    NVGTextRow.Buffer buffer = rows[rowDepth];
+    if (buffer == null || buffer.capacity() < capacity) {
+      if (buffer != null) {
+        buffer.free();
+      }
+      buffer = NVGTextRow.calloc(capacity);
+    }
+    rows[rowDepth++] = buffer;
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Used to release last buffer returned by {@link #pushRows(int)}.
+   */
+  public void popRows() {
+    if (rowDepth > 0) {
+      rowDepth--;
+    }
+  }
+
+  /**
+   * Used to free all native memory of scratch. Scratch could be used after that, memory is
+   * allocated again on demand.
+   */
+  public void free() {
+    if (colors != null) {
+      for (NVGColor color : colors) {
+        color.free();
+      }
+      colors = null;
+    }
+    if (paints != null) {
+      for (NVGPaint paint : paints) {
+        paint.free();
+      }
+      paints = null;
+    }
+    for (int i = 0; i < texts.length; i++) {
+      if (texts[i] != null) {
+        memFree(texts[i]);
+        texts[i] = null;
+      }
+    }
+    for (int i = 0; i < glyphs.length; i++) {
+      if (glyphs[i] != null) {
+        glyphs[i].free();
+        glyphs[i] = null;
+      }
+    }
+    for (int i = 0; i < rows.length; i++) {
+      if (rows[i] != null) {
+        rows[i].free();
+        rows[i] = null;
+      }
+    }
+    textDepth = 0;
+    glyphDepth = 0;
+    rowDepth = 0;
+  }
+}
@@ -46,12 +46,11 @@ public class NvgShapes {
     if (bgColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor fillColor = NvgColorUtil.create(bgColor)) {
-      nvgBeginPath(nvg);
-      nvgFillColor(nvg, fillColor);
-      nvgRect(nvg, position.x(), position.y(), size.x(), size.y());
-      nvgFill(nvg);
-    }
+    NVGColor fillColor = NvgScratch.getInstance().color(bgColor);
+    nvgBeginPath(nvg);
+    nvgFillColor(nvg, fillColor);
+    nvgRect(nvg, position.x(), position.y(), size.x(), size.y());
+    nvgFill(nvg);
   }
 
   /**
@@ -65,12 +64,11 @@ public class NvgShapes {
     if (bgColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor fillColor = NvgColorUtil.create(bgColor)) {
-      nvgBeginPath(nvg);
-      nvgFillColor(nvg, fillColor);
-      nvgRect(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w());
-      nvgFill(nvg);
-    }
+    NVGColor fillColor = NvgScratch.getInstance().color(bgColor);
+    nvgBeginPath(nvg);
+    nvgFillColor(nvg, fillColor);
+    nvgRect(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w());
+    nvgFill(nvg);
   }
 
   /**
@@ -87,12 +85,11 @@ public class NvgShapes {
     if (bgColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor fillColor = NvgColorUtil.create(bgColor)) {
-      nvgBeginPath(nvg);
-      nvgFillColor(nvg, fillColor);
-      nvgRoundedRect(nvg, position.x(), position.y(), size.x(), size.y(), radius);
-      nvgFill(nvg);
-    }
+    NVGColor fillColor = NvgScratch.getInstance().color(bgColor);
+    nvgBeginPath(nvg);
+    nvgFillColor(nvg, fillColor);
+    nvgRoundedRect(nvg, position.x(), position.y(), size.x(), size.y(), radius);
+    nvgFill(nvg);
   }
 
 
@@ -108,17 +105,16 @@ public class NvgShapes {
   public static void drawRect(long nvg, Vector2fc position, Vector2fc size, Vector4fc bgColor,
       Vector4f radius) {
     if (radius != null && !radius.equals(ZERO_CORNDERS)) {
-      try (NVGColor fillColor = NvgColorUtil.create(bgColor)) {
-        nvgBeginPath(nvg);
-        nvgFillColor(nvg, fillColor);
-        if (radius.x == radius.y && radius.x == radius.z && radius.x == radius.w) {
-          nvgRoundedRect(nvg, position.x(), position.y(), size.x(), size.y(), radius.x);
-        } else {
-          nvgRoundedRectVarying(nvg, position.x(), position.y(), size.x(), size.y(), radius.x,
-              radius.y, radius.z, radius.w);
-        }
-        nvgFill(nvg);
+      NVGColor fillColor = NvgScratch.getInstance().color(bgColor);
+      nvgBeginPath(nvg);
+      nvgFillColor(nvg, fillColor);
+      if (radius.x == radius.y && radius.x == radius.z && radius.x == radius.w) {
+        nvgRoundedRect(nvg, position.x(), position.y(), size.x(), size.y(), radius.x);
+      } else {
+        nvgRoundedRectVarying(nvg, position.x(), position.y(), size.x(), size.y(), radius.x,
+            radius.y, radius.z, radius.w);
       }
+      nvgFill(nvg);
     } else {
       drawRect(nvg, position, size, bgColor);
     }
@@ -136,12 +132,11 @@ public class NvgShapes {
     if (bgColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor fillColor = NvgColorUtil.create(bgColor)) {
-      nvgBeginPath(nvg);
-      nvgFillColor(nvg, fillColor);
-      nvgRoundedRect(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w(), radius);
-      nvgFill(nvg);
-    }
+    NVGColor fillColor = NvgScratch.getInstance().color(bgColor);
+    nvgBeginPath(nvg);
+    nvgFillColor(nvg, fillColor);
+    nvgRoundedRect(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w(), radius);
+    nvgFill(nvg);
   }
 
 
@@ -155,13 +150,12 @@ public class NvgShapes {
    */
   public static void drawRect(long nvg, Vector4fc rectangle, Vector4fc bgColor, Vector4f radius) {
     if (radius != null && !radius.equals(ZERO_CORNDERS)) {
-      try (NVGColor fillColor = NvgColorUtil.create(bgColor)) {
-        nvgBeginPath(nvg);
-        nvgFillColor(nvg, fillColor);
-        nvgRoundedRectVarying(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w(),
-            radius.x, radius.y, radius.z, radius.w);
-        nvgFill(nvg);
-      }
+      NVGColor fillColor = NvgScratch.getInstance().color(bgColor);
+      nvgBeginPath(nvg);
+      nvgFillColor(nvg, fillColor);
+      nvgRoundedRectVarying(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w(),
+          radius.x, radius.y, radius.z, radius.w);
+      nvgFill(nvg);
     } else {
       drawRect(nvg, rectangle, bgColor, radius);
     }
@@ -181,13 +175,12 @@ public class NvgShapes {
     if (rectStrokeColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor strokeColor = NvgColorUtil.create(rectStrokeColor)) {
-      nvgBeginPath(nvg);
-      nvgStrokeColor(nvg, strokeColor);
-      nvgStrokeWidth(nvg, strokeWidth);
-      nvgRect(nvg, position.x(), position.y(), size.x(), size.y());
-      nvgStroke(nvg);
-    }
+    NVGColor strokeColor = NvgScratch.getInstance().color(rectStrokeColor);
+    nvgBeginPath(nvg);
+    nvgStrokeColor(nvg, strokeColor);
+    nvgStrokeWidth(nvg, strokeWidth);
+    nvgRect(nvg, position.x(), position.y(), size.x(), size.y());
+    nvgStroke(nvg);
   }
 
   /**
@@ -203,13 +196,12 @@ public class NvgShapes {
     if (rectStrokeColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor strokeColor = NvgColorUtil.create(rectStrokeColor)) {
-      nvgBeginPath(nvg);
-      nvgStrokeColor(nvg, strokeColor);
-      nvgStrokeWidth(nvg, strokeWidth);
-      nvgRect(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w());
-      nvgStroke(nvg);
-    }
+    NVGColor strokeColor = NvgScratch.getInstance().color(rectStrokeColor);
+    nvgBeginPath(nvg);
+    nvgStrokeColor(nvg, strokeColor);
+    nvgStrokeWidth(nvg, strokeWidth);
+    nvgRect(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w());
+    nvgStroke(nvg);
   }
 
   /**
@@ -224,14 +216,13 @@ public class NvgShapes {
   public static void drawRectStroke(long nvg, Vector4fc rectangle, Vector4fc rectStrokeColor,
       float strokeWidth, Vector4f radius) {
     if (radius != null && !radius.equals(ZERO_CORNDERS)) {
-      try (NVGColor strokeColor = NvgColorUtil.create(rectStrokeColor)) {
-        nvgBeginPath(nvg);
-        nvgStrokeColor(nvg, strokeColor);
-        nvgStrokeWidth(nvg, strokeWidth);
-        nvgRoundedRectVarying(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w(),
-            radius.x, radius.y, radius.z, radius.w);
-        nvgStroke(nvg);
-      }
+      NVGColor strokeColor = NvgScratch.getInstance().color(rectStrokeColor);
+      nvgBeginPath(nvg);
+      nvgStrokeColor(nvg, strokeColor);
+      nvgStrokeWidth(nvg, strokeWidth);
+      nvgRoundedRectVarying(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w(),
+          radius.x, radius.y, radius.z, radius.w);
+      nvgStroke(nvg);
     } else {
       drawRectStroke(nvg, rectangle, rectStrokeColor, strokeWidth);
     }
@@ -252,13 +243,12 @@ public class NvgShapes {
     if (rectStrokeColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor strokeColor = NvgColorUtil.create(rectStrokeColor)) {
-      nvgBeginPath(nvg);
-      nvgStrokeColor(nvg, strokeColor);
-      nvgStrokeWidth(nvg, strokeWidth);
-      nvgRoundedRect(nvg, position.x(), position.y(), size.x(), size.y(), radius);
-      nvgStroke(nvg);
-    }
+    NVGColor strokeColor = NvgScratch.getInstance().color(rectStrokeColor);
+    nvgBeginPath(nvg);
+    nvgStrokeColor(nvg, strokeColor);
+    nvgStrokeWidth(nvg, strokeWidth);
+    nvgRoundedRect(nvg, position.x(), position.y(), size.x(), size.y(), radius);
+    nvgStroke(nvg);
   }
 
   /**
@@ -274,14 +264,13 @@ public class NvgShapes {
   public static void drawRectStroke(long nvg, Vector2fc position, Vector2fc size,
       Vector4fc rectStrokeColor, float strokeWidth, Vector4f radius) {
     if (radius != null && !radius.equals(ZERO_CORNDERS)) {
-      try (NVGColor strokeColor = NvgColorUtil.create(rectStrokeColor)) {
-        nvgBeginPath(nvg);
-        nvgStrokeColor(nvg, strokeColor);
-        nvgStrokeWidth(nvg, strokeWidth);
-        nvgRoundedRectVarying(nvg, position.x(), position.y(), size.x(), size.y(), radius.x,
-            radius.y, radius.z, radius.w);
-        nvgStroke(nvg);
-      }
+      NVGColor strokeColor = NvgScratch.getInstance().color(rectStrokeColor);
+      nvgBeginPath(nvg);
+      nvgStrokeColor(nvg, strokeColor);
+      nvgStrokeWidth(nvg, strokeWidth);
+      nvgRoundedRectVarying(nvg, position.x(), position.y(), size.x(), size.y(), radius.x,
+          radius.y, radius.z, radius.w);
+      nvgStroke(nvg);
     } else {
       drawRectStroke(nvg, position, size, rectStrokeColor, strokeWidth);
     }
@@ -301,13 +290,12 @@ public class NvgShapes {
     if (rectStrokeColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor strokeColor = NvgColorUtil.create(rectStrokeColor)) {
-      nvgBeginPath(nvg);
-      nvgStrokeColor(nvg, strokeColor);
-      nvgStrokeWidth(nvg, strokeWidth);
-      nvgRoundedRect(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w(), radius);
-      nvgStroke(nvg);
-    }
+    NVGColor strokeColor = NvgScratch.getInstance().color(rectStrokeColor);
+    nvgBeginPath(nvg);
+    nvgStrokeColor(nvg, strokeColor);
+    nvgStrokeWidth(nvg, strokeWidth);
+    nvgRoundedRect(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w(), radius);
+    nvgStroke(nvg);
   }
 
 
@@ -328,16 +316,15 @@ public class NvgShapes {
    */
   public static void drawLine(long nvg, float width, Vector4f color, int lineCap, float fromX,
       float fromY, float toX, float toY) {
-    try (NVGColor colorA = NvgColorUtil.create(color)) {
-      nvgLineCap(nvg, lineCap);
-      nvgLineJoin(nvg, NVG_ROUND);
-      nvgStrokeWidth(nvg, width);
-      nvgStrokeColor(nvg, colorA);
-      nvgBeginPath(nvg);
-      nvgMoveTo(nvg, fromX, fromY);
-      nvgLineTo(nvg, toX, toY);
-      nvgStroke(nvg);
-    }
+    NVGColor colorA = NvgScratch.getInstance().color(color);
+    nvgLineCap(nvg, lineCap);
+    nvgLineJoin(nvg, NVG_ROUND);
+    nvgStrokeWidth(nvg, width);
+    nvgStrokeColor(nvg, colorA);
+    nvgBeginPath(nvg);
+    nvgMoveTo(nvg, fromX, fromY);
+    nvgLineTo(nvg, toX, toY);
+    nvgStroke(nvg);
   }
 
 
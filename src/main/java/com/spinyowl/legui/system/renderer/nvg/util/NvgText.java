@@ -19,7 +19,6 @@ import static org.lwjgl.nanovg.NanoVG.nvgSave;
 import static org.lwjgl.nanovg.NanoVG.nvgTextAlign;
 import static org.lwjgl.nanovg.NanoVG.nvgTranslate;
 import static org.lwjgl.system.MemoryUtil.memAddress;
-import static org.lwjgl.system.MemoryUtil.memUTF8;
 
 import com.spinyowl.legui.component.optional.align.HorizontalAlign;
 import com.spinyowl.legui.component.optional.align.VerticalAlign;
@@ -30,7 +29,6 @@ import org.joml.Vector4f;
 import org.joml.Vector4fc;
 import org.lwjgl.nanovg.NVGColor;
 import org.lwjgl.nanovg.NVGTextRow;
-import org.lwjgl.system.MemoryUtil;
 
 
 public class NvgText {
@@ -59,16 +57,17 @@ public class NvgText {
     nvgFontFace(nvg, font);
     textAlign(nvg, horizontalAlign, verticalAlign);
 
-    ByteBuffer byteText = null;
+    NvgScratch scratch = NvgScratch.getInstance();
+    ByteBuffer byteText = scratch.pushText(textToRender, false);
     try {
-      byteText = memUTF8(textToRender, false);
       long startPointer = memAddress(byteText);
       long endPointer = startPointer + byteText.remaining();
 
       long rowStart = startPointer;
       long rowEnd = endPointer;
       if (hideOverflow) {
-        try (NVGTextRow.Buffer buffer = NVGTextRow.calloc(1)) {
+        NVGTextRow.Buffer buffer = scratch.pushRows(1);
+        try {
           int rows = nnvgTextBreakLines(nvg, startPointer, endPointer,
               direction == TextDirection.HORIZONTAL ? rect.z() : rect.w(),
               memAddress(buffer), 1);
@@ -77,6 +76,8 @@ public class NvgText {
             rowStart = row.start();
             rowEnd = row.end();
           }
+        } finally {
+          scratch.popRows();
         }
       }
 
@@ -86,39 +87,36 @@ public class NvgText {
       );
 
       if (rowStart != 0 || rowEnd != 0) {
-        try (NVGColor textColor = NvgColorUtil.create(fontColor)) {
+        NVGColor textColor = scratch.color(fontColor);
 
-          nvgSave(nvg);
-          nvgBeginPath(nvg);
+        nvgSave(nvg);
+        nvgBeginPath(nvg);
 
-          nvgFillColor(nvg, textColor);
-          float x;
-          float y;
-          if (direction == TextDirection.VERTICAL_TOP_DOWN) {
-            nvgTranslate(nvg, rect.x() + rect.z(), rect.y());
-            nvgRotate(nvg, _90);
-            x = rect.w() * horizontalAlign.index / 2f;
-            y = rect.z() * verticalAlign.index / 2f;
-          } else if (direction == TextDirection.VERTICAL_DOWN_TOP) {
-            nvgTranslate(nvg, rect.x(), rect.y() + rect.w());
-            nvgRotate(nvg, _270);
-            x = rect.w() * horizontalAlign.index / 2f;
-            y = rect.z() * verticalAlign.index / 2f;
-          } else {
-            nvgTranslate(nvg, rect.x(), rect.y());
-            x = textPosition.x - rect.x();
-            y = (int) textPosition.y - rect.y();
-          }
-          int xx = (int) x;
-          int yy = (int) y;
-          nnvgText(nvg, xx, yy, rowStart, rowEnd);
-          nvgRestore(nvg);
+        nvgFillColor(nvg, textColor);
+        float x;
+        float y;
+        if (direction == TextDirection.VERTICAL_TOP_DOWN) {
+          nvgTranslate(nvg, rect.x() + rect.z(), rect.y());
+          nvgRotate(nvg, _90);
+          x = rect.w() * horizontalAlign.index / 2f;
+          y = rect.z() * verticalAlign.index / 2f;
+        } else if (direction == TextDirection.VERTICAL_DOWN_TOP) {
+          nvgTranslate(nvg, rect.x(), rect.y() + rect.w());
+          nvgRotate(nvg, _270);
+          x = rect.w() * horizontalAlign.index / 2f;
+          y = rect.z() * verticalAlign.index / 2f;
+        } else {
+          nvgTranslate(nvg, rect.x(), rect.y());
+          x = textPosition.x - rect.x();
+          y = (int) textPosition.y - rect.y();
         }
+        int xx = (int) x;
+        int yy = (int) y;
+        nnvgText(nvg, xx, yy, rowStart, rowEnd);
+        nvgRestore(nvg);
       }
     } finally {
-      if (byteText != null) {
-        MemoryUtil.memFree(byteText);
-      }
+      scratch.popText();
     }
   }
 
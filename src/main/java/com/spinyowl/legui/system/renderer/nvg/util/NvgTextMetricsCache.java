@@ -0,0 +1,251 @@
+package com.spinyowl.legui.system.renderer.nvg.util;
+
+import static com.spinyowl.legui.system.renderer.nvg.NvgRenderer.TEXT_METRICS_CACHE;
+import static org.lwjgl.nanovg.NanoVG.NVG_ALIGN_LEFT;
+import static org.lwjgl.nanovg.NanoVG.NVG_ALIGN_TOP;
+import static org.lwjgl.nanovg.NanoVG.nvgFontFace;
+import static org.lwjgl.nanovg.NanoVG.nvgFontSize;
+import static org.lwjgl.nanovg.NanoVG.nvgRestore;
+import static org.lwjgl.nanovg.NanoVG.nvgSave;
+import static org.lwjgl.nanovg.NanoVG.nvgTextAlign;
+import static org.lwjgl.nanovg.NanoVG.nvgTextBounds;
+
+import com.spinyowl.legui.system.context.Context;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Least recently used cache of single line text metrics keyed by font, font size and text.
+ * Alignment of text only translates nanovg text bounds, so metrics are measured once for left/top
+ * aligned text and alignment is applied by {@link NvgRenderUtils#createBounds(float, float, float,
+ * float, com.spinyowl.legui.component.optional.align.HorizontalAlign,
+ * com.spinyowl.legui.component.optional.align.VerticalAlign, float, float) createBounds}.
+ * <p>
+ * Cache is bounded by number of entries, least recently used entries are evicted first. Hit, miss
+ * and eviction counters could be used to choose cache size.
+ * <p>
+ * Cache is owned by {@link com.spinyowl.legui.system.renderer.nvg.NvgRenderer} and shared with
+ * component renderers through context data of {@link Context} (see {@link #getInstance(Context)}).
+ * Metrics depend on fonts loaded to nanovg context, so cache should not be shared between nanovg
+ * contexts. Not thread safe, should be used from rendering thread.
+ */
+public final class NvgTextMetricsCache {
+
+  /**
+   * Default maximum number of entries.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 2048;
+
+  private final Map<Key, TextMetrics> entries = new LinkedHashMap<>(64, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, TextMetrics> eldest) {
+      if (size() > maxEntries) {
+        evictions++;
+        return true;
+      }
+      return false;
+    }
+  };
+  /**
+   * Key used for lookups, so cache hit doesn't allocate memory.
+   */
+  private final Key lookupKey = new Key();
+  private final float[] bounds = new float[4];
+
+  private int maxEntries;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  /**
+   * Creates cache with {@link #DEFAULT_MAX_ENTRIES} maximum number of entries.
+   */
+  public NvgTextMetricsCache() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * Creates cache with provided maximum number of entries.
+   *
+   * @param maxEntries maximum number of entries.
+   */
+  public NvgTextMetricsCache(int maxEntries) {
+    setMaxEntries(maxEntries);
+  }
+
+  /**
+   * Returns cache shared through context data of provided context. Cache is put to context data by
+   * {@link com.spinyowl.legui.system.renderer.nvg.NvgRenderer} during rendering.
+   *
+   * @param context context.
+   * @return text metrics cache.
+   * @throws IllegalStateException if context data doesn't contain cache.
+   */
+  public static NvgTextMetricsCache getInstance(Context context) {
+    Object cache = context.getContextData().get(TEXT_METRICS_CACHE);
+    if (!(cache instanceof NvgTextMetricsCache)) {
+      throw new IllegalStateException("NvgTextMetricsCache is not set to context data.");
+    }
+    return (NvgTextMetricsCache) cache;
+  }
+
+  /**
+   * Used to get metrics of single line text. Metrics are measured by nanovg if they are not
+   * cached. Nanovg state (font, font size and alignment) is not changed.
+   *
+   * @param context  nanovg context.
+   * @param font     font name.
+   * @param fontSize font size.
+   * @param text     text.
+   * @return text metrics.
+   */
+  public TextMetrics measure(long context, String font, float fontSize, String text) {
+    TextMetrics metrics = entries.get(lookupKey.set(font, fontSize, text));
+    if (metrics != null) {
+      hits++;
+      return metrics;
+    }
+    misses++;
+
+    NvgScratch scratch = NvgScratch.getInstance();
+    ByteBuffer byteText = scratch.pushText(text, false);
+    nvgSave(context);
+    try {
+      nvgFontFace(context, font);
+      nvgFontSize(context, fontSize);
+      nvgTextAlign(context, NVG_ALIGN_LEFT | NVG_ALIGN_TOP);
+      float advance = nvgTextBounds(context, 0, 0, byteText, bounds);
+      metrics = new TextMetrics(bounds[0], bounds[1], bounds[2], bounds[3], advance);
+    } finally {
+      nvgRestore(context);
+      scratch.popText();
+    }
+    entries.put(new Key().set(font, fontSize, text), metrics);
+    return metrics;
+  }
+
+  /**
+   * Used to remove all entries. Should be called when fonts are replaced.
+   */
+  public void clear() {
+    entries.clear();
+  }
+
+  /**
+   * Returns number of cached entries.
+   *
+   * @return number of cached entries.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * Used to set maximum number of entries. Least recently used entries are evicted if cache
+   * contains more entries.
+   *
+   * @param maxEntries maximum number of entries (should be positive).
+   */
+  public void setMaxEntries(int maxEntries) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("Maximum number of entries should be positive.");
+    }
+    this.maxEntries = maxEntries;
+    Iterator<Key> iterator = entries.keySet().iterator();
+    while (entries.size() > maxEntries && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+      evictions++;
+    }
+  }
+
+  /**
+   * Returns number of lookups which returned cached metrics.
+   *
+   * @return number of cache hits.
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Returns number of lookups which measured text with nanovg.
+   *
+   * @return number of cache misses.
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Returns number of entries evicted because cache was full.
+   *
+   * @return number of evictions.
+   */
+  public long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * Returns ratio of cache hits to all lookups or 0 if there were no lookups.
+   *
+   * @return hit rate in range [0, 1].
+   */
+  public double getHitRate() {
+    long lookups = hits + misses;
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+
+  /**
+   * Used to reset hit, miss and eviction counters.
+   */
+  public void resetStatistics() {
+    hits = 0;
+    misses = 0;
+    evictions = 0;
+  }
+
+  private static final class Key {
+
+    private String font;
+    private float fontSize;
+    private String text;
+    private int hash;
+
+    private Key set(String font, float fontSize, String text) {
+      this.font = font;
+      this.fontSize = fontSize;
+      this.text = text;
+      this.hash = (Objects.hashCode(font) * 31 + Float.floatToIntBits(fontSize)) * 31
+          + text.hashCode();
+      return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return hash == key.hash
+          && Float.floatToIntBits(fontSize) == Float.floatToIntBits(key.fontSize)
+          && Objects.equals(font, key.font)
+          && text.equals(key.text);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.spinyowl.legui.system.renderer.nvg.util;
+
+/**
+ * Measured bounds of single line text. Bounds are relative to text origin for left/top aligned
+ * text, alignment of text only translates bounds.
+ * <p>
+ * Instances are immutable and created by {@link NvgTextMetricsCache}.
+ */
+public final class TextMetrics {
+
+  private final float minX;
+  private final float minY;
+  private final float maxX;
+  private final float maxY;
+  private final float advance;
+
+  TextMetrics(float minX, float minY, float maxX, float maxY, float advance) {
+    this.minX = minX;
+    this.minY = minY;
+    this.maxX = maxX;
+    this.maxY = maxY;
+    this.advance = advance;
+  }
+
+  public float getMinX() {
+    return minX;
+  }
+
+  public float getMinY() {
+    return minY;
+  }
+
+  public float getMaxX() {
+    return maxX;
+  }
+
+  public float getMaxY() {
+    return maxY;
+  }
+
+  /**
+   * Returns width of text bounds.
+   *
+   * @return width of text bounds.
+   */
+  public float getWidth() {
+    return maxX - minX;
+  }
+
+  /**
+   * Returns height of text bounds (line height for single line text).
+   *
+   * @return height of text bounds.
+   */
+  public float getHeight() {
+    return maxY - minY;
+  }
+
+  /**
+   * Returns horizontal advance of text (position where next character would be placed).
+   *
+   * @return horizontal advance.
+   */
+  public float getAdvance() {
+    return advance;
+  }
+}
@@ -1,15 +1,12 @@
 package com.spinyowl.legui.theme;
 
 import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.util.ClassHierarchyMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /** Default implementation of theme manager. */
 public class DefaultThemeManager extends ThemeManager {
 
-  private final Map<Class<? extends Component>, AbstractTheme<? extends Component>> themeMap =
-      new ConcurrentHashMap<>();
-
   private final AbstractTheme defaultComponentTheme =
       new AbstractTheme() {
         @Override
@@ -18,13 +15,16 @@ public class DefaultThemeManager extends ThemeManager {
         }
       };
 
+  private final ClassHierarchyMap<AbstractTheme<? extends Component>> themeMap =
+      new ClassHierarchyMap<>(defaultComponentTheme);
+
   /** Returns theme for specified component class. */
   @Override
   public <T extends Component> AbstractTheme<T> getComponentTheme(Class<T> clazz) {
     if (clazz == null) {
       throw new IllegalArgumentException("Class cannot be null!");
     }
-    return this.<T, AbstractTheme<T>>cycledSearch(clazz, themeMap, defaultComponentTheme);
+    return (AbstractTheme<T>) themeMap.get(clazz);
   }
 
   /** Used to set theme per component class. */
@@ -39,20 +39,11 @@ public class DefaultThemeManager extends ThemeManager {
     themeMap.put(clazz, theme);
   }
 
-  /** Used to search through class hierarcjy for appropriate theme. */
+  /**
+   * Used to search through class hierarchy for appropriate theme. Themes registered in this
+   * manager are resolved using {@link ClassHierarchyMap} which caches search results per class.
+   */
   protected <C, R> R cycledSearch(Class<C> componentClass, Map map, R defaultComponentTheme) {
-    R componentTheme = null;
-    Class cClass = componentClass;
-    while (componentTheme == null) {
-      componentTheme = ((Map<Class<C>, R>) map).get(cClass);
-      if (cClass.isAssignableFrom(Component.class)) {
-        break;
-      }
-      cClass = cClass.getSuperclass();
-    }
-    if (componentTheme == null) {
-      componentTheme = defaultComponentTheme;
-    }
-    return componentTheme;
+    return ClassHierarchyMap.search(componentClass, (Map<Class<?>, R>) map, defaultComponentTheme);
   }
 }
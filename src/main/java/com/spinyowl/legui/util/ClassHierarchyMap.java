@@ -0,0 +1,112 @@
+package com.spinyowl.legui.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Map of values registered for classes. Value for class is resolved using class hierarchy - value
+ * registered for class itself or for nearest superclass is returned.
+ * <p>
+ * Resolved values are cached per class (using {@link ClassValue}), so resolving is performed only
+ * once for each class. Cache is invalidated each time when map is modified.
+ *
+ * @param <V> value type.
+ */
+public class ClassHierarchyMap<V> {
+
+  private final Map<Class<?>, V> values = new ConcurrentHashMap<>();
+  private final V defaultValue;
+  private volatile ClassValue<V> resolved = createResolver();
+
+  /**
+   * Creates map with default value.
+   *
+   * @param defaultValue value which is returned if there is no value registered for class or any
+   *                     of its superclasses.
+   */
+  public ClassHierarchyMap(V defaultValue) {
+    this.defaultValue = defaultValue;
+  }
+
+  /**
+   * Used to search value registered for class or for nearest superclass in provided map.
+   *
+   * @param clazz        class to search value for.
+   * @param map          map of registered values.
+   * @param defaultValue value which is returned if nothing found.
+   * @param <V>          value type.
+   * @return found value or default value.
+   */
+  public static <V> V search(Class<?> clazz, Map<? extends Class<?>, ? extends V> map,
+      V defaultValue) {
+    for (Class<?> cClass = clazz; cClass != null; cClass = cClass.getSuperclass()) {
+      V value = map.get(cClass);
+      if (value != null) {
+        return value;
+      }
+    }
+    return defaultValue;
+  }
+
+  /**
+   * Returns value registered for class or for nearest superclass.
+   *
+   * @param clazz class to get value for.
+   * @return resolved value or default value if nothing registered for class hierarchy.
+   */
+  public V get(Class<?> clazz) {
+    return resolved.get(clazz);
+  }
+
+  /**
+   * Used to register value for class.
+   *
+   * @param clazz class.
+   * @param value value.
+   */
+  public void put(Class<?> clazz, V value) {
+    values.put(clazz, value);
+    invalidate();
+  }
+
+  /**
+   * Used to remove value registered for class.
+   *
+   * @param clazz class.
+   * @return removed value or null.
+   */
+  public V remove(Class<?> clazz) {
+    V removed = values.remove(clazz);
+    if (removed != null) {
+      invalidate();
+    }
+    return removed;
+  }
+
+  /**
+   * Returns list of registered values.
+   *
+   * @return list of registered values.
+   */
+  public List<V> values() {
+    return new ArrayList<>(values.values());
+  }
+
+  /**
+   * Used to drop all resolved values.
+   */
+  public void invalidate() {
+    resolved = createResolver();
+  }
+
+  private ClassValue<V> createResolver() {
+    return new ClassValue<>() {
+      @Override
+      protected V computeValue(Class<?> type) {
+        return search(type, values, defaultValue);
+      }
+    };
+  }
+}
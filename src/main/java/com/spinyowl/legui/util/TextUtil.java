@@ -34,13 +34,14 @@ public class TextUtil {
   }
 
   /**
-   * Used to find next word start index from current character index in provided string.
+   * Used to find next word start index from current character index in provided text. Only
+   * characters between current index and next word are read.
    *
-   * @param text    string to search next word start index.
+   * @param text    text to search next word start index.
    * @param current current character index(current caret position in text).
    * @return character index where starts next word.
    */
-  public static int findNextWord(String text, int current) {
+  public static int findNextWord(CharSequence text, int current) {
     int length = text.length();
     if (current == length) {
       return length;
@@ -66,13 +67,14 @@ public class TextUtil {
   }
 
   /**
-   * Used to find previous word start index from current character index in provided string.
+   * Used to find previous word start index from current character index in provided text. Only
+   * characters between previous word and current index are read.
    *
-   * @param text    string to search previous word start index.
+   * @param text    text to search previous word start index.
    * @param current current character index(current caret position in text).
    * @return character index where starts previous word.
    */
-  public static int findPrevWord(String text, int current) {
+  public static int findPrevWord(CharSequence text, int current) {
     if (current == 0) {
       return 0;
     }